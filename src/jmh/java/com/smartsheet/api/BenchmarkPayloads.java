@@ -0,0 +1,286 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Generates response bodies shaped like real API responses but of any size, since the unit test fixtures only have a
+ * few rows. The same arguments always produce the same bytes, so results are comparable between runs.
+ */
+public final class BenchmarkPayloads {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /** column id base; column i has id COLUMN_ID + i */
+    public static final long COLUMN_ID = 4583173393803140L;
+
+    /** row id base; row n (1-based) has id ROW_ID + n */
+    public static final long ROW_ID = 1732835527681924L;
+
+    private static final String[] COLUMN_TYPES = {
+        "TEXT_NUMBER", "PICKLIST", "CONTACT_LIST", "DATE", "MULTI_CONTACT_LIST", "TEXT_NUMBER", "CHECKBOX", "TEXT_NUMBER"
+    };
+    private static final String[] STATUSES = {"Not Started", "In Progress", "Blocked", "Complete"};
+    private static final String[] FORMATS = {",,1,,,,,,,,,,,,,,", ",,,,,,1,1,,,,,,,,", ",,,,,,,,,18,,,,,,,", null};
+
+    private BenchmarkPayloads() {
+    }
+
+    /**
+     * A getSheet response with the given number of rows and eight columns of mixed types, including contact
+     * columns whose cells carry object values, as with include=objectValue.
+     *
+     * @param rows the number of rows
+     * @param contactsPerCell the contacts in each multi-contact cell
+     */
+    public static byte[] sheet(int rows, int contactsPerCell) {
+        return generate(generator -> {
+            generator.writeStartObject();
+            generator.writeNumberField("id", 1060338138408836L);
+            generator.writeStringField("name", "Project Plan");
+            generator.writeNumberField("version", 42);
+            generator.writeNumberField("totalRowCount", rows);
+            generator.writeStringField("accessLevel", "OWNER");
+            generator.writeStringField("permalink", "https://app.smartsheet.com/b/home?lx=AbCdEfGhIjKlMnOpQrStUv");
+            generator.writeStringField("createdAt", "2014-10-02T15:05:35Z");
+            generator.writeStringField("modifiedAt", "2023-01-30T11:42:30Z");
+            writeColumns(generator, "id");
+            generator.writeArrayFieldStart("rows");
+            for (int n = 1; n <= rows; n++) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", ROW_ID + n);
+                generator.writeNumberField("rowNumber", n);
+                if (n > 1 && n % 10 != 1) {
+                    generator.writeNumberField("parentId", ROW_ID + n - (n - 1) % 10);
+                }
+                generator.writeBooleanField("expanded", true);
+                generator.writeStringField("createdAt", "2014-10-02T15:05:35Z");
+                generator.writeStringField("modifiedAt", "2023-01-30T11:42:30Z");
+                writeCells(generator, n, contactsPerCell, false);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * A getReport response with the given number of rows, drawn from ten source sheets.
+     *
+     * @param rows the number of rows
+     */
+    public static byte[] report(int rows) {
+        return generate(generator -> {
+            generator.writeStartObject();
+            generator.writeNumberField("id", 4583173393803140L);
+            generator.writeStringField("name", "Portfolio Report");
+            generator.writeNumberField("totalRowCount", rows);
+            generator.writeStringField("accessLevel", "OWNER");
+            generator.writeStringField("permalink", "https://app.smartsheet.com/b/home?lx=ReportPermalink");
+            generator.writeStringField("createdAt", "2014-10-02T15:05:35Z");
+            generator.writeStringField("modifiedAt", "2023-01-30T11:42:30Z");
+            writeColumns(generator, "virtualId");
+            generator.writeArrayFieldStart("rows");
+            for (int n = 1; n <= rows; n++) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", ROW_ID + n);
+                generator.writeNumberField("sheetId", 1060338138408836L + n % 10);
+                generator.writeNumberField("rowNumber", n);
+                generator.writeBooleanField("expanded", true);
+                generator.writeStringField("accessLevel", "OWNER");
+                generator.writeStringField("createdAt", "2014-10-02T15:05:35Z");
+                generator.writeStringField("modifiedAt", "2023-01-30T11:42:30Z");
+                writeCells(generator, n, 2, true);
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * A listEvents response with the given number of events.
+     *
+     * @param events the number of events
+     */
+    public static byte[] events(int events) {
+        return generate(generator -> {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("data");
+            for (int n = 0; n < events; n++) {
+                generator.writeStartObject();
+                generator.writeStringField("eventId", "4b12345-" + n);
+                generator.writeStringField("objectType", n % 3 == 0 ? "SHEET" : "ROW");
+                generator.writeStringField("action", n % 2 == 0 ? "UPDATE" : "CREATE");
+                generator.writeNumberField("objectId", 1060338138408836L + n % 50);
+                generator.writeStringField("eventTimestamp", "2023-01-30T11:42:30Z");
+                generator.writeNumberField("userId", 548798 + n % 20);
+                generator.writeNumberField("requestUserId", 548798 + n % 20);
+                generator.writeStringField("accessTokenName", "integration token");
+                generator.writeStringField("source", "WEB_APP");
+                generator.writeObjectFieldStart("additionalDetails");
+                generator.writeStringField("sheetName", "Project Plan " + n % 50);
+                generator.writeNumberField("rowId", ROW_ID + n);
+                generator.writeEndObject();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeBooleanField("moreAvailable", true);
+            generator.writeStringField("nextStreamPosition", "XyzAbc" + events);
+            generator.writeEndObject();
+        });
+    }
+
+    /**
+     * Reads a unit test fixture from src/test/resources.
+     *
+     * @param name the fixture's file name, such as "getSheet.json"
+     */
+    public static byte[] fixture(String name) {
+        try (InputStream inputStream = BenchmarkPayloads.class.getResourceAsStream("/" + name)) {
+            if (inputStream == null) {
+                throw new IllegalArgumentException("Missing fixture: " + name);
+            }
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeColumns(JsonGenerator generator, String idField) throws IOException {
+        generator.writeArrayFieldStart("columns");
+        String[] titles = {"Task Name", "Status", "Assigned To", "Due Date", "Reviewers", "Estimate", "Done", "Notes"};
+        for (int i = 0; i < COLUMN_TYPES.length; i++) {
+            generator.writeStartObject();
+            generator.writeNumberField(idField, COLUMN_ID + i);
+            generator.writeNumberField("index", i);
+            generator.writeStringField("title", titles[i]);
+            generator.writeStringField("type", COLUMN_TYPES[i]);
+            if (i == 0) {
+                generator.writeBooleanField("primary", true);
+            }
+            if ("PICKLIST".equals(COLUMN_TYPES[i])) {
+                generator.writeArrayFieldStart("options");
+                for (String status : STATUSES) {
+                    generator.writeString(status);
+                }
+                generator.writeEndArray();
+            }
+            generator.writeNumberField("width", 150);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeCells(JsonGenerator generator, int n, int contactsPerCell, boolean report) throws IOException {
+        generator.writeArrayFieldStart("cells");
+        for (int i = 0; i < COLUMN_TYPES.length; i++) {
+            generator.writeStartObject();
+            generator.writeNumberField(report ? "virtualColumnId" : "columnId", COLUMN_ID + i);
+            switch (i) {
+                case 0:
+                    writeText(generator, "Task " + n + ": review the deliverables for milestone " + n / 10);
+                    break;
+                case 1:
+                    writeText(generator, STATUSES[n % STATUSES.length]);
+                    break;
+                case 2:
+                    generator.writeStringField("value", email(n));
+                    generator.writeStringField("displayValue", name(n));
+                    generator.writeFieldName("objectValue");
+                    writeContact(generator, n);
+                    break;
+                case 3:
+                    generator.writeStringField("value", "2024-0" + (1 + n % 9) + "-1" + n % 10);
+                    break;
+                case 4:
+                    generator.writeStringField("displayValue", name(n) + (contactsPerCell > 1 ? ", ..." : ""));
+                    generator.writeObjectFieldStart("objectValue");
+                    generator.writeStringField("objectType", "MULTI_CONTACT");
+                    generator.writeArrayFieldStart("values");
+                    for (int c = 0; c < contactsPerCell; c++) {
+                        writeContact(generator, n + c);
+                    }
+                    generator.writeEndArray();
+                    generator.writeEndObject();
+                    break;
+                case 5:
+                    generator.writeNumberField("value", n * 1.5);
+                    generator.writeStringField("displayValue", Double.toString(n * 1.5));
+                    break;
+                case 6:
+                    generator.writeBooleanField("value", n % 2 == 0);
+                    break;
+                default:
+                    if (n % 4 == 0) {
+                        writeText(generator, "Waiting on sign-off from " + name(n));
+                    }
+                    break;
+            }
+            String format = FORMATS[(n + i) % FORMATS.length];
+            if (format != null) {
+                generator.writeStringField("format", format);
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeText(JsonGenerator generator, String text) throws IOException {
+        generator.writeStringField("value", text);
+        generator.writeStringField("displayValue", text);
+    }
+
+    private static void writeContact(JsonGenerator generator, int n) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("objectType", "CONTACT");
+        generator.writeStringField("email", email(n));
+        generator.writeStringField("name", name(n));
+        generator.writeEndObject();
+    }
+
+    /** a team of 25 people, so contacts repeat the way they do in real sheets */
+    private static String name(int n) {
+        return "Team Member " + n % 25;
+    }
+
+    private static String email(int n) {
+        return "member" + n % 25 + "@example.com";
+    }
+
+    private static byte[] generate(Writer writer) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            writer.write(generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(JsonGenerator generator) throws IOException;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.http;
+
+import com.smartsheet.api.internal.util.StreamUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the copies the HTTP client makes of every request and response body so they can be logged:
+ * {@link HttpEntitySnapshot} and {@link StreamUtil#cloneContent}, for streams that support mark/reset (which are
+ * read back) and streams that don't (which are read fully and replaced).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HttpEntitySnapshotBenchmark {
+
+    @Param({"1024", "65536", "1048576"})
+    public int bodySize;
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        body = new byte[bodySize];
+        Arrays.fill(body, (byte) 'x');
+        body[0] = '"';
+        body[bodySize - 1] = '"';
+    }
+
+    @Benchmark
+    public HttpEntitySnapshot snapshotResettableStream() throws IOException {
+        return new HttpEntitySnapshot(entity(new ByteArrayInputStream(body)));
+    }
+
+    @Benchmark
+    public HttpEntitySnapshot snapshotSocketStream() throws IOException {
+        return new HttpEntitySnapshot(entity(new UnmarkableInputStream(new ByteArrayInputStream(body))));
+    }
+
+    @Benchmark
+    public InputStream cloneResettableStream() throws IOException {
+        return StreamUtil.cloneContent(new ByteArrayInputStream(body), bodySize, new ByteArrayOutputStream());
+    }
+
+    @Benchmark
+    public InputStream cloneSocketStream() throws IOException {
+        return StreamUtil.cloneContent(new UnmarkableInputStream(new ByteArrayInputStream(body)), bodySize,
+                new ByteArrayOutputStream());
+    }
+
+    private HttpEntity entity(InputStream content) {
+        HttpEntity entity = new HttpEntity();
+        entity.setContentType("application/json;charset=UTF-8");
+        entity.setContentLength(bodySize);
+        entity.setContent(content);
+        return entity;
+    }
+
+    /** like a socket's stream, doesn't support mark/reset */
+    private static class UnmarkableInputStream extends FilterInputStream {
+        UnmarkableInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
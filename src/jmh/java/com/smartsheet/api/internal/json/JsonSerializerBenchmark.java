@@ -0,0 +1,103 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.json;
+
+import com.smartsheet.api.BenchmarkPayloads;
+import com.smartsheet.api.models.EventResult;
+import com.smartsheet.api.models.PagedResult;
+import com.smartsheet.api.models.Report;
+import com.smartsheet.api.models.Sheet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares JsonSerializer backends on the response fixtures used by the unit tests. To benchmark another
+ * implementation, add it to {@link #createSerializer(String)} and to the serializer parameter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JsonSerializerBenchmark {
+
+    @Param({"jackson", "jackson-string-pool"})
+    public String serializer;
+
+    private JsonSerializer jsonSerializer;
+    private byte[] sheetJson;
+    private byte[] sheetListJson;
+    private byte[] eventsJson;
+    private byte[] reportJson;
+    private Sheet sheet;
+
+    @Setup
+    public void setUp() throws IOException, JSONSerializerException {
+        jsonSerializer = createSerializer(serializer);
+        sheetJson = BenchmarkPayloads.fixture("getSheet.json");
+        sheetListJson = BenchmarkPayloads.fixture("listSheets.json");
+        eventsJson = BenchmarkPayloads.fixture("listEvents.json");
+        reportJson = BenchmarkPayloads.fixture("getReport.json");
+        sheet = jsonSerializer.deserialize(Sheet.class, new ByteArrayInputStream(sheetJson));
+    }
+
+    @Benchmark
+    public Sheet deserializeSheet() throws IOException {
+        return jsonSerializer.deserialize(Sheet.class, new ByteArrayInputStream(sheetJson));
+    }
+
+    @Benchmark
+    public PagedResult<Sheet> deserializeSheetList() throws JSONSerializerException {
+        return jsonSerializer.deserializeDataWrapper(Sheet.class, new ByteArrayInputStream(sheetListJson));
+    }
+
+    @Benchmark
+    public EventResult deserializeEvents() throws JSONSerializerException {
+        return jsonSerializer.deserializeEventResult(new ByteArrayInputStream(eventsJson));
+    }
+
+    @Benchmark
+    public Report deserializeReport() throws IOException {
+        return jsonSerializer.deserialize(Report.class, new ByteArrayInputStream(reportJson));
+    }
+
+    @Benchmark
+    public String serializeSheet() throws JSONSerializerException {
+        return jsonSerializer.serialize(sheet);
+    }
+
+    static JsonSerializer createSerializer(String name) {
+        switch (name) {
+            case "jackson":
+                return new JacksonJsonSerializer(JacksonJsonSerializer.createObjectMapper());
+            case "jackson-string-pool":
+                JacksonJsonSerializer pooled = new JacksonJsonSerializer(JacksonJsonSerializer.createObjectMapper());
+                pooled.setStringPool(new StringPool());
+                return pooled;
+            default:
+                throw new IllegalArgumentException("Unknown serializer: " + name);
+        }
+    }
+}
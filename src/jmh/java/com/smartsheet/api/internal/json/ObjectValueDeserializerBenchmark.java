@@ -0,0 +1,82 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.json;
+
+import com.smartsheet.api.BenchmarkPayloads;
+import com.smartsheet.api.models.Cell;
+import com.smartsheet.api.models.Sheet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ObjectValueDeserializer} on contact-heavy payloads: a sheet whose contact and multi-contact cells
+ * carry object values, and single cells with one or many contacts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ObjectValueDeserializerBenchmark {
+
+    @Param({"1", "10"})
+    public int contactsPerCell;
+
+    private JsonSerializer jsonSerializer;
+    private byte[] sheetJson;
+    private byte[] contactCellJson;
+    private byte[] multiContactCellJson;
+
+    @Setup
+    public void setUp() {
+        jsonSerializer = new JacksonJsonSerializer(JacksonJsonSerializer.createObjectMapper());
+        sheetJson = BenchmarkPayloads.sheet(1000, contactsPerCell);
+        contactCellJson = ("{\"columnId\":1,\"value\":\"member1@example.com\",\"displayValue\":\"Team Member 1\","
+                + "\"objectValue\":{\"objectType\":\"CONTACT\",\"email\":\"member1@example.com\",\"name\":\"Team Member 1\"}}")
+                .getBytes(StandardCharsets.UTF_8);
+        StringBuilder multiContact = new StringBuilder("{\"columnId\":1,\"objectValue\":{\"objectType\":\"MULTI_CONTACT\",\"values\":[");
+        for (int c = 0; c < contactsPerCell; c++) {
+            multiContact.append(c == 0 ? "" : ",").append("{\"objectType\":\"CONTACT\",\"email\":\"member").append(c)
+                    .append("@example.com\",\"name\":\"Team Member ").append(c).append("\"}");
+        }
+        multiContactCellJson = multiContact.append("]}}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Sheet deserializeContactSheet() throws IOException {
+        return jsonSerializer.deserialize(Sheet.class, new ByteArrayInputStream(sheetJson));
+    }
+
+    @Benchmark
+    public Cell deserializeContactCell() throws IOException {
+        return jsonSerializer.deserialize(Cell.class, new ByteArrayInputStream(contactCellJson));
+    }
+
+    @Benchmark
+    public Cell deserializeMultiContactCell() throws IOException {
+        return jsonSerializer.deserialize(Cell.class, new ByteArrayInputStream(multiContactCellJson));
+    }
+}
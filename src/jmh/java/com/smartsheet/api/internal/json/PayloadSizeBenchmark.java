@@ -0,0 +1,85 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.json;
+
+import com.smartsheet.api.BenchmarkPayloads;
+import com.smartsheet.api.models.EventResult;
+import com.smartsheet.api.models.Report;
+import com.smartsheet.api.models.Sheet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * De-serializes sheets, reports and event streams of realistic shape at several sizes, from a handful of rows up to
+ * a large sheet, to show how the cost grows with the response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PayloadSizeBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int rows;
+
+    @Param({"jackson", "jackson-string-pool"})
+    public String serializer;
+
+    private JsonSerializer jsonSerializer;
+    private byte[] sheetJson;
+    private byte[] reportJson;
+    private byte[] eventsJson;
+    private Sheet sheet;
+
+    @Setup
+    public void setUp() throws IOException {
+        jsonSerializer = JsonSerializerBenchmark.createSerializer(serializer);
+        sheetJson = BenchmarkPayloads.sheet(rows, 3);
+        reportJson = BenchmarkPayloads.report(rows);
+        eventsJson = BenchmarkPayloads.events(rows);
+        sheet = jsonSerializer.deserialize(Sheet.class, new ByteArrayInputStream(sheetJson));
+    }
+
+    @Benchmark
+    public Sheet deserializeSheet() throws IOException {
+        return jsonSerializer.deserialize(Sheet.class, new ByteArrayInputStream(sheetJson));
+    }
+
+    @Benchmark
+    public Report deserializeReport() throws IOException {
+        return jsonSerializer.deserialize(Report.class, new ByteArrayInputStream(reportJson));
+    }
+
+    @Benchmark
+    public EventResult deserializeEvents() throws JSONSerializerException {
+        return jsonSerializer.deserializeEventResult(new ByteArrayInputStream(eventsJson));
+    }
+
+    @Benchmark
+    public String serializeSheet() throws JSONSerializerException {
+        return jsonSerializer.serialize(sheet);
+    }
+}
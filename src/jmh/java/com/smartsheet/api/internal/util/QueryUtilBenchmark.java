@@ -0,0 +1,76 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds query strings the way the resource methods do for every request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class QueryUtilBenchmark {
+
+    private Map<String, Object> getSheetParameters;
+    private Map<String, Object> listParameters;
+    private List<Long> rowIds;
+
+    @Setup
+    public void setUp() {
+        getSheetParameters = new HashMap<>();
+        getSheetParameters.put("include", "attachments,discussions,format,objectValue");
+        getSheetParameters.put("exclude", "nonexistentCells");
+        getSheetParameters.put("rowIds", "1732835527681924,1732835527681925,1732835527681926");
+        getSheetParameters.put("pageSize", 500);
+        getSheetParameters.put("page", 3);
+        getSheetParameters.put("level", null);
+
+        listParameters = new HashMap<>();
+        listParameters.put("includeAll", true);
+        listParameters.put("modifiedSince", "2023-01-30T11:42:30Z");
+
+        rowIds = Arrays.asList(1732835527681924L, 1732835527681925L, 1732835527681926L, 1732835527681927L);
+    }
+
+    @Benchmark
+    public String generateGetSheetUrl() {
+        return QueryUtil.generateUrl("sheets/1060338138408836", getSheetParameters);
+    }
+
+    @Benchmark
+    public String generateListUrl() {
+        return QueryUtil.generateUrl("sheets", listParameters);
+    }
+
+    @Benchmark
+    public String generateCommaSeparatedList() {
+        return QueryUtil.generateCommaSeparatedList(rowIds);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.models;
+
+import com.smartsheet.api.BenchmarkPayloads;
+import com.smartsheet.api.internal.json.JacksonJsonSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the column and row lookups of {@link AbstractSheet}, looking up the last column and a row in the middle
+ * of the sheet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AbstractSheetBenchmark {
+
+    @Param({"100", "10000"})
+    public int rows;
+
+    private Sheet sheet;
+    private long lastColumnId;
+    private int lastColumnIndex;
+    private int middleRowNumber;
+
+    @Setup
+    public void setUp() throws IOException {
+        sheet = new JacksonJsonSerializer(JacksonJsonSerializer.createObjectMapper())
+                .deserialize(Sheet.class, new ByteArrayInputStream(BenchmarkPayloads.sheet(rows, 1)));
+        lastColumnIndex = sheet.getColumns().size() - 1;
+        lastColumnId = BenchmarkPayloads.COLUMN_ID + lastColumnIndex;
+        middleRowNumber = rows / 2;
+    }
+
+    @Benchmark
+    public Column getColumnById() {
+        return sheet.getColumnById(lastColumnId);
+    }
+
+    @Benchmark
+    public Column getColumnByIndex() {
+        return sheet.getColumnByIndex(lastColumnIndex);
+    }
+
+    @Benchmark
+    public Row getRowByRowNumber() {
+        return sheet.getRowByRowNumber(middleRowNumber);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.models.format;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses the format strings found on cells, columns and rows, which a formatted sheet has one of per cell.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FormatBenchmark {
+
+    /** sparse (one attribute), typical (bold text with colours and a number format) and fully specified */
+    @Param({",,1,,,,,,,,,,,,,,", ",,1,,,,,,2,18,,,,1,2,,", "0,2,1,1,1,1,2,2,2,18,4,13,2,1,2,1,1"})
+    public String format;
+
+    @Benchmark
+    public Format parse() {
+        return new Format(format);
+    }
+
+    @Benchmark
+    public void parseAndRead(Blackhole blackhole) {
+        Format parsed = new Format(format);
+        blackhole.consume(parsed.getBold());
+        blackhole.consume(parsed.getTextColor());
+        blackhole.consume(parsed.getBackgroundColor());
+        blackhole.consume(parsed.getNumberFormat());
+        blackhole.consume(parsed.getDateFormat());
+    }
+}
@@ -28,6 +28,9 @@ public class AccessTokenExpiredException extends AuthorizationException {
 
     private static final long serialVersionUID = 1L;
 
+    /** the Smartsheet error code of an expired access token */
+    public static final int ERROR_CODE = 1003;
+
     /**
      * Instantiates a new access token expired exception.
      *
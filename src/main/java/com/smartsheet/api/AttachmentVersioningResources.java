@@ -22,6 +22,7 @@ import com.smartsheet.api.models.PaginationParameters;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.InputStream;
 
 /**
  * <p>This interface provides methods to access AttachmentVersioning resources.</p>
@@ -89,4 +90,32 @@ public interface AttachmentVersioningResources {
             File file,
             String contentType
     ) throws FileNotFoundException, SmartsheetException;
+
+    /**
+     * <p>Attach a new version of an attachment.</p>
+     *
+     * <p>It mirrors to the following Smartsheet REST API method: POST /attachment/{id}/versions</p>
+     *
+     * @param sheetId the id of the sheet
+     * @param attachmentId the id of the attachment to upload a new version.
+     * @param inputStream the {@link InputStream} of the file to attach
+     * @param contentType the content type of the file
+     * @param contentLength the size of the file in bytes.
+     * @param attachmentName the name of the file.
+     * @return the created attachment
+     * @throws IllegalArgumentException if any argument is null or empty string
+     * @throws InvalidRequestException if there is any problem with the REST API request
+     * @throws AuthorizationException if there is any problem with  the REST API authorization (access token)
+     * @throws ResourceNotFoundException if the resource cannot be found
+     * @throws ServiceUnavailableException if the REST API service is not available (possibly due to rate limiting)
+     * @throws SmartsheetException if there is any other error during the operation
+     */
+    Attachment attachNewVersion(
+            long sheetId,
+            long attachmentId,
+            InputStream inputStream,
+            String contentType,
+            long contentLength,
+            String attachmentName
+    ) throws SmartsheetException;
 }
@@ -25,7 +25,8 @@ public interface EventResources {
      *
      * <p>It mirrors to the following Smartsheet REST API method: GET /events</p>
      *
-     * @param since Starting time for events to return. You must pass in a value for either since or
+     * @param since Starting time for events to return, a {@link java.util.Date}, {@link java.time.Instant} or a
+     *              value already in the API's format. You must pass in a value for either since or
      *              streamPosition and never both.
      * @param streamPosition Indicates next set of events to return. Use value of nextStreamPosition returned
      *                       from the previous call. You must pass in a value for either since or streamPosition
@@ -21,9 +21,12 @@ import com.smartsheet.api.models.PaginationParameters;
 import com.smartsheet.api.models.Report;
 import com.smartsheet.api.models.ReportPublish;
 import com.smartsheet.api.models.SheetEmail;
+import com.smartsheet.api.models.enums.ExportFormat;
 import com.smartsheet.api.models.enums.ReportInclusion;
 
 import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.Date;
 import java.util.EnumSet;
 
@@ -176,6 +179,52 @@ public interface ReportResources {
      * */
     void getReportAsCsv(long id, OutputStream outputStream) throws SmartsheetException;
 
+    /**
+     * <p>Export a Report, writing it straight into a channel.</p>
+     *
+     * <p>It mirrors to the following Smartsheet REST API method: GET /reports/{id} with the format's Accept
+     * HTTP header</p>
+     *
+     * Exceptions:
+     *   IllegalArgumentException : if format or channel is null, or format is PDF
+     *   InvalidRequestException : if there is any problem with the REST API request
+     *   AuthorizationException : if there is any problem with the REST API authorization(access token)
+     *   ResourceNotFoundException : if the resource can not be found
+     *   ServiceUnavailableException : if the REST API service is not available (possibly due to rate limiting)
+     *   SmartsheetRestException : if there is any other REST API related error occurred during the operation
+     *   SmartsheetException : if there is any other error occurred during the operation
+     *
+     * @param id the id
+     * @param format the export format, EXCEL or CSV
+     * @param channel the channel to which the file will be written; it is not closed
+     * @return the number of bytes written
+     * @throws SmartsheetException the smartsheet exception
+     */
+    long exportReport(long id, ExportFormat format, WritableByteChannel channel) throws SmartsheetException;
+
+    /**
+     * <p>Export a Report to a file. The file is only created once the export has started successfully.</p>
+     *
+     * <p>It mirrors to the following Smartsheet REST API method: GET /reports/{id} with the format's Accept
+     * HTTP header</p>
+     *
+     * Exceptions:
+     *   IllegalArgumentException : if format or target is null, or format is PDF
+     *   InvalidRequestException : if there is any problem with the REST API request
+     *   AuthorizationException : if there is any problem with the REST API authorization(access token)
+     *   ResourceNotFoundException : if the resource can not be found
+     *   ServiceUnavailableException : if the REST API service is not available (possibly due to rate limiting)
+     *   SmartsheetRestException : if there is any other REST API related error occurred during the operation
+     *   SmartsheetException : if there is any other error occurred during the operation
+     *
+     * @param id the id
+     * @param format the export format, EXCEL or CSV
+     * @param target the file to write
+     * @return the number of bytes written
+     * @throws SmartsheetException the smartsheet exception
+     */
+    long exportReport(long id, ExportFormat format, Path target) throws SmartsheetException;
+
     /**
      * <p>Get the publish status of a report.</p>
      *
@@ -24,6 +24,8 @@ import com.smartsheet.api.models.enums.CellHistoryInclusion;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.EnumSet;
 
 /**
@@ -174,6 +176,61 @@ public interface RowColumnResources {
     void addImageToCell(long sheetId, long rowId, long columnId, File file, String contentType,
                                boolean overrideValidation, String altText) throws FileNotFoundException, SmartsheetException;
 
+    /**
+     * Add an image to a cell. The file is streamed from disk, and re-read rather than held in memory if the request
+     * is retried.
+     * <p>
+     * It mirrors the following Smartsheet REST API method: POST /sheets/{sheetId}/rows/{rowId}/columns/{columnId}/cellimages
+     * <p>
+     * Exceptions:
+     *   InvalidRequestException : if there is any problem with the REST API request
+     *   AuthorizationException : if there is any problem with the REST API authorization(access token)
+     *   ResourceNotFoundException : if the resource can not be found
+     *   ServiceUnavailableException : if the REST API service is not available (possibly due to rate limiting)
+     *   SmartsheetRestException : if there is any other REST API related error occurred during the operation
+     *   SmartsheetException : if there is any other error occurred during the operation
+     *
+     * @param sheetId the sheet Id
+     * @param rowId the row id
+     * @param columnId the column id
+     * @param file the image file
+     * @param contentType MIME type
+     * @param overrideValidation override column type validation if true
+     * @param altText alternate description for the image
+     * @throws SmartsheetException the smartsheet exception
+     * @throws FileNotFoundException image file not found
+     */
+    void addImageToCell(long sheetId, long rowId, long columnId, Path file, String contentType,
+                        boolean overrideValidation, String altText) throws FileNotFoundException, SmartsheetException;
+
+    /**
+     * Add an image held in a buffer to a cell. The bytes from the buffer's position to its limit are sent straight from
+     * the buffer, which may be a direct or memory-mapped buffer, and re-sent from it if the request is retried; the
+     * buffer's own position is not changed.
+     * <p>
+     * It mirrors the following Smartsheet REST API method: POST /sheets/{sheetId}/rows/{rowId}/columns/{columnId}/cellimages
+     * <p>
+     * Exceptions:
+     *   InvalidRequestException : if there is any problem with the REST API request
+     *   AuthorizationException : if there is any problem with the REST API authorization(access token)
+     *   ResourceNotFoundException : if the resource can not be found
+     *   ServiceUnavailableException : if the REST API service is not available (possibly due to rate limiting)
+     *   SmartsheetRestException : if there is any other REST API related error occurred during the operation
+     *   SmartsheetException : if there is any other error occurred during the operation
+     *
+     * @param sheetId the sheet Id
+     * @param rowId the row id
+     * @param columnId the column id
+     * @param image the image
+     * @param fileName the file name of the image
+     * @param contentType MIME type
+     * @param overrideValidation override column type validation if true
+     * @param altText alternate description for the image
+     * @throws SmartsheetException the smartsheet exception
+     */
+    void addImageToCell(long sheetId, long rowId, long columnId, ByteBuffer image, String fileName, String contentType,
+                        boolean overrideValidation, String altText) throws SmartsheetException;
+
     /**
      * Add an image to a cell.
      * <p>
@@ -23,6 +23,7 @@ import com.smartsheet.api.models.PaginationParameters;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.nio.file.Path;
 
 public interface SheetAttachmentResources {
 
@@ -144,6 +145,23 @@ public interface SheetAttachmentResources {
             String attachmentName
     ) throws SmartsheetException;
 
+    /**
+     * <p>Download the file of an attachment.</p>
+     *
+     * <p>The file is streamed to disk from the attachment's URL, which is refreshed if it expires. A download that
+     * stops part way continues from where it stopped the next time it is called for the same target, and large files
+     * are downloaded in several ranges at once. The target is only written once all of the file has arrived.</p>
+     *
+     * @param sheetId the sheet id
+     * @param attachmentId the attachment id
+     * @param target the file to write, replaced if it exists
+     * @return the attachment
+     * @throws IllegalArgumentException if the attachment is a link rather than a file
+     * @throws ResourceNotFoundException if the attachment cannot be found
+     * @throws SmartsheetException if there is any other error during the operation
+     */
+    Attachment download(long sheetId, long attachmentId, Path target) throws SmartsheetException;
+
     /**
      * <p>Creates an object of AttachmentVersioningResources for access to versioning through SheetAttachmentResources.</p>
      *
@@ -26,6 +26,7 @@ import com.smartsheet.api.models.SheetPublish;
 import com.smartsheet.api.models.SortSpecifier;
 import com.smartsheet.api.models.UpdateRequest;
 import com.smartsheet.api.models.enums.CopyExclusion;
+import com.smartsheet.api.models.enums.ExportFormat;
 import com.smartsheet.api.models.enums.ObjectExclusion;
 import com.smartsheet.api.models.enums.PaperSize;
 import com.smartsheet.api.models.enums.SheetCopyInclusion;
@@ -34,6 +35,8 @@ import com.smartsheet.api.models.enums.SheetTemplateInclusion;
 import com.smartsheet.api.models.enums.SourceInclusion;
 
 import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.Date;
 import java.util.EnumSet;
 import java.util.Set;
@@ -250,6 +253,45 @@ public interface SheetResources {
      */
     void getSheetAsPDF(long id, OutputStream outputStream, PaperSize paperSize) throws SmartsheetException;
 
+    /**
+     * <p>Export a sheet, writing it straight into a channel. When the channel is a FileChannel the file is moved
+     * with FileChannel.transferFrom instead of being copied through an intermediate stream.</p>
+     *
+     * <p>It mirrors to the following Smartsheet REST API method: GET /sheet/{id} with the format's Accept HTTP header</p>
+     *
+     * @param id the id of the sheet
+     * @param format the export format
+     * @param paperSize the optional paper size, only used for PDF
+     * @param channel the channel to which the file will be written; it is not closed
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if any argument is null
+     * @throws InvalidRequestException if there is any problem with the REST API request
+     * @throws AuthorizationException if there is any problem with  the REST API authorization (access token)
+     * @throws ResourceNotFoundException if the resource cannot be found
+     * @throws ServiceUnavailableException if the REST API service is not available (possibly due to rate limiting)
+     * @throws SmartsheetException if there is any other error during the operation
+     */
+    long exportSheet(long id, ExportFormat format, PaperSize paperSize, WritableByteChannel channel) throws SmartsheetException;
+
+    /**
+     * <p>Export a sheet to a file. The file is only created once the export has started successfully.</p>
+     *
+     * <p>It mirrors to the following Smartsheet REST API method: GET /sheet/{id} with the format's Accept HTTP header</p>
+     *
+     * @param id the id of the sheet
+     * @param format the export format
+     * @param paperSize the optional paper size, only used for PDF
+     * @param target the file to write
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if any argument is null
+     * @throws InvalidRequestException if there is any problem with the REST API request
+     * @throws AuthorizationException if there is any problem with  the REST API authorization (access token)
+     * @throws ResourceNotFoundException if the resource cannot be found
+     * @throws ServiceUnavailableException if the REST API service is not available (possibly due to rate limiting)
+     * @throws SmartsheetException if there is any other error during the operation
+     */
+    long exportSheet(long id, ExportFormat format, PaperSize paperSize, Path target) throws SmartsheetException;
+
     /**
      * <p>Create a sheet in default "Sheets" collection.</p>
      *
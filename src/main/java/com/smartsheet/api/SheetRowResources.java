@@ -28,8 +28,10 @@ import com.smartsheet.api.models.enums.RowInclusion;
 import com.smartsheet.api.models.enums.RowMoveInclusion;
 
 import java.util.EnumSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * This interface provides methods to access row resources that are associated to a sheet object.
@@ -79,6 +81,30 @@ public interface SheetRowResources {
             EnumSet<ObjectExclusion> excludes
     ) throws SmartsheetException;
 
+    /**
+     * <p>Insert rows pulled from an iterator (for example a database cursor, CSV reader or {@code Stream.iterator()})
+     * to a sheet, in as many requests as needed.</p>
+     *
+     * <p>Rows are serialized one at a time into a reusable request buffer and sent in batches of at most batchSize
+     * rows, so only one batch is held in memory at a time. Each batch is a separate request; if one fails, the
+     * batches before it have already been applied.</p>
+     *
+     * <p>It mirrors to the following Smartsheet REST API method: POST /sheets/{id}/rows</p>
+     *
+     * @param sheetId the sheet id
+     * @param rows the source of the rows to create
+     * @param batchSize the maximum number of rows per request
+     * @param resultHandler receives the created rows of each batch (optional, results are discarded if null)
+     * @return the number of rows sent
+     * @throws IllegalArgumentException if any argument is null or batchSize isn't positive
+     * @throws InvalidRequestException if there is any problem with the REST API request
+     * @throws AuthorizationException if there is any problem with  the REST API authorization (access token)
+     * @throws ResourceNotFoundException if the resource cannot be found
+     * @throws ServiceUnavailableException if the REST API service is not available (possibly due to rate limiting)
+     * @throws SmartsheetException if there is any other error during the operation
+     */
+    long addRows(long sheetId, Iterator<Row> rows, int batchSize, Consumer<List<Row>> resultHandler) throws SmartsheetException;
+
     /**
      * <p>Insert rows to a sheet, allowing partial success. If a row cannot be inserted, it will fail, while the others may succeed..</p>
      *
@@ -270,6 +296,29 @@ public interface SheetRowResources {
             EnumSet<ObjectExclusion> excludes
     ) throws SmartsheetException;
 
+    /**
+     * <p>Update rows pulled from an iterator, in as many requests as needed.</p>
+     *
+     * <p>Rows are serialized one at a time into a reusable request buffer and sent in batches of at most batchSize
+     * rows, so only one batch is held in memory at a time. Each batch is a separate request; if one fails, the
+     * batches before it have already been applied.</p>
+     *
+     * <p>It mirrors to the following Smartsheet REST API method: PUT /sheets/{sheetId}/rows</p>
+     *
+     * @param sheetId the id of the sheet
+     * @param rows the source of the rows to update
+     * @param batchSize the maximum number of rows per request
+     * @param resultHandler receives the updated rows of each batch (optional, results are discarded if null)
+     * @return the number of rows sent
+     * @throws IllegalArgumentException if any argument is null or batchSize isn't positive
+     * @throws InvalidRequestException if there is any problem with the REST API request
+     * @throws AuthorizationException if there is any problem with  the REST API authorization (access token)
+     * @throws ResourceNotFoundException if the resource cannot be found
+     * @throws ServiceUnavailableException if the REST API service is not available (possibly due to rate limiting)
+     * @throws SmartsheetException if there is any other error during the operation
+     */
+    long updateRows(long sheetId, Iterator<Row> rows, int batchSize, Consumer<List<Row>> resultHandler) throws SmartsheetException;
+
     /**
      * <p>Update rows, but allow partial success. The PartialRowUpdateResult will contain the successful
      * rows and those that failed, with specific messages for each.</p>
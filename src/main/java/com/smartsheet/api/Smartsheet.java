@@ -16,6 +16,11 @@
 
 package com.smartsheet.api;
 
+import com.smartsheet.api.internal.http.AsyncTraceWriter;
+import com.smartsheet.api.internal.http.TraceSink;
+import com.smartsheet.api.metrics.SmartsheetMetrics;
+import com.smartsheet.api.tracing.SmartsheetTracer;
+
 /**
  * <p>This interface is the entry point of the Smartsheet SDK, it provides convenient methods to get XXXResources instances
  * for accessing different types of resources.</p>
@@ -36,6 +41,20 @@ public interface Smartsheet {
      */
     void setTracePrettyPrint(boolean pretty);
 
+    /**
+     * <p>Trace only a fraction of successful calls, so tracing can stay on under load; error responses are always
+     * traced.</p>
+     * @param sampleRate from 0 (only errors) to 1 (every call, the default)
+     */
+    void setTraceSampleRate(double sampleRate);
+
+    /**
+     * <p>Send this client's traces to the given sink instead of the shared one, which writes to System.out on a
+     * background thread.</p>
+     * @param traceSink the sink, such as an {@link AsyncTraceWriter} on a file, or null for the default
+     */
+    void setTraceSink(TraceSink traceSink);
+
     /**
      * <p>Set the access token to use.</p>
      *
@@ -75,6 +94,40 @@ public interface Smartsheet {
      */
     void setMaxRetryTimeMillis(long maxRetryTimeMillis);
 
+    /**
+     * <p>Sets where to report the measurements of each API call if the HttpClient is an instance of DefaultHttpClient
+     * or AndroidHttpClient</p>
+     *
+     * @param metrics the metrics listener, or null to stop measuring
+     */
+    void setMetrics(SmartsheetMetrics metrics);
+
+    /**
+     * <p>Sets the tracer of API calls if the HttpClient is an instance of DefaultHttpClient or AndroidHttpClient</p>
+     *
+     * @param tracer the tracer, or null to stop tracing
+     */
+    void setTracer(SmartsheetTracer tracer);
+
+    /**
+     * <p>Sets whether concurrent identical GET calls, those for the same resource with the same headers (including the
+     * assumed user), share one request and one deserialized result. A shared result must be treated as read-only;
+     * copy it, or get the resource with coalescing off, to change it. Off by default.</p>
+     *
+     * @param enabled whether to coalesce requests
+     */
+    void setRequestCoalescing(boolean enabled);
+
+    /**
+     * <p>Returns a builder of a tenant view of this client: a lightweight, unchangeable client for another access token
+     * (and optionally assumed user) that shares this client's transport, connection pool, interceptors and serializer,
+     * so a service acting for many tenants needs only one of each.</p>
+     *
+     * @param accessToken the access token of the tenant
+     * @return the tenant builder
+     */
+    TenantBuilder forTenant(String accessToken);
+
     /**
      * <p>Returns the HomeResources instance that provides access to Home resources.</p>
      *
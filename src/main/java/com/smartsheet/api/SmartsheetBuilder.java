@@ -17,8 +17,19 @@
 package com.smartsheet.api;
 
 import com.smartsheet.api.internal.SmartsheetImpl;
+import com.smartsheet.api.internal.http.AccessTokenRefreshInterceptor;
 import com.smartsheet.api.internal.http.HttpClient;
+import com.smartsheet.api.internal.http.HttpInterceptor;
+import com.smartsheet.api.internal.json.JacksonJsonSerializer;
 import com.smartsheet.api.internal.json.JsonSerializer;
+import com.smartsheet.api.internal.util.Util;
+import com.smartsheet.api.metrics.SmartsheetMetrics;
+import com.smartsheet.api.oauth.TokenProvider;
+import com.smartsheet.api.tracing.SmartsheetTracer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * <p>A convenience class to help create a {@link Smartsheet} instance with the appropriate fields.</p>
@@ -76,6 +87,41 @@ public class SmartsheetBuilder {
      */
     private String changeAgent;
 
+    /**
+     * <p>Represents where to report the measurements of each API call.</p>
+     *
+     * <p>It can be set using corresponding setter.</p>
+     */
+    private SmartsheetMetrics metrics;
+
+    /**
+     * <p>Represents the tracer of API calls.</p>
+     *
+     * <p>It can be set using corresponding setter.</p>
+     */
+    private SmartsheetTracer tracer;
+
+    /**
+     * <p>Represents whether concurrent identical GET calls share one request.</p>
+     *
+     * <p>It can be set using corresponding setter.</p>
+     */
+    private boolean requestCoalescing;
+
+    /**
+     * <p>Represents the provider of the access token.</p>
+     *
+     * <p>It can be set using corresponding setter.</p>
+     */
+    private TokenProvider tokenProvider;
+
+    /**
+     * <p>Represents the interceptors every API call passes through, outermost first.</p>
+     *
+     * <p>It can be added to using corresponding method.</p>
+     */
+    private final List<HttpInterceptor> interceptors = new ArrayList<>();
+
     /**
      * <p>Represents the default base URI of the Smartsheet REST API.</p>
      *
@@ -176,6 +222,75 @@ public class SmartsheetBuilder {
         return this;
     }
 
+    /**
+     * <p>Set where to report the measurements of each API call, such as a
+     * {@link com.smartsheet.api.metrics.HistogramMetrics}.</p>
+     *
+     * <p>This interface is only valid when the DefaultHttpClient or AndroidHttpClient is used.</p>
+     *
+     * @param metrics the metrics listener
+     * @return the smartsheet builder
+     */
+    public SmartsheetBuilder setMetrics(SmartsheetMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * <p>Set the tracer that records a span for each API call, with spans for its HTTP attempts, retry backoffs and
+     * JSON (de)serialization.</p>
+     *
+     * <p>This interface is only valid when the DefaultHttpClient or AndroidHttpClient is used.</p>
+     *
+     * @param tracer the tracer
+     * @return the smartsheet builder
+     */
+    public SmartsheetBuilder setTracer(SmartsheetTracer tracer) {
+        this.tracer = tracer;
+        return this;
+    }
+
+    /**
+     * <p>Set whether concurrent identical GET calls, for the same resource with the same headers (including the
+     * assumed user), share one request and one deserialized result, for example when many threads get the same sheet
+     * after a burst of webhook callbacks.</p>
+     *
+     * <p>A shared result must be treated as read-only; copy it, or get the resource with coalescing off, to change
+     * it.</p>
+     *
+     * @param requestCoalescing whether to coalesce requests
+     * @return the smartsheet builder
+     */
+    public SmartsheetBuilder setRequestCoalescing(boolean requestCoalescing) {
+        this.requestCoalescing = requestCoalescing;
+        return this;
+    }
+
+    /**
+     * <p>Set the provider of the access token of every call, such as a
+     * {@link com.smartsheet.api.oauth.RefreshingTokenProvider}, in place of a fixed access token. A call rejected
+     * because its token has expired is made again, once, with a new token from the provider.</p>
+     *
+     * @param tokenProvider the token provider
+     * @return the smartsheet builder
+     */
+    public SmartsheetBuilder setTokenProvider(TokenProvider tokenProvider) {
+        this.tokenProvider = tokenProvider;
+        return this;
+    }
+
+    /**
+     * <p>Add an interceptor that every API call passes through, inside those added before it and around the http
+     * client, including its retries.</p>
+     *
+     * @param interceptor the interceptor
+     * @return the smartsheet builder
+     */
+    public SmartsheetBuilder addInterceptor(HttpInterceptor interceptor) {
+        this.interceptors.add(Util.throwIfNull(interceptor));
+        return this;
+    }
+
     /**
      * <p>Gets the http client.</p>
      *
@@ -221,6 +336,51 @@ public class SmartsheetBuilder {
         return assumedUser;
     }
 
+    /**
+     * <p>Gets the metrics listener.</p>
+     *
+     * @return the metrics listener
+     */
+    public SmartsheetMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * <p>Gets the tracer.</p>
+     *
+     * @return the tracer
+     */
+    public SmartsheetTracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * <p>Gets whether concurrent identical GET calls share one request.</p>
+     *
+     * @return whether requests are coalesced
+     */
+    public boolean isRequestCoalescing() {
+        return requestCoalescing;
+    }
+
+    /**
+     * <p>Gets the token provider.</p>
+     *
+     * @return the token provider
+     */
+    public TokenProvider getTokenProvider() {
+        return tokenProvider;
+    }
+
+    /**
+     * <p>Gets the interceptors.</p>
+     *
+     * @return the interceptors, outermost first
+     */
+    public List<HttpInterceptor> getInterceptors() {
+        return Collections.unmodifiableList(interceptors);
+    }
+
     /**
      * <p>Gets the default base uri.</p>
      *
@@ -254,7 +414,17 @@ public class SmartsheetBuilder {
             accessToken = System.getenv("SMARTSHEET_ACCESS_TOKEN");
         }
 
-        SmartsheetImpl smartsheet = new SmartsheetImpl(baseURI, accessToken, httpClient, jsonSerializer);
+        SmartsheetImpl smartsheet;
+        if (tokenProvider == null) {
+            smartsheet = new SmartsheetImpl(baseURI, accessToken, httpClient, jsonSerializer, interceptors);
+        } else {
+            // the refresh interceptor is innermost, so the others see a call made again with a new token as one call
+            JsonSerializer serializer = jsonSerializer == null ? new JacksonJsonSerializer() : jsonSerializer;
+            List<HttpInterceptor> withRefresh = new ArrayList<>(interceptors);
+            withRefresh.add(new AccessTokenRefreshInterceptor(tokenProvider, serializer));
+            smartsheet = new SmartsheetImpl(baseURI, accessToken, httpClient, serializer, withRefresh);
+            smartsheet.setTokenProvider(tokenProvider);
+        }
 
         if (changeAgent != null) {
             smartsheet.setChangeAgent(changeAgent);
@@ -265,6 +435,15 @@ public class SmartsheetBuilder {
         if (maxRetryTimeMillis != null) {
             smartsheet.setMaxRetryTimeMillis(maxRetryTimeMillis);
         }
+        if (metrics != null) {
+            smartsheet.setMetrics(metrics);
+        }
+        if (tracer != null) {
+            smartsheet.setTracer(tracer);
+        }
+        if (requestCoalescing) {
+            smartsheet.setRequestCoalescing(true);
+        }
 
         return smartsheet;
     }
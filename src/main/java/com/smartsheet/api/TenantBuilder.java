@@ -0,0 +1,228 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api;
+
+import com.smartsheet.api.internal.SmartsheetImpl;
+import com.smartsheet.api.internal.http.HttpInterceptor;
+import com.smartsheet.api.internal.http.MetricsInterceptor;
+import com.smartsheet.api.internal.http.RateLimitingInterceptor;
+import com.smartsheet.api.internal.util.Util;
+import com.smartsheet.api.metrics.SmartsheetMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>A convenience class to help create a tenant view of a {@link Smartsheet} client, see
+ * {@link Smartsheet#forTenant(String)}. A service acting for many tenants builds one client, with its connection pool
+ * sized for all of them, and a view per tenant:</p>
+ * <pre>
+ * Smartsheet shared = new SmartsheetBuilder().setHttpClient(pooledClient).build();
+ * Smartsheet tenant = shared.forTenant(tenantToken)
+ *         .setRateLimiter(new RateLimitingInterceptor(300))
+ *         .setMetrics(tenantMetrics)
+ *         .build();
+ * </pre>
+ *
+ * <p>A view holds little more than its access token and settings, so views can be kept per tenant or built per
+ * request.</p>
+ *
+ * <p>Thread Safety: This class is not thread safe since it's mutable, one builder instance is NOT expected to be used in
+ * multiple threads.</p>
+ */
+public class TenantBuilder {
+    /**
+     * <p>Represents the client the view shares.</p>
+     */
+    private final SmartsheetImpl shared;
+
+    /**
+     * <p>Represents the access token of the tenant.</p>
+     */
+    private final String accessToken;
+
+    /**
+     * <p>Represents the assumed user.</p>
+     *
+     * <p>It can be set using corresponding setter.</p>
+     */
+    private String assumedUser;
+
+    /**
+     * <p>Represents the change agent, null for that of the shared client.</p>
+     *
+     * <p>It can be set using corresponding setter.</p>
+     */
+    private String changeAgent;
+
+    /**
+     * <p>Represents the rate limiter of the tenant's calls.</p>
+     *
+     * <p>It can be set using corresponding setter.</p>
+     */
+    private RateLimitingInterceptor rateLimiter;
+
+    /**
+     * <p>Represents where to report the tenant's calls.</p>
+     *
+     * <p>It can be set using corresponding setter.</p>
+     */
+    private SmartsheetMetrics metrics;
+
+    /**
+     * <p>Represents the interceptors of the tenant's calls, outermost first.</p>
+     *
+     * <p>It can be added to using corresponding method.</p>
+     */
+    private final List<HttpInterceptor> interceptors = new ArrayList<>();
+
+    /**
+     * <p>Constructor.</p>
+     *
+     * @param shared the client the view shares
+     * @param accessToken the access token of the tenant
+     * @throws IllegalArgumentException if any argument is null, or accessToken is empty string
+     */
+    public TenantBuilder(SmartsheetImpl shared, String accessToken) {
+        Util.throwIfNull(shared, accessToken);
+        Util.throwIfEmpty(accessToken);
+        this.shared = shared;
+        this.accessToken = accessToken;
+    }
+
+    /**
+     * <p>Set the email of the user the tenant's calls are made as.</p>
+     *
+     * @param assumedUser the assumed user
+     * @return the tenant builder
+     */
+    public TenantBuilder setAssumedUser(String assumedUser) {
+        this.assumedUser = assumedUser;
+        return this;
+    }
+
+    /**
+     * <p>Set the change agent of the tenant's calls, instead of that of the shared client.</p>
+     *
+     * @param changeAgent the change agent
+     * @return the tenant builder
+     */
+    public TenantBuilder setChangeAgent(String changeAgent) {
+        this.changeAgent = changeAgent;
+        return this;
+    }
+
+    /**
+     * <p>Set the limiter that keeps the tenant's calls within its rate budget. Smartsheet limits each access token, so
+     * give each tenant its own limiter; one added to the shared client with
+     * {@link SmartsheetBuilder#addInterceptor(HttpInterceptor)} limits all tenants together.</p>
+     *
+     * @param rateLimiter the rate limiter
+     * @return the tenant builder
+     */
+    public TenantBuilder setRateLimiter(RateLimitingInterceptor rateLimiter) {
+        this.rateLimiter = rateLimiter;
+        return this;
+    }
+
+    /**
+     * <p>Set where to report the tenant's calls, in addition to the shared client's metrics listener. See
+     * {@link MetricsInterceptor} for what is measured.</p>
+     *
+     * @param metrics the metrics listener
+     * @return the tenant builder
+     */
+    public TenantBuilder setMetrics(SmartsheetMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * <p>Add an interceptor that the tenant's calls pass through, inside the rate limiter and metrics and outside the
+     * shared client's interceptors.</p>
+     *
+     * @param interceptor the interceptor
+     * @return the tenant builder
+     */
+    public TenantBuilder addInterceptor(HttpInterceptor interceptor) {
+        interceptors.add(Util.throwIfNull(interceptor));
+        return this;
+    }
+
+    /**
+     * <p>Gets the access token.</p>
+     *
+     * @return the access token
+     */
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    /**
+     * <p>Gets the assumed user.</p>
+     *
+     * @return the assumed user
+     */
+    public String getAssumedUser() {
+        return assumedUser;
+    }
+
+    /**
+     * <p>Gets the change agent.</p>
+     *
+     * @return the change agent
+     */
+    public String getChangeAgent() {
+        return changeAgent;
+    }
+
+    /**
+     * <p>Gets the rate limiter.</p>
+     *
+     * @return the rate limiter
+     */
+    public RateLimitingInterceptor getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * <p>Gets the metrics listener.</p>
+     *
+     * @return the metrics listener
+     */
+    public SmartsheetMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * <p>Build the tenant view.</p>
+     *
+     * @return the Smartsheet instance of the tenant, whose setters throw UnsupportedOperationException
+     */
+    public Smartsheet build() {
+        List<HttpInterceptor> tenantInterceptors = new ArrayList<>();
+        if (rateLimiter != null) {
+            tenantInterceptors.add(rateLimiter);
+        }
+        if (metrics != null) {
+            tenantInterceptors.add(new MetricsInterceptor(metrics));
+        }
+        tenantInterceptors.addAll(interceptors);
+        return new SmartsheetImpl(shared, accessToken, assumedUser, changeAgent, tenantInterceptors);
+    }
+}
@@ -27,6 +27,8 @@ import com.smartsheet.api.models.enums.ListUserInclusion;
 import com.smartsheet.api.models.enums.UserInclusion;
 
 import java.io.FileNotFoundException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Date;
 import java.util.EnumSet;
 import java.util.List;
@@ -333,4 +335,40 @@ public interface UserResources {
      * @throws SmartsheetException f there is any other error during the operation
      */
     User addProfileImage(long userId, String file, String fileType) throws SmartsheetException, FileNotFoundException;
+
+    /**
+     * <p>Uploads a profile image for the specified user. The file is streamed from disk, and re-read rather than held in
+     * memory if the request is retried.</p>
+     *
+     * @param userId id of the user
+     * @param file the image file
+     * @param fileType content type of the image file
+     * @return user
+     * @throws IllegalArgumentException if any argument is null or empty string
+     * @throws InvalidRequestException if there is any problem with the REST API request
+     * @throws AuthorizationException if there is any problem with  the REST API authorization (access token)
+     * @throws ResourceNotFoundException if the resource cannot be found
+     * @throws ServiceUnavailableException if the REST API service is not available (possibly due to rate limiting)
+     * @throws SmartsheetException f there is any other error during the operation
+     */
+    User addProfileImage(long userId, Path file, String fileType) throws SmartsheetException, FileNotFoundException;
+
+    /**
+     * <p>Uploads a profile image held in a buffer for the specified user. The bytes from the buffer's position to its
+     * limit are sent straight from the buffer, which may be a direct or memory-mapped buffer, and re-sent from it if the
+     * request is retried; the buffer's own position is not changed.</p>
+     *
+     * @param userId id of the user
+     * @param image the image
+     * @param fileName the file name of the image
+     * @param fileType content type of the image
+     * @return user
+     * @throws IllegalArgumentException if any argument is null or empty string
+     * @throws InvalidRequestException if there is any problem with the REST API request
+     * @throws AuthorizationException if there is any problem with  the REST API authorization (access token)
+     * @throws ResourceNotFoundException if the resource cannot be found
+     * @throws ServiceUnavailableException if the REST API service is not available (possibly due to rate limiting)
+     * @throws SmartsheetException f there is any other error during the operation
+     */
+    User addProfileImage(long userId, ByteBuffer image, String fileName, String fileType) throws SmartsheetException;
 }
@@ -0,0 +1,145 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.diff;
+
+import com.smartsheet.api.SheetRowResources;
+import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.internal.util.Util;
+import com.smartsheet.api.models.Row;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The changes that bring a sheet to a target state, computed by {@link SheetDiffer#diff}: the rows to update with only
+ * their changed cells, the rows to add and the rows to delete. {@link #apply(SheetRowResources)} sends them.
+ * <p>
+ * Thread Safety: This class is thread safe since it's immutable, though the rows it holds are not copied on access.
+ */
+public final class SheetDiff {
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /** row ids per delete request, which go in the URL */
+    static final int DELETE_BATCH_SIZE = 400;
+
+    private final long sheetId;
+    private final List<Row> rowsToUpdate;
+    private final List<Row> rowsToAdd;
+    private final Set<Long> rowIdsToDelete;
+    private final int changedCellCount;
+    private final int unchangedRowCount;
+
+    SheetDiff(long sheetId, List<Row> rowsToUpdate, List<Row> rowsToAdd, Set<Long> rowIdsToDelete, int changedCellCount,
+              int unchangedRowCount) {
+        this.sheetId = sheetId;
+        this.rowsToUpdate = Collections.unmodifiableList(rowsToUpdate);
+        this.rowsToAdd = Collections.unmodifiableList(rowsToAdd);
+        this.rowIdsToDelete = Collections.unmodifiableSet(new LinkedHashSet<>(rowIdsToDelete));
+        this.changedCellCount = changedCellCount;
+        this.unchangedRowCount = unchangedRowCount;
+    }
+
+    public long getSheetId() {
+        return sheetId;
+    }
+
+    /**
+     * @return the existing rows that changed, each with its id, its changed cells and any changed row attributes
+     */
+    public List<Row> getRowsToUpdate() {
+        return rowsToUpdate;
+    }
+
+    /**
+     * @return the target rows that matched no existing row
+     */
+    public List<Row> getRowsToAdd() {
+        return rowsToAdd;
+    }
+
+    /**
+     * @return the ids of the existing rows no target row matched, if {@link SheetDiffer#setDeleteUnmatchedRows} is on
+     */
+    public Set<Long> getRowIdsToDelete() {
+        return rowIdsToDelete;
+    }
+
+    /**
+     * @return the cells in the rows to update
+     */
+    public int getChangedCellCount() {
+        return changedCellCount;
+    }
+
+    /**
+     * @return the target rows that matched an existing row and needed no change
+     */
+    public int getUnchangedRowCount() {
+        return unchangedRowCount;
+    }
+
+    /**
+     * @return true if the sheet is already in the target state
+     */
+    public boolean isEmpty() {
+        return rowsToUpdate.isEmpty() && rowsToAdd.isEmpty() && rowIdsToDelete.isEmpty();
+    }
+
+    /**
+     * Sends the changes: the updates, then the additions, then the deletions, each in batches. Each batch is a
+     * separate request; if one fails, those before it have already been applied.
+     *
+     * @param rowResources the row resources of the client to send them with
+     * @param batchSize the maximum number of rows per update or add request
+     * @throws SmartsheetException if a request fails
+     */
+    public void apply(SheetRowResources rowResources, int batchSize) throws SmartsheetException {
+        Util.throwIfNull(rowResources);
+        if (!rowsToUpdate.isEmpty()) {
+            rowResources.updateRows(sheetId, rowsToUpdate.iterator(), batchSize, null);
+        }
+        if (!rowsToAdd.isEmpty()) {
+            rowResources.addRows(sheetId, rowsToAdd.iterator(), batchSize, null);
+        }
+        List<Long> ids = new ArrayList<>(rowIdsToDelete);
+        for (int start = 0; start < ids.size(); start += DELETE_BATCH_SIZE) {
+            List<Long> batch = ids.subList(start, Math.min(start + DELETE_BATCH_SIZE, ids.size()));
+            rowResources.deleteRows(sheetId, new LinkedHashSet<>(batch), true);
+        }
+    }
+
+    /**
+     * Sends the changes in batches of {@link #DEFAULT_BATCH_SIZE} rows, see
+     * {@link #apply(SheetRowResources, int)}.
+     *
+     * @param rowResources the row resources of the client to send them with
+     * @throws SmartsheetException if a request fails
+     */
+    public void apply(SheetRowResources rowResources) throws SmartsheetException {
+        apply(rowResources, DEFAULT_BATCH_SIZE);
+    }
+
+    @Override
+    public String toString() {
+        return "rowsToUpdate=" + rowsToUpdate.size() + " changedCells=" + changedCellCount + " rowsToAdd=" + rowsToAdd.size()
+                + " rowsToDelete=" + rowIdsToDelete.size() + " unchangedRows=" + unchangedRowCount;
+    }
+}
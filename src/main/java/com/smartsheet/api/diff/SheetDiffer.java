@@ -0,0 +1,527 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.diff;
+
+import com.smartsheet.api.internal.json.JSONSerializerException;
+import com.smartsheet.api.internal.json.JacksonJsonSerializer;
+import com.smartsheet.api.internal.json.JsonSerializer;
+import com.smartsheet.api.internal.util.Util;
+import com.smartsheet.api.models.Cell;
+import com.smartsheet.api.models.Column;
+import com.smartsheet.api.models.Hyperlink;
+import com.smartsheet.api.models.ObjectValue;
+import com.smartsheet.api.models.PrimitiveObjectValue;
+import com.smartsheet.api.models.Row;
+import com.smartsheet.api.models.Sheet;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the rows of a sheet with a target state and computes the smallest set of changes that brings the sheet to
+ * it, so a sync can send only what changed instead of every cell of every row.
+ * <pre>
+ * Sheet current = smartsheet.sheetResources().getSheet(sheetId, EnumSet.of(SheetInclusion.FORMAT,
+ *         SheetInclusion.OBJECT_VALUE), null, null, null, null, null, null);
+ * SheetDiff diff = new SheetDiffer().setKeyColumnId(orderIdColumn).diff(current, desiredRows);
+ * diff.apply(smartsheet.sheetResources().rowResources());
+ * </pre>
+ * A target row matches the existing row with its id, or, if it has none and a key column is set, the existing row whose
+ * key cell has the same value. Only what a target row specifies is compared, so target rows can be partial:
+ * <ul>
+ *   <li>a cell's content is its formula, else its object value, else its value; a cell with none of them only has its
+ *   format and hyperlink compared. An empty string value matches an empty cell, and clears a cell that isn't.</li>
+ *   <li>numbers are compared by value whatever their type, and a string compares equal to a number whose display
+ *   value it is.</li>
+ *   <li>a cell with a formula matches only the same formula, whatever its value; a cell with a value doesn't match one
+ *   with a formula, since sending the value replaces the formula.</li>
+ *   <li>object values are compared by their JSON, or by their value if the sheet was read without object values.</li>
+ *   <li>a hyperlink to a sheet, report or sight is compared by the id it links to, and one with nothing set
+ *   (new Hyperlink()) removes the cell's hyperlink.</li>
+ *   <li>the row's format, lock, expansion and, if given, its parent and sibling, which moves the row within the
+ *   sheet.</li>
+ * </ul>
+ * An updated cell is sent with its content and whichever of its format and hyperlink the target specifies; when only
+ * the format or hyperlink changed, the existing content is sent with it. Cells of system columns and columns with a
+ * column formula are never sent.
+ * <p>
+ * The sheet is indexed by row id, key and column id once, after which target rows are compared independently; at or
+ * above {@link #setParallelThreshold(int)} rows they are compared in parallel.
+ * <p>
+ * Thread Safety: This class is not thread safe since it's mutable; configure it before calling {@link #diff}, after
+ * which it may be shared.
+ */
+public class SheetDiffer {
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 2000;
+
+    private final JsonSerializer jsonSerializer;
+    private Long keyColumnId;
+    private boolean deleteUnmatchedRows;
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    /**
+     * Constructor.
+     */
+    public SheetDiffer() {
+        this(new JacksonJsonSerializer());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param jsonSerializer the serializer used to compare object values
+     */
+    public SheetDiffer(JsonSerializer jsonSerializer) {
+        this.jsonSerializer = Util.throwIfNull(jsonSerializer);
+    }
+
+    /**
+     * @param keyColumnId the column whose value matches a target row without an id to an existing row, or null (the
+     *     default) to match by row id only
+     * @return this differ
+     */
+    public SheetDiffer setKeyColumnId(Long keyColumnId) {
+        this.keyColumnId = keyColumnId;
+        return this;
+    }
+
+    /**
+     * @param deleteUnmatchedRows whether existing rows no target row matches are deleted, false by default so a
+     *     partial target leaves the other rows alone
+     * @return this differ
+     */
+    public SheetDiffer setDeleteUnmatchedRows(boolean deleteUnmatchedRows) {
+        this.deleteUnmatchedRows = deleteUnmatchedRows;
+        return this;
+    }
+
+    /**
+     * @param parallelThreshold the number of target rows at which they are compared in parallel
+     * @return this differ
+     */
+    public SheetDiffer setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+        return this;
+    }
+
+    /**
+     * Computes the changes that bring a sheet to a target state.
+     *
+     * @param current the sheet as it is, with its columns and rows, and the formats and object values if they are to
+     *     be compared
+     * @param target the rows as they should be
+     * @return the changes
+     * @throws IllegalArgumentException if any argument is null, a target cell's column isn't in the sheet, or two
+     *     target rows match the same existing row
+     */
+    public SheetDiff diff(Sheet current, List<Row> target) {
+        Util.throwIfNull(current, target);
+        SheetIndex index = new SheetIndex(current, keyColumnId);
+
+        IntStream positions = IntStream.range(0, target.size());
+        if (target.size() >= parallelThreshold) {
+            positions = positions.parallel();
+        }
+        List<RowChange> changes = positions.mapToObj(i -> compare(index, target.get(i))).collect(Collectors.toList());
+
+        List<Row> rowsToUpdate = new ArrayList<>();
+        List<Row> rowsToAdd = new ArrayList<>();
+        Set<Long> matched = new LinkedHashSet<>();
+        int changedCells = 0;
+        int unchangedRows = 0;
+        for (RowChange change : changes) {
+            if (change.matchedRowId != null && !matched.add(change.matchedRowId)) {
+                throw new IllegalArgumentException("more than one target row matches row " + change.matchedRowId);
+            }
+            if (change.add != null) {
+                rowsToAdd.add(change.add);
+            } else if (change.update != null) {
+                rowsToUpdate.add(change.update);
+                changedCells += change.update.getCells() == null ? 0 : change.update.getCells().size();
+            } else {
+                unchangedRows++;
+            }
+        }
+
+        Set<Long> rowIdsToDelete = new LinkedHashSet<>();
+        if (deleteUnmatchedRows && current.getRows() != null) {
+            for (Row row : current.getRows()) {
+                if (!matched.contains(row.getId())) {
+                    rowIdsToDelete.add(row.getId());
+                }
+            }
+        }
+        return new SheetDiff(current.getId(), rowsToUpdate, rowsToAdd, rowIdsToDelete, changedCells, unchangedRows);
+    }
+
+    private RowChange compare(SheetIndex index, Row target) {
+        Row existing = index.match(target);
+        if (existing == null) {
+            return RowChange.add(newRow(index, target));
+        }
+
+        Row update = new Row(existing.getId());
+        boolean changed = false;
+        if (target.getFormat() != null && !target.getFormat().equals(existing.getFormat())) {
+            update.setFormat(target.getFormat());
+            changed = true;
+        }
+        if (target.isLocked() != null && !target.isLocked().equals(existing.isLocked())) {
+            update.setLocked(target.isLocked());
+            changed = true;
+        }
+        if (target.isExpanded() != null && !target.isExpanded().equals(existing.isExpanded())) {
+            update.setExpanded(target.isExpanded());
+            changed = true;
+        }
+        if ((target.getParentId() != null && !target.getParentId().equals(existing.getParentId()))
+                || (target.getSiblingId() != null && !target.getSiblingId().equals(existing.getSiblingId()))) {
+            update.setParentId(target.getParentId());
+            update.setSiblingId(target.getSiblingId());
+            update.setAbove(target.getAbove());
+            changed = true;
+        }
+
+        if (target.getCells() != null) {
+            Map<Long, Cell> existingCells = cellsByColumn(existing);
+            List<Cell> cells = new ArrayList<>();
+            for (Cell cell : target.getCells()) {
+                if (index.isWritable(cell.getColumnId())) {
+                    Cell changedCell = compare(cell, existingCells.get(cell.getColumnId()));
+                    if (changedCell != null) {
+                        cells.add(changedCell);
+                    }
+                }
+            }
+            if (!cells.isEmpty()) {
+                update.setCells(cells);
+                changed = true;
+            }
+        }
+        return RowChange.update(existing.getId(), changed ? update : null);
+    }
+
+    /**
+     * @return the cell to send, or null if the existing cell already is as the target specifies
+     */
+    private Cell compare(Cell target, Cell existing) {
+        boolean hasContent = hasContent(target);
+        boolean contentChanged = hasContent && !contentMatches(target, existing);
+        boolean formatChanged = target.getFormat() != null
+                && !target.getFormat().equals(existing == null ? null : existing.getFormat());
+        boolean hyperlinkChanged = target.getHyperlink() != null
+                && !hyperlinkMatches(target.getHyperlink(), existing == null ? null : existing.getHyperlink());
+        if (!contentChanged && !formatChanged && !hyperlinkChanged) {
+            return null;
+        }
+
+        Cell cell = new Cell(target.getColumnId());
+        copyContent(hasContent ? target : existing, cell);
+        if (target.getFormat() != null) {
+            cell.setFormat(target.getFormat());
+        }
+        if (target.getHyperlink() != null) {
+            cell.setHyperlink(target.getHyperlink());
+        }
+        cell.setStrict(target.getStrict());
+        cell.setOverrideValidation(target.getOverrideValidation());
+        return cell;
+    }
+
+    private Row newRow(SheetIndex index, Row target) {
+        Row row = new Row();
+        row.setFormat(target.getFormat());
+        row.setLocked(target.isLocked());
+        row.setExpanded(target.isExpanded());
+        row.setParentId(target.getParentId());
+        row.setSiblingId(target.getSiblingId());
+        row.setAbove(target.getAbove());
+        row.setToTop(target.getToTop());
+        boolean located = target.getParentId() != null || target.getSiblingId() != null || Boolean.TRUE.equals(target.getToTop());
+        row.setToBottom(located ? target.getToBottom() : Boolean.TRUE);
+        if (target.getCells() != null) {
+            List<Cell> cells = new ArrayList<>(target.getCells().size());
+            for (Cell cell : target.getCells()) {
+                if (index.isWritable(cell.getColumnId()) && (hasContent(cell) || cell.getHyperlink() != null)) {
+                    Cell added = new Cell(cell.getColumnId());
+                    copyContent(cell, added);
+                    added.setFormat(cell.getFormat());
+                    added.setHyperlink(cell.getHyperlink());
+                    added.setStrict(cell.getStrict());
+                    added.setOverrideValidation(cell.getOverrideValidation());
+                    cells.add(added);
+                }
+            }
+            row.setCells(cells);
+        }
+        return row;
+    }
+
+    private static boolean hasContent(Cell cell) {
+        return cell.getFormula() != null || cell.getObjectValue() != null || cell.getValue() != null;
+    }
+
+    private static void copyContent(Cell from, Cell to) {
+        if (from == null) {
+            to.setValue("");
+        } else if (from.getFormula() != null) {
+            to.setFormula(from.getFormula());
+        } else if (from.getObjectValue() != null) {
+            to.setObjectValue(from.getObjectValue());
+        } else {
+            to.setValue(from.getValue() == null ? "" : from.getValue());
+        }
+    }
+
+    private boolean contentMatches(Cell target, Cell existing) {
+        String existingFormula = existing == null ? null : existing.getFormula();
+        if (target.getFormula() != null) {
+            return target.getFormula().equals(existingFormula);
+        }
+        if (existingFormula != null) {
+            return false;
+        }
+        if (target.getObjectValue() != null) {
+            ObjectValue existingObjectValue = existing == null ? null : existing.getObjectValue();
+            if (existingObjectValue != null) {
+                return objectValuesMatch(target.getObjectValue(), existingObjectValue);
+            }
+            if (!(target.getObjectValue() instanceof PrimitiveObjectValue)) {
+                return false;
+            }
+            return valuesMatch(((PrimitiveObjectValue<?>) target.getObjectValue()).getValue(), existing);
+        }
+        if (target.getPrimitiveType() != null && existing != null && target.getPrimitiveType() == existing.getPrimitiveType()) {
+            return primitivesMatch(target, existing);
+        }
+        return valuesMatch(target.getValue(), existing);
+    }
+
+    private static boolean primitivesMatch(Cell target, Cell existing) {
+        switch (target.getPrimitiveType()) {
+            case LONG:
+                return target.getLong() == existing.getLong();
+            case DOUBLE:
+                return Double.compare(target.getDouble(), existing.getDouble()) == 0;
+            case BOOLEAN:
+                return target.getBoolean() == existing.getBoolean();
+            default:
+                return target.getEpochDay() == existing.getEpochDay();
+        }
+    }
+
+    private static boolean valuesMatch(Object value, Cell existing) {
+        Object existingValue = existing == null ? null : existing.getValue();
+        if (isEmpty(value) || isEmpty(existingValue)) {
+            return isEmpty(value) && isEmpty(existingValue);
+        }
+        if (value instanceof Number && existingValue instanceof Number) {
+            return numbersMatch((Number) value, (Number) existingValue);
+        }
+        if (value instanceof String && !(existingValue instanceof String)) {
+            return value.equals(existing.getDisplayValue()) || value.equals(String.valueOf(existingValue));
+        }
+        return value.equals(existingValue);
+    }
+
+    private static boolean numbersMatch(Number a, Number b) {
+        if (isIntegral(a) && isIntegral(b)) {
+            return a.longValue() == b.longValue();
+        }
+        return Double.compare(a.doubleValue(), b.doubleValue()) == 0;
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+    }
+
+    private static boolean isEmpty(Object value) {
+        return value == null || "".equals(value);
+    }
+
+    private boolean objectValuesMatch(ObjectValue target, ObjectValue existing) {
+        if (target.getObjectType() != existing.getObjectType()) {
+            return false;
+        }
+        if (target instanceof PrimitiveObjectValue && existing instanceof PrimitiveObjectValue) {
+            Object value = ((PrimitiveObjectValue<?>) target).getValue();
+            Object existingValue = ((PrimitiveObjectValue<?>) existing).getValue();
+            if (value instanceof Number && existingValue instanceof Number) {
+                return numbersMatch((Number) value, (Number) existingValue);
+            }
+            return Objects.equals(value, existingValue);
+        }
+        try {
+            return jsonSerializer.serialize(target).equals(jsonSerializer.serialize(existing));
+        } catch (JSONSerializerException e) {
+            return false;
+        }
+    }
+
+    /**
+     * A link to a sheet, report or sight comes back with its permalink as its URL, so those compare by id.
+     */
+    private static boolean hyperlinkMatches(Hyperlink target, Hyperlink existing) {
+        if (target.isNull()) {
+            return existing == null || existing.isNull();
+        }
+        if (existing == null) {
+            return false;
+        }
+        if (target.getSheetId() != null || target.getReportId() != null || target.getSightId() != null) {
+            return Objects.equals(target.getSheetId(), existing.getSheetId())
+                    && Objects.equals(target.getReportId(), existing.getReportId())
+                    && Objects.equals(target.getSightId(), existing.getSightId());
+        }
+        return Objects.equals(target.getUrl(), existing.getUrl()) && existing.getSheetId() == null
+                && existing.getReportId() == null && existing.getSightId() == null;
+    }
+
+    private static Map<Long, Cell> cellsByColumn(Row row) {
+        if (row.getCells() == null) {
+            return new HashMap<>();
+        }
+        Map<Long, Cell> cells = new HashMap<>(row.getCells().size() * 2);
+        for (Cell cell : row.getCells()) {
+            cells.put(cell.getColumnId(), cell);
+        }
+        return cells;
+    }
+
+    /**
+     * The key of a cell, with integral numbers written without a fraction so 5 and 5.0 are the same key.
+     */
+    static String keyOf(Object value, String displayValue) {
+        if (value == null) {
+            return displayValue == null || displayValue.trim().isEmpty() ? null : displayValue.trim();
+        }
+        if (value instanceof Number) {
+            double number = ((Number) value).doubleValue();
+            if (number == Math.rint(number) && !Double.isInfinite(number)) {
+                return Long.toString((long) number);
+            }
+        }
+        String key = String.valueOf(value).trim();
+        return key.isEmpty() ? null : key;
+    }
+
+    /**
+     * The existing rows by id and by key, and the columns by id, built once per diff and then only read.
+     */
+    private static final class SheetIndex {
+        private final Map<Long, Row> rowsById = new HashMap<>();
+        private final Map<String, Row> rowsByKey = new HashMap<>();
+        private final Map<Long, Column> columnsById = new HashMap<>();
+        private final Long keyColumnId;
+
+        SheetIndex(Sheet sheet, Long keyColumnId) {
+            this.keyColumnId = keyColumnId;
+            if (sheet.getColumns() != null) {
+                for (Column column : sheet.getColumns()) {
+                    columnsById.put(column.getId(), column);
+                }
+            }
+            if (keyColumnId != null && !columnsById.isEmpty() && !columnsById.containsKey(keyColumnId)) {
+                throw new IllegalArgumentException("key column " + keyColumnId + " isn't in the sheet");
+            }
+            if (sheet.getRows() != null) {
+                for (Row row : sheet.getRows()) {
+                    rowsById.put(row.getId(), row);
+                    if (keyColumnId != null) {
+                        String key = key(row);
+                        if (key != null) {
+                            // the first of rows with the same key is the one matched
+                            rowsByKey.putIfAbsent(key, row);
+                        }
+                    }
+                }
+            }
+        }
+
+        Row match(Row target) {
+            if (target.getId() != null) {
+                return rowsById.get(target.getId());
+            }
+            if (keyColumnId == null) {
+                return null;
+            }
+            String key = key(target);
+            return key == null ? null : rowsByKey.get(key);
+        }
+
+        /**
+         * @throws IllegalArgumentException if the sheet has columns and this isn't one of them
+         */
+        boolean isWritable(Long columnId) {
+            if (columnsById.isEmpty()) {
+                return true;
+            }
+            Column column = columnsById.get(columnId);
+            if (column == null) {
+                throw new IllegalArgumentException("column " + columnId + " isn't in the sheet");
+            }
+            return column.getSystemColumnType() == null && column.getFormula() == null;
+        }
+
+        private String key(Row row) {
+            if (row.getCells() == null) {
+                return null;
+            }
+            for (Cell cell : row.getCells()) {
+                if (keyColumnId.equals(cell.getColumnId())) {
+                    Object value = cell.getValue();
+                    if (value == null && cell.getObjectValue() instanceof PrimitiveObjectValue) {
+                        value = ((PrimitiveObjectValue<?>) cell.getObjectValue()).getValue();
+                    }
+                    return keyOf(value, cell.getDisplayValue());
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * The outcome of comparing one target row: the row to add, or the matched row and its update if it changed.
+     */
+    private static final class RowChange {
+        private final Long matchedRowId;
+        private final Row update;
+        private final Row add;
+
+        private RowChange(Long matchedRowId, Row update, Row add) {
+            this.matchedRowId = matchedRowId;
+            this.update = update;
+            this.add = add;
+        }
+
+        static RowChange add(Row row) {
+            return new RowChange(null, null, row);
+        }
+
+        static RowChange update(Long matchedRowId, Row update) {
+            return new RowChange(matchedRowId, update, null);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.download;
+
+import com.smartsheet.api.internal.util.Util;
+
+import java.nio.file.Path;
+
+/**
+ * An attachment to download with {@link DownloadManager}, and the file to write it to.
+ * <p>
+ * Thread Safety: This class is thread safe since it's immutable.
+ */
+public final class DownloadJob {
+    private final long sheetId;
+    private final long attachmentId;
+    private final Path target;
+
+    /**
+     * Constructor.
+     *
+     * @param sheetId the sheet id
+     * @param attachmentId the attachment id
+     * @param target the file to write
+     */
+    public DownloadJob(long sheetId, long attachmentId, Path target) {
+        Util.throwIfNull(target);
+        this.sheetId = sheetId;
+        this.attachmentId = attachmentId;
+        this.target = target;
+    }
+
+    public long getSheetId() {
+        return sheetId;
+    }
+
+    public long getAttachmentId() {
+        return attachmentId;
+    }
+
+    public Path getTarget() {
+        return target;
+    }
+
+    @Override
+    public String toString() {
+        return "attachment " + attachmentId + ": " + target;
+    }
+}
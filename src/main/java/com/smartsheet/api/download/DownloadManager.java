@@ -0,0 +1,144 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.download;
+
+import com.smartsheet.api.SheetAttachmentResources;
+import com.smartsheet.api.Smartsheet;
+import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.internal.util.Util;
+import com.smartsheet.api.models.Attachment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Downloads a batch of attachments, several at a time, with
+ * {@link SheetAttachmentResources#download(long, long, java.nio.file.Path)}: each file is streamed to disk, resumed
+ * where it stopped, and large files are fetched in parallel ranges.
+ * <p>
+ * A failed download doesn't stop the others. Running the same batch again continues the files that stopped part way,
+ * and with {@link #setSkipExisting(boolean)} leaves the ones that were completed alone.
+ * <p>
+ * The downloads share the given client, so its HttpClient must allow as many connections as the parallelism (times
+ * the segments of large files), see {@link com.smartsheet.api.upload.UploadManager}.
+ * <p>
+ * Thread Safety: This class is not thread safe since it's mutable; configure it before calling {@link #download}.
+ */
+public class DownloadManager {
+    private final Smartsheet smartsheet;
+    private final int parallelism;
+    private boolean skipExisting;
+    private Consumer<DownloadResult> listener = result -> { };
+
+    /**
+     * Constructor.
+     *
+     * @param smartsheet the client to download with
+     * @param parallelism the maximum number of files downloaded at the same time
+     */
+    public DownloadManager(Smartsheet smartsheet, int parallelism) {
+        Util.throwIfNull(smartsheet);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.smartsheet = smartsheet;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @param skipExisting true to leave targets that already exist alone, false (the default) to replace them
+     * @return this manager
+     */
+    public DownloadManager setSkipExisting(boolean skipExisting) {
+        this.skipExisting = skipExisting;
+        return this;
+    }
+
+    /**
+     * @param listener called with the result of each job as it finishes, from the manager's worker threads
+     * @return this manager
+     */
+    public DownloadManager setListener(Consumer<DownloadResult> listener) {
+        Util.throwIfNull(listener);
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * Downloads all the attachments and waits for them to finish.
+     *
+     * @param jobs the attachments to download
+     * @return the result of each job, in the order of jobs
+     * @throws InterruptedException if the calling thread is interrupted, downloads that haven't started are cancelled
+     */
+    public DownloadReport download(Collection<DownloadJob> jobs) throws InterruptedException {
+        Util.throwIfNull(jobs);
+        long start = System.currentTimeMillis();
+
+        List<Callable<DownloadResult>> tasks = new ArrayList<>(jobs.size());
+        for (DownloadJob job : jobs) {
+            Util.throwIfNull(job);
+            tasks.add(() -> download(job));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, tasks.size())),
+                Util.daemonThreadFactory("smartsheet-download"));
+        try {
+            List<DownloadResult> results = new ArrayList<>(tasks.size());
+            for (Future<DownloadResult> future : executor.invokeAll(tasks)) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    // download(DownloadJob) reports failures in its result, so this is a bug in the listener
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            return new DownloadReport(results, System.currentTimeMillis() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private DownloadResult download(DownloadJob job) {
+        long start = System.currentTimeMillis();
+        DownloadResult result;
+        try {
+            if (skipExisting && Files.exists(job.getTarget())) {
+                result = new DownloadResult(job, null, null, true, Files.size(job.getTarget()), 0);
+            } else {
+                Attachment attachment = smartsheet.sheetResources().attachmentResources()
+                        .download(job.getSheetId(), job.getAttachmentId(), job.getTarget());
+                result = new DownloadResult(job, attachment, null, false, Files.size(job.getTarget()),
+                        System.currentTimeMillis() - start);
+            }
+        } catch (SmartsheetException | IOException | RuntimeException e) {
+            result = new DownloadResult(job, null, e, false, 0, System.currentTimeMillis() - start);
+        }
+        listener.accept(result);
+        return result;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.download;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The results of {@link DownloadManager#download}, in the order the jobs were given.
+ * <p>
+ * Thread Safety: This class is thread safe since it's immutable.
+ */
+public final class DownloadReport {
+    private final List<DownloadResult> results;
+    private final long elapsedMillis;
+
+    DownloadReport(List<DownloadResult> results, long elapsedMillis) {
+        this.results = Collections.unmodifiableList(results);
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<DownloadResult> getResults() {
+        return results;
+    }
+
+    public List<DownloadResult> getFailed() {
+        return results.stream().filter(result -> !result.isSuccess()).collect(Collectors.toList());
+    }
+
+    public boolean isAllSucceeded() {
+        return results.stream().allMatch(DownloadResult::isSuccess);
+    }
+
+    /**
+     * @return the number of bytes downloaded, not counting skipped files
+     */
+    public long getBytesDownloaded() {
+        return results.stream().filter(result -> result.isSuccess() && !result.isSkipped())
+                .mapToLong(DownloadResult::getBytes).sum();
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return the overall throughput of the batch, in bytes downloaded per second of wall-clock time
+     */
+    public double getBytesPerSecond() {
+        return elapsedMillis == 0 ? 0 : getBytesDownloaded() * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d of %d files downloaded, %d bytes in %d ms", results.size() - getFailed().size(),
+                results.size(), getBytesDownloaded(), elapsedMillis);
+    }
+}
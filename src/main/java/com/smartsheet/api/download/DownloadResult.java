@@ -0,0 +1,84 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.download;
+
+import com.smartsheet.api.models.Attachment;
+
+/**
+ * The outcome of one {@link DownloadJob}.
+ * <p>
+ * Thread Safety: This class is thread safe since it's immutable.
+ */
+public final class DownloadResult {
+    private final DownloadJob job;
+    private final Attachment attachment;
+    private final Exception error;
+    private final boolean skipped;
+    private final long bytes;
+    private final long elapsedMillis;
+
+    DownloadResult(DownloadJob job, Attachment attachment, Exception error, boolean skipped, long bytes,
+                   long elapsedMillis) {
+        this.job = job;
+        this.attachment = attachment;
+        this.error = error;
+        this.skipped = skipped;
+        this.bytes = bytes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public DownloadJob getJob() {
+        return job;
+    }
+
+    /**
+     * @return the attachment, or null if the download failed or was skipped
+     */
+    public Attachment getAttachment() {
+        return attachment;
+    }
+
+    /**
+     * @return the error, or null if the download succeeded
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * @return true if the target already existed and {@link DownloadManager#setSkipExisting(boolean)} is on
+     */
+    public boolean isSkipped() {
+        return skipped;
+    }
+
+    /**
+     * @return the size of the downloaded file
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.export;
+
+import com.smartsheet.api.internal.util.Util;
+import com.smartsheet.api.models.enums.ExportFormat;
+import com.smartsheet.api.models.enums.PaperSize;
+
+import java.nio.file.Path;
+
+/**
+ * A sheet or report to export with {@link ExportManager}, and the file to write it to.
+ * <p>
+ * Thread Safety: This class is thread safe since it's immutable.
+ */
+public final class ExportJob {
+    /**
+     * What is exported.
+     */
+    public enum Source {
+        SHEET,
+        REPORT
+    }
+
+    private final Source source;
+    private final long id;
+    private final ExportFormat format;
+    private final PaperSize paperSize;
+    private final Path target;
+
+    private ExportJob(Source source, long id, ExportFormat format, PaperSize paperSize, Path target) {
+        Util.throwIfNull(format, target);
+        this.source = source;
+        this.id = id;
+        this.format = format;
+        this.paperSize = paperSize;
+        this.target = target;
+    }
+
+    /**
+     * Export a sheet.
+     *
+     * @param sheetId the sheet id
+     * @param format the export format
+     * @param target the file to write
+     * @return the job
+     */
+    public static ExportJob sheet(long sheetId, ExportFormat format, Path target) {
+        return new ExportJob(Source.SHEET, sheetId, format, null, target);
+    }
+
+    /**
+     * Export a sheet as a PDF.
+     *
+     * @param sheetId the sheet id
+     * @param paperSize the paper size, or null for the default
+     * @param target the file to write
+     * @return the job
+     */
+    public static ExportJob sheetAsPdf(long sheetId, PaperSize paperSize, Path target) {
+        return new ExportJob(Source.SHEET, sheetId, ExportFormat.PDF, paperSize, target);
+    }
+
+    /**
+     * Export a report.
+     *
+     * @param reportId the report id
+     * @param format the export format, EXCEL or CSV
+     * @param target the file to write
+     * @return the job
+     */
+    public static ExportJob report(long reportId, ExportFormat format, Path target) {
+        if (format == ExportFormat.PDF) {
+            throw new IllegalArgumentException("Reports can't be exported as PDF");
+        }
+        return new ExportJob(Source.REPORT, reportId, format, null, target);
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * @return the paper size of a PDF export, or null
+     */
+    public PaperSize getPaperSize() {
+        return paperSize;
+    }
+
+    public Path getTarget() {
+        return target;
+    }
+
+    @Override
+    public String toString() {
+        return source.name().toLowerCase() + " " + id + " as " + format + ": " + target;
+    }
+}
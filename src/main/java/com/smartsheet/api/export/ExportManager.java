@@ -0,0 +1,177 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.export;
+
+import com.smartsheet.api.Smartsheet;
+import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.internal.util.Util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Exports a batch of sheets and reports to files, several at a time, with
+ * {@link com.smartsheet.api.SheetResources#exportSheet(long, com.smartsheet.api.models.enums.ExportFormat,
+ * com.smartsheet.api.models.enums.PaperSize, java.nio.file.Path)} and
+ * {@link com.smartsheet.api.ReportResources#exportReport(long, com.smartsheet.api.models.enums.ExportFormat,
+ * java.nio.file.Path)}, so each file is streamed straight to disk.
+ * <p>
+ * Smartsheet counts a file export as several requests against the per-token rate limit, so besides the parallelism
+ * the manager spaces exports out to {@link #setExportsPerMinute(int)}. A failed export doesn't stop the others.
+ * <p>
+ * The exports share the given client, so its HttpClient must allow as many connections as the parallelism, see
+ * {@link com.smartsheet.api.upload.UploadManager}.
+ * <p>
+ * Thread Safety: This class is not thread safe since it's mutable; configure it before calling {@link #export}.
+ */
+public class ExportManager {
+    /** 30 exports a minute keeps within the 300 requests a minute limit, with exports counted ten times */
+    public static final int DEFAULT_EXPORTS_PER_MINUTE = 30;
+
+    private final Smartsheet smartsheet;
+    private final int parallelism;
+    private int exportsPerMinute = DEFAULT_EXPORTS_PER_MINUTE;
+    private Consumer<ExportResult> listener = result -> { };
+
+    /** when the next export may start, in System.nanoTime() */
+    private long nextStart;
+
+    /**
+     * Constructor.
+     *
+     * @param smartsheet the client to export with
+     * @param parallelism the maximum number of exports running at the same time
+     */
+    public ExportManager(Smartsheet smartsheet, int parallelism) {
+        Util.throwIfNull(smartsheet);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.smartsheet = smartsheet;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @param exportsPerMinute how many exports may start in a minute, evenly spaced; 0 for no limit
+     * @return this manager
+     */
+    public ExportManager setExportsPerMinute(int exportsPerMinute) {
+        if (exportsPerMinute < 0) {
+            throw new IllegalArgumentException("exportsPerMinute must not be negative");
+        }
+        this.exportsPerMinute = exportsPerMinute;
+        return this;
+    }
+
+    /**
+     * @param listener called with the result of each job as it finishes, from the manager's worker threads
+     * @return this manager
+     */
+    public ExportManager setListener(Consumer<ExportResult> listener) {
+        Util.throwIfNull(listener);
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * Exports all the jobs and waits for them to finish.
+     *
+     * @param jobs the sheets and reports to export
+     * @return the result of each job, in the order of jobs
+     * @throws InterruptedException if the calling thread is interrupted, exports that haven't started are cancelled
+     */
+    public ExportReport export(Collection<ExportJob> jobs) throws InterruptedException {
+        Util.throwIfNull(jobs);
+        long start = System.currentTimeMillis();
+
+        List<Callable<ExportResult>> tasks = new ArrayList<>(jobs.size());
+        for (ExportJob job : jobs) {
+            Util.throwIfNull(job);
+            tasks.add(() -> export(job));
+        }
+
+        synchronized (this) {
+            nextStart = System.nanoTime();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, tasks.size())),
+                Util.daemonThreadFactory("smartsheet-export"));
+        try {
+            List<ExportResult> results = new ArrayList<>(tasks.size());
+            for (Future<ExportResult> future : executor.invokeAll(tasks)) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    // export(ExportJob) reports failures in its result, so this is a bug in the listener
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            return new ExportReport(results, System.currentTimeMillis() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ExportResult export(ExportJob job) throws InterruptedException {
+        long waitMillis = awaitTurn();
+        long start = System.currentTimeMillis();
+        ExportResult result;
+        try {
+            long bytes;
+            if (job.getSource() == ExportJob.Source.SHEET) {
+                bytes = smartsheet.sheetResources().exportSheet(job.getId(), job.getFormat(), job.getPaperSize(),
+                        job.getTarget());
+            } else {
+                bytes = smartsheet.reportResources().exportReport(job.getId(), job.getFormat(), job.getTarget());
+            }
+            result = new ExportResult(job, null, bytes, waitMillis, System.currentTimeMillis() - start);
+        } catch (SmartsheetException | RuntimeException e) {
+            result = new ExportResult(job, e, 0, waitMillis, System.currentTimeMillis() - start);
+        }
+        listener.accept(result);
+        return result;
+    }
+
+    /**
+     * Claims the next start slot and sleeps until it comes round.
+     *
+     * @return how long the caller waited, in milliseconds
+     */
+    private long awaitTurn() throws InterruptedException {
+        if (exportsPerMinute == 0) {
+            return 0;
+        }
+        long slot;
+        synchronized (this) {
+            long now = System.nanoTime();
+            slot = Math.max(nextStart, now);
+            nextStart = slot + TimeUnit.MINUTES.toNanos(1) / exportsPerMinute;
+        }
+        long waitNanos = slot - System.nanoTime();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(0, waitNanos));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.export;
+
+/**
+ * The outcome of one {@link ExportJob}.
+ * <p>
+ * Thread Safety: This class is thread safe since it's immutable.
+ */
+public final class ExportResult {
+    private final ExportJob job;
+    private final Exception error;
+    private final long bytes;
+    private final long waitMillis;
+    private final long elapsedMillis;
+
+    ExportResult(ExportJob job, Exception error, long bytes, long waitMillis, long elapsedMillis) {
+        this.job = job;
+        this.error = error;
+        this.bytes = bytes;
+        this.waitMillis = waitMillis;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public ExportJob getJob() {
+        return job;
+    }
+
+    /**
+     * @return the error, or null if the export succeeded
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * @return the size of the exported file
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return how long the export waited for its turn under {@link ExportManager#setExportsPerMinute(int)}
+     */
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+
+    /**
+     * @return how long the export itself took, from the request to the last byte written
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
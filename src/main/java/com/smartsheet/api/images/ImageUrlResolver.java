@@ -0,0 +1,418 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.images;
+
+import com.smartsheet.api.ImageUrlResources;
+import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.SmartsheetRestException;
+import com.smartsheet.api.internal.util.Util;
+import com.smartsheet.api.models.Image;
+import com.smartsheet.api.models.ImageUrl;
+import com.smartsheet.api.models.ImageUrlMap;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolves cell images to download URLs through {@link ImageUrlResources#getImageUrls(List)}, batching and caching
+ * the lookups.
+ * <p>
+ * Lookups from any number of threads that arrive within {@link #setBatchWindowMillis(long)} of each other are sent
+ * as one request of up to {@link #setMaxBatchSize(int)} images. Concurrent lookups of the same image and size share
+ * one result, and resolved URLs are cached by image id, width and height until shortly before they expire
+ * ({@link #setExpiryMarginMillis(long)}), so rendering the same images again costs no requests at all.
+ * <p>
+ * The batches are sent from a single daemon thread owned by the resolver; {@link #close()} stops it.
+ * <p>
+ * Thread Safety: This class is thread safe; configure it before the first lookup.
+ */
+public class ImageUrlResolver implements Closeable {
+    public static final long DEFAULT_BATCH_WINDOW_MILLIS = 10;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    public static final int DEFAULT_MAX_CACHE_SIZE = 10_000;
+    public static final long DEFAULT_EXPIRY_MARGIN_MILLIS = 60_000;
+
+    private final ImageUrlResources imageUrlResources;
+    private final ScheduledExecutorService scheduler;
+    private final Map<Key, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    private final Queue<Key> queued = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Map<Key, CachedUrl> cache;
+    private volatile long batchWindowMillis = DEFAULT_BATCH_WINDOW_MILLIS;
+    private volatile int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private volatile long expiryMarginMillis = DEFAULT_EXPIRY_MARGIN_MILLIS;
+
+    /**
+     * Constructor, with a cache of {@link #DEFAULT_MAX_CACHE_SIZE} URLs.
+     *
+     * @param imageUrlResources the resources to resolve with, {@code smartsheet.imageUrlResources()}
+     */
+    public ImageUrlResolver(ImageUrlResources imageUrlResources) {
+        this(imageUrlResources, DEFAULT_MAX_CACHE_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param imageUrlResources the resources to resolve with, {@code smartsheet.imageUrlResources()}
+     * @param maxCacheSize the number of URLs to keep; the least recently used are dropped first
+     */
+    public ImageUrlResolver(ImageUrlResources imageUrlResources, int maxCacheSize) {
+        Util.throwIfNull(imageUrlResources);
+        if (maxCacheSize < 0) {
+            throw new IllegalArgumentException("maxCacheSize must not be negative");
+        }
+        this.imageUrlResources = imageUrlResources;
+        this.cache = new LinkedHashMap<Key, CachedUrl>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedUrl> eldest) {
+                return size() > maxCacheSize;
+            }
+        };
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Util.daemonThreadFactory("smartsheet-image-urls"));
+    }
+
+    /**
+     * @param batchWindowMillis how long a lookup waits for others to share its request, 10 ms by default
+     * @return this resolver
+     */
+    public ImageUrlResolver setBatchWindowMillis(long batchWindowMillis) {
+        if (batchWindowMillis < 0) {
+            throw new IllegalArgumentException("batchWindowMillis must not be negative");
+        }
+        this.batchWindowMillis = batchWindowMillis;
+        return this;
+    }
+
+    /**
+     * @param maxBatchSize the most images per request; a full batch is sent without waiting for the window
+     * @return this resolver
+     */
+    public ImageUrlResolver setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1");
+        }
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    /**
+     * @param expiryMarginMillis how long before its expiry a cached URL stops being handed out, so that callers have
+     *     time to use it; one minute by default
+     * @return this resolver
+     */
+    public ImageUrlResolver setExpiryMarginMillis(long expiryMarginMillis) {
+        if (expiryMarginMillis < 0) {
+            throw new IllegalArgumentException("expiryMarginMillis must not be negative");
+        }
+        this.expiryMarginMillis = expiryMarginMillis;
+        return this;
+    }
+
+    /**
+     * Resolves an image at its original size.
+     *
+     * @param image the image of a cell, see {@link com.smartsheet.api.models.Cell#getImage()}
+     * @return the URL
+     * @throws SmartsheetException if the image can't be resolved
+     */
+    public String resolve(Image image) throws SmartsheetException {
+        Util.throwIfNull(image);
+        return resolve(image.getId(), null, null);
+    }
+
+    /**
+     * Resolves an image, waiting for its batch if it isn't cached.
+     *
+     * @param imageId the image id
+     * @param width the width to scale to, or null
+     * @param height the height to scale to, or null
+     * @return the URL
+     * @throws SmartsheetException if the image can't be resolved, or the calling thread is interrupted
+     */
+    public String resolve(String imageId, Long width, Long height) throws SmartsheetException {
+        return await(resolveAsync(imageId, width, height));
+    }
+
+    /**
+     * Resolves several images, in as few requests as the batch size allows.
+     *
+     * @param images the images and sizes
+     * @return the URLs, in the order of images
+     * @throws SmartsheetException if any of the images can't be resolved, or the calling thread is interrupted
+     */
+    public List<String> resolveAll(Collection<ImageUrl> images) throws SmartsheetException {
+        Util.throwIfNull(images);
+        List<CompletableFuture<String>> futures = new ArrayList<>(images.size());
+        for (ImageUrl image : images) {
+            futures.add(resolveAsync(image.getImageId(), image.getWidth(), image.getHeight()));
+        }
+        List<String> urls = new ArrayList<>(futures.size());
+        for (CompletableFuture<String> future : futures) {
+            urls.add(await(future));
+        }
+        return urls;
+    }
+
+    /**
+     * Resolves an image without blocking.
+     *
+     * @param imageId the image id
+     * @param width the width to scale to, or null
+     * @param height the height to scale to, or null
+     * @return the URL, completed from the cache or when the image's batch returns; completed exceptionally with a
+     *     {@link SmartsheetException} if it can't be resolved
+     */
+    public CompletableFuture<String> resolveAsync(String imageId, Long width, Long height) {
+        Util.throwIfNull(imageId);
+        Key key = new Key(imageId, width, height);
+        String cached = getCached(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        // the batch that filled the cache may have finished between the cache check and putIfAbsent
+        cached = getCached(key);
+        if (cached != null) {
+            inFlight.remove(key, created);
+            created.complete(cached);
+            return created;
+        }
+        enqueue(key);
+        return created;
+    }
+
+    /**
+     * Drops every cached URL.
+     */
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Stops the batching thread; lookups that haven't been sent yet fail.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        failQueued(new SmartsheetException("the image URL resolver was closed"));
+    }
+
+    private String getCached(Key key) {
+        synchronized (cache) {
+            CachedUrl cached = cache.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (System.nanoTime() - cached.usableUntil >= 0) {
+                cache.remove(key);
+                return null;
+            }
+            return cached.url;
+        }
+    }
+
+    private void enqueue(Key key) {
+        queued.add(key);
+        try {
+            if (queuedCount.incrementAndGet() >= maxBatchSize) {
+                scheduler.execute(this::flush);
+            } else if (flushScheduled.compareAndSet(false, true)) {
+                scheduler.schedule(this::flush, batchWindowMillis, TimeUnit.MILLISECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            failQueued(new SmartsheetException("the image URL resolver was closed"));
+        }
+    }
+
+    /**
+     * Sends everything queued, in batches; runs on the scheduler thread only.
+     */
+    private void flush() {
+        flushScheduled.set(false);
+        while (true) {
+            List<Key> batch = new ArrayList<>();
+            Key key;
+            while (batch.size() < maxBatchSize && (key = queued.poll()) != null) {
+                queuedCount.decrementAndGet();
+                batch.add(key);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            send(batch);
+        }
+    }
+
+    private void send(List<Key> batch) {
+        List<ImageUrl> request = new ArrayList<>(batch.size());
+        for (Key key : batch) {
+            request.add(new ImageUrl(key.imageId).setWidth(key.width).setHeight(key.height));
+        }
+        long sent = System.nanoTime();
+        ImageUrlMap response;
+        try {
+            response = imageUrlResources.getImageUrls(request);
+        } catch (SmartsheetException | RuntimeException e) {
+            for (Key key : batch) {
+                complete(key, null, e);
+            }
+            return;
+        }
+
+        Map<String, List<ImageUrl>> byImageId = new HashMap<>();
+        if (response != null && response.getImageUrls() != null) {
+            for (ImageUrl imageUrl : response.getImageUrls()) {
+                byImageId.computeIfAbsent(imageUrl.getImageId(), id -> new ArrayList<>()).add(imageUrl);
+            }
+        }
+        Long expiresIn = response == null ? null : response.getUrlExpiresInMillis();
+        long usableUntil = expiresIn == null ? sent : sent + TimeUnit.MILLISECONDS.toNanos(expiresIn - expiryMarginMillis);
+        for (Key key : batch) {
+            ImageUrl imageUrl = match(key, byImageId.get(key.imageId));
+            if (imageUrl == null) {
+                complete(key, null, new SmartsheetException("no URL was returned for image " + key.imageId));
+            } else if (imageUrl.getError() != null) {
+                complete(key, null, new SmartsheetRestException(imageUrl.getError()));
+            } else {
+                if (usableUntil - System.nanoTime() > 0) {
+                    synchronized (cache) {
+                        cache.put(key, new CachedUrl(imageUrl.getUrl(), usableUntil));
+                    }
+                }
+                complete(key, imageUrl.getUrl(), null);
+            }
+        }
+    }
+
+    /**
+     * The response is matched to the request by image id, and by size when the same image was asked for in more
+     * than one size.
+     */
+    private static ImageUrl match(Key key, List<ImageUrl> candidates) {
+        if (candidates == null) {
+            return null;
+        }
+        for (ImageUrl candidate : candidates) {
+            if (Objects.equals(candidate.getWidth(), key.width) && Objects.equals(candidate.getHeight(), key.height)) {
+                return candidate;
+            }
+        }
+        return candidates.get(0);
+    }
+
+    private void complete(Key key, String url, Exception error) {
+        CompletableFuture<String> future = inFlight.remove(key);
+        if (future == null) {
+            return;
+        }
+        if (error == null) {
+            future.complete(url);
+        } else if (error instanceof SmartsheetException) {
+            future.completeExceptionally(error);
+        } else {
+            future.completeExceptionally(new SmartsheetException(error));
+        }
+    }
+
+    private void failQueued(SmartsheetException error) {
+        Key key;
+        while ((key = queued.poll()) != null) {
+            queuedCount.decrementAndGet();
+            complete(key, null, error);
+        }
+    }
+
+    private static String await(CompletableFuture<String> future) throws SmartsheetException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SmartsheetException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SmartsheetException) {
+                throw (SmartsheetException) e.getCause();
+            }
+            throw new SmartsheetException(e);
+        }
+    }
+
+    private static final class CachedUrl {
+        private final String url;
+        /** in System.nanoTime() */
+        private final long usableUntil;
+
+        CachedUrl(String url, long usableUntil) {
+            this.url = url;
+            this.usableUntil = usableUntil;
+        }
+    }
+
+    private static final class Key {
+        private final String imageId;
+        private final Long width;
+        private final Long height;
+
+        Key(String imageId, Long width, Long height) {
+            this.imageId = imageId;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return imageId.equals(other.imageId) && Objects.equals(width, other.width) && Objects.equals(height, other.height);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(imageId, width, height);
+        }
+    }
+}
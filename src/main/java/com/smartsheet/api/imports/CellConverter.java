@@ -0,0 +1,128 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.imports;
+
+import com.smartsheet.api.models.Cell;
+import com.smartsheet.api.models.Column;
+import com.smartsheet.api.models.enums.ColumnType;
+
+/**
+ * Converts CSV text into the value of a cell, based on the type of the column it goes to.
+ * <p>
+ * Numbers in TEXT_NUMBER columns and booleans in CHECKBOX columns are stored as primitives; everything else,
+ * including dates (which the API takes as yyyy-MM-dd text), is sent as the text itself and left to the server to
+ * interpret.
+ */
+final class CellConverter {
+    private CellConverter() {
+        // Empty private constructor since every method in this class is static
+    }
+
+    /**
+     * @param column the column the value goes to
+     * @param text the CSV field
+     * @return the cell, or null if the field is empty
+     */
+    static Cell toCell(Column column, String text) {
+        if (text.isEmpty()) {
+            return null;
+        }
+        Cell cell = new Cell();
+        cell.setColumnId(column.getId());
+        ColumnType type = column.getType();
+        if (type == ColumnType.TEXT_NUMBER) {
+            setNumberOrText(cell, text);
+        } else if (type == ColumnType.CHECKBOX) {
+            setBooleanOrText(cell, text);
+        } else {
+            cell.setValue(text);
+        }
+        return cell;
+    }
+
+    private static void setNumberOrText(Cell cell, String text) {
+        if (isWholeNumber(text)) {
+            try {
+                cell.setLong(Long.parseLong(text));
+            } catch (NumberFormatException e) {
+                // too large for a long, keep every digit rather than round it into a double
+                cell.setValue(text);
+            }
+            return;
+        }
+        if (looksNumeric(text)) {
+            try {
+                cell.setDouble(Double.parseDouble(text));
+                return;
+            } catch (NumberFormatException e) {
+                // not a number after all
+            }
+        }
+        cell.setValue(text);
+    }
+
+    private static void setBooleanOrText(Cell cell, String text) {
+        if ("true".equalsIgnoreCase(text) || "yes".equalsIgnoreCase(text) || "1".equals(text)) {
+            cell.setBoolean(true);
+        } else if ("false".equalsIgnoreCase(text) || "no".equalsIgnoreCase(text) || "0".equals(text)) {
+            cell.setBoolean(false);
+        } else {
+            cell.setValue(text);
+        }
+    }
+
+    /**
+     * A cheap check that keeps leading zeros (such as zip codes and ids) as text, since parsing them would drop
+     * the zeros.
+     */
+    private static boolean isWholeNumber(String text) {
+        int start = text.charAt(0) == '-' ? 1 : 0;
+        int length = text.length();
+        if (length == start || (text.charAt(start) == '0' && length - start > 1)) {
+            return false;
+        }
+        for (int i = start; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Avoids the cost of a NumberFormatException for the common case of plain text; also rejects the words
+     * Double.parseDouble accepts, such as "NaN" and "Infinity".
+     */
+    private static boolean looksNumeric(String text) {
+        int start = text.charAt(0) == '-' ? 1 : 0;
+        if (text.length() == start) {
+            return false;
+        }
+        char first = text.charAt(start);
+        if (first == '0' && text.length() > start + 1 && text.charAt(start + 1) != '.') {
+            return false;
+        }
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c < '0' || c > '9') && c != '.' && c != 'e' && c != 'E' && c != '-' && c != '+') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
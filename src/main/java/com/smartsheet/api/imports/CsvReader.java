@@ -0,0 +1,179 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.imports;
+
+import com.smartsheet.api.internal.util.Util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads CSV records (RFC 4180) one at a time from a Reader, so a file of any size can be processed in constant memory.
+ * <p>
+ * Fields may be quoted, quoted fields may contain delimiters, line breaks and doubled quotes, and records may end
+ * with CRLF, LF or CR. The reader fills its own buffer, so the Reader doesn't need to be buffered, and reuses the
+ * same field buffer for every record; the only allocations per record are its strings and array.
+ * <p>
+ * Thread Safety: This class is not thread safe.
+ */
+public class CsvReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String[] EMPTY = new String[0];
+
+    private final Reader reader;
+    private final char delimiter;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> fields = new ArrayList<>();
+    private int position;
+    private int limit;
+    private long recordNumber;
+
+    /**
+     * Constructor, for comma separated values.
+     *
+     * @param reader the source of the CSV
+     */
+    public CsvReader(Reader reader) {
+        this(reader, ',');
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param reader the source of the CSV
+     * @param delimiter the field delimiter, such as ',' or '\t'
+     */
+    public CsvReader(Reader reader, char delimiter) {
+        Util.throwIfNull(reader);
+        if (delimiter == '"' || delimiter == '\r' || delimiter == '\n') {
+            throw new IllegalArgumentException("invalid delimiter");
+        }
+        this.reader = reader;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return the fields of the record, or null at the end of the input
+     * @throws IOException if the Reader fails, or a quoted field isn't closed before the end of the input
+     */
+    public String[] readRecord() throws IOException {
+        if (!fill()) {
+            return null;
+        }
+        fields.clear();
+        recordNumber++;
+        while (true) {
+            boolean endOfRecord = readField();
+            fields.add(field.toString());
+            if (endOfRecord) {
+                return fields.isEmpty() ? EMPTY : fields.toArray(EMPTY);
+            }
+        }
+    }
+
+    /**
+     * @return the number of the record last returned by {@link #readRecord()}, starting at 1
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Reads one field into {@link #field}.
+     *
+     * @return true if the field ended the record
+     */
+    private boolean readField() throws IOException {
+        field.setLength(0);
+        if (fill() && buffer[position] == '"') {
+            position++;
+            readQuoted();
+        }
+        while (fill()) {
+            int start = position;
+            while (position < limit) {
+                char c = buffer[position];
+                if (c == delimiter) {
+                    field.append(buffer, start, position - start);
+                    position++;
+                    return false;
+                }
+                if (c == '\n' || c == '\r') {
+                    field.append(buffer, start, position - start);
+                    position++;
+                    if (c == '\r' && fill() && buffer[position] == '\n') {
+                        position++;
+                    }
+                    return true;
+                }
+                position++;
+            }
+            field.append(buffer, start, position - start);
+        }
+        return true;
+    }
+
+    /**
+     * Reads the rest of a quoted field, up to and including the closing quote.
+     */
+    private void readQuoted() throws IOException {
+        while (fill()) {
+            int start = position;
+            while (position < limit && buffer[position] != '"') {
+                position++;
+            }
+            field.append(buffer, start, position - start);
+            if (position < limit) {
+                position++;
+                if (!fill() || buffer[position] != '"') {
+                    return;
+                }
+                // a doubled quote is a literal quote
+                field.append('"');
+                position++;
+            }
+        }
+        throw new IOException("unterminated quoted field in record " + recordNumber);
+    }
+
+    /**
+     * @return true if there is at least one character to read at position
+     */
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.imports;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of {@link RowImporter#importCsv}.
+ * <p>
+ * Thread Safety: This class is thread safe since it's immutable.
+ */
+public final class ImportReport {
+    private final long recordsRead;
+    private final long rowsAdded;
+    private final long rowsUpdated;
+    private final long duplicateKeys;
+    private final List<String> ignoredHeaders;
+    private final long elapsedMillis;
+
+    ImportReport(long recordsRead, long rowsAdded, long rowsUpdated, long duplicateKeys, List<String> ignoredHeaders,
+                 long elapsedMillis) {
+        this.recordsRead = recordsRead;
+        this.rowsAdded = rowsAdded;
+        this.rowsUpdated = rowsUpdated;
+        this.duplicateKeys = duplicateKeys;
+        this.ignoredHeaders = Collections.unmodifiableList(ignoredHeaders);
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * @return the number of data records read, not counting the header or blank lines
+     */
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    public long getRowsAdded() {
+        return rowsAdded;
+    }
+
+    /**
+     * @return the number of existing rows updated because their key matched a record
+     */
+    public long getRowsUpdated() {
+        return rowsUpdated;
+    }
+
+    /**
+     * @return the number of records merged into an earlier record with the same key, or that updated the row an
+     *     earlier record with the same key added
+     */
+    public long getDuplicateKeys() {
+        return duplicateKeys;
+    }
+
+    /**
+     * @return the headers that didn't match a writable column, whose fields were not imported
+     */
+    public List<String> getIgnoredHeaders() {
+        return ignoredHeaders;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return the overall throughput, in records per second of wall-clock time
+     */
+    public double getRecordsPerSecond() {
+        return elapsedMillis == 0 ? 0 : recordsRead * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d records read, %d rows added, %d rows updated in %d ms", recordsRead, rowsAdded,
+                rowsUpdated, elapsedMillis);
+    }
+}
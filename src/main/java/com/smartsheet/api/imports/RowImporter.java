@@ -0,0 +1,476 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.imports;
+
+import com.smartsheet.api.SheetRowResources;
+import com.smartsheet.api.Smartsheet;
+import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.internal.util.Util;
+import com.smartsheet.api.models.Cell;
+import com.smartsheet.api.models.Column;
+import com.smartsheet.api.models.PaginationParameters;
+import com.smartsheet.api.models.Row;
+import com.smartsheet.api.models.Sheet;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Appends the records of a CSV file to an existing sheet, or with {@link #setKeyColumn(String)} updates the rows
+ * whose key matches and appends the rest.
+ * <p>
+ * The first record is the header; each header is matched to a column of the sheet by title (or through
+ * {@link #setHeaderMapping(Map)}) and each field converted to a cell according to the column's type. Parsing,
+ * conversion and upload run on separate threads connected by bounded queues, so a file of any size is imported in
+ * constant memory and the upload never waits for parsing, and parsing never runs more than a few batches ahead of the
+ * upload. Rows are sent with {@link SheetRowResources#addRows} and {@link SheetRowResources#updateRows} in batches of
+ * {@link #setBatchSize(int)}, one request at a time since Smartsheet serializes writes to a sheet anyway.
+ * <p>
+ * Each batch is a separate request; if one fails, the batches before it have already been applied.
+ * <p>
+ * Thread Safety: This class is not thread safe since it's mutable; configure it before calling {@link #importCsv}.
+ */
+public class RowImporter {
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /** rows per page when reading the existing keys of the sheet */
+    private static final int KEY_PAGE_SIZE = 5000;
+
+    private static final String[] END_OF_RECORDS = new String[0];
+    private static final KeyedRow END_OF_ROWS = new KeyedRow(null, new Row());
+
+    private final Smartsheet smartsheet;
+    private final long sheetId;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private char delimiter = ',';
+    private String keyColumn;
+    private Map<String, String> headerMapping = Collections.emptyMap();
+
+    /**
+     * Constructor.
+     *
+     * @param smartsheet the client to import with
+     * @param sheetId the sheet to import into
+     */
+    public RowImporter(Smartsheet smartsheet, long sheetId) {
+        Util.throwIfNull(smartsheet);
+        this.smartsheet = smartsheet;
+        this.sheetId = sheetId;
+    }
+
+    /**
+     * @param batchSize the maximum number of rows per request, 500 by default
+     * @return this importer
+     */
+    public RowImporter setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * @param delimiter the field delimiter, ',' by default
+     * @return this importer
+     */
+    public RowImporter setDelimiter(char delimiter) {
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    /**
+     * Turns the import into an upsert: a record whose field in this column matches the value of an existing row
+     * updates that row, the others are appended. Empty fields leave the existing cell unchanged. Records with the
+     * same key are merged, field by field with the later record winning, so a key is only ever added once and a row
+     * appears at most once per request.
+     *
+     * @param keyColumn the title of the key column, or null (the default) to append every record
+     * @return this importer
+     */
+    public RowImporter setKeyColumn(String keyColumn) {
+        this.keyColumn = keyColumn;
+        return this;
+    }
+
+    /**
+     * @param headerMapping column titles by CSV header, for headers that don't match their column's title
+     * @return this importer
+     */
+    public RowImporter setHeaderMapping(Map<String, String> headerMapping) {
+        Util.throwIfNull(headerMapping);
+        this.headerMapping = new HashMap<>(headerMapping);
+        return this;
+    }
+
+    /**
+     * Imports a UTF-8 CSV file.
+     *
+     * @param file the file
+     * @return the outcome
+     * @throws IllegalArgumentException if the key column isn't a column of the sheet and the file
+     * @throws IOException if the file can't be read or isn't valid CSV; no further rows are sent
+     * @throws InterruptedException if the calling thread is interrupted; no further rows are sent
+     * @throws SmartsheetException if a request fails; no further rows are sent
+     */
+    public ImportReport importCsv(Path file) throws SmartsheetException, IOException, InterruptedException {
+        Util.throwIfNull(file);
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)) {
+            return importCsv(reader);
+        }
+    }
+
+    /**
+     * Imports CSV text; the reader is not closed.
+     *
+     * @param reader the CSV
+     * @return the outcome
+     * @throws IllegalArgumentException if the key column isn't a column of the sheet and the file
+     * @throws IOException if the reader fails or the text isn't valid CSV; no further rows are sent
+     * @throws InterruptedException if the calling thread is interrupted; no further rows are sent
+     * @throws SmartsheetException if a request fails; no further rows are sent
+     */
+    public ImportReport importCsv(Reader reader) throws SmartsheetException, IOException, InterruptedException {
+        Util.throwIfNull(reader);
+        long start = System.currentTimeMillis();
+        CsvReader csv = new CsvReader(reader, delimiter);
+        String[] headers = csv.readRecord();
+        if (headers == null) {
+            return new ImportReport(0, 0, 0, 0, new ArrayList<>(), System.currentTimeMillis() - start);
+        }
+
+        Column[] columns = new Column[headers.length];
+        List<String> ignoredHeaders = new ArrayList<>();
+        mapColumns(headers, columns, ignoredHeaders);
+
+        int keyIndex = -1;
+        Map<String, Long> existingKeys = Collections.emptyMap();
+        if (keyColumn != null) {
+            for (int i = 0; i < columns.length && keyIndex < 0; i++) {
+                if (columns[i] != null && keyColumn.equals(columns[i].getTitle())) {
+                    keyIndex = i;
+                }
+            }
+            if (keyIndex < 0) {
+                throw new IllegalArgumentException("key column \"" + keyColumn + "\" is not both a column of the sheet and "
+                        + "a header of the file");
+            }
+            existingKeys = loadKeys(columns[keyIndex].getId());
+        }
+
+        Pipeline pipeline = new Pipeline(csv, columns, keyIndex, existingKeys);
+        pipeline.run();
+        return new ImportReport(pipeline.recordsRead.get(), pipeline.rowsAdded, pipeline.rowsUpdated,
+                pipeline.duplicateKeys.get(), ignoredHeaders, System.currentTimeMillis() - start);
+    }
+
+    private void mapColumns(String[] headers, Column[] columns, List<String> ignoredHeaders) throws SmartsheetException {
+        PaginationParameters all = new PaginationParameters.PaginationParametersBuilder().setIncludeAll(true).build();
+        Map<String, Column> byTitle = new HashMap<>();
+        for (Column column : smartsheet.sheetResources().columnResources().listColumns(sheetId, null, all).getData()) {
+            // system columns and formula columns are computed by Smartsheet and can't be written
+            if (column.getSystemColumnType() == null && column.getFormula() == null) {
+                byTitle.put(column.getTitle(), column);
+            }
+        }
+        for (int i = 0; i < headers.length; i++) {
+            String header = headers[i].trim();
+            columns[i] = byTitle.get(headerMapping.getOrDefault(header, header));
+            if (columns[i] == null) {
+                ignoredHeaders.add(header);
+            }
+        }
+    }
+
+    /**
+     * @return the ids of the existing rows by the value of their key cell
+     */
+    private Map<String, Long> loadKeys(long keyColumnId) throws SmartsheetException {
+        Map<String, Long> keys = new HashMap<>();
+        Set<Long> columnIds = Collections.singleton(keyColumnId);
+        for (int page = 1; ; page++) {
+            Sheet sheet = smartsheet.sheetResources().getSheet(sheetId, null, null, null, null, columnIds, KEY_PAGE_SIZE, page);
+            List<Row> rows = sheet.getRows();
+            if (rows == null || rows.isEmpty()) {
+                return keys;
+            }
+            for (Row row : rows) {
+                for (Cell cell : row.getCells()) {
+                    if (Long.valueOf(keyColumnId).equals(cell.getColumnId()) && keyOf(cell) != null) {
+                        keys.putIfAbsent(keyOf(cell), row.getId());
+                    }
+                }
+            }
+            if (rows.size() < KEY_PAGE_SIZE) {
+                return keys;
+            }
+        }
+    }
+
+    /**
+     * The value rather than the display value, so that dates compare in the yyyy-MM-dd form used in the file.
+     */
+    private static String keyOf(Cell cell) {
+        Object value = cell.getValue();
+        if (value == null) {
+            return cell.getDisplayValue() == null ? null : cell.getDisplayValue().trim();
+        }
+        return String.valueOf(value).trim();
+    }
+
+    /**
+     * One run of the import: the parse and convert stages run on their own threads, the upload on the caller's.
+     */
+    private final class Pipeline {
+        private final CsvReader csv;
+        private final Column[] columns;
+        private final int keyIndex;
+        private final Map<String, Long> existingKeys;
+        private final BlockingQueue<String[]> records = new ArrayBlockingQueue<>(2 * batchSize);
+        private final BlockingQueue<KeyedRow> rows = new ArrayBlockingQueue<>(2 * batchSize);
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+        private final AtomicLong recordsRead = new AtomicLong();
+        private final AtomicLong duplicateKeys = new AtomicLong();
+        private long rowsAdded;
+        private long rowsUpdated;
+
+        Pipeline(CsvReader csv, Column[] columns, int keyIndex, Map<String, Long> existingKeys) {
+            this.csv = csv;
+            this.columns = columns;
+            this.keyIndex = keyIndex;
+            this.existingKeys = existingKeys;
+        }
+
+        void run() throws SmartsheetException, IOException, InterruptedException {
+            ExecutorService executor = Executors.newFixedThreadPool(2, Util.daemonThreadFactory("smartsheet-import"));
+            try {
+                executor.execute(this::parse);
+                executor.execute(this::convert);
+                upload();
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        private void parse() {
+            try {
+                String[] record;
+                while ((record = csv.readRecord()) != null) {
+                    if (!isBlank(record)) {
+                        recordsRead.incrementAndGet();
+                        records.put(record);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } catch (InterruptedException e) {
+                // the upload failed, nobody is waiting for the rest
+                return;
+            }
+            putEnd(records, END_OF_RECORDS);
+        }
+
+        private void convert() {
+            try {
+                String[] record;
+                while ((record = records.take()) != END_OF_RECORDS) {
+                    KeyedRow row = toRow(record);
+                    if (row != null) {
+                        rows.put(row);
+                    }
+                }
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } catch (InterruptedException e) {
+                return;
+            }
+            putEnd(rows, END_OF_ROWS);
+        }
+
+        private KeyedRow toRow(String[] record) {
+            Row row = new Row();
+            String key = null;
+            if (keyIndex >= 0 && keyIndex < record.length && !record[keyIndex].trim().isEmpty()) {
+                key = record[keyIndex].trim();
+                row.setId(existingKeys.get(key));
+            }
+            List<Cell> cells = new ArrayList<>(Math.min(record.length, columns.length));
+            for (int i = 0; i < record.length && i < columns.length; i++) {
+                if (columns[i] != null) {
+                    Cell cell = CellConverter.toCell(columns[i], record[i]);
+                    if (cell != null) {
+                        cells.add(cell);
+                    }
+                }
+            }
+            if (cells.isEmpty()) {
+                return null;
+            }
+            row.setCells(cells);
+            return new KeyedRow(key, row);
+        }
+
+        /**
+         * A record whose key is already in a batch that hasn't been sent is merged into that batch's row; one whose
+         * key this import added in an earlier batch updates the added row.
+         */
+        private void upload() throws SmartsheetException, IOException, InterruptedException {
+            List<KeyedRow> adds = new ArrayList<>(batchSize);
+            List<KeyedRow> updates = new ArrayList<>(batchSize);
+            Map<String, Row> unsentByKey = new HashMap<>();
+            Map<String, Long> addedKeys = new HashMap<>();
+            KeyedRow next;
+            while ((next = rows.take()) != END_OF_ROWS) {
+                if (next.key != null) {
+                    Row unsent = unsentByKey.get(next.key);
+                    if (unsent != null) {
+                        merge(unsent, next.row);
+                        duplicateKeys.incrementAndGet();
+                        continue;
+                    }
+                    if (next.row.getId() == null && addedKeys.containsKey(next.key)) {
+                        next.row.setId(addedKeys.get(next.key));
+                        duplicateKeys.incrementAndGet();
+                    }
+                    unsentByKey.put(next.key, next.row);
+                }
+                if (next.row.getId() == null) {
+                    adds.add(next);
+                    if (adds.size() == batchSize) {
+                        sendAdds(adds, unsentByKey, addedKeys);
+                    }
+                } else {
+                    updates.add(next);
+                    if (updates.size() == batchSize) {
+                        sendUpdates(updates, unsentByKey);
+                    }
+                }
+            }
+            throwFailure();
+            if (!adds.isEmpty()) {
+                sendAdds(adds, unsentByKey, addedKeys);
+            }
+            if (!updates.isEmpty()) {
+                sendUpdates(updates, unsentByKey);
+            }
+        }
+
+        private void sendAdds(List<KeyedRow> adds, Map<String, Row> unsentByKey, Map<String, Long> addedKeys)
+                throws SmartsheetException {
+            List<Row> batch = new ArrayList<>(adds.size());
+            for (KeyedRow add : adds) {
+                add.row.setToBottom(true);
+                batch.add(add.row);
+            }
+            List<Row> result = smartsheet.sheetResources().rowResources().addRows(sheetId, batch);
+            rowsAdded += result.size();
+            for (int i = 0; i < adds.size(); i++) {
+                String key = adds.get(i).key;
+                if (key != null) {
+                    unsentByKey.remove(key);
+                    // the added rows come back in the order they were sent
+                    if (i < result.size() && result.get(i).getId() != null) {
+                        addedKeys.put(key, result.get(i).getId());
+                    }
+                }
+            }
+            adds.clear();
+        }
+
+        private void sendUpdates(List<KeyedRow> updates, Map<String, Row> unsentByKey) throws SmartsheetException {
+            List<Row> batch = new ArrayList<>(updates.size());
+            for (KeyedRow update : updates) {
+                batch.add(update.row);
+                if (update.key != null) {
+                    unsentByKey.remove(update.key);
+                }
+            }
+            rowsUpdated += smartsheet.sheetResources().rowResources().updateRows(sheetId, batch).size();
+            updates.clear();
+        }
+
+        private void throwFailure() throws IOException {
+            Exception e = failure.get();
+            if (e instanceof IOException) {
+                throw (IOException) e;
+            } else if (e != null) {
+                throw (RuntimeException) e;
+            }
+        }
+    }
+
+    private static <T> void putEnd(BlockingQueue<T> queue, T end) {
+        try {
+            queue.put(end);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Merges a later record's cells into an earlier record's row, the later one winning for a column in both.
+     */
+    private static void merge(Row into, Row from) {
+        List<Cell> cells = into.getCells();
+        for (Cell cell : from.getCells()) {
+            int existing = -1;
+            for (int i = 0; i < cells.size() && existing < 0; i++) {
+                if (cells.get(i).getColumnId().equals(cell.getColumnId())) {
+                    existing = i;
+                }
+            }
+            if (existing < 0) {
+                cells.add(cell);
+            } else {
+                cells.set(existing, cell);
+            }
+        }
+    }
+
+    private static boolean isBlank(String[] record) {
+        return record.length == 1 && record[0].trim().isEmpty();
+    }
+
+    /**
+     * A converted record and its key, or a null key if the import has no key column or the record's key is empty.
+     */
+    private static final class KeyedRow {
+        private final String key;
+        private final Row row;
+
+        KeyedRow(String key, Row row) {
+            this.key = key;
+            this.row = row;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.smartsheet.api.internal;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.smartsheet.api.AccessTokenExpiredException;
 import com.smartsheet.api.AuthorizationException;
 import com.smartsheet.api.InvalidRequestException;
 import com.smartsheet.api.ResourceNotFoundException;
@@ -28,6 +29,8 @@ import com.smartsheet.api.internal.http.HttpEntity;
 import com.smartsheet.api.internal.http.HttpMethod;
 import com.smartsheet.api.internal.http.HttpRequest;
 import com.smartsheet.api.internal.http.HttpResponse;
+import com.smartsheet.api.internal.http.MultipartBody;
+import com.smartsheet.api.internal.http.RepeatableFileInputStream;
 import com.smartsheet.api.internal.json.JSONSerializerException;
 import com.smartsheet.api.internal.util.StreamUtil;
 import com.smartsheet.api.internal.util.Util;
@@ -36,12 +39,8 @@ import com.smartsheet.api.models.CopyOrMoveRowDirective;
 import com.smartsheet.api.models.CopyOrMoveRowResult;
 import com.smartsheet.api.models.PagedResult;
 import com.smartsheet.api.models.Result;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.entity.ContentType;
-import org.apache.http.entity.mime.MultipartEntityBuilder;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
+import com.smartsheet.api.tracing.Span;
+import com.smartsheet.api.tracing.SmartsheetTracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -53,10 +52,19 @@ import java.io.OutputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URI;
 import java.net.URLEncoder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * This is the base class of the Smartsheet REST API resources.
@@ -69,12 +77,15 @@ public abstract class AbstractResources {
 
     private static final Logger log = LoggerFactory.getLogger(AbstractResources.class);
 
-    /** The Constant BUFFER_SIZE. */
-    private static final int BUFFER_SIZE = 4098;
+    /** upper bound on the size of a single request body written by sendListInBatches */
+    private static final long MAX_BATCH_BYTES = 8L * StreamUtil.ONE_MB;
 
     private static final String JSON_CONTENT_TYPE = "application/json";
     private static final String HEADER_CONTENT_TYPE = "Content-Type";
 
+    /** the span of the last traced API call started on this thread, see createHttpRequest */
+    private static final ThreadLocal<Span> OPEN_CALL_SPAN = new ThreadLocal<>();
+
     /**
      * The Enum ErrorCode.
      */
@@ -182,7 +193,8 @@ public abstract class AbstractResources {
      * Parameters: - path : the relative path of the resource - objectClass : the resource object class
      *
      * Returns: the resource (note that if there is no such resource, this method will throw ResourceNotFoundException
-     * rather than returning null).
+     * rather than returning null). With request coalescing on, the resource may be shared with concurrent identical
+     * calls, see {@link RequestCoalescer}.
      *
      * Exceptions: -
      *   InvalidRequestException : if there is any problem with the REST API request
@@ -207,6 +219,15 @@ public abstract class AbstractResources {
             throw new ResourceNotFoundException(error);
         }
 
+        RequestCoalescer coalescer = smartsheet.getRequestCoalescer();
+        if (coalescer == null) {
+            return fetchResource(path, objectClass);
+        }
+        return coalescer.execute(smartsheet.getBaseURI().resolve(path), createHeaders(), objectClass.getName(),
+                () -> fetchResource(path, objectClass));
+    }
+
+    private <T> T fetchResource(String path, Class<T> objectClass) throws SmartsheetException {
         HttpRequest request = createHttpRequest(smartsheet.getBaseURI().resolve(path), HttpMethod.GET);
 
         T obj = null;
@@ -338,40 +359,43 @@ public abstract class AbstractResources {
             InputStream inputStream,
             String contentType,
             String attachmentName
+    ) throws SmartsheetException {
+        return createResourceWithAttachment(path, objectClass, object, partName, inputStream, contentType, -1, attachmentName);
+    }
+
+    /**
+     * Create a resource with an attachment of known length, which is streamed with a Content-Length header rather than
+     * buffered; a {@link RepeatableFileInputStream} is also replayed from the file when the request is retried.
+     *
+     * @param <T> the generic type
+     * @param path the relative path of the resource collections
+     * @param objectClass the resource object class
+     * @param object the object to create
+     * @param partName the name of the object's part
+     * @param inputStream the attachment content
+     * @param contentType the type of the attachment
+     * @param contentLength the number of bytes in inputStream, or -1 if unknown
+     * @param attachmentName the attachment's file name
+     * @return the created resource
+     * @throws SmartsheetException the smartsheet exception
+     */
+    protected <T> T createResourceWithAttachment(
+            String path,
+            Class<T> objectClass,
+            T object,
+            String partName,
+            InputStream inputStream,
+            String contentType,
+            long contentLength,
+            String attachmentName
     ) throws SmartsheetException {
         Util.throwIfNull(path, object);
         Util.throwIfEmpty(path);
 
-        HttpRequest request;
-        final String boundary = "----" + System.currentTimeMillis();
-        CloseableHttpClient httpClient = HttpClients.createDefault();
-        HttpPost uploadFile = createHttpPost(this.getSmartsheet().getBaseURI().resolve(path));
-
-        try {
-            uploadFile.setHeader(HEADER_CONTENT_TYPE, "multipart/form-data; boundary=" + boundary);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
-
-        MultipartEntityBuilder builder = MultipartEntityBuilder.create();
-        builder.setBoundary(boundary);
-        builder.addTextBody(partName, this.getSmartsheet().getJsonSerializer().serialize(object), ContentType.APPLICATION_JSON);
-        builder.addBinaryBody("file", inputStream, ContentType.create(contentType), attachmentName);
-        org.apache.http.HttpEntity multipart = builder.build();
-
-        uploadFile.setEntity(multipart);
-
-        T obj = null;
-        //implement switch case
-        try {
-            CloseableHttpResponse response = httpClient.execute(uploadFile);
-            org.apache.http.HttpEntity responseEntity = response.getEntity();
-            obj = this.getSmartsheet().getJsonSerializer().deserializeResult(objectClass,
-                    responseEntity.getContent()).getResult();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
-        return obj;
+        MultipartBody body = new MultipartBody()
+                .addJsonPart(partName, this.getSmartsheet().getJsonSerializer().serialize(object))
+                .addFilePart("file", attachmentName, contentType, inputStream, contentLength);
+        return postMultipart(path, body, objectClass);
     }
 
     /**
@@ -469,7 +493,8 @@ public abstract class AbstractResources {
     }
 
     /**
-     * List resources Wrapper (supports paging info) using Smartsheet REST API.
+     * List resources Wrapper (supports paging info) using Smartsheet REST API. With request coalescing on, the result
+     * may be shared with concurrent identical calls, see {@link RequestCoalescer}.
      * @throws IllegalArgumentException : if any argument is null, or path is empty string
      * @throws InvalidRequestException : if there is any problem with the REST API request
      * @throws AuthorizationException : if there is any problem with the REST API authorization(access token)
@@ -481,6 +506,15 @@ public abstract class AbstractResources {
         Util.throwIfNull(path, objectClass);
         Util.throwIfEmpty(path);
 
+        RequestCoalescer coalescer = smartsheet.getRequestCoalescer();
+        if (coalescer == null) {
+            return fetchResourcesWithWrapper(path, objectClass);
+        }
+        return coalescer.execute(smartsheet.getBaseURI().resolve(path), createHeaders(), "PagedResult<" + objectClass.getName() + ">",
+                () -> fetchResourcesWithWrapper(path, objectClass));
+    }
+
+    private <T> PagedResult<T> fetchResourcesWithWrapper(String path, Class<T> objectClass) throws SmartsheetException {
         HttpRequest request;
         request = createHttpRequest(smartsheet.getBaseURI().resolve(path), HttpMethod.GET);
 
@@ -738,6 +772,79 @@ public abstract class AbstractResources {
         return obj;
     }
 
+    /**
+     * Send objects pulled from an iterator to Smartsheet REST API as a series of JSON array requests, receiving a list
+     * of objects from each response.
+     * <p>
+     * Objects are serialized one at a time into a request buffer that is reused between batches, so only a single
+     * batch (in its serialized form) is held in memory regardless of how many objects the iterator produces. A batch
+     * ends after batchSize objects or once the request body reaches {@link #MAX_BATCH_BYTES}. Each batch is sent as a
+     * replayable body, so the HttpClient retry logic applies as usual.
+     *
+     * @param <T> the generic type of objects to send
+     * @param <S> the generic type of objects to receive
+     * @param path the relative path of the resource collections
+     * @param method the HttpMethod (POST or PUT)
+     * @param objects the source of the objects to send
+     * @param batchSize the maximum number of objects per request
+     * @param objectClassToReceive the resource object class to receive
+     * @param resultHandler receives the objects returned by each request (optional, results are discarded if null)
+     * @return the number of objects sent
+     * @throws IllegalArgumentException : if any argument is null, path is empty string or batchSize isn't positive
+     * @throws InvalidRequestException : if there is any problem with the REST API request
+     * @throws AuthorizationException : if there is any problem with the REST API authorization(access token)
+     * @throws ServiceUnavailableException : if the REST API service is not available (possibly due to rate limiting)
+     * @throws SmartsheetRestException : if there is any other REST API related error occurred during the operation
+     * @throws SmartsheetException : if there is any other error occurred during the operation
+     */
+    protected <T, S> long sendListInBatches(
+            String path,
+            HttpMethod method,
+            Iterator<? extends T> objects,
+            int batchSize,
+            Class<S> objectClassToReceive,
+            Consumer<List<S>> resultHandler
+    ) throws SmartsheetException {
+        Util.throwIfNull(path, method, objects, objectClassToReceive);
+        Util.throwIfEmpty(path);
+        if (batchSize <= 0 || (method != HttpMethod.POST && method != HttpMethod.PUT)) {
+            throw new IllegalArgumentException();
+        }
+
+        URI uri = smartsheet.getBaseURI().resolve(path);
+        BatchBuffer buffer = new BatchBuffer();
+        long sent = 0;
+        while (objects.hasNext()) {
+            buffer.reset();
+            int count = this.smartsheet.getJsonSerializer().serializeArray(objects, batchSize, MAX_BATCH_BYTES, buffer);
+
+            HttpRequest request = createHttpRequest(uri, method);
+            HttpEntity entity = new HttpEntity();
+            entity.setContentType(JSON_CONTENT_TYPE);
+            entity.setContent(buffer.toInputStream());
+            entity.setContentLength(buffer.size());
+            request.setEntity(entity);
+
+            try {
+                HttpResponse response = this.smartsheet.getHttpClient().request(request);
+                switch (response.getStatusCode()) {
+                    case 200:
+                        if (resultHandler != null) {
+                            resultHandler.accept(this.smartsheet.getJsonSerializer().deserializeListResult(
+                                    objectClassToReceive, response.getEntity().getContent()).getResult());
+                        }
+                        break;
+                    default:
+                        handleError(response);
+                }
+            } finally {
+                smartsheet.getHttpClient().releaseConnection();
+            }
+            sent += count;
+        }
+        return sent;
+    }
+
     /**
      * Create an HttpRequest.
      * @param uri    the URI
@@ -752,16 +859,35 @@ public abstract class AbstractResources {
         // Set authorization header
         request.setHeaders(createHeaders());
 
+        SmartsheetTracer tracer = smartsheet.getTracer();
+        if (tracer != null) {
+            // the span is current until the HttpClient releases the connection, so it covers serializing the body,
+            // the HTTP attempts and de-serializing the response; a previous call that never got as far as being sent
+            // is ended here rather than becoming this call's parent
+            Span unsent = OPEN_CALL_SPAN.get();
+            if (unsent != null && !unsent.isEnded()) {
+                unsent.setError("request not sent").end();
+            }
+            Span span = tracer.startActiveSpan(method + " " + request.getEndpointTemplate());
+            request.setSpan(span);
+            OPEN_CALL_SPAN.set(span);
+        }
+
         return request;
     }
 
-    protected HttpPost createHttpPost(URI uri) {
-        HttpPost httpPost = new HttpPost(uri);
-        Map<String, String> headers = createHeaders();
-        for (Map.Entry<String, String> entry : headers.entrySet()) {
-            httpPost.addHeader(entry.getKey(), entry.getValue());
+    /**
+     * Closes a file opened for an upload once its call is over. The HTTP client can't be left to do it: it re-opens a
+     * {@link RepeatableFileInputStream} to rewind it after an error response, and never reads a body it failed to send.
+     *
+     * @param file the file's stream
+     */
+    static void closeFile(InputStream file) {
+        try {
+            file.close();
+        } catch (IOException e) {
+            // the call is over either way, and a handle that fails to close has nothing left to report
         }
-        return httpPost;
     }
 
     /**
@@ -777,7 +903,10 @@ public abstract class AbstractResources {
         );
         HttpEntity entity = new HttpEntity();
         entity.setContentType(contentType);
-        entity.setContent(new LengthEnforcingInputStream(inputStream, contentLength));
+        // a file stream's length is the file's own, and leaving it unwrapped lets the HttpClient send it with transferTo
+        entity.setContent(inputStream instanceof RepeatableFileInputStream
+                ? inputStream
+                : new LengthEnforcingInputStream(inputStream, contentLength));
         entity.setContentLength(contentLength);
         request.setEntity(entity);
 
@@ -812,36 +941,63 @@ public abstract class AbstractResources {
      */
     public <T> Attachment attachFile(String url, T t, String partName, InputStream inputstream, String contentType, String attachmentName)
             throws SmartsheetException {
-        Util.throwIfNull(inputstream, contentType);
-        Attachment attachment = null;
-        final String boundary = "----" + System.currentTimeMillis();
-
-        CloseableHttpClient httpClient = HttpClients.createDefault();
-        HttpPost uploadFile = createHttpPost(this.getSmartsheet().getBaseURI().resolve(url));
-
-        try {
-            uploadFile.setHeader(HEADER_CONTENT_TYPE, "multipart/form-data; boundary=" + boundary);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return attachFile(url, t, partName, inputstream, contentType, -1, attachmentName);
+    }
 
-        MultipartEntityBuilder builder = MultipartEntityBuilder.create();
-        builder.setBoundary(boundary);
-        builder.addTextBody(partName, this.getSmartsheet().getJsonSerializer().serialize(t), ContentType.APPLICATION_JSON);
-        builder.addBinaryBody("file", inputstream, ContentType.create(contentType), attachmentName);
-        org.apache.http.HttpEntity multipart = builder.build();
+    /**
+     * Create a multipart upload request for a file of known length, which is streamed with a Content-Length header
+     * rather than buffered.
+     *
+     * @param url the url
+     * @param t the object to create
+     * @param partName the name of the part
+     * @param inputstream the file inputstream
+     * @param contentType the type of the file to be attached
+     * @param contentLength the number of bytes in inputstream, or -1 if unknown
+     * @param attachmentName the attachment's file name
+     * @return the attachment
+     * @throws SmartsheetException may be thrown in the method
+     */
+    public <T> Attachment attachFile(String url, T t, String partName, InputStream inputstream, String contentType,
+                                     long contentLength, String attachmentName) throws SmartsheetException {
+        Util.throwIfNull(inputstream, contentType);
+        MultipartBody body = new MultipartBody()
+                .addJsonPart(partName, this.getSmartsheet().getJsonSerializer().serialize(t))
+                .addFilePart("file", attachmentName, contentType, inputstream, contentLength);
+        return postMultipart(url, body, Attachment.class);
+    }
 
-        uploadFile.setEntity(multipart);
+    /**
+     * Send a multipart request through the client's HttpClient, so that it shares its connections, retries and logging
+     * with every other request.
+     *
+     * @param path the relative path of the resource collection
+     * @param body the multipart body
+     * @param objectClass the class of the result object
+     * @return the created resource
+     * @throws SmartsheetException the smartsheet exception
+     */
+    protected <T> T postMultipart(String path, MultipartBody body, Class<T> objectClass) throws SmartsheetException {
+        HttpRequest request = createHttpRequest(this.getSmartsheet().getBaseURI().resolve(path), HttpMethod.POST);
+        HttpEntity entity = body.toEntity();
+        request.getHeaders().put(HEADER_CONTENT_TYPE, entity.getContentType());
+        request.setEntity(entity);
 
+        T obj = null;
         try {
-            CloseableHttpResponse response = httpClient.execute(uploadFile);
-            org.apache.http.HttpEntity responseEntity = response.getEntity();
-            attachment = this.getSmartsheet().getJsonSerializer().deserializeResult(Attachment.class,
-                    responseEntity.getContent()).getResult();
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+            HttpResponse response = this.getSmartsheet().getHttpClient().request(request);
+            switch (response.getStatusCode()) {
+                case 200:
+                    obj = this.getSmartsheet().getJsonSerializer().deserializeResult(objectClass,
+                            response.getEntity().getContent()).getResult();
+                    break;
+                default:
+                    handleError(response);
+            }
+        } finally {
+            this.getSmartsheet().getHttpClient().releaseConnection();
         }
-        return attachment;
+        return obj;
     }
 
     /**
@@ -864,6 +1020,10 @@ public abstract class AbstractResources {
             throw new SmartsheetException(e);
         }
 
+        if (error.getErrorCode() != null && error.getErrorCode() == AccessTokenExpiredException.ERROR_CODE) {
+            throw new AccessTokenExpiredException(error);
+        }
+
         ErrorCode code = ErrorCode.getErrorCode(response.getStatusCode());
 
         if (code == null) {
@@ -904,17 +1064,85 @@ public abstract class AbstractResources {
             throws SmartsheetException {
         Util.throwIfNull(outputStream, fileType);
 
+        getResourceAsFile(path, fileType, content -> StreamUtil.transferContent(content, outputStream));
+    }
+
+    /**
+     * Get a resource as a file, writing the body straight into a channel. When the channel is a FileChannel the
+     * body is moved with FileChannel.transferFrom rather than through an intermediate stream.
+     * @param path the path
+     * @param fileType the output file type
+     * @param channel the channel to which the file will be written; it is not closed
+     * @return the number of bytes written
+     * @throws InvalidRequestException : if there is any problem with the REST API request
+     * @throws AuthorizationException : if there is any problem with the REST API authorization(access token)
+     * @throws ResourceNotFoundException : if the resource can not be found
+     * @throws ServiceUnavailableException : if the REST API service is not available (possibly due to rate limiting)
+     * @throws SmartsheetRestException : if there is any other REST API related error occurred during the operation
+     * @throws SmartsheetException : if there is any other error occurred during the operation
+     */
+    public long getResourceAsFile(String path, String fileType, WritableByteChannel channel)
+            throws SmartsheetException {
+        Util.throwIfNull(channel, fileType);
+
+        return getResourceAsFile(path, fileType, content -> StreamUtil.transferContent(content, channel));
+    }
+
+    /**
+     * Get a resource as a file, saving it to the given path. The resource is written to a temporary file next to the
+     * target once the server has answered 200, and moved over the target only when all of it has arrived, so a failed
+     * transfer leaves an existing file as it was.
+     * @param path the path
+     * @param fileType the output file type
+     * @param target the file to write
+     * @return the number of bytes written
+     * @throws InvalidRequestException : if there is any problem with the REST API request
+     * @throws AuthorizationException : if there is any problem with the REST API authorization(access token)
+     * @throws ResourceNotFoundException : if the resource can not be found
+     * @throws ServiceUnavailableException : if the REST API service is not available (possibly due to rate limiting)
+     * @throws SmartsheetRestException : if there is any other REST API related error occurred during the operation
+     * @throws SmartsheetException : if there is any other error occurred during the operation
+     */
+    public long getResourceAsFile(String path, String fileType, Path target) throws SmartsheetException {
+        Util.throwIfNull(target, fileType);
+
+        return getResourceAsFile(path, fileType, content -> {
+            Path absolute = target.toAbsolutePath();
+            Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+            try {
+                long bytes;
+                try (FileChannel file = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    bytes = StreamUtil.transferContent(content, file);
+                }
+                try {
+                    Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+                }
+                return bytes;
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * GET the resource and, on a 200, hand its body to the writer; the connection is always released.
+     */
+    long getResourceAsFile(String path, String fileType, ContentWriter writer) throws SmartsheetException {
         HttpRequest request;
         request = createHttpRequest(this.getSmartsheet().getBaseURI().resolve(path), HttpMethod.GET);
         request.getHeaders().put("Accept", fileType);
 
+        long bytes = 0;
         try {
             HttpResponse response = getSmartsheet().getHttpClient().request(request);
 
             switch (response.getStatusCode()) {
                 case 200:
                     try {
-                        copyStream(response.getEntity().getContent(), outputStream);
+                        bytes = writer.write(response.getEntity().getContent());
                     } catch (IOException e) {
                         throw new SmartsheetException(e);
                     }
@@ -925,32 +1153,15 @@ public abstract class AbstractResources {
         } finally {
             getSmartsheet().getHttpClient().releaseConnection();
         }
+        return bytes;
     }
 
-    /*
-     * Copy an input stream to an output stream.
-     *
-     * @param input The input stream to copy.
-     *
-     * @param output the output stream to write to.
-     *
-     * @throws IOException if there is trouble reading or writing to the streams.
-     */
     /**
-     * Copy stream.
-     *
-     * @param input the input
-     * @param output the output
-     * @throws IOException Signals that an I/O exception has occurred.
-     * @deprecated replace with StreamUtil.copyContentIntoOutputStream()
+     * Consumes the body of a file response.
      */
-    @Deprecated(since = "2.0.0", forRemoval = true)
-    private static void copyStream(InputStream input, OutputStream output) throws IOException {
-        byte[] buffer = new byte[BUFFER_SIZE];
-        int len;
-        while ((len = input.read(buffer)) != -1) {
-            output.write(buffer, 0, len);
-        }
+    @FunctionalInterface
+    interface ContentWriter {
+        long write(InputStream content) throws IOException;
     }
 
     /**
@@ -978,4 +1189,17 @@ public abstract class AbstractResources {
         // not cached to allow for it to be changed dynamically by client code
         return Integer.getInteger(PROPERTY_RESPONSE_LOG_CHARS, 1024);
     }
+
+    /**
+     * A request body buffer that can be reset and reused, and read back without copying its contents.
+     */
+    private static class BatchBuffer extends ByteArrayOutputStream {
+        BatchBuffer() {
+            super(64 * StreamUtil.ONE_KB);
+        }
+
+        InputStream toInputStream() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
 }
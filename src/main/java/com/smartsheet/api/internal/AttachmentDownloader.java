@@ -0,0 +1,453 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.internal;
+
+import com.smartsheet.api.SheetAttachmentResources;
+import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.internal.http.HttpClient;
+import com.smartsheet.api.internal.http.HttpClientException;
+import com.smartsheet.api.internal.http.HttpMethod;
+import com.smartsheet.api.internal.http.HttpRequest;
+import com.smartsheet.api.internal.http.HttpResponse;
+import com.smartsheet.api.internal.util.Util;
+import com.smartsheet.api.models.Attachment;
+import com.smartsheet.api.models.enums.AttachmentType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Downloads file attachments from their signed URLs, straight into a file.
+ * <p>
+ * A file is written to "[target].part" and moved to the target once all of it has arrived. If a download stops part
+ * way, because of an error or because the process ends, the next download of the same target continues from the end
+ * of the ".part" file with a range request. Files larger than a segment are instead downloaded as several ranges at
+ * once into "[target].segments"; each range continues from where it stopped when its response fails, but an
+ * interrupted segmented download starts over the next time.
+ * <p>
+ * Signed URLs expire (see {@link Attachment#getUrlExpiresInMillis()}), so the attachment is fetched again for a fresh
+ * URL shortly before that happens, and whenever the storage service answers 403.
+ * <p>
+ * Thread Safety: This class is thread safe since it's immutable.
+ */
+class AttachmentDownloader {
+    private static final Logger log = LoggerFactory.getLogger(AttachmentDownloader.class);
+
+    static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+    static final int DEFAULT_SEGMENT_PARALLELISM = 4;
+
+    /**
+     * how many requests for the same range may fail, without receiving any of it, before the download gives up
+     */
+    private static final int MAX_ATTEMPTS = 3;
+
+    /**
+     * a URL this close to expiring is refreshed before use, so that a long transfer doesn't start with it
+     */
+    private static final long EXPIRY_MARGIN_MILLIS = 30_000;
+
+    /**
+     * the most that is written in one FileChannel.transferFrom call
+     */
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+
+    /**
+     * "bytes 0-99/1234" in a 206 response, "bytes * /1234" (without the space) in a 416 response
+     */
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (?:(\\d+)-\\d+|\\*)/(\\d+|\\*)");
+
+    private final SmartsheetImpl smartsheet;
+    private final SheetAttachmentResources attachments;
+    private final long segmentSize;
+    private final int segmentParallelism;
+
+    /**
+     * Constructor.
+     *
+     * @param smartsheet the client, whose HttpClient is used for the downloads
+     * @param attachments used to get (and refresh) the attachment's URL
+     * @param segmentSize files larger than this are downloaded in segments of this size
+     * @param segmentParallelism the number of segments of one file downloaded at the same time, 1 to never segment
+     */
+    AttachmentDownloader(SmartsheetImpl smartsheet, SheetAttachmentResources attachments, long segmentSize,
+                         int segmentParallelism) {
+        this.smartsheet = smartsheet;
+        this.attachments = attachments;
+        this.segmentSize = segmentSize;
+        this.segmentParallelism = segmentParallelism;
+    }
+
+    /**
+     * Downloads an attachment's file to target, replacing target if it exists.
+     *
+     * @param sheetId the sheet id
+     * @param attachmentId the attachment id
+     * @param target the file to write
+     * @return the attachment
+     * @throws SmartsheetException if the attachment can't be fetched or downloaded, or the file can't be written
+     */
+    Attachment download(long sheetId, long attachmentId, Path target) throws SmartsheetException {
+        Util.throwIfNull(target);
+        SignedUrl url = new SignedUrl(sheetId, attachmentId);
+        Attachment attachment = url.attachment();
+        if (attachment.getAttachmentType() != null && attachment.getAttachmentType() != AttachmentType.FILE) {
+            throw new IllegalArgumentException("Attachment " + attachmentId + " is a link (" + attachment.getAttachmentType()
+                    + "), there is no file to download");
+        }
+
+        Path part = sibling(target, ".part");
+        try {
+            Path downloaded = Files.exists(part) ? resume(url, part) : start(url, target, part);
+            Files.move(downloaded, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new SmartsheetException(e);
+        }
+        return url.attachment();
+    }
+
+    /**
+     * Continues the download in an existing ".part" file.
+     */
+    private Path resume(SignedUrl url, Path part) throws SmartsheetException, IOException {
+        try (FileChannel channel = FileChannel.open(part, StandardOpenOption.WRITE)) {
+            verifySize(channel, fetch(url, channel, channel.size(), -1, false));
+        }
+        return part;
+    }
+
+    /**
+     * Downloads the file from the start. The response to the first range says how large the file is, which decides
+     * whether the rest is downloaded in segments.
+     */
+    private Path start(SignedUrl url, Path target, Path part) throws SmartsheetException, IOException {
+        long firstEnd = segmentParallelism > 1 ? segmentSize : -1;
+        HttpResponse response = get(url, 0, firstEnd);
+        FileChannel channel = null;
+        Path file;
+        long total;
+        long received;
+        try {
+            total = totalSize(response);
+            if (response.getStatusCode() == 416) {
+                // a range from the first byte can only be refused for an empty file
+                total = 0;
+            }
+            boolean segmented = response.getStatusCode() == 206 && total > segmentSize && segmentParallelism > 1;
+            file = segmented ? sibling(target, ".segments") : part;
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            if (segmented) {
+                // FileChannel.transferFrom only writes within the file, so it's given its full size up front
+                channel.write(ByteBuffer.allocate(1), total - 1);
+            }
+            received = response.getStatusCode() == 416 ? 0 : transfer(response, channel, 0, segmented ? segmentSize : total);
+        } catch (IOException | RuntimeException e) {
+            if (channel != null) {
+                channel.close();
+            }
+            throw e;
+        } finally {
+            smartsheet.getHttpClient().releaseConnection();
+        }
+
+        try (FileChannel fileChannel = channel) {
+            if (file == part) {
+                if (total >= 0 && received < total) {
+                    fetch(url, fileChannel, received, total, false);
+                }
+            } else {
+                if (received < segmentSize) {
+                    fetch(url, fileChannel, received, segmentSize, true);
+                }
+                fetchSegments(url, fileChannel, segmentSize, total);
+            }
+            verifySize(fileChannel, total);
+        }
+        return file;
+    }
+
+    /**
+     * Downloads [start, total) in segments, segmentParallelism at a time.
+     */
+    private void fetchSegments(SignedUrl url, FileChannel channel, long start, long total) throws SmartsheetException {
+        List<long[]> segments = new ArrayList<>();
+        for (long position = start; position < total; position += segmentSize) {
+            segments.add(new long[]{position, Math.min(position + segmentSize, total)});
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(segmentParallelism, segments.size()),
+                Util.daemonThreadFactory("smartsheet-download-segment"));
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (long[] segment : segments) {
+                futures.add(executor.submit(() -> fetch(url, channel, segment[0], segment[1], true)));
+            }
+            for (Future<Long> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SmartsheetException) {
+                throw (SmartsheetException) cause;
+            }
+            if (cause instanceof Exception) {
+                throw new SmartsheetException((Exception) cause);
+            }
+            throw (Error) cause;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SmartsheetException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Writes [position, end) of the file into channel, requesting the rest again whenever a response ends early.
+     *
+     * @param end the end of the range (exclusive), -1 for the end of the file
+     * @param segment true if the range is a segment, which can't be replaced by the whole file
+     * @return the end of the range
+     */
+    private long fetch(SignedUrl url, FileChannel channel, long position, long end, boolean segment)
+            throws SmartsheetException, IOException {
+        int failures = 0;
+        while (end < 0 || position < end) {
+            long received = 0;
+            try {
+                HttpResponse response = get(url, position, end);
+                try {
+                    long total = totalSize(response);
+                    if (response.getStatusCode() == 416) {
+                        if (segment) {
+                            throw new SmartsheetException("Attachment download requested bytes from " + position
+                                    + " of a file of " + total + " bytes");
+                        }
+                        if (position == 0 || position == total) {
+                            // an empty file, or a ".part" file that was already complete
+                            return position;
+                        }
+                        // the ".part" file is longer than the file, it must be from another version: start over
+                        channel.truncate(0);
+                        position = 0;
+                        continue;
+                    }
+                    if (response.getStatusCode() == 200 && position > 0) {
+                        if (segment) {
+                            throw new SmartsheetException("Attachment download returned the whole file for a range request");
+                        }
+                        // the range was ignored, start over
+                        channel.truncate(0);
+                        position = 0;
+                    } else if (response.getStatusCode() == 206 && rangeStart(response) != position) {
+                        throw new SmartsheetException("Attachment download returned a different range than requested");
+                    }
+                    if (end < 0) {
+                        end = total;
+                    }
+                    received = transfer(response, channel, position, end < 0 ? -1 : end - position);
+                } finally {
+                    smartsheet.getHttpClient().releaseConnection();
+                }
+            } catch (HttpClientException e) {
+                log.debug("attachment download request failed", e);
+            }
+            position += received;
+            if (end < 0) {
+                // the size of the file isn't known, the response ended with it
+                return position;
+            }
+            failures = received > 0 ? 0 : failures + 1;
+            if (failures >= MAX_ATTEMPTS && position < end) {
+                throw new SmartsheetException("Attachment download stopped at byte " + position + " of " + end);
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Sends a range request for [start, end) to the attachment's URL.
+     *
+     * @param end the end of the range (exclusive), -1 for the end of the file
+     * @return a 200, 206 or 416 response, the caller must release the connection
+     */
+    private HttpResponse get(SignedUrl url, long start, long end) throws SmartsheetException {
+        HttpClient httpClient = smartsheet.getHttpClient();
+        for (int attempt = 1; ; attempt++) {
+            Attachment attachment = url.attachment();
+            HttpRequest request = new HttpRequest();
+            request.setUri(URI.create(attachment.getUrl()));
+            request.setMethod(HttpMethod.GET);
+            // none of the API headers: the signed URL is the credential, and a second one is rejected by the storage service
+            Map<String, String> headers = new HashMap<>();
+            headers.put("Range", "bytes=" + start + "-" + (end < 0 ? "" : String.valueOf(end - 1)));
+            request.setHeaders(headers);
+
+            HttpResponse response = httpClient.request(request);
+            int status = response.getStatusCode();
+            if (status == 200 || status == 206 || status == 416) {
+                return response;
+            }
+            httpClient.releaseConnection();
+            if (attempt < MAX_ATTEMPTS && (status == 403 || status >= 500)) {
+                if (status == 403) {
+                    url.expired(attachment);
+                }
+                continue;
+            }
+            throw new SmartsheetException("Attachment download failed with HTTP status " + status);
+        }
+    }
+
+    /**
+     * Writes a response's content into channel at position, through {@link FileChannel#transferFrom}.
+     *
+     * @param count the number of bytes expected, -1 if not known
+     * @return the number of bytes written, fewer than count if the response ended early or failed
+     */
+    private static long transfer(HttpResponse response, FileChannel channel, long position, long count) throws IOException {
+        if (response.getEntity() == null || response.getEntity().getContent() == null) {
+            return 0;
+        }
+        long limit = count < 0 ? Long.MAX_VALUE : count;
+        long written = 0;
+        try (InputStream content = response.getEntity().getContent()) {
+            ReadableByteChannel source = Channels.newChannel(content);
+            while (written < limit) {
+                long requested = Math.min(limit - written, TRANSFER_CHUNK);
+                long n = channel.transferFrom(source, position + written, requested);
+                written += n;
+                if (n < requested) {
+                    // the end of the response
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            if (!channel.isOpen()) {
+                throw e;
+            }
+            // the response failed part way, the caller asks for the rest
+            log.debug("attachment download response ended early", e);
+        }
+        return written;
+    }
+
+    private static void verifySize(FileChannel channel, long expected) throws SmartsheetException, IOException {
+        if (expected >= 0 && channel.size() != expected) {
+            throw new SmartsheetException("Attachment download wrote " + channel.size() + " bytes, expected " + expected);
+        }
+    }
+
+    /**
+     * @return the size of the whole file, from Content-Range (or Content-Length of a 200 response), -1 if not known
+     */
+    private static long totalSize(HttpResponse response) throws SmartsheetException {
+        Matcher contentRange = contentRange(response);
+        if (contentRange != null && !"*".equals(contentRange.group(2))) {
+            return Long.parseLong(contentRange.group(2));
+        }
+        if (response.getStatusCode() == 206) {
+            throw new SmartsheetException("Attachment download response has no Content-Range, its size can't be verified");
+        }
+        if (response.getStatusCode() == 200 && response.getEntity() != null) {
+            return response.getEntity().getContentLength();
+        }
+        return -1;
+    }
+
+    private static long rangeStart(HttpResponse response) {
+        Matcher contentRange = contentRange(response);
+        return contentRange == null || contentRange.group(1) == null ? -1 : Long.parseLong(contentRange.group(1));
+    }
+
+    private static Matcher contentRange(HttpResponse response) {
+        if (response.getHeaders() == null) {
+            return null;
+        }
+        for (Map.Entry<String, String> header : response.getHeaders().entrySet()) {
+            if ("Content-Range".equalsIgnoreCase(header.getKey()) && header.getValue() != null) {
+                Matcher matcher = CONTENT_RANGE.matcher(header.getValue().trim());
+                return matcher.matches() ? matcher : null;
+            }
+        }
+        return null;
+    }
+
+    private static Path sibling(Path target, String suffix) {
+        return target.resolveSibling(target.getFileName() + suffix);
+    }
+
+    /**
+     * The attachment, with a URL that is fetched again when it is about to expire or has been refused.
+     */
+    private final class SignedUrl {
+        private final long sheetId;
+        private final long attachmentId;
+        private Attachment attachment;
+        private long expiresAt;
+
+        SignedUrl(long sheetId, long attachmentId) {
+            this.sheetId = sheetId;
+            this.attachmentId = attachmentId;
+        }
+
+        synchronized Attachment attachment() throws SmartsheetException {
+            if (attachment == null || System.currentTimeMillis() >= expiresAt - EXPIRY_MARGIN_MILLIS) {
+                long fetchedAt = System.currentTimeMillis();
+                Attachment fresh = attachments.getAttachment(sheetId, attachmentId);
+                if (fresh.getUrl() == null) {
+                    throw new SmartsheetException("Attachment " + attachmentId + " has no download URL");
+                }
+                Long expiresIn = fresh.getUrlExpiresInMillis();
+                attachment = fresh;
+                expiresAt = expiresIn == null ? Long.MAX_VALUE : fetchedAt + expiresIn;
+            }
+            return attachment;
+        }
+
+        /**
+         * Called when the URL of stale was refused, so that the next request gets a new one (unless another segment
+         * has already fetched it).
+         */
+        synchronized void expired(Attachment stale) {
+            if (stale == attachment) {
+                expiresAt = 0;
+            }
+        }
+    }
+}
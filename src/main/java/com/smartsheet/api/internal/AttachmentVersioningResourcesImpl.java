@@ -22,13 +22,13 @@ import com.smartsheet.api.InvalidRequestException;
 import com.smartsheet.api.ResourceNotFoundException;
 import com.smartsheet.api.ServiceUnavailableException;
 import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.internal.http.RepeatableFileInputStream;
 import com.smartsheet.api.internal.util.Util;
 import com.smartsheet.api.models.Attachment;
 import com.smartsheet.api.models.PagedResult;
 import com.smartsheet.api.models.PaginationParameters;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
 
@@ -127,7 +127,12 @@ public class AttachmentVersioningResourcesImpl extends AbstractResources impleme
         Util.throwIfNull(attachmentId, file, contentType);
         Util.throwIfEmpty(contentType);
 
-        return attachNewVersion(sheetId, attachmentId, new FileInputStream(file), contentType, file.length(), file.getName());
+        InputStream inputStream = new RepeatableFileInputStream(file.toPath());
+        try {
+            return attachNewVersion(sheetId, attachmentId, inputStream, contentType, file.length(), file.getName());
+        } finally {
+            closeFile(inputStream);
+        }
     }
 
     /**
@@ -149,7 +154,7 @@ public class AttachmentVersioningResourcesImpl extends AbstractResources impleme
      * @throws ServiceUnavailableException if the REST API service is not available (possibly due to rate limiting)
      * @throws SmartsheetException if there is any other error during the operation
      */
-    private Attachment attachNewVersion(
+    public Attachment attachNewVersion(
             long sheetId,
             long attachmentId,
             InputStream inputStream,
@@ -21,11 +21,11 @@ import com.smartsheet.api.InvalidRequestException;
 import com.smartsheet.api.ResourceNotFoundException;
 import com.smartsheet.api.ServiceUnavailableException;
 import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.internal.http.RepeatableFileInputStream;
 import com.smartsheet.api.internal.util.Util;
 import com.smartsheet.api.models.Attachment;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
 
@@ -86,7 +86,12 @@ public class CommentAttachmentResourcesImpl extends AbstractResources implements
         Util.throwIfNull(sheetId, commentId, file, contentType);
         Util.throwIfEmpty(contentType);
 
-        return attachFile(sheetId, commentId, new FileInputStream(file), contentType, file.length(), file.getName());
+        InputStream inputStream = new RepeatableFileInputStream(file.toPath());
+        try {
+            return attachFile(sheetId, commentId, inputStream, contentType, file.length(), file.getName());
+        } finally {
+            closeFile(inputStream);
+        }
     }
 
     /**
@@ -22,11 +22,11 @@ import com.smartsheet.api.InvalidRequestException;
 import com.smartsheet.api.ResourceNotFoundException;
 import com.smartsheet.api.ServiceUnavailableException;
 import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.internal.http.RepeatableFileInputStream;
 import com.smartsheet.api.internal.util.Util;
 import com.smartsheet.api.models.Comment;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
@@ -98,17 +98,10 @@ public class DiscussionCommentResourcesImpl extends AbstractResources implements
         String path = SHEETS_PATH + sheetId + "/discussions/" + discussionId + "/comments";
         Util.throwIfNull(sheetId, comment, file, contentType);
 
-        return this.addCommentWithAttachment(path, comment, new FileInputStream(file), contentType, file.getName());
-    }
-
-    private Comment addCommentWithAttachment(
-            String path,
-            Comment comment,
-            InputStream inputStream,
-            String contentType,
-            String attachmentName
-    ) throws SmartsheetException {
-        return this.createResourceWithAttachment(path, Comment.class, comment, "comment", inputStream, contentType, attachmentName);
+        try (InputStream inputStream = new RepeatableFileInputStream(file.toPath())) {
+            return this.createResourceWithAttachment(path, Comment.class, comment, "comment", inputStream, contentType,
+                    file.length(), file.getName());
+        }
     }
 
     /**
@@ -25,10 +25,11 @@ import com.smartsheet.api.SmartsheetException;
 import com.smartsheet.api.internal.http.HttpMethod;
 import com.smartsheet.api.internal.http.HttpRequest;
 import com.smartsheet.api.internal.http.HttpResponse;
+import com.smartsheet.api.internal.util.DateUtil;
 import com.smartsheet.api.internal.util.QueryUtil;
 import com.smartsheet.api.models.EventResult;
 
-import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -56,7 +57,8 @@ public class EventResourcesImpl extends AbstractResources implements EventResour
      *
      * <p>It mirrors to the following Smartsheet REST API method: GET /events</p>
      *
-     * @param since Starting time for events to return. You must pass in a value for either since or
+     * @param since Starting time for events to return, a {@link java.util.Date}, {@link java.time.Instant} or a
+     *              value already in the API's format. You must pass in a value for either since or
      *              streamPosition and never both.
      * @param streamPosition Indicates next set of events to return. Use value of nextStreamPosition returned
      *                       from the previous call. You must pass in a value for either since or streamPosition
@@ -79,7 +81,10 @@ public class EventResourcesImpl extends AbstractResources implements EventResour
 
         Map<String, Object> parameters = new HashMap<>();
         if (since instanceof Date) {
-            String isoDate = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ").format(since);
+            String isoDate = DateUtil.formatQueryParameter((Date) since);
+            parameters.put("since", isoDate);
+        } else if (since instanceof Instant) {
+            String isoDate = DateUtil.QUERY_PARAMETER_FORMATTER.format((Instant) since);
             parameters.put("since", isoDate);
         } else {
             parameters.put("since", since);
@@ -23,16 +23,20 @@ import com.smartsheet.api.ResourceNotFoundException;
 import com.smartsheet.api.ServiceUnavailableException;
 import com.smartsheet.api.ShareResources;
 import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.internal.util.DateUtil;
 import com.smartsheet.api.internal.util.QueryUtil;
+import com.smartsheet.api.internal.util.Util;
 import com.smartsheet.api.models.PagedResult;
 import com.smartsheet.api.models.PaginationParameters;
 import com.smartsheet.api.models.Report;
 import com.smartsheet.api.models.ReportPublish;
 import com.smartsheet.api.models.SheetEmail;
+import com.smartsheet.api.models.enums.ExportFormat;
 import com.smartsheet.api.models.enums.ReportInclusion;
 
 import java.io.OutputStream;
-import java.text.SimpleDateFormat;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.Date;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -195,7 +199,7 @@ public class ReportResourcesImpl extends AbstractResources implements ReportReso
             parameters = pagination.toHashMap();
         }
         if (modifiedSince != null) {
-            String isoDate = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ").format(modifiedSince);
+            String isoDate = DateUtil.formatQueryParameter(modifiedSince);
             parameters.put("modifiedSince", isoDate);
         }
 
@@ -249,6 +253,64 @@ public class ReportResourcesImpl extends AbstractResources implements ReportReso
         getResourceAsFile(REPORTS_PATH + id, "text/csv", outputStream);
     }
 
+    /**
+     * Export a Report, writing it straight into a channel.
+     * <p>
+     * It mirrors to the following Smartsheet REST API method: GET /reports/{id} with the format's Accept HTTP header
+     * <p>
+     * Exceptions:
+     *   IllegalArgumentException : if format or channel is null, or format is PDF
+     *   InvalidRequestException : if there is any problem with the REST API request
+     *   AuthorizationException : if there is any problem with the REST API authorization(access token)
+     *   ResourceNotFoundException : if the resource can not be found
+     *   ServiceUnavailableException : if the REST API service is not available (possibly due to rate limiting)
+     *   SmartsheetRestException : if there is any other REST API related error occurred during the operation
+     *   SmartsheetException : if there is any other error occurred during the operation
+     *
+     * @param id the id
+     * @param format the export format, EXCEL or CSV
+     * @param channel the channel to which the file will be written; it is not closed
+     * @return the number of bytes written
+     * @throws SmartsheetException the smartsheet exception
+     */
+    public long exportReport(long id, ExportFormat format, WritableByteChannel channel) throws SmartsheetException {
+        Util.throwIfNull(channel);
+        return getResourceAsFile(REPORTS_PATH + id, getReportContentType(format), channel);
+    }
+
+    /**
+     * Export a Report to a file. The file is only created once the export has started successfully.
+     * <p>
+     * It mirrors to the following Smartsheet REST API method: GET /reports/{id} with the format's Accept HTTP header
+     * <p>
+     * Exceptions:
+     *   IllegalArgumentException : if format or target is null, or format is PDF
+     *   InvalidRequestException : if there is any problem with the REST API request
+     *   AuthorizationException : if there is any problem with the REST API authorization(access token)
+     *   ResourceNotFoundException : if the resource can not be found
+     *   ServiceUnavailableException : if the REST API service is not available (possibly due to rate limiting)
+     *   SmartsheetRestException : if there is any other REST API related error occurred during the operation
+     *   SmartsheetException : if there is any other error occurred during the operation
+     *
+     * @param id the id
+     * @param format the export format, EXCEL or CSV
+     * @param target the file to write
+     * @return the number of bytes written
+     * @throws SmartsheetException the smartsheet exception
+     */
+    public long exportReport(long id, ExportFormat format, Path target) throws SmartsheetException {
+        Util.throwIfNull(target);
+        return getResourceAsFile(REPORTS_PATH + id, getReportContentType(format), target);
+    }
+
+    private static String getReportContentType(ExportFormat format) {
+        Util.throwIfNull(format);
+        if (format == ExportFormat.PDF) {
+            throw new IllegalArgumentException("Reports can't be exported as PDF");
+        }
+        return format.getContentType();
+    }
+
     /**
      * Get the publish status of a report.
      * <p>
@@ -0,0 +1,118 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.internal;
+
+import com.smartsheet.api.SmartsheetException;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Lets concurrent identical GET calls share one request: the first caller (the leader) makes it, and callers asking
+ * for the same resource while it is in flight wait for and get the leader's result, the same deserialized object, or
+ * the same exception. Calls are identical when they have the same URI, the same headers (so the same access token,
+ * assumed user and change agent) and deserialize to the same class. Nothing is cached; a call made after the leader's
+ * has completed makes its own request.
+ * <p>
+ * Since the result is shared, callers must treat it as read-only. A caller that wants to change it, for example to
+ * send it back in an update, should change a copy or get the resource with coalescing off.
+ * <p>
+ * Thread Safety: This class is thread safe.
+ */
+final class RequestCoalescer {
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Supplies the result of a call.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    interface Fetch<T> {
+        T fetch() throws SmartsheetException;
+    }
+
+    /**
+     * Makes the call, or waits for an identical one in flight on another thread and returns its result.
+     *
+     * @param uri the URI of the request
+     * @param headers the headers of the request
+     * @param resultType what the response is deserialized into, including any wrapper
+     * @param fetch makes the call
+     * @param <T> the result type
+     * @return the result, possibly shared with other callers
+     * @throws SmartsheetException the exception of the call, possibly shared with other callers
+     */
+    @SuppressWarnings("unchecked")
+    <T> T execute(URI uri, Map<String, String> headers, String resultType, Fetch<T> fetch) throws SmartsheetException {
+        String key = key(uri, headers, resultType);
+        CompletableFuture<Object> call = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, call);
+        if (leader != null) {
+            return (T) await(leader);
+        }
+        try {
+            T result = fetch.fetch();
+            call.complete(result);
+            return result;
+        } catch (SmartsheetException | RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * @return the number of calls in flight that other callers can join
+     */
+    int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private static Object await(CompletableFuture<Object> leader) throws SmartsheetException {
+        try {
+            return leader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SmartsheetException("interrupted waiting for an identical request", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SmartsheetException) {
+                throw (SmartsheetException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new SmartsheetException("identical request failed", cause);
+        }
+    }
+
+    private static String key(URI uri, Map<String, String> headers, String resultType) {
+        StringBuilder key = new StringBuilder(resultType).append(' ').append(uri);
+        for (Map.Entry<String, String> header : new TreeMap<>(headers).entrySet()) {
+            key.append('\n').append(header.getKey()).append(": ").append(header.getValue());
+        }
+        return key.toString();
+    }
+}
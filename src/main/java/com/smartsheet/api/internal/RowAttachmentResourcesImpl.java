@@ -22,13 +22,13 @@ import com.smartsheet.api.ResourceNotFoundException;
 import com.smartsheet.api.RowAttachmentResources;
 import com.smartsheet.api.ServiceUnavailableException;
 import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.internal.http.RepeatableFileInputStream;
 import com.smartsheet.api.internal.util.Util;
 import com.smartsheet.api.models.Attachment;
 import com.smartsheet.api.models.PagedResult;
 import com.smartsheet.api.models.PaginationParameters;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
 
@@ -120,7 +120,12 @@ public class RowAttachmentResourcesImpl extends AbstractResources implements Row
         Util.throwIfNull(sheetId, rowId, file, contentType);
         Util.throwIfEmpty(contentType);
 
-        return attachFile(sheetId, rowId, new FileInputStream(file), contentType, file.length(), file.getName());
+        InputStream inputStream = new RepeatableFileInputStream(file.toPath());
+        try {
+            return attachFile(sheetId, rowId, inputStream, contentType, file.length(), file.getName());
+        } finally {
+            closeFile(inputStream);
+        }
     }
 
     /**
@@ -18,10 +18,12 @@ package com.smartsheet.api.internal;
 
 import com.smartsheet.api.RowColumnResources;
 import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.internal.http.ByteBufferInputStream;
 import com.smartsheet.api.internal.http.HttpEntity;
 import com.smartsheet.api.internal.http.HttpMethod;
 import com.smartsheet.api.internal.http.HttpRequest;
 import com.smartsheet.api.internal.http.HttpResponse;
+import com.smartsheet.api.internal.http.RepeatableFileInputStream;
 import com.smartsheet.api.internal.util.QueryUtil;
 import com.smartsheet.api.internal.util.Util;
 import com.smartsheet.api.models.CellHistory;
@@ -30,11 +32,13 @@ import com.smartsheet.api.models.PaginationParameters;
 import com.smartsheet.api.models.enums.CellHistoryInclusion;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
@@ -165,7 +169,7 @@ public class RowColumnResourcesImpl extends AbstractResources implements RowColu
         Util.throwIfNull(file);
         File f = new File(file);
         String path = SHEETS_PATH + sheetId + ROWS_PATH + rowId + COLUMNS_PATH + columnId + CELL_IMAGES_PATH;
-        addImage(path, new FileInputStream(f), contentType, f.length(), false, null, file);
+        addImageFile(path, f.toPath(), contentType, false, null, file);
     }
 
     /**
@@ -203,7 +207,7 @@ public class RowColumnResourcesImpl extends AbstractResources implements RowColu
         Util.throwIfNull(file);
         File f = new File(file);
         String path = SHEETS_PATH + sheetId + ROWS_PATH + rowId + COLUMNS_PATH + columnId + CELL_IMAGES_PATH;
-        addImage(path, new FileInputStream(f), contentType, f.length(), overrideValidation, altText, file);
+        addImageFile(path, f.toPath(), contentType, overrideValidation, altText, file);
     }
 
     /**
@@ -233,7 +237,7 @@ public class RowColumnResourcesImpl extends AbstractResources implements RowColu
                                boolean overrideValidation, String altText) throws FileNotFoundException, SmartsheetException {
         Util.throwIfNull(file);
         String path = SHEETS_PATH + sheetId + ROWS_PATH + rowId + COLUMNS_PATH + columnId + CELL_IMAGES_PATH;
-        addImage(path, new FileInputStream(file), contentType, file.length(), overrideValidation, altText, file.getName());
+        addImageFile(path, file.toPath(), contentType, overrideValidation, altText, file.getName());
     }
 
     /**
@@ -266,6 +270,65 @@ public class RowColumnResourcesImpl extends AbstractResources implements RowColu
         addImage(path, inputStream, contentType, contentLength, overrideValidation, altText, altText);
     }
 
+    /**
+     * Add an image to a cell. The file is streamed from disk, and re-read rather than held in memory if the request
+     * is retried.
+     * <p>
+     * It mirrors the following Smartsheet REST API method: POST /sheets/{sheetId}/rows/{rowId}/columns/{columnId}/cellimages
+     *
+     * @param sheetId the sheet Id
+     * @param rowId the row id
+     * @param columnId the column id
+     * @param file the image file
+     * @param contentType MIME type
+     * @param overrideValidation override column type validation if true
+     * @param altText alternate description for the image
+     * @throws SmartsheetException the smartsheet exception
+     * @throws FileNotFoundException image file not found
+     */
+    public void addImageToCell(long sheetId, long rowId, long columnId, Path file, String contentType,
+                               boolean overrideValidation, String altText) throws FileNotFoundException, SmartsheetException {
+        Util.throwIfNull(file);
+        String path = SHEETS_PATH + sheetId + ROWS_PATH + rowId + COLUMNS_PATH + columnId + CELL_IMAGES_PATH;
+        addImageFile(path, file, contentType, overrideValidation, altText, file.getFileName().toString());
+    }
+
+    /**
+     * Add an image held in a buffer to a cell, sent straight from the buffer and re-sent from it on retry.
+     * <p>
+     * It mirrors the following Smartsheet REST API method: POST /sheets/{sheetId}/rows/{rowId}/columns/{columnId}/cellimages
+     *
+     * @param sheetId the sheet Id
+     * @param rowId the row id
+     * @param columnId the column id
+     * @param image the image, from its position to its limit
+     * @param fileName the file name of the image
+     * @param contentType MIME type
+     * @param overrideValidation override column type validation if true
+     * @param altText alternate description for the image
+     * @throws SmartsheetException the smartsheet exception
+     */
+    public void addImageToCell(long sheetId, long rowId, long columnId, ByteBuffer image, String fileName, String contentType,
+                               boolean overrideValidation, String altText) throws SmartsheetException {
+        Util.throwIfNull(image, fileName);
+        String path = SHEETS_PATH + sheetId + ROWS_PATH + rowId + COLUMNS_PATH + columnId + CELL_IMAGES_PATH;
+        addImage(path, new ByteBufferInputStream(image), contentType, image.remaining(), overrideValidation, altText, fileName);
+    }
+
+    private void addImageFile(String path, Path file, String contentType, boolean overrideValidation, String altText,
+                              String imageName) throws FileNotFoundException, SmartsheetException {
+        InputStream inputStream = new RepeatableFileInputStream(file);
+        try {
+            addImage(path, inputStream, contentType, file.toFile().length(), overrideValidation, altText, imageName);
+        } finally {
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                // the request is done, a file handle that fails to close has nothing left to report
+            }
+        }
+    }
+
     private void addImage(String path, InputStream inputStream, String contentType, long contentLength,
                           boolean overrideValidation, String altText, String imageName) throws SmartsheetException {
         if (imageName == null) {
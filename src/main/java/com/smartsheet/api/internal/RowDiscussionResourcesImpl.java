@@ -18,6 +18,7 @@ package com.smartsheet.api.internal;
 
 import com.smartsheet.api.RowDiscussionResources;
 import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.internal.http.RepeatableFileInputStream;
 import com.smartsheet.api.internal.util.QueryUtil;
 import com.smartsheet.api.internal.util.Util;
 import com.smartsheet.api.models.Discussion;
@@ -26,8 +27,8 @@ import com.smartsheet.api.models.PaginationParameters;
 import com.smartsheet.api.models.enums.DiscussionInclusion;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
@@ -93,15 +94,18 @@ public class RowDiscussionResourcesImpl extends AbstractResources implements Row
         String path = createPath(sheetId, rowId);
         Util.throwIfNull(sheetId, discussion, file, contentType);
 
-        return this.createResourceWithAttachment(
-                path,
-                Discussion.class,
-                discussion,
-                "discussion",
-                new FileInputStream(file),
-                contentType,
-                file.getName()
-        );
+        try (InputStream inputStream = new RepeatableFileInputStream(file.toPath())) {
+            return this.createResourceWithAttachment(
+                    path,
+                    Discussion.class,
+                    discussion,
+                    "discussion",
+                    inputStream,
+                    contentType,
+                    file.length(),
+                    file.getName()
+            );
+        }
     }
 
     /**
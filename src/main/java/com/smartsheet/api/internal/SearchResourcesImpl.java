@@ -22,6 +22,7 @@ import com.smartsheet.api.ResourceNotFoundException;
 import com.smartsheet.api.SearchResources;
 import com.smartsheet.api.ServiceUnavailableException;
 import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.internal.util.DateUtil;
 import com.smartsheet.api.internal.util.QueryUtil;
 import com.smartsheet.api.internal.util.Util;
 import com.smartsheet.api.models.SearchResult;
@@ -31,7 +32,6 @@ import com.smartsheet.api.models.enums.SearchScope;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -109,7 +109,7 @@ public class SearchResourcesImpl extends AbstractResources implements SearchReso
         parameters.put("include", QueryUtil.generateCommaSeparatedList(includes));
         parameters.put("location", location);
         if (modifiedSince != null) {
-            String isoDate = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ").format(modifiedSince);
+            String isoDate = DateUtil.formatQueryParameter(modifiedSince);
             parameters.put("modifiedSince", isoDate);
         }
         parameters.put("scopes", QueryUtil.generateCommaSeparatedList(scopes));
@@ -23,15 +23,16 @@ import com.smartsheet.api.ResourceNotFoundException;
 import com.smartsheet.api.ServiceUnavailableException;
 import com.smartsheet.api.SheetAttachmentResources;
 import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.internal.http.RepeatableFileInputStream;
 import com.smartsheet.api.internal.util.Util;
 import com.smartsheet.api.models.Attachment;
 import com.smartsheet.api.models.PagedResult;
 import com.smartsheet.api.models.PaginationParameters;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.nio.file.Path;
 
 /**
  * This is the implementation of the SheetAttachmentResources.
@@ -41,6 +42,8 @@ import java.io.InputStream;
 public class SheetAttachmentResourcesImpl extends AbstractResources implements SheetAttachmentResources {
     private AttachmentVersioningResources versioning;
 
+    private final AttachmentDownloader downloader;
+
     private static final String SHEETS_PATH = "sheets/";
 
     private static final String ATTACHMENTS_PATH = "/attachments";
@@ -51,6 +54,8 @@ public class SheetAttachmentResourcesImpl extends AbstractResources implements S
     public SheetAttachmentResourcesImpl(SmartsheetImpl smartsheet) {
         super(smartsheet);
         this.versioning = new AttachmentVersioningResourcesImpl(smartsheet);
+        this.downloader = new AttachmentDownloader(smartsheet, this, AttachmentDownloader.DEFAULT_SEGMENT_SIZE,
+                AttachmentDownloader.DEFAULT_SEGMENT_PARALLELISM);
     }
 
     /**
@@ -171,7 +176,12 @@ public class SheetAttachmentResourcesImpl extends AbstractResources implements S
         Util.throwIfNull(sheetId, file, contentType);
         Util.throwIfEmpty(contentType);
 
-        return attachFile(sheetId, new FileInputStream(file), contentType, file.length(), file.getName());
+        InputStream inputStream = new RepeatableFileInputStream(file.toPath());
+        try {
+            return attachFile(sheetId, inputStream, contentType, file.length(), file.getName());
+        } finally {
+            closeFile(inputStream);
+        }
     }
 
     /**
@@ -191,6 +201,25 @@ public class SheetAttachmentResourcesImpl extends AbstractResources implements S
         return super.attachFile(SHEETS_PATH + sheetId + ATTACHMENTS_PATH, inputStream, contentType, contentLength, attachmentName);
     }
 
+    /**
+     * Download the file of an attachment.
+     * <p>
+     * The file is streamed to disk from the attachment's URL, which is refreshed if it expires. A download that stops
+     * part way continues from where it stopped the next time it is called for the same target, and large files are
+     * downloaded in several ranges at once. The target is only written once all of the file has arrived.
+     *
+     * @param sheetId the sheet id
+     * @param attachmentId the attachment id
+     * @param target the file to write, replaced if it exists
+     * @return the attachment
+     * @throws IllegalArgumentException if the attachment is a link rather than a file
+     * @throws ResourceNotFoundException if the attachment cannot be found
+     * @throws SmartsheetException if there is any other error during the operation
+     */
+    public Attachment download(long sheetId, long attachmentId, Path target) throws SmartsheetException {
+        return downloader.download(sheetId, attachmentId, target);
+    }
+
     /**
      * Creates an object of AttachmentVersioningResources for access to versioning through SheetAttachmentResources.
      *
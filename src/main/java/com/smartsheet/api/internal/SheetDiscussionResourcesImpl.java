@@ -24,6 +24,7 @@ import com.smartsheet.api.ResourceNotFoundException;
 import com.smartsheet.api.ServiceUnavailableException;
 import com.smartsheet.api.SheetDiscussionResources;
 import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.internal.http.RepeatableFileInputStream;
 import com.smartsheet.api.internal.util.QueryUtil;
 import com.smartsheet.api.internal.util.Util;
 import com.smartsheet.api.models.Discussion;
@@ -32,7 +33,6 @@ import com.smartsheet.api.models.PaginationParameters;
 import com.smartsheet.api.models.enums.DiscussionInclusion;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.EnumSet;
@@ -108,24 +108,18 @@ public class SheetDiscussionResourcesImpl extends AbstractResources implements S
         Util.throwIfNull(discussion, file, contentType);
         String path = SHEETS_PATH + sheetId + "/" + DISCUSSIONS;
 
-        return this.createDiscussionWithAttachment(path, discussion, new FileInputStream(file), contentType, file.getName());
-    }
-
-    private Discussion createDiscussionWithAttachment(
-            String path, Discussion discussion,
-            InputStream inputStream,
-            String contentType,
-            String attachmentName
-    ) throws SmartsheetException {
-        return this.createResourceWithAttachment(
-                path,
-                Discussion.class,
-                discussion,
-                "discussion",
-                inputStream,
-                contentType,
-                attachmentName
-        );
+        try (InputStream inputStream = new RepeatableFileInputStream(file.toPath())) {
+            return this.createResourceWithAttachment(
+                    path,
+                    Discussion.class,
+                    discussion,
+                    "discussion",
+                    inputStream,
+                    contentType,
+                    file.length(),
+                    file.getName()
+            );
+        }
     }
 
     /**
@@ -39,6 +39,8 @@ import com.smartsheet.api.internal.http.HttpEntity;
 import com.smartsheet.api.internal.http.HttpMethod;
 import com.smartsheet.api.internal.http.HttpRequest;
 import com.smartsheet.api.internal.http.HttpResponse;
+import com.smartsheet.api.internal.http.RepeatableFileInputStream;
+import com.smartsheet.api.internal.util.DateUtil;
 import com.smartsheet.api.internal.util.QueryUtil;
 import com.smartsheet.api.internal.util.Util;
 import com.smartsheet.api.models.ContainerDestination;
@@ -52,6 +54,7 @@ import com.smartsheet.api.models.SortSpecifier;
 import com.smartsheet.api.models.UpdateRequest;
 import com.smartsheet.api.models.enums.CopyExclusion;
 import com.smartsheet.api.models.enums.ObjectExclusion;
+import com.smartsheet.api.models.enums.ExportFormat;
 import com.smartsheet.api.models.enums.PaperSize;
 import com.smartsheet.api.models.enums.SheetCopyInclusion;
 import com.smartsheet.api.models.enums.SheetInclusion;
@@ -61,12 +64,12 @@ import com.smartsheet.api.models.enums.SourceInclusion;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.text.SimpleDateFormat;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.Date;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -80,9 +83,6 @@ import java.util.Set;
  */
 public class SheetResourcesImpl extends AbstractResources implements SheetResources {
 
-    /** The Constant BUFFER_SIZE. */
-    private static final int BUFFER_SIZE = 4098;
-
     private static final String SHEETS = "sheets";
     private static final String TEXT_CSV = "text/csv";
     private static final String FOLDERS = "folders";
@@ -217,7 +217,7 @@ public class SheetResourcesImpl extends AbstractResources implements SheetResour
             parameters = pagination.toHashMap();
         }
         if (modifiedSince != null) {
-            String isoDate = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ").format(modifiedSince);
+            String isoDate = DateUtil.formatQueryParameter(modifiedSince);
             parameters.put("modifiedSince", isoDate);
         }
         parameters.put(INCLUDE, QueryUtil.generateCommaSeparatedList(includes));
@@ -1166,7 +1166,7 @@ public class SheetResourcesImpl extends AbstractResources implements SheetResour
 
         InputStream is = null;
         try {
-            is = new FileInputStream(f);
+            is = new RepeatableFileInputStream(f.toPath());
         } catch (FileNotFoundException e) {
             throw new SmartsheetException(e);
         }
@@ -1190,11 +1190,65 @@ public class SheetResourcesImpl extends AbstractResources implements SheetResour
             }
         } finally {
             smartsheet.getHttpClient().releaseConnection();
+            closeFile(is);
         }
 
         return obj;
     }
 
+    /**
+     * Export a sheet, writing it straight into a channel.
+     * <p>
+     * It mirrors to the following Smartsheet REST API method: GET /sheet/{id} with the format's Accept HTTP header
+     * @param id the id
+     * @param format the export format
+     * @param paperSize the optional paper size, only used for PDF
+     * @param channel the channel to which the file will be written; it is not closed
+     * @return the number of bytes written
+     * @throws IllegalArgumentException : if format or channel is null
+     * @throws InvalidRequestException : if there is any problem with the REST API request
+     * @throws AuthorizationException : if there is any problem with the REST API authorization(access token)
+     * @throws ResourceNotFoundException : if the resource can not be found
+     * @throws ServiceUnavailableException : if the REST API service is not available (possibly due to rate limiting)
+     * @throws SmartsheetRestException : if there is any other REST API related error occurred during the operation
+     * @throws SmartsheetException : if there is any other error occurred during the operation
+     */
+    public long exportSheet(long id, ExportFormat format, PaperSize paperSize, WritableByteChannel channel)
+            throws SmartsheetException {
+        Util.throwIfNull(format, channel);
+        return getResourceAsFile(getExportPath(id, format, paperSize), format.getContentType(), channel);
+    }
+
+    /**
+     * Export a sheet to a file. The file is only created once the export has started successfully.
+     * <p>
+     * It mirrors to the following Smartsheet REST API method: GET /sheet/{id} with the format's Accept HTTP header
+     * @param id the id
+     * @param format the export format
+     * @param paperSize the optional paper size, only used for PDF
+     * @param target the file to write
+     * @return the number of bytes written
+     * @throws IllegalArgumentException : if format or target is null
+     * @throws InvalidRequestException : if there is any problem with the REST API request
+     * @throws AuthorizationException : if there is any problem with the REST API authorization(access token)
+     * @throws ResourceNotFoundException : if the resource can not be found
+     * @throws ServiceUnavailableException : if the REST API service is not available (possibly due to rate limiting)
+     * @throws SmartsheetRestException : if there is any other REST API related error occurred during the operation
+     * @throws SmartsheetException : if there is any other error occurred during the operation
+     */
+    public long exportSheet(long id, ExportFormat format, PaperSize paperSize, Path target) throws SmartsheetException {
+        Util.throwIfNull(format, target);
+        return getResourceAsFile(getExportPath(id, format, paperSize), format.getContentType(), target);
+    }
+
+    private static String getExportPath(long id, ExportFormat format, PaperSize paperSize) {
+        String path = SHEETS + "/" + id;
+        if (paperSize != null && format == ExportFormat.PDF) {
+            path += "?paperSize=" + paperSize;
+        }
+        return path;
+    }
+
     /**
      * Get a sheet as a file.
      * <p>
@@ -1218,42 +1272,7 @@ public class SheetResourcesImpl extends AbstractResources implements SheetResour
             path += "?paperSize=" + paperSize;
         }
 
-        HttpRequest request;
-        request = createHttpRequest(this.getSmartsheet().getBaseURI().resolve(path), HttpMethod.GET);
-        request.getHeaders().put("Accept", contentType);
-
-        com.smartsheet.api.internal.http.HttpResponse response = getSmartsheet().getHttpClient().request(request);
-
-        switch (response.getStatusCode()) {
-            case 200:
-                try {
-                    copyStream(response.getEntity().getContent(), outputStream);
-                } catch (IOException e) {
-                    throw new SmartsheetException(e);
-                }
-                break;
-            default:
-                handleError(response);
-        }
-
-        getSmartsheet().getHttpClient().releaseConnection();
-    }
-
-    /**
-     * Copy stream.
-     *
-     * @param input the input
-     * @param output the output
-     * @throws IOException Signals that an I/O exception has occurred.
-     * @deprecated replace with StreamUtil.copyContentIntoOutputStream()
-     */
-    @Deprecated(since = "2.0.0", forRemoval = true)
-    private static void copyStream(InputStream input, OutputStream output) throws IOException {
-        byte[] buffer = new byte[BUFFER_SIZE];
-        int len;
-        while ((len = input.read(buffer)) != -1) {
-            output.write(buffer, 0, len);
-        }
+        getResourceAsFile(path, contentType, outputStream);
     }
 
 }
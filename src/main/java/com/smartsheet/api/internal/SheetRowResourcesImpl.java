@@ -52,9 +52,11 @@ import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * This is the implementation of the SheetRowResources.
@@ -137,6 +139,30 @@ public class SheetRowResourcesImpl extends AbstractResources implements SheetRow
         return this.postAndReceiveList(path, rows, Row.class);
     }
 
+    /**
+     * Insert rows pulled from an iterator to a sheet, in batches of at most batchSize rows per request.
+     * <p>
+     * It mirrors to the following Smartsheet REST API method: POST /sheets/{sheetId}/rows
+     * @param sheetId the sheet id
+     * @param rows the source of the rows to create
+     * @param batchSize the maximum number of rows per request
+     * @param resultHandler receives the created rows of each batch (optional)
+     * @return the number of rows sent
+     * @throws IllegalArgumentException : if any argument is null or batchSize isn't positive
+     * @throws InvalidRequestException : if there is any problem with the REST API request
+     * @throws AuthorizationException : if there is any problem with the REST API authorization(access token)
+     * @throws ResourceNotFoundException : if the resource can not be found
+     * @throws ServiceUnavailableException : if the REST API service is not available (possibly due to rate limiting)
+     * @throws SmartsheetRestException : if there is any other REST API related error occurred during the operation
+     * @throws SmartsheetException : if there is any other error occurred during the operation
+     */
+    @Override
+    public long addRows(long sheetId, Iterator<Row> rows, int batchSize, Consumer<List<Row>> resultHandler)
+            throws SmartsheetException {
+        return this.sendListInBatches(SHEETS_PATH + sheetId + "/" + ROWS, HttpMethod.POST, rows, batchSize, Row.class,
+                resultHandler);
+    }
+
     /**
      * Insert rows to a sheet, allowing partial success. If a row cannot be inserted, it will fail, while the others may succeed.
      * <p>
@@ -350,6 +376,30 @@ public class SheetRowResourcesImpl extends AbstractResources implements SheetRow
         return this.putAndReceiveList(path, rows, Row.class);
     }
 
+    /**
+     * Update rows pulled from an iterator, in batches of at most batchSize rows per request.
+     * <p>
+     * It mirrors to the following Smartsheet REST API method: PUT /sheets/{sheetId}/rows
+     * @param sheetId the sheet id
+     * @param rows the source of the rows to update
+     * @param batchSize the maximum number of rows per request
+     * @param resultHandler receives the updated rows of each batch (optional)
+     * @return the number of rows sent
+     * @throws IllegalArgumentException : if any argument is null or batchSize isn't positive
+     * @throws InvalidRequestException : if there is any problem with the REST API request
+     * @throws AuthorizationException : if there is any problem with the REST API authorization(access token)
+     * @throws ResourceNotFoundException : if the resource can not be found
+     * @throws ServiceUnavailableException : if the REST API service is not available (possibly due to rate limiting)
+     * @throws SmartsheetRestException : if there is any other REST API related error occurred during the operation
+     * @throws SmartsheetException : if there is any other error occurred during the operation
+     */
+    @Override
+    public long updateRows(long sheetId, Iterator<Row> rows, int batchSize, Consumer<List<Row>> resultHandler)
+            throws SmartsheetException {
+        return this.sendListInBatches(SHEETS_PATH + sheetId + "/" + ROWS, HttpMethod.PUT, rows, batchSize, Row.class,
+                resultHandler);
+    }
+
     /**
      * Update rows, but allow partial success. The PartialRowUpdateResult will contain the successful
      * rows and those that failed, with specific messages for each.
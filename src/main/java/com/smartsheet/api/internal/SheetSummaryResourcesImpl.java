@@ -26,6 +26,7 @@ import com.smartsheet.api.internal.http.HttpEntity;
 import com.smartsheet.api.internal.http.HttpMethod;
 import com.smartsheet.api.internal.http.HttpRequest;
 import com.smartsheet.api.internal.http.HttpResponse;
+import com.smartsheet.api.internal.http.RepeatableFileInputStream;
 import com.smartsheet.api.internal.util.QueryUtil;
 import com.smartsheet.api.internal.util.Util;
 import com.smartsheet.api.models.BulkItemResult;
@@ -40,8 +41,8 @@ import com.smartsheet.api.models.enums.SummaryFieldInclusion;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
@@ -298,15 +299,7 @@ public class SheetSummaryResourcesImpl extends AbstractResources implements Shee
             String altText
     ) throws SmartsheetException, FileNotFoundException {
         Util.throwIfNull(file);
-        File f = new File(file);
-        return addSheetSummaryFieldImage(
-                SHEETS_PATH + sheetId + "/" + SUMMARY + "/" + FIELDS + "/" + fieldId + "/" + IMAGES,
-                new FileInputStream(f),
-                contentType,
-                f.length(),
-                altText,
-                file
-        );
+        return addSheetSummaryFieldImage(sheetId, fieldId, new File(file), contentType, altText, file);
     }
 
     /**
@@ -335,14 +328,35 @@ public class SheetSummaryResourcesImpl extends AbstractResources implements Shee
             String altText
     ) throws SmartsheetException, FileNotFoundException {
         Util.throwIfNull(file);
-        return addSheetSummaryFieldImage(
-                SHEETS_PATH + sheetId + "/" + SUMMARY + "/" + FIELDS + "/" + fieldId + "/" + IMAGES,
-                new FileInputStream(file),
-                contentType,
-                file.length(),
-                altText,
-                file.getName()
-        );
+        return addSheetSummaryFieldImage(sheetId, fieldId, file, contentType, altText, file.getName());
+    }
+
+    private Result<SummaryField> addSheetSummaryFieldImage(
+            long sheetId,
+            long fieldId,
+            File file,
+            String contentType,
+            String altText,
+            String imageName
+    ) throws SmartsheetException, FileNotFoundException {
+        // a file-backed stream is replayed from the file on retry instead of being buffered on the heap
+        RepeatableFileInputStream inputStream = new RepeatableFileInputStream(file.toPath());
+        try {
+            return addSheetSummaryFieldImage(
+                    SHEETS_PATH + sheetId + "/" + SUMMARY + "/" + FIELDS + "/" + fieldId + "/" + IMAGES,
+                    inputStream,
+                    contentType,
+                    file.length(),
+                    altText,
+                    imageName
+            );
+        } finally {
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                // the upload's outcome doesn't depend on closing the file
+            }
+        }
     }
 
     /**
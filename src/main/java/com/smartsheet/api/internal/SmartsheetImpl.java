@@ -31,6 +31,7 @@ import com.smartsheet.api.SheetResources;
 import com.smartsheet.api.SightResources;
 import com.smartsheet.api.Smartsheet;
 import com.smartsheet.api.TemplateResources;
+import com.smartsheet.api.TenantBuilder;
 import com.smartsheet.api.TokenResources;
 import com.smartsheet.api.Trace;
 import com.smartsheet.api.UserResources;
@@ -39,14 +40,22 @@ import com.smartsheet.api.WorkspaceResources;
 import com.smartsheet.api.internal.http.AndroidHttpClient;
 import com.smartsheet.api.internal.http.DefaultHttpClient;
 import com.smartsheet.api.internal.http.HttpClient;
+import com.smartsheet.api.internal.http.HttpInterceptor;
+import com.smartsheet.api.internal.http.InterceptingHttpClient;
+import com.smartsheet.api.internal.http.JdkHttpClient;
+import com.smartsheet.api.internal.http.TraceSink;
 import com.smartsheet.api.internal.json.JacksonJsonSerializer;
 import com.smartsheet.api.internal.json.JsonSerializer;
 import com.smartsheet.api.internal.util.Util;
-import org.apache.http.impl.client.HttpClients;
+import com.smartsheet.api.metrics.SmartsheetMetrics;
+import com.smartsheet.api.oauth.TokenProvider;
+import com.smartsheet.api.tracing.SmartsheetTracer;
 
 import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -110,6 +119,26 @@ public class SmartsheetImpl implements Smartsheet {
      */
     private final AtomicReference<String> userAgent;
 
+    /**
+     * Represents the tracer of API calls, null if they aren't traced.
+     */
+    private volatile SmartsheetTracer tracer;
+
+    /**
+     * Represents the coalescer of concurrent identical GET calls, null if they aren't coalesced.
+     */
+    private volatile RequestCoalescer requestCoalescer;
+
+    /**
+     * Represents the client whose transport, serializer and settings a tenant view shares, null if this isn't one.
+     */
+    private final SmartsheetImpl shared;
+
+    /**
+     * Represents the provider of the access token, null if the access token is fixed.
+     */
+    private volatile TokenProvider tokenProvider;
+
     /**
      * Represents the AtomicReference to HomeResources.
      * <p>
@@ -297,17 +326,62 @@ public class SmartsheetImpl implements Smartsheet {
      * @param jsonSerializer the json serializer (optional)
      */
     public SmartsheetImpl(String baseURI, String accessToken, HttpClient httpClient, JsonSerializer jsonSerializer) {
-        Util.throwIfNull(baseURI);
-        Util.throwIfEmpty(baseURI);
+        this(baseURI, accessToken, httpClient, jsonSerializer, Collections.emptyList());
+    }
 
-        this.baseURI = URI.create(baseURI);
+    /**
+     * Create an instance with given server URI, HttpClient (optional), JsonSerializer (optional) and interceptors
+     * <p>
+     * Exceptions: - IllegalArgumentException : if serverURI/version/accessToken is null/empty
+     *
+     * @param baseURI the server uri
+     * @param accessToken the access token
+     * @param httpClient the http client (optional)
+     * @param jsonSerializer the json serializer (optional)
+     * @param interceptors the interceptors every call passes through, outermost first; if any, the http client is
+     *     wrapped in an {@link InterceptingHttpClient}
+     */
+    public SmartsheetImpl(String baseURI, String accessToken, HttpClient httpClient, JsonSerializer jsonSerializer,
+                          List<HttpInterceptor> interceptors) {
+        this(null, toBaseURI(baseURI), accessToken, httpClient,
+                (jsonSerializer == null) ? new JacksonJsonSerializer() : jsonSerializer, interceptors);
+    }
+
+    /**
+     * Create a tenant view of a client: a lightweight client for another access token and assumed user that shares the
+     * given client's transport (and so its connection pool and any interceptors, such as a rate limiter), serializer,
+     * user agent, tracer and request coalescing. A view can't be changed; its setters throw
+     * UnsupportedOperationException.
+     * <p>
+     * Exceptions: - IllegalArgumentException : if shared is null
+     *
+     * @param shared the client to share, a view's own client if it is a view
+     * @param accessToken the access token of the tenant
+     * @param assumedUser the email of the user to assume, or null
+     * @param changeAgent the change agent, or null for that of the shared client
+     * @param interceptors interceptors for the tenant's calls only, outermost first, which run before the shared ones
+     */
+    public SmartsheetImpl(SmartsheetImpl shared, String accessToken, String assumedUser, String changeAgent,
+                          List<HttpInterceptor> interceptors) {
+        this(root(shared), root(shared).baseURI, accessToken, root(shared).httpClient, root(shared).jsonSerializer,
+                interceptors);
+        this.assumedUser.set(assumedUser);
+        this.changeAgent.set(changeAgent == null ? this.shared.getChangeAgent() : changeAgent);
+    }
+
+    private SmartsheetImpl(SmartsheetImpl shared, URI baseURI, String accessToken, HttpClient httpClient,
+                           JsonSerializer jsonSerializer, List<HttpInterceptor> interceptors) {
+        this.shared = shared;
+        this.baseURI = baseURI;
         this.accessToken = new AtomicReference<>(accessToken);
-        this.jsonSerializer = (jsonSerializer == null) ? new JacksonJsonSerializer() : jsonSerializer;
-        this.httpClient = (httpClient == null)
-                ? new DefaultHttpClient(HttpClients.createDefault(), this.jsonSerializer) : httpClient;
+        this.jsonSerializer = jsonSerializer;
+        HttpClient transport = (httpClient == null)
+                ? new DefaultHttpClient(this.jsonSerializer) : httpClient;
+        this.httpClient = interceptors.isEmpty()
+                ? transport : new InterceptingHttpClient(transport, interceptors.toArray(new HttpInterceptor[0]));
         this.assumedUser = new AtomicReference<>(null);
         this.changeAgent = new AtomicReference<>(null);
-        this.userAgent = new AtomicReference<>(generateUserAgent(null));
+        this.userAgent = new AtomicReference<>(shared == null ? generateUserAgent(null) : null);
 
         // Initialize resources
         this.home = new AtomicReference<>();
@@ -336,7 +410,27 @@ public class SmartsheetImpl implements Smartsheet {
      * @throws IOException Signals that an I/O exception has occurred.
      */
     protected void finalize() throws IOException {
-        this.httpClient.close();
+        // a tenant view's transport belongs to the client it shares
+        if (shared == null) {
+            this.httpClient.close();
+        }
+    }
+
+    private static URI toBaseURI(String baseURI) {
+        Util.throwIfNull(baseURI);
+        Util.throwIfEmpty(baseURI);
+        return URI.create(baseURI);
+    }
+
+    private static SmartsheetImpl root(SmartsheetImpl client) {
+        Util.throwIfNull(client);
+        return client.shared == null ? client : client.shared;
+    }
+
+    private void throwIfTenantView() {
+        if (shared != null) {
+            throw new UnsupportedOperationException("a tenant view can't be changed, create another with forTenant");
+        }
     }
 
     /**
@@ -356,7 +450,8 @@ public class SmartsheetImpl implements Smartsheet {
      * @return the access token
      */
     String getAccessToken() {
-        return accessToken.get();
+        TokenProvider provider = tokenProvider;
+        return provider == null ? accessToken.get() : provider.getAccessToken();
     }
 
     /**
@@ -370,6 +465,7 @@ public class SmartsheetImpl implements Smartsheet {
      * @param accessToken the new access token
      */
     public void setAccessToken(String accessToken) {
+        throwIfTenantView();
         this.accessToken.set(accessToken);
     }
 
@@ -382,6 +478,24 @@ public class SmartsheetImpl implements Smartsheet {
         return jsonSerializer;
     }
 
+    /**
+     * Getter of corresponding field.
+     *
+     * @return corresponding field
+     */
+    SmartsheetTracer getTracer() {
+        return shared == null ? tracer : shared.getTracer();
+    }
+
+    /**
+     * Getter of corresponding field.
+     *
+     * @return corresponding field
+     */
+    RequestCoalescer getRequestCoalescer() {
+        return shared == null ? requestCoalescer : shared.getRequestCoalescer();
+    }
+
     /**
      * Getter of corresponding field.
      *
@@ -391,6 +505,30 @@ public class SmartsheetImpl implements Smartsheet {
         return httpClient;
     }
 
+    /**
+     * @return the http client beneath any interceptors, which the transport settings apply to
+     */
+    private HttpClient transport() {
+        HttpClient transport = httpClient;
+        while (transport instanceof InterceptingHttpClient) {
+            transport = ((InterceptingHttpClient) transport).getDelegate();
+        }
+        return transport;
+    }
+
+    /**
+     * Sets the provider of the access token of every call, in place of the fixed access token. To have calls rejected
+     * for an expired token made again with a new one, also add an
+     * {@link com.smartsheet.api.internal.http.AccessTokenRefreshInterceptor}, as
+     * {@link com.smartsheet.api.SmartsheetBuilder#setTokenProvider(TokenProvider)} does.
+     *
+     * @param tokenProvider the token provider, or null to use the fixed access token
+     */
+    public void setTokenProvider(TokenProvider tokenProvider) {
+        throwIfTenantView();
+        this.tokenProvider = tokenProvider;
+    }
+
     /**
      * Return the assumed user.
      *
@@ -406,6 +544,7 @@ public class SmartsheetImpl implements Smartsheet {
      * @param assumedUser the email of the user to assume
      */
     public void setAssumedUser(String assumedUser) {
+        throwIfTenantView();
         this.assumedUser.set(assumedUser);
     }
 
@@ -423,6 +562,7 @@ public class SmartsheetImpl implements Smartsheet {
      *
      */
     public void setChangeAgent(String changeAgent) {
+        throwIfTenantView();
         this.changeAgent.set(changeAgent);
     }
 
@@ -432,7 +572,7 @@ public class SmartsheetImpl implements Smartsheet {
      * @return the user agent string
      */
     public String getUserAgent() {
-        return userAgent.get();
+        return shared == null ? userAgent.get() : shared.getUserAgent();
     }
 
     /**
@@ -441,42 +581,140 @@ public class SmartsheetImpl implements Smartsheet {
      * @param userAgent the user agent string
      */
     public void setUserAgent(String userAgent) {
+        throwIfTenantView();
         this.userAgent.set(generateUserAgent(userAgent));
     }
 
     /**
-     * Sets the max retry time if the HttpClient is an instance of DefaultHttpClient
+     * Sets the max retry time if the HttpClient is an instance of DefaultHttpClient, AndroidHttpClient or JdkHttpClient
      *
      * @param maxRetryTimeMillis max retry time
      */
     public void setMaxRetryTimeMillis(long maxRetryTimeMillis) {
-        if (this.httpClient instanceof DefaultHttpClient) {
-            ((DefaultHttpClient) this.httpClient).setMaxRetryTimeMillis(maxRetryTimeMillis);
-        } else if (this.httpClient instanceof AndroidHttpClient) {
-            ((AndroidHttpClient) this.httpClient).setMaxRetryTimeMillis(maxRetryTimeMillis);
+        throwIfTenantView();
+        HttpClient transport = transport();
+        if (transport instanceof DefaultHttpClient) {
+            ((DefaultHttpClient) transport).setMaxRetryTimeMillis(maxRetryTimeMillis);
+        } else if (transport instanceof AndroidHttpClient) {
+            ((AndroidHttpClient) transport).setMaxRetryTimeMillis(maxRetryTimeMillis);
+        } else if (transport instanceof JdkHttpClient) {
+            ((JdkHttpClient) transport).setMaxRetryTimeMillis(maxRetryTimeMillis);
+        } else {
+            throw new UnsupportedOperationException(INVALID_OPERATION_FOR_CLASS + transport.getClass());
+        }
+    }
+
+    /**
+     * Sets where to report the measurements of each API call if the HttpClient is an instance of DefaultHttpClient,
+     * AndroidHttpClient or JdkHttpClient
+     *
+     * @param metrics the metrics listener, or null to stop measuring
+     */
+    public void setMetrics(SmartsheetMetrics metrics) {
+        throwIfTenantView();
+        HttpClient transport = transport();
+        if (transport instanceof DefaultHttpClient) {
+            ((DefaultHttpClient) transport).setMetrics(metrics);
+        } else if (transport instanceof AndroidHttpClient) {
+            ((AndroidHttpClient) transport).setMetrics(metrics);
+        } else if (transport instanceof JdkHttpClient) {
+            ((JdkHttpClient) transport).setMetrics(metrics);
         } else {
-            throw new UnsupportedOperationException(INVALID_OPERATION_FOR_CLASS + this.httpClient.getClass());
+            throw new UnsupportedOperationException(INVALID_OPERATION_FOR_CLASS + transport.getClass());
+        }
+    }
+
+    /**
+     * Sets the tracer of API calls if the HttpClient is an instance of DefaultHttpClient, AndroidHttpClient or
+     * JdkHttpClient
+     *
+     * @param tracer the tracer, or null to stop tracing
+     */
+    public void setTracer(SmartsheetTracer tracer) {
+        throwIfTenantView();
+        HttpClient transport = transport();
+        if (transport instanceof DefaultHttpClient) {
+            ((DefaultHttpClient) transport).setTracer(tracer);
+        } else if (transport instanceof AndroidHttpClient) {
+            ((AndroidHttpClient) transport).setTracer(tracer);
+        } else if (transport instanceof JdkHttpClient) {
+            ((JdkHttpClient) transport).setTracer(tracer);
+        } else {
+            throw new UnsupportedOperationException(INVALID_OPERATION_FOR_CLASS + transport.getClass());
+        }
+        this.tracer = tracer;
+    }
+
+    /**
+     * Sets whether concurrent identical GET calls share one request and its deserialized result, which must then be
+     * treated as read-only, see {@link RequestCoalescer}.
+     *
+     * @param enabled whether to coalesce requests
+     */
+    public void setRequestCoalescing(boolean enabled) {
+        throwIfTenantView();
+        if (!enabled) {
+            requestCoalescer = null;
+        } else if (requestCoalescer == null) {
+            requestCoalescer = new RequestCoalescer();
         }
     }
 
     /** set what request/response fields to log in trace-logging */
     public void setTraces(Trace... traces) {
-        if (this.httpClient instanceof DefaultHttpClient) {
-            ((DefaultHttpClient) this.httpClient).setTraces(traces);
+        throwIfTenantView();
+        HttpClient transport = transport();
+        if (transport instanceof DefaultHttpClient) {
+            ((DefaultHttpClient) transport).setTraces(traces);
         } else {
-            throw new UnsupportedOperationException(INVALID_OPERATION_FOR_CLASS + this.httpClient.getClass());
+            throw new UnsupportedOperationException(INVALID_OPERATION_FOR_CLASS + transport.getClass());
         }
     }
 
     /** set whether or not to generate "pretty formatted" JSON in trace-logging */
     public void setTracePrettyPrint(boolean pretty) {
-        if (this.httpClient instanceof DefaultHttpClient) {
-            ((DefaultHttpClient) this.httpClient).setTracePrettyPrint(pretty);
+        throwIfTenantView();
+        HttpClient transport = transport();
+        if (transport instanceof DefaultHttpClient) {
+            ((DefaultHttpClient) transport).setTracePrettyPrint(pretty);
+        } else {
+            throw new UnsupportedOperationException(INVALID_OPERATION_FOR_CLASS + transport.getClass());
+        }
+    }
+
+    /** set the fraction of successful calls to trace-log; error responses are always traced */
+    public void setTraceSampleRate(double sampleRate) {
+        throwIfTenantView();
+        HttpClient transport = transport();
+        if (transport instanceof DefaultHttpClient) {
+            ((DefaultHttpClient) transport).setTraceSampleRate(sampleRate);
+        } else {
+            throw new UnsupportedOperationException(INVALID_OPERATION_FOR_CLASS + transport.getClass());
+        }
+    }
+
+    /** set where this client sends its trace logs */
+    public void setTraceSink(TraceSink traceSink) {
+        throwIfTenantView();
+        HttpClient transport = transport();
+        if (transport instanceof DefaultHttpClient) {
+            ((DefaultHttpClient) transport).setTraceSink(traceSink);
         } else {
-            throw new UnsupportedOperationException(INVALID_OPERATION_FOR_CLASS + this.httpClient.getClass());
+            throw new UnsupportedOperationException(INVALID_OPERATION_FOR_CLASS + transport.getClass());
         }
     }
 
+    /**
+     * Returns a builder of a tenant view of this client, for making calls with another access token over this
+     * client's transport.
+     *
+     * @param accessToken the access token of the tenant
+     * @return the tenant builder
+     */
+    public TenantBuilder forTenant(String accessToken) {
+        return new TenantBuilder(root(this), accessToken);
+    }
+
     /**
      * Returns the HomeResources instance that provides access to Home resources.
      *
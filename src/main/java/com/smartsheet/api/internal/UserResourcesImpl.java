@@ -22,10 +22,13 @@ import com.smartsheet.api.ResourceNotFoundException;
 import com.smartsheet.api.ServiceUnavailableException;
 import com.smartsheet.api.SmartsheetException;
 import com.smartsheet.api.UserResources;
+import com.smartsheet.api.internal.http.ByteBufferInputStream;
 import com.smartsheet.api.internal.http.HttpEntity;
 import com.smartsheet.api.internal.http.HttpMethod;
 import com.smartsheet.api.internal.http.HttpRequest;
 import com.smartsheet.api.internal.http.HttpResponse;
+import com.smartsheet.api.internal.http.RepeatableFileInputStream;
+import com.smartsheet.api.internal.util.DateUtil;
 import com.smartsheet.api.internal.util.QueryUtil;
 import com.smartsheet.api.internal.util.Util;
 import com.smartsheet.api.models.AlternateEmail;
@@ -39,12 +42,13 @@ import com.smartsheet.api.models.enums.ListUserInclusion;
 import com.smartsheet.api.models.enums.UserInclusion;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.text.SimpleDateFormat;
+import java.nio.file.Path;
 import java.util.Date;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -274,7 +278,7 @@ public class UserResourcesImpl extends AbstractResources implements UserResource
             parameters = pagination.toHashMap();
         }
         if (modifiedSince != null) {
-            String isoDate = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ").format(modifiedSince);
+            String isoDate = DateUtil.formatQueryParameter(modifiedSince);
             parameters.put("modifiedSince", isoDate);
         }
         path += QueryUtil.generateUrl(null, parameters);
@@ -422,12 +426,58 @@ public class UserResourcesImpl extends AbstractResources implements UserResource
      * @throws SmartsheetException f there is any other error during the operation
      */
     public User addProfileImage(long userId, String file, String fileType) throws SmartsheetException, FileNotFoundException {
-        return attachProfileImage(USERS + "/" + userId + "/profileimage", file, fileType);
+        Util.throwIfNull(file);
+        File f = new File(file);
+        return attachProfileImage(USERS + "/" + userId + "/profileimage", new RepeatableFileInputStream(f.toPath()), f.length(),
+                file, fileType);
     }
 
-    private User attachProfileImage(String path, String file, String contentType) throws SmartsheetException, FileNotFoundException {
+    /**
+     * Uploads a profile image for the specified user, streamed from disk and re-read on retry.
+     *
+     * @param userId id of the user
+     * @param file the image file
+     * @param fileType content type of the image file
+     * @return user
+     * @throws IllegalArgumentException if any argument is null or empty string
+     * @throws InvalidRequestException if there is any problem with the REST API request
+     * @throws AuthorizationException if there is any problem with  the REST API authorization (access token)
+     * @throws ResourceNotFoundException if the resource cannot be found
+     * @throws ServiceUnavailableException if the REST API service is not available (possibly due to rate limiting)
+     * @throws SmartsheetException f there is any other error during the operation
+     */
+    @Override
+    public User addProfileImage(long userId, Path file, String fileType) throws SmartsheetException, FileNotFoundException {
         Util.throwIfNull(file);
+        return attachProfileImage(USERS + "/" + userId + "/profileimage", new RepeatableFileInputStream(file),
+                file.toFile().length(), file.getFileName().toString(), fileType);
+    }
 
+    /**
+     * Uploads a profile image held in a buffer for the specified user, sent straight from the buffer and re-sent from it
+     * on retry.
+     *
+     * @param userId id of the user
+     * @param image the image, from its position to its limit
+     * @param fileName the file name of the image
+     * @param fileType content type of the image
+     * @return user
+     * @throws IllegalArgumentException if any argument is null or empty string
+     * @throws InvalidRequestException if there is any problem with the REST API request
+     * @throws AuthorizationException if there is any problem with  the REST API authorization (access token)
+     * @throws ResourceNotFoundException if the resource cannot be found
+     * @throws ServiceUnavailableException if the REST API service is not available (possibly due to rate limiting)
+     * @throws SmartsheetException f there is any other error during the operation
+     */
+    @Override
+    public User addProfileImage(long userId, ByteBuffer image, String fileName, String fileType) throws SmartsheetException {
+        Util.throwIfNull(image, fileName);
+        return attachProfileImage(USERS + "/" + userId + "/profileimage", new ByteBufferInputStream(image), image.remaining(),
+                fileName, fileType);
+    }
+
+    private User attachProfileImage(String path, InputStream content, long contentLength, String fileName, String contentType)
+            throws SmartsheetException {
         if (contentType == null) {
             contentType = "application/octet-stream";
         }
@@ -436,16 +486,13 @@ public class UserResourcesImpl extends AbstractResources implements UserResource
         path += QueryUtil.generateUrl(null, parameters);
 
         HttpRequest request = createHttpRequest(this.smartsheet.getBaseURI().resolve(path), HttpMethod.POST);
-        String attachmentHeaderValue = "attachment; filename=\"" + URLEncoder.encode(file, StandardCharsets.UTF_8) + "\"";
+        String attachmentHeaderValue = "attachment; filename=\"" + URLEncoder.encode(fileName, StandardCharsets.UTF_8) + "\"";
         request.getHeaders().put("Content-Disposition", attachmentHeaderValue);
 
-        File f = new File(file);
-        InputStream is = new FileInputStream(f);
-
         HttpEntity entity = new HttpEntity();
         entity.setContentType(contentType);
-        entity.setContent(is);
-        entity.setContentLength(f.length());
+        entity.setContent(content);
+        entity.setContentLength(contentLength);
         request.setEntity(entity);
 
         User obj = null;
@@ -461,6 +508,11 @@ public class UserResourcesImpl extends AbstractResources implements UserResource
             }
         } finally {
             smartsheet.getHttpClient().releaseConnection();
+            try {
+                content.close();
+            } catch (IOException e) {
+                // the request is done, a file handle that fails to close has nothing left to report
+            }
         }
 
         return obj;
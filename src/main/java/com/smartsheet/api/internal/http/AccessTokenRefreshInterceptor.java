@@ -0,0 +1,107 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.internal.http;
+
+import com.smartsheet.api.AccessTokenExpiredException;
+import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.internal.json.JsonSerializer;
+import com.smartsheet.api.internal.util.StreamUtil;
+import com.smartsheet.api.internal.util.Util;
+import com.smartsheet.api.models.Error;
+import com.smartsheet.api.oauth.TokenProvider;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Makes a call again, once, with a new access token from a {@link TokenProvider} when it is rejected because its
+ * token has expired (a 401 response with error code 1003).
+ * {@link com.smartsheet.api.SmartsheetBuilder#setTokenProvider(TokenProvider)} adds one as the innermost interceptor.
+ * <p>
+ * The body of a rejected call's response is read so its error code can be checked; a response that isn't retried is
+ * returned with the body read back from memory.
+ * <p>
+ * Thread Safety: This class is thread safe.
+ */
+public class AccessTokenRefreshInterceptor implements HttpInterceptor {
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String BEARER = "Bearer ";
+
+    private final TokenProvider tokenProvider;
+    private final JsonSerializer jsonSerializer;
+
+    /**
+     * Constructor.
+     *
+     * @param tokenProvider the provider of new tokens
+     * @param jsonSerializer the serializer of the error responses
+     */
+    public AccessTokenRefreshInterceptor(TokenProvider tokenProvider, JsonSerializer jsonSerializer) {
+        this.tokenProvider = Util.throwIfNull(tokenProvider);
+        this.jsonSerializer = Util.throwIfNull(jsonSerializer);
+    }
+
+    @Override
+    public HttpResponse intercept(Chain chain) throws HttpClientException {
+        HttpRequest request = chain.request();
+        HttpResponse response = chain.proceed(request);
+        String authorization = request.getHeaders() == null ? null : request.getHeaders().get(AUTHORIZATION_HEADER);
+        if (response.getStatusCode() != 401 || response.getEntity() == null || authorization == null
+                || !authorization.startsWith(BEARER)) {
+            return response;
+        }
+
+        byte[] body;
+        try (InputStream content = response.getEntity().getContent()) {
+            body = StreamUtil.readBytesFromStream(content);
+        } catch (IOException e) {
+            throw new HttpClientException("failed to read the error response", e);
+        }
+        if (!isAccessTokenExpired(body)) {
+            response.getEntity().setContent(new ByteArrayInputStream(body));
+            return response;
+        }
+
+        String accessToken;
+        try {
+            accessToken = tokenProvider.refreshAccessToken(authorization.substring(BEARER.length()));
+        } catch (HttpClientException e) {
+            throw e;
+        } catch (SmartsheetException e) {
+            throw new HttpClientException("failed to refresh the access token", e);
+        }
+        if (accessToken == null) {
+            // not a token of the provider's, for example that of a tenant view
+            response.getEntity().setContent(new ByteArrayInputStream(body));
+            return response;
+        }
+        request.getHeaders().put(AUTHORIZATION_HEADER, BEARER + accessToken);
+        return chain.proceed(request);
+    }
+
+    private boolean isAccessTokenExpired(byte[] body) {
+        try {
+            Error error = jsonSerializer.deserialize(Error.class, new ByteArrayInputStream(body));
+            return error != null && error.getErrorCode() != null && error.getErrorCode() == AccessTokenExpiredException.ERROR_CODE;
+        } catch (IOException | RuntimeException e) {
+            // not a Smartsheet error body
+            return false;
+        }
+    }
+}
@@ -20,12 +20,17 @@ import com.smartsheet.api.internal.json.JacksonJsonSerializer;
 import com.smartsheet.api.internal.json.JsonSerializer;
 import com.smartsheet.api.internal.util.StreamUtil;
 import com.smartsheet.api.internal.util.Util;
+import com.smartsheet.api.metrics.ConnectionPoolStats;
+import com.smartsheet.api.metrics.SmartsheetMetrics;
 import com.smartsheet.api.models.Error;
+import com.smartsheet.api.tracing.SmartsheetTracer;
+import okhttp3.ConnectionPool;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okio.BufferedSink;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,8 +39,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
 public class AndroidHttpClient implements HttpClient {
@@ -55,13 +60,22 @@ public class AndroidHttpClient implements HttpClient {
      */
     private final OkHttpClient client;
 
-    /** The okhttp http response. */
-    private Response currentResponse;
+    /** The okhttp http response of the request in progress on the calling thread. */
+    private final ThreadLocal<Response> currentResponse = new ThreadLocal<>();
 
     protected JsonSerializer jsonSerializer;
 
     protected long maxRetryTimeMillis = 15000;
 
+    /** where to report API calls, null if not measuring */
+    private volatile SmartsheetMetrics metrics;
+
+    /** traces API calls whose requests weren't given a span by their resource method, null if not tracing */
+    private volatile SmartsheetTracer tracer;
+
+    /** the measurement of the call in progress on the calling thread, reported when its connection is released */
+    private final ThreadLocal<CallRecorder> currentCall = new ThreadLocal<>();
+
     /**
      * Constructor.
      */
@@ -70,6 +84,7 @@ public class AndroidHttpClient implements HttpClient {
                 .connectTimeout(10, TimeUnit.SECONDS)
                 .writeTimeout(10, TimeUnit.SECONDS)
                 .readTimeout(30, TimeUnit.SECONDS)
+                .eventListener(OkHttpCallTiming.INSTANCE)
                 .build();
         this.jsonSerializer = new JacksonJsonSerializer();
     }
@@ -88,7 +103,7 @@ public class AndroidHttpClient implements HttpClient {
         if (response.code() != 200) {
             // log the request and response on error
             try {
-                logger.warn(this.currentResponse.peekBody(4096).string());
+                logger.warn(response.peekBody(4096).string());
             } catch (IOException e) {
                 e.printStackTrace();
             }
@@ -112,6 +127,13 @@ public class AndroidHttpClient implements HttpClient {
         int attempt = 0;
         long start = System.currentTimeMillis();
 
+        // a call that was never released is reported before this one replaces it
+        finishCall();
+        CallRecorder call = CallRecorder.start(metrics, tracer, smartsheetRequest);
+        if (call != null) {
+            currentCall.set(call);
+        }
+
         InputStream bodyStream = null;
         if (smartsheetRequest.getEntity() != null && smartsheetRequest.getEntity().getContent() != null) {
             bodyStream = smartsheetRequest.getEntity().getContent();
@@ -138,6 +160,7 @@ public class AndroidHttpClient implements HttpClient {
             try {
                 builder.url(smartsheetRequest.getUri().toURL());
             } catch (MalformedURLException e) {
+                failCall(e);
                 throw new HttpClientException(ERROR_OCCURRED, e);
             }
 
@@ -165,9 +188,21 @@ public class AndroidHttpClient implements HttpClient {
                         throw new UnsupportedOperationException("Unsupported method: " + smartsheetRequest.getMethod());
                 }
             } catch (IOException e) {
+                failCall(e);
                 throw new HttpClientException(ERROR_OCCURRED, e);
             }
 
+            OkHttpCallTiming.Timestamps timestamps = null;
+            if (call != null) {
+                call.attemptStarted();
+                String traceParent = call.getTraceParent();
+                if (traceParent != null) {
+                    builder.header(SmartsheetTracer.TRACEPARENT_HEADER, traceParent);
+                }
+                timestamps = new OkHttpCallTiming.Timestamps();
+                builder.tag(OkHttpCallTiming.Timestamps.class, timestamps);
+            }
+
             // mark the body so we can reset on retry
             if (canRetryRequest && bodyStream != null) {
                 bodyStream.mark((int) smartsheetRequest.getEntity().getContentLength());
@@ -177,25 +212,34 @@ public class AndroidHttpClient implements HttpClient {
                 // Create API request
                 Request request = builder.build();
                 long startTime = System.currentTimeMillis();
-                this.currentResponse = client.newCall(request).execute();
+                Response response = client.newCall(request).execute();
+                this.currentResponse.set(response);
                 long endTime = System.currentTimeMillis();
+                if (call != null) {
+                    timestamps.recordPhases(call, response.code(), System.nanoTime());
+                }
 
                 smartsheetResponse = new HttpResponse();
-                smartsheetResponse.setStatusCode(this.currentResponse.code());
-                if (this.currentResponse.body().contentLength() != 0) {
+                smartsheetResponse.setStatusCode(response.code());
+                Map<String, String> headers = new HashMap<>();
+                for (String name : response.headers().names()) {
+                    headers.put(name, response.header(name));
+                }
+                smartsheetResponse.setHeaders(headers);
+                if (response.body().contentLength() != 0) {
                     // Package response details
                     HttpEntity entity = new HttpEntity();
-                    entity.setContentType(this.currentResponse.body().contentType().toString());
-                    entity.setContentLength(this.currentResponse.body().contentLength());
-                    entity.setContent(this.currentResponse.body().byteStream());
+                    entity.setContentType(response.body().contentType().toString());
+                    entity.setContentLength(response.body().contentLength());
+                    entity.setContent(call == null ? response.body().byteStream() : call.meter(response.body().byteStream()));
                     smartsheetResponse.setEntity(entity);
                 }
 
                 long responseTime = endTime - startTime;
-                logRequest(request, this.currentResponse, responseTime);
+                logRequest(request, response, responseTime);
 
-                if (smartsheetResponse.getStatusCode() == 200) {
-                    // call successful, exit the retry loop
+                if (smartsheetResponse.getStatusCode() == 200 || smartsheetResponse.getStatusCode() == 206) {
+                    // call successful (206 answers a range request), exit the retry loop
                     break;
                 }
 
@@ -208,22 +252,30 @@ public class AndroidHttpClient implements HttpClient {
                     smartsheetResponse.getEntity().getContent().close();
                     smartsheetResponse.getEntity().setContent(contentStream);
                 }
+                if (call != null) {
+                    call.readErrorCode(jsonSerializer, smartsheetResponse.getEntity());
+                }
                 try {
                     contentStream.mark((int) smartsheetResponse.getEntity().getContentLength());
                     long timeSpent = System.currentTimeMillis() - start;
+                    long backoffStart = System.nanoTime();
                     if (!shouldRetry(++attempt, timeSpent, smartsheetResponse)) {
                         // should not retry, or retry time exceeded, exit the retry loop
                         break;
                     }
+                    if (call != null) {
+                        call.backedOff(backoffStart, System.nanoTime());
+                    }
                 } finally {
                     if (bodyStream != null) {
                         bodyStream.reset();
                     }
                     contentStream.reset();
                 }
-                this.releaseConnection();
+                this.closeCurrentResponse();
 
             } catch (IOException ex) {
+                failCall(ex);
                 throw new HttpClientException(ERROR_OCCURRED, ex);
             }
         }
@@ -231,13 +283,19 @@ public class AndroidHttpClient implements HttpClient {
     }
 
     private RequestBody getRequestBody(HttpRequest apiRequest) throws IOException {
+        if (DefaultHttpClient.isTransferable(apiRequest.getEntity().getContent())) {
+            return new TransferRequestBody(apiRequest.getEntity());
+        }
         int sizRead;
         byte[] buffer = new byte[16384];
         ByteArrayOutputStream bao = new ByteArrayOutputStream();
         while ((sizRead = apiRequest.getEntity().getContent().read(buffer, 0, buffer.length)) != -1) {
             bao.write(buffer, 0, sizRead);
         }
-        return RequestBody.create(MEDIA_TYPE_JSON, bao.toByteArray());
+        // OkHttp sends the body's media type as the Content-Type header, so it has to match (e.g. for multipart bodies)
+        String contentType = apiRequest.getEntity().getContentType();
+        MediaType mediaType = contentType == null ? null : MediaType.parse(contentType);
+        return RequestBody.create(mediaType == null ? MEDIA_TYPE_JSON : mediaType, bao.toByteArray());
     }
 
     /**
@@ -253,15 +311,7 @@ public class AndroidHttpClient implements HttpClient {
      * @return -1 to fall out of retry loop, positive number indicates backoff time
      */
     public long calcBackoff(int previousAttempts, long totalElapsedTimeMillis, Error error) {
-
-        long backoffMillis = (long) (Math.pow(2, previousAttempts) * 1000) + new Random().nextInt(1000);
-
-        if (totalElapsedTimeMillis + backoffMillis > maxRetryTimeMillis) {
-            logger.info("Elapsed time " + totalElapsedTimeMillis + " + backoff time " + backoffMillis +
-                    " exceeds max retry time " + maxRetryTimeMillis + ", exiting retry loop");
-            return -1;
-        }
-        return backoffMillis;
+        return RetryBackoff.calcBackoff(logger, previousAttempts, totalElapsedTimeMillis, maxRetryTimeMillis);
     }
 
     /**
@@ -274,45 +324,12 @@ public class AndroidHttpClient implements HttpClient {
      * @return true if this request can be retried
      */
     public boolean shouldRetry(int previousAttempts, long totalElapsedTimeMillis, HttpResponse response) {
-        String contentType = response.getEntity().getContentType();
-        if (contentType != null && !contentType.startsWith("application/json")) {
-            // it's not JSON; don't even try to parse it
-            return false;
-        }
-        Error error;
-        try {
-            error = jsonSerializer.deserialize(Error.class, response.getEntity().getContent());
-        } catch (IOException e) {
+        Error error = RetryBackoff.readRetryableError(jsonSerializer, response);
+        if (error == null) {
             return false;
         }
-        switch (error.getErrorCode()) {
-            // Smartsheet.com is currently offline for system maintenance. Please check back again shortly.
-            case 4001:
-            // Server timeout exceeded. Request has failed
-            case 4002:
-            // Rate limit exceeded.
-            case 4003:
-            // An unexpected error has occurred. Please retry your request.
-            // If you encounter this error repeatedly, please contact api@smartsheet.com for assistance.
-            case 4004:
-                break;
-            default:
-                return false;
-        }
-
         long backoffMillis = calcBackoff(previousAttempts, totalElapsedTimeMillis, error);
-        if (backoffMillis < 0) {
-            return false;
-        }
-
-        logger.info("HttpError StatusCode=" + response.getStatusCode() + ": Retrying in " + backoffMillis + " milliseconds");
-        try {
-            Thread.sleep(backoffMillis);
-        } catch (InterruptedException e) {
-            logger.warn("sleep interrupted", e);
-            return false;
-        }
-        return true;
+        return backoffMillis >= 0 && RetryBackoff.waitOut(logger, response, backoffMillis);
     }
 
     /**
@@ -329,15 +346,91 @@ public class AndroidHttpClient implements HttpClient {
     @Override
     public void releaseConnection() {
         this.closeCurrentResponse();
+        finishCall();
+    }
+
+    /**
+     * Set where to report the measurements of each API call, or null to stop measuring.
+     *
+     * @param metrics the metrics listener
+     */
+    public void setMetrics(SmartsheetMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Set the tracer for API calls whose requests don't already carry a span, or null to stop tracing them.
+     *
+     * @param tracer the tracer
+     */
+    public void setTracer(SmartsheetTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * @return the state of the connection pool; OkHttp doesn't bound its connections or queue synchronous calls, so
+     *     the pending and max counts are -1
+     */
+    public ConnectionPoolStats getConnectionPoolStats() {
+        ConnectionPool pool = client.connectionPool();
+        int idle = pool.idleConnectionCount();
+        return new ConnectionPoolStats(pool.connectionCount() - idle, idle, -1, -1);
+    }
+
+    /** reports the measurement of the call made on this thread, if any */
+    private void finishCall() {
+        CallRecorder call = currentCall.get();
+        if (call != null) {
+            currentCall.remove();
+            call.finish(getConnectionPoolStats());
+        }
+    }
+
+    /** reports the call made on this thread as failed without a response */
+    private void failCall(Exception e) {
+        CallRecorder call = currentCall.get();
+        if (call != null) {
+            call.failed(e);
+            finishCall();
+        }
     }
 
     private void closeCurrentResponse() {
-        Response response = this.currentResponse;
+        Response response = this.currentResponse.get();
         if (response != null) {
+            this.currentResponse.remove();
             if (response.body() != null) {
                 response.body().close();
             }
-            this.currentResponse = null;
+        }
+    }
+
+    /**
+     * Streams a file or buffer body when the request is sent rather than reading it into memory when the request is
+     * built
+     */
+    private static class TransferRequestBody extends RequestBody {
+        private final HttpEntity entity;
+
+        TransferRequestBody(HttpEntity entity) {
+            this.entity = entity;
+        }
+
+        @Override
+        public MediaType contentType() {
+            String contentType = entity.getContentType();
+            MediaType mediaType = contentType == null ? null : MediaType.parse(contentType);
+            return mediaType == null ? MEDIA_TYPE_JSON : mediaType;
+        }
+
+        @Override
+        public long contentLength() {
+            return entity.getContentLength();
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            entity.getContent().transferTo(sink.outputStream());
         }
     }
 }
@@ -0,0 +1,165 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.http;
+
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * Hooks into the Apache HttpClient that {@link DefaultHttpClient} creates, to time the phases of each request for
+ * {@link CallRecorder}. The timestamps, from {@link System#nanoTime()}, are kept in the request's HttpContext:
+ * connecting (including the TLS handshake) is timed by the socket factories, and sending the request and receiving the
+ * response headers by the request executor, which runs once a connection has been leased and connected.
+ */
+final class ApacheCallTiming {
+    /** total time spent opening connections, a Long */
+    static final String CONNECT_NANOS = "smartsheet.connectNanos";
+    /** when the first request was handed to a connection, a Long */
+    static final String EXECUTE_START = "smartsheet.executeStart";
+    /** when the last request started to be sent, a Long */
+    static final String SEND_START = "smartsheet.sendStart";
+    /** when the last response's headers were received, a Long */
+    static final String HEADERS_RECEIVED = "smartsheet.headersReceived";
+
+    private ApacheCallTiming() {
+    }
+
+    /**
+     * @return the default socket factories, wrapped to time connecting
+     */
+    static Registry<ConnectionSocketFactory> socketFactoryRegistry() {
+        return RegistryBuilder.<ConnectionSocketFactory>create()
+                .register("http", new TimingSocketFactory(PlainConnectionSocketFactory.getSocketFactory()))
+                .register("https", new TimingLayeredSocketFactory(SSLConnectionSocketFactory.getSocketFactory()))
+                .build();
+    }
+
+    /**
+     * Records the call's phases from the timestamps in its context.
+     *
+     * @param executeReturned when HttpClient.execute returned
+     */
+    static void recordPhases(CallRecorder call, HttpContext context, int statusCode, long executeReturned) {
+        Long executeStart = (Long) context.getAttribute(EXECUTE_START);
+        Long sendStart = (Long) context.getAttribute(SEND_START);
+        Long headersReceived = (Long) context.getAttribute(HEADERS_RECEIVED);
+        if (executeStart == null || sendStart == null || headersReceived == null) {
+            // not our Apache client, so only the whole exchange can be timed
+            call.responded(statusCode, -1, -1, executeReturned - call.getAttemptStartNanos());
+            return;
+        }
+        Long connect = (Long) context.getAttribute(CONNECT_NANOS);
+        long connectNanos = connect == null ? 0 : connect;
+        long queueNanos = Math.max(0, executeStart - call.getAttemptStartNanos() - connectNanos);
+        call.responded(statusCode, queueNanos, connectNanos, headersReceived - sendStart);
+    }
+
+    private static void addConnectTime(HttpContext context, long start) {
+        long elapsed = System.nanoTime() - start;
+        if (context != null) {
+            Long previous = (Long) context.getAttribute(CONNECT_NANOS);
+            context.setAttribute(CONNECT_NANOS, previous == null ? elapsed : previous + elapsed);
+        }
+    }
+
+    /**
+     * Times the sending of the request and the receipt of the response headers.
+     */
+    static class TimingRequestExecutor extends HttpRequestExecutor {
+        @Override
+        public HttpResponse execute(HttpRequest request, HttpClientConnection conn, HttpContext context)
+                throws IOException, HttpException {
+            if (context.getAttribute(EXECUTE_START) == null) {
+                context.setAttribute(EXECUTE_START, System.nanoTime());
+            }
+            return super.execute(request, conn, context);
+        }
+
+        @Override
+        protected HttpResponse doSendRequest(HttpRequest request, HttpClientConnection conn, HttpContext context)
+                throws IOException, HttpException {
+            context.setAttribute(SEND_START, System.nanoTime());
+            return super.doSendRequest(request, conn, context);
+        }
+
+        @Override
+        protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection conn, HttpContext context)
+                throws HttpException, IOException {
+            HttpResponse response = super.doReceiveResponse(request, conn, context);
+            context.setAttribute(HEADERS_RECEIVED, System.nanoTime());
+            return response;
+        }
+    }
+
+    private static class TimingSocketFactory implements ConnectionSocketFactory {
+        private final ConnectionSocketFactory delegate;
+
+        TimingSocketFactory(ConnectionSocketFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Socket createSocket(HttpContext context) throws IOException {
+            return delegate.createSocket(context);
+        }
+
+        @Override
+        public Socket connectSocket(int connectTimeout, Socket sock, HttpHost host, InetSocketAddress remoteAddress,
+                                    InetSocketAddress localAddress, HttpContext context) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return delegate.connectSocket(connectTimeout, sock, host, remoteAddress, localAddress, context);
+            } finally {
+                addConnectTime(context, start);
+            }
+        }
+    }
+
+    private static class TimingLayeredSocketFactory extends TimingSocketFactory implements LayeredConnectionSocketFactory {
+        private final LayeredConnectionSocketFactory delegate;
+
+        TimingLayeredSocketFactory(LayeredConnectionSocketFactory delegate) {
+            super(delegate);
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return delegate.createLayeredSocket(socket, target, port, context);
+            } finally {
+                addConnectTime(context, start);
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link TraceSink} that hands traces to a background thread through a bounded ring buffer, so tracing never blocks
+ * an API call: formatting (pretty printing included) and writing happen on the writer's thread, and when the buffer is
+ * full the trace is dropped and counted instead of waiting. Output is buffered and flushed whenever the buffer drains.
+ * <pre>
+ * AsyncTraceWriter traceWriter = new AsyncTraceWriter(Files.newOutputStream(traceFile), 1024);
+ * smartsheet.setTraceSink(traceWriter);
+ * smartsheet.setTraces(Trace.Request, Trace.Response);
+ * ...
+ * traceWriter.close();
+ * </pre>
+ * <p>
+ * Thread Safety: This class is thread safe.
+ */
+public class AsyncTraceWriter implements TraceSink, Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncTraceWriter.class);
+
+    /** the default number of traces that can be waiting to be written */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /** how often the idle writer thread checks whether it has been closed */
+    private static final long POLL_MILLIS = 100;
+
+    private final BlockingQueue<Entry> buffer;
+    private final Writer writer;
+    private final Thread thread;
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong queued = new AtomicLong();
+
+    /** the traces taken from the buffer, only touched by the writer's thread */
+    private long handled;
+
+    /** guards flushedThrough, which lets flush() wait for what was queued before it */
+    private final Object progress = new Object();
+    private long flushedThrough;
+    private volatile boolean flushRequested;
+
+    private volatile boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param out the stream to write the traces to, as UTF-8 text; it is flushed but never closed
+     * @param capacity how many traces can be waiting to be written before new ones are dropped
+     */
+    public AsyncTraceWriter(OutputStream out, int capacity) {
+        this(new OutputStreamWriter(out, StandardCharsets.UTF_8), capacity);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param out where to write the traces; it is flushed but never closed
+     * @param capacity how many traces can be waiting to be written before new ones are dropped
+     */
+    public AsyncTraceWriter(Writer out, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.writer = new BufferedWriter(out);
+        this.thread = new Thread(this::run, "smartsheet-trace-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queues a trace to be formatted and written, or drops it if the buffer is full or the writer is closed.
+     */
+    @Override
+    public void write(RequestAndResponseData data, boolean pretty) {
+        if (closed || !buffer.offer(new Entry(data, pretty))) {
+            dropped.incrementAndGet();
+            return;
+        }
+        queued.incrementAndGet();
+    }
+
+    /**
+     * Waits until the traces queued before this call have been written and flushed.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void flush() throws InterruptedException {
+        long target = queued.get();
+        synchronized (progress) {
+            while (flushedThrough < target && thread.isAlive()) {
+                flushRequested = true;
+                progress.wait(POLL_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Writes out the queued traces and stops the writer's thread; traces written afterwards are dropped. The
+     * underlying stream is flushed but not closed.
+     */
+    @Override
+    public void close() {
+        // the thread notices within a poll interval; interrupting it could close an interruptible channel it writes to
+        closed = true;
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the number of traces dropped because the buffer was full or the writer closed
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @return the number of traces written
+     */
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    private void run() {
+        try {
+            while (!closed) {
+                Entry entry;
+                try {
+                    entry = buffer.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    break;
+                }
+                if (entry != null) {
+                    writeEntry(entry);
+                }
+            }
+            // closed: write out whatever is still queued
+            for (Entry entry = buffer.poll(); entry != null; entry = buffer.poll()) {
+                writeEntry(entry);
+            }
+        } finally {
+            flushWriter();
+            synchronized (progress) {
+                flushedThrough = handled;
+                progress.notifyAll();
+            }
+        }
+    }
+
+    private void writeEntry(Entry entry) {
+        try {
+            writer.write(entry.data.toString(entry.pretty));
+            writer.write(System.lineSeparator());
+            written.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            dropped.incrementAndGet();
+            logger.warn("failed to write trace", e);
+        }
+        handled++;
+        // flush when caught up, so traces aren't held back while the client is idle, or when someone is waiting
+        if (buffer.isEmpty() || flushRequested) {
+            flushRequested = false;
+            flushWriter();
+            synchronized (progress) {
+                flushedThrough = handled;
+                progress.notifyAll();
+            }
+        }
+    }
+
+    private void flushWriter() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            logger.warn("failed to flush traces", e);
+        }
+    }
+
+    private static final class Entry {
+        final RequestAndResponseData data;
+        final boolean pretty;
+
+        Entry(RequestAndResponseData data, boolean pretty) {
+            this.data = data;
+            this.pretty = pretty;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.http;
+
+import com.smartsheet.api.internal.util.Util;
+
+import java.io.InputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * An InputStream over the remaining bytes of a {@link ByteBuffer}, including direct and memory-mapped buffers, that
+ * supports mark/reset by moving the buffer position, so that an upload can be retried without copying the bytes.
+ * <p>
+ * The stream reads a duplicate of the buffer, so the position and limit of the caller's buffer are left alone.
+ * Closing the stream does nothing; HTTP client libraries close the request stream once it has been sent, and a retry
+ * still needs to {@link #reset()} it. The mark read limit is ignored, the whole buffer can always be re-read.
+ * <p>
+ * Thread Safety: This class is not thread safe.
+ */
+public class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    private int mark;
+
+    /**
+     * Constructor.
+     *
+     * @param buffer the bytes to read, from its position to its limit
+     */
+    public ByteBufferInputStream(ByteBuffer buffer) {
+        Util.throwIfNull(buffer);
+        this.buffer = buffer.duplicate();
+        this.mark = this.buffer.position();
+    }
+
+    /**
+     * @return the number of bytes from the mark (initially the start of the buffer) to the end of the buffer
+     */
+    public long getLength() {
+        return buffer.limit() - (long) mark;
+    }
+
+    /**
+     * @return the unread bytes, as a buffer that shares this stream's content but not its position
+     */
+    ByteBuffer remaining() {
+        return buffer.slice();
+    }
+
+    @Override
+    public int read() {
+        return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        if (!buffer.hasRemaining()) {
+            return -1;
+        }
+        int n = Math.min(len, buffer.remaining());
+        buffer.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public long skip(long n) {
+        int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+        buffer.position(buffer.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+
+    /**
+     * Writes the rest of the buffer in one call for a heap buffer, otherwise through a channel over the stream; either
+     * way without an intermediate copy of the whole buffer.
+     */
+    @Override
+    public long transferTo(OutputStream out) throws IOException {
+        int n = buffer.remaining();
+        if (buffer.hasArray()) {
+            out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), n);
+            buffer.position(buffer.limit());
+        } else {
+            WritableByteChannel channel = Channels.newChannel(out);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        mark = buffer.position();
+    }
+
+    @Override
+    public synchronized void reset() {
+        buffer.position(mark);
+    }
+}
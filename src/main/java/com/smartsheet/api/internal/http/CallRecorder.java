@@ -0,0 +1,307 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.http;
+
+import com.smartsheet.api.internal.json.JsonSerializer;
+import com.smartsheet.api.metrics.ApiCallMetrics;
+import com.smartsheet.api.metrics.ConnectionPoolStats;
+import com.smartsheet.api.metrics.SmartsheetMetrics;
+import com.smartsheet.api.models.Error;
+import com.smartsheet.api.tracing.Span;
+import com.smartsheet.api.tracing.SmartsheetTracer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Measures one API call for a {@link SmartsheetMetrics} and traces it for a {@link SmartsheetTracer}, across its
+ * attempts, from the start of {@link HttpClient#request} until {@link HttpClient#releaseConnection()}. The HTTP
+ * clients only create one when metrics or tracing are configured.
+ * <p>
+ * The call's span is the request's own, started when the resource method created the request, or else one started
+ * here; it gets a child span per attempt and per retry backoff.
+ * <p>
+ * Thread Safety: This class is not thread safe; it's used by the thread making the call.
+ */
+final class CallRecorder {
+    private static final Logger logger = LoggerFactory.getLogger(CallRecorder.class);
+
+    private final SmartsheetMetrics metrics;
+    private final HttpRequest request;
+    private final Span span;
+    private final long startNanos = System.nanoTime();
+    private Span attemptSpan;
+    private int attempts;
+    private long backoffNanos;
+    private long attemptStartNanos;
+    private long queueNanos;
+    private long connectNanos;
+    private long timeToFirstByteNanos;
+    private long bodyReadNanos;
+    private long responseBytes;
+    private int statusCode;
+    private Integer errorCode;
+    private Throwable failure;
+    private boolean finished;
+
+    private CallRecorder(SmartsheetMetrics metrics, Span span, HttpRequest request) {
+        this.metrics = metrics;
+        this.span = span;
+        this.request = request;
+    }
+
+    /**
+     * Starts measuring a call.
+     *
+     * @param metrics where to report the call, or null
+     * @param tracer the tracer for calls whose request has no span, or null
+     * @return the recorder, or null if the call is neither measured nor traced
+     */
+    static CallRecorder start(SmartsheetMetrics metrics, SmartsheetTracer tracer, HttpRequest request) {
+        Span span = request.getSpan();
+        if (span == null && tracer != null) {
+            span = tracer.startActiveSpan(request.getMethod() + " " + request.getEndpointTemplate());
+            request.setSpan(span);
+        }
+        if (metrics == null && span == null) {
+            return null;
+        }
+        return new CallRecorder(metrics, span, request);
+    }
+
+    /**
+     * Starts timing a new attempt, discarding the phases of the previous one.
+     */
+    void attemptStarted() {
+        attempts++;
+        attemptStartNanos = System.nanoTime();
+        queueNanos = -1;
+        connectNanos = -1;
+        timeToFirstByteNanos = -1;
+        bodyReadNanos = 0;
+        responseBytes = 0;
+        statusCode = 0;
+        errorCode = null;
+        if (span != null) {
+            if (attemptSpan != null) {
+                attemptSpan.end(attemptStartNanos);
+            }
+            attemptSpan = span.startChild("attempt", attemptStartNanos).setAttribute("attempt", attempts);
+        }
+    }
+
+    long getAttemptStartNanos() {
+        return attemptStartNanos;
+    }
+
+    /**
+     * @return the traceparent header to send with the attempt, or null
+     */
+    String getTraceParent() {
+        if (attemptSpan == null || !attemptSpan.getTracer().isPropagationEnabled()) {
+            return null;
+        }
+        return attemptSpan.getTraceParent();
+    }
+
+    /**
+     * Records the phases up to the response headers; queue and connect are -1 when the transport couldn't tell.
+     */
+    void responded(int statusCode, long queueNanos, long connectNanos, long timeToFirstByteNanos) {
+        this.statusCode = statusCode;
+        this.queueNanos = queueNanos;
+        this.connectNanos = connectNanos;
+        this.timeToFirstByteNanos = timeToFirstByteNanos;
+        if (attemptSpan != null) {
+            attemptSpan.setAttribute("http.status_code", statusCode)
+                    .setAttribute("queue_nanos", queueNanos)
+                    .setAttribute("connect_nanos", connectNanos)
+                    .setAttribute("time_to_first_byte_nanos", timeToFirstByteNanos);
+        }
+    }
+
+    /**
+     * Reads the Smartsheet error code from an error response's body, leaving the body to be read again.
+     */
+    void readErrorCode(JsonSerializer jsonSerializer, HttpEntity entity) {
+        String contentType = entity.getContentType();
+        InputStream content = entity.getContent();
+        if (contentType == null || !contentType.startsWith(DefaultHttpClient.JSON_MIME_TYPE) || !content.markSupported()) {
+            return;
+        }
+        try {
+            content.mark(Integer.MAX_VALUE);
+            try {
+                errorCode = jsonSerializer.deserialize(Error.class, content).getErrorCode();
+            } finally {
+                content.reset();
+            }
+        } catch (IOException | RuntimeException e) {
+            // not a Smartsheet error body
+        }
+        if (attemptSpan != null && errorCode != null) {
+            attemptSpan.setAttribute("smartsheet.error_code", errorCode);
+        }
+    }
+
+    /**
+     * Records the wait before a retry, which ends the attempt that failed.
+     */
+    void backedOff(long startNanoTime, long endNanoTime) {
+        backoffNanos += endNanoTime - startNanoTime;
+        if (span != null) {
+            attemptSpan.end(startNanoTime);
+            attemptSpan = null;
+            span.startChild("backoff", startNanoTime).end(endNanoTime);
+        }
+    }
+
+    void failed(Throwable failure) {
+        this.failure = failure;
+        if (attemptSpan != null) {
+            attemptSpan.setError(failure);
+        }
+    }
+
+    /**
+     * Wraps a response body so that reading it is timed and counted.
+     */
+    InputStream meter(InputStream content) {
+        return content == null ? null : new MeteredInputStream(content);
+    }
+
+    /**
+     * Reports the call, once.
+     *
+     * @param pool the client's connection pool, or null if it can't be inspected
+     */
+    void finish(ConnectionPoolStats pool) {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        long requestBytes = request.getEntity() == null ? 0 : request.getEntity().getContentLength();
+        if (span != null) {
+            endSpans(requestBytes);
+        }
+        if (metrics == null) {
+            return;
+        }
+        ApiCallMetrics call = new ApiCallMetrics.Builder(request.getMethod(), request.getEndpointTemplate())
+                .setStatusCode(statusCode)
+                .setErrorCode(errorCode)
+                .setFailure(failure)
+                .setQueueNanos(queueNanos)
+                .setConnectNanos(connectNanos)
+                .setTimeToFirstByteNanos(timeToFirstByteNanos)
+                .setBodyReadNanos(bodyReadNanos)
+                .setTotalNanos(System.nanoTime() - startNanos)
+                .setRequestBytes(requestBytes)
+                .setResponseBytes(responseBytes)
+                .setAttempts(attempts)
+                .setBackoffNanos(backoffNanos)
+                .build();
+        try {
+            metrics.onApiCall(call);
+            if (pool != null) {
+                metrics.onConnectionPool(pool);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("metrics listener failed", e);
+        }
+    }
+
+    private void endSpans(long requestBytes) {
+        if (attemptSpan != null) {
+            attemptSpan.setAttribute("body_read_nanos", bodyReadNanos).end();
+        }
+        span.setAttribute("http.method", request.getMethod().name())
+                .setAttribute("http.route", request.getEndpointTemplate())
+                .setAttribute("http.status_code", statusCode)
+                .setAttribute("http.request_content_length", requestBytes)
+                .setAttribute("http.response_content_length", responseBytes)
+                .setAttribute("attempts", attempts);
+        if (errorCode != null) {
+            span.setAttribute("smartsheet.error_code", errorCode);
+        }
+        if (failure != null) {
+            span.setError(failure);
+        } else if (statusCode >= 400) {
+            span.setError("HTTP " + statusCode);
+        }
+        span.end();
+    }
+
+    private class MeteredInputStream extends FilterInputStream {
+        private long position;
+        private long markPosition;
+
+        MeteredInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            long start = System.nanoTime();
+            int b = super.read();
+            bodyReadNanos += System.nanoTime() - start;
+            if (b >= 0) {
+                advance(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            long start = System.nanoTime();
+            int read = super.read(b, off, len);
+            bodyReadNanos += System.nanoTime() - start;
+            if (read > 0) {
+                advance(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public synchronized void mark(int readlimit) {
+            super.mark(readlimit);
+            markPosition = position;
+        }
+
+        @Override
+        public synchronized void reset() throws IOException {
+            super.reset();
+            position = markPosition;
+        }
+
+        /** bytes read again after a reset were already counted */
+        private void advance(int count) {
+            position += count;
+            responseBytes = Math.max(responseBytes, position);
+        }
+    }
+}
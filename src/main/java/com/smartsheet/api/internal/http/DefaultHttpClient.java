@@ -21,7 +21,10 @@ import com.smartsheet.api.internal.json.JacksonJsonSerializer;
 import com.smartsheet.api.internal.json.JsonSerializer;
 import com.smartsheet.api.internal.util.StreamUtil;
 import com.smartsheet.api.internal.util.Util;
+import com.smartsheet.api.metrics.ConnectionPoolStats;
+import com.smartsheet.api.metrics.SmartsheetMetrics;
 import com.smartsheet.api.models.Error;
+import com.smartsheet.api.tracing.SmartsheetTracer;
 import org.apache.http.Header;
 import org.apache.http.NoHttpResponseException;
 import org.apache.http.client.ClientProtocolException;
@@ -39,6 +42,8 @@ import org.apache.http.entity.ContentType;
 import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.protocol.BasicHttpContext;
 import org.apache.http.protocol.HttpContext;
 import org.jetbrains.annotations.Nullable;
@@ -49,12 +54,11 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.PrintWriter;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * This is the Apache HttpClient based HttpClient implementation.
@@ -82,8 +86,23 @@ public class DefaultHttpClient implements HttpClient {
      */
     private final CloseableHttpClient httpClient;
 
-    /** The apache http response. */
-    private CloseableHttpResponse apacheHttpResponse;
+    /**
+     * The apache http response of the request in progress on the calling thread (kept per thread so that one client
+     * can be shared by concurrent callers, each of which releases its own connection).
+     */
+    private final ThreadLocal<CloseableHttpResponse> apacheHttpResponse = new ThreadLocal<>();
+
+    /** the pool of the Apache client created by the default constructor, null for a supplied client */
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    /** where to report API calls, null if not measuring */
+    private volatile SmartsheetMetrics metrics;
+
+    /** traces API calls whose requests weren't given a span by their resource method, null if not tracing */
+    private volatile SmartsheetTracer tracer;
+
+    /** the measurement of the call in progress on the calling thread, reported when its connection is released */
+    private final ThreadLocal<CallRecorder> currentCall = new ThreadLocal<>();
 
     /** to avoid creating new sets for each call (we use Sets for practical and perf reasons) */
     private static final Set<Trace> REQUEST_RESPONSE_SUMMARY = Set.of(
@@ -99,16 +118,16 @@ public class DefaultHttpClient implements HttpClient {
     // empty by default
     private static final Set<Trace> TRACE_DEFAULT_TRACE_SET = Trace.parse(System.getProperty("Smartsheet.trace.parts"));
 
-    /** where to send trace logs */
-    private static PrintWriter traceWriter;
+    // every call by default
+    private static final double TRACE_SAMPLE_RATE_DEFAULT = Double.parseDouble(System.getProperty("Smartsheet.trace.sampleRate", "1"));
 
-    private final Random random = new Random();
+    /** where to send trace logs of clients that weren't given a sink, null for the shared asynchronous System.out writer */
+    private static volatile TraceSink defaultTraceSink;
 
     static {
-        // default trace stream
-        setTraceStream(System.out);
         if (!TRACE_DEFAULT_TRACE_SET.isEmpty()) {
-            traceWriter.println("default trace logging - pretty:" + TRACE_PRETTY_PRINT_DEFAULT + " parts:" + TRACE_DEFAULT_TRACE_SET);
+            logger.info("default trace logging - pretty:{} parts:{} sampleRate:{}", TRACE_PRETTY_PRINT_DEFAULT,
+                    TRACE_DEFAULT_TRACE_SET, TRACE_SAMPLE_RATE_DEFAULT);
         }
     }
 
@@ -118,6 +137,12 @@ public class DefaultHttpClient implements HttpClient {
     /** whether to log pretty or compact */
     private boolean tracePrettyPrint = TRACE_PRETTY_PRINT_DEFAULT;
 
+    /** the fraction of successful calls to trace-log; error responses are always traced */
+    private volatile double traceSampleRate = TRACE_SAMPLE_RATE_DEFAULT;
+
+    /** where to send this client's trace logs, null for the default */
+    private volatile TraceSink traceSink;
+
     private static final String LOG_ARG = "{}";
     private static final String ERROR_OCCURRED = "Error occurred.";
 
@@ -125,7 +150,28 @@ public class DefaultHttpClient implements HttpClient {
      * Constructor.
      */
     public DefaultHttpClient() {
-        this(HttpClients.createDefault(), new JacksonJsonSerializer());
+        this(new JacksonJsonSerializer());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param jsonSerializer the serializer used to read error responses
+     */
+    public DefaultHttpClient(JsonSerializer jsonSerializer) {
+        this(new PoolingHttpClientConnectionManager(ApacheCallTiming.socketFactoryRegistry()), jsonSerializer);
+    }
+
+    /**
+     * Creates the default Apache client, instrumented so that {@link SmartsheetMetrics} get the queue, connect and
+     * time to first byte phases of each call.
+     */
+    private DefaultHttpClient(PoolingHttpClientConnectionManager connectionManager, JsonSerializer jsonSerializer) {
+        this(HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setRequestExecutor(new ApacheCallTiming.TimingRequestExecutor())
+                .build(), jsonSerializer);
+        this.connectionManager = connectionManager;
     }
 
     /**
@@ -157,7 +203,9 @@ public class DefaultHttpClient implements HttpClient {
 
         logger.info("{} {}, Response Code:{}, Request completed in {} ms", request.getMethod(), request.getURI(),
                 response.getStatusCode(), durationMillis);
-        logger.debug(LOG_ARG, RequestAndResponseData.of(request, requestEntity, response, responseEntity, REQUEST_RESPONSE_SUMMARY));
+        if (logger.isDebugEnabled()) {
+            logger.debug(LOG_ARG, RequestAndResponseData.of(request, requestEntity, response, responseEntity, REQUEST_RESPONSE_SUMMARY));
+        }
     }
 
     /**
@@ -175,6 +223,13 @@ public class DefaultHttpClient implements HttpClient {
 
         long start = System.currentTimeMillis();
 
+        // a call that was never released is reported before this one replaces it
+        finishCall();
+        CallRecorder call = CallRecorder.start(metrics, tracer, smartsheetRequest);
+        if (call != null) {
+            currentCall.set(call);
+        }
+
         HttpRequestBase apacheHttpRequest;
         HttpResponse smartsheetResponse;
 
@@ -221,11 +276,22 @@ public class DefaultHttpClient implements HttpClient {
             smartsheetResponse = new HttpResponse();
             HttpContext context = new BasicHttpContext();
             try {
+                if (call != null) {
+                    call.attemptStarted();
+                    String traceParent = call.getTraceParent();
+                    if (traceParent != null) {
+                        apacheHttpRequest.setHeader(SmartsheetTracer.TRACEPARENT_HEADER, traceParent);
+                    }
+                }
                 long startTime = System.currentTimeMillis();
-                apacheHttpResponse = this.httpClient.execute(apacheHttpRequest, context);
+                apacheHttpResponse.set(this.httpClient.execute(apacheHttpRequest, context));
                 long endTime = System.currentTimeMillis();
+                if (call != null) {
+                    ApacheCallTiming.recordPhases(call, context, apacheHttpResponse.get().getStatusLine().getStatusCode(),
+                            System.nanoTime());
+                }
 
-                HttpEntitySnapshot newResponseCopy = updateWithResponse(apacheHttpRequest, context, smartsheetResponse);
+                HttpEntitySnapshot newResponseCopy = updateWithResponse(apacheHttpRequest, context, smartsheetResponse, call);
                 if (newResponseCopy != null) {
                     responseEntityCopy = newResponseCopy;
                 }
@@ -234,14 +300,14 @@ public class DefaultHttpClient implements HttpClient {
                 logRequest(apacheHttpRequest, requestEntityCopy, smartsheetResponse, responseEntityCopy, responseTime);
 
                 // trace-logging of request and response (if so configured)
-                if (traces.size() > 0) {
-                    RequestAndResponseData requestAndResponseData = RequestAndResponseData.of(apacheHttpRequest,
-                            requestEntityCopy, smartsheetResponse, responseEntityCopy, traces);
-                    traceWriter.println(requestAndResponseData.toString(tracePrettyPrint));
+                if (traces.size() > 0 && isTraceSampled(smartsheetResponse.getStatusCode())) {
+                    // formatting is left to the sink, which can do it off the request thread
+                    getTraceSink().write(RequestAndResponseData.of(apacheHttpRequest, requestEntityCopy, smartsheetResponse,
+                            responseEntityCopy, traces), tracePrettyPrint);
                 }
 
-                if (smartsheetResponse.getStatusCode() == 200) {
-                    // call successful, exit the retry loop
+                if (smartsheetResponse.getStatusCode() == 200 || smartsheetResponse.getStatusCode() == 206) {
+                    // call successful (206 answers a range request), exit the retry loop
                     break;
                 }
 
@@ -254,13 +320,20 @@ public class DefaultHttpClient implements HttpClient {
                     smartsheetResponse.getEntity().getContent().close();
                     smartsheetResponse.getEntity().setContent(contentStream);
                 }
+                if (call != null) {
+                    call.readErrorCode(jsonSerializer, smartsheetResponse.getEntity());
+                }
                 try {
                     contentStream.mark((int) smartsheetResponse.getEntity().getContentLength());
                     long timeSpent = System.currentTimeMillis() - start;
+                    long backoffStart = System.nanoTime();
                     if (!shouldRetry(++attempt, timeSpent, smartsheetResponse)) {
                         // should not retry, or retry time exceeded, exit the retry loop
                         break;
                     }
+                    if (call != null) {
+                        call.backedOff(backoffStart, System.nanoTime());
+                    }
                 } finally {
                     if (bodyStream != null) {
                         bodyStream.reset();
@@ -268,12 +341,14 @@ public class DefaultHttpClient implements HttpClient {
                     contentStream.reset();
                 }
                 // moving this to finally causes issues because socket is closed (which means response stream is closed)
-                this.releaseConnection();
+                closeResponse();
 
             } catch (ClientProtocolException e) {
                 logger.warn("ClientProtocolException " + e.getMessage());
-                logger.warn(LOG_ARG, RequestAndResponseData.of(apacheHttpRequest, requestEntityCopy, smartsheetResponse,
-                        responseEntityCopy, REQUEST_RESPONSE_SUMMARY));
+                if (logger.isWarnEnabled()) {
+                    logger.warn(LOG_ARG, RequestAndResponseData.of(apacheHttpRequest, requestEntityCopy, smartsheetResponse,
+                            responseEntityCopy, REQUEST_RESPONSE_SUMMARY));
+                }
                 try {
                     // if this is a PUT and was retried by the http client, the body content stream is at the
                     // end and is a NonRepeatableRequest. If we marked the body content stream prior to execute,
@@ -286,11 +361,14 @@ public class DefaultHttpClient implements HttpClient {
                     }
                 } catch (IOException ignore) {
                 }
+                failCall(e);
                 throw new HttpClientException(ERROR_OCCURRED, e);
             } catch (NoHttpResponseException e) {
                 logger.warn("NoHttpResponseException {}", e.getMessage());
-                logger.warn(LOG_ARG, RequestAndResponseData.of(apacheHttpRequest, requestEntityCopy, smartsheetResponse,
-                        responseEntityCopy, REQUEST_RESPONSE_SUMMARY));
+                if (logger.isWarnEnabled()) {
+                    logger.warn(LOG_ARG, RequestAndResponseData.of(apacheHttpRequest, requestEntityCopy, smartsheetResponse,
+                            responseEntityCopy, REQUEST_RESPONSE_SUMMARY));
+                }
                 try {
                     // check to see if the response was empty and this was a POST. All other HTTP methods
                     // will be automatically retried by the http client.
@@ -303,10 +381,14 @@ public class DefaultHttpClient implements HttpClient {
                     }
                 } catch (IOException ignore) {
                 }
+                failCall(e);
                 throw new HttpClientException(ERROR_OCCURRED, e);
             } catch (IOException e) {
-                logger.warn(LOG_ARG, RequestAndResponseData.of(apacheHttpRequest, requestEntityCopy, smartsheetResponse,
-                        responseEntityCopy, REQUEST_RESPONSE_SUMMARY));
+                if (logger.isWarnEnabled()) {
+                    logger.warn(LOG_ARG, RequestAndResponseData.of(apacheHttpRequest, requestEntityCopy, smartsheetResponse,
+                            responseEntityCopy, REQUEST_RESPONSE_SUMMARY));
+                }
+                failCall(e);
                 throw new HttpClientException(ERROR_OCCURRED, e);
             }
         }
@@ -324,7 +406,9 @@ public class DefaultHttpClient implements HttpClient {
                 logger.error("failed to make copy of original request entity", iox);
             }
 
-            InputStreamEntity streamEntity = new InputStreamEntity(entity.getContent(), entity.getContentLength());
+            InputStreamEntity streamEntity = isTransferable(entity.getContent())
+                    ? new TransferStreamEntity(entity.getContent(), entity.getContentLength())
+                    : new InputStreamEntity(entity.getContent(), entity.getContentLength());
             // why?  not supported by library?
             streamEntity.setChunked(false);
             ((HttpEntityEnclosingRequestBase) apacheHttpRequest).setEntity(streamEntity);
@@ -334,7 +418,7 @@ public class DefaultHttpClient implements HttpClient {
 
     @Nullable
     private HttpEntitySnapshot updateWithResponse(HttpRequestBase apacheHttpRequest, HttpContext context,
-                                                  HttpResponse smartsheetResponse) throws IOException {
+                                                  HttpResponse smartsheetResponse, CallRecorder call) throws IOException {
         // Set request headers to values ACTUALLY SENT (not just created by us), this would include:
         // 'Connection', 'Accept-Encoding', etc. However, if a proxy is used, this may be the proxy's CONNECT
         // request, hence the test for HTTP method first
@@ -353,22 +437,28 @@ public class DefaultHttpClient implements HttpClient {
             }
         }
 
+        CloseableHttpResponse response = this.apacheHttpResponse.get();
+
         // Set returned headers
         smartsheetResponse.setHeaders(new HashMap<>());
-        for (Header header : apacheHttpResponse.getAllHeaders()) {
+        for (Header header : response.getAllHeaders()) {
             smartsheetResponse.getHeaders().put(header.getName(), header.getValue());
         }
-        smartsheetResponse.setStatus(apacheHttpResponse.getStatusLine().getStatusCode(),
-                apacheHttpResponse.getStatusLine().toString());
+        smartsheetResponse.setStatus(response.getStatusLine().getStatusCode(),
+                response.getStatusLine().toString());
 
         // Set returned entities
-        if (apacheHttpResponse.getEntity() != null) {
+        if (response.getEntity() != null) {
             HttpEntity httpEntity = new HttpEntity();
-            httpEntity.setContentType(apacheHttpResponse.getEntity().getContentType().getValue());
-            httpEntity.setContentLength(apacheHttpResponse.getEntity().getContentLength());
-            httpEntity.setContent(apacheHttpResponse.getEntity().getContent());
+            Header contentType = response.getEntity().getContentType();
+            httpEntity.setContentType(contentType == null ? null : contentType.getValue());
+            httpEntity.setContentLength(response.getEntity().getContentLength());
+            InputStream content = response.getEntity().getContent();
+            httpEntity.setContent(call == null ? content : call.meter(content));
             smartsheetResponse.setEntity(httpEntity);
-            return new HttpEntitySnapshot(httpEntity);
+            // a range response is part of a file (such as an attachment download), which may be large and would be read
+            // into memory by the snapshot if it happened to be JSON
+            return smartsheetResponse.getStatusCode() == 206 ? null : new HttpEntitySnapshot(httpEntity);
         }
 
         return null;
@@ -425,19 +515,7 @@ public class DefaultHttpClient implements HttpClient {
      * @return -1 to fall out of retry loop, positive number indicates backoff time
      */
     public long calcBackoff(int previousAttempts, long totalElapsedTimeMillis, Error error) {
-
-        long backoffMillis = (long) (Math.pow(2, previousAttempts) * 1000) + random.nextInt(1000);
-
-        if (totalElapsedTimeMillis + backoffMillis > maxRetryTimeMillis) {
-            logger.info(
-                    "Elapsed time {} + backoff time {} exceeds max retry time {}, exiting retry loop",
-                    totalElapsedTimeMillis,
-                    backoffMillis,
-                    maxRetryTimeMillis
-            );
-            return -1;
-        }
-        return backoffMillis;
+        return RetryBackoff.calcBackoff(logger, previousAttempts, totalElapsedTimeMillis, maxRetryTimeMillis);
     }
 
     /**
@@ -450,45 +528,12 @@ public class DefaultHttpClient implements HttpClient {
      * @return true if this request can be retried
      */
     public boolean shouldRetry(int previousAttempts, long totalElapsedTimeMillis, HttpResponse response) {
-        String contentType = response.getEntity().getContentType();
-        if (contentType != null && !contentType.startsWith(JSON_MIME_TYPE)) {
-            // it's not JSON; don't even try to parse it
-            return false;
-        }
-        Error error;
-        try {
-            error = jsonSerializer.deserialize(Error.class, response.getEntity().getContent());
-        } catch (IOException e) {
+        Error error = RetryBackoff.readRetryableError(jsonSerializer, response);
+        if (error == null) {
             return false;
         }
-        switch (error.getErrorCode()) {
-            case 4001:
-                // Smartsheet.com is currently offline for system maintenance. Please check back again shortly.
-            case 4002:
-                // Server timeout exceeded. Request has failed
-            case 4003:
-                // Rate limit exceeded.
-            case 4004:
-                // An unexpected error has occurred. Please retry your request
-                // If you encounter this error repeatedly, please contact api@smartsheet.com for assistance
-                break;
-            default:
-                return false;
-        }
-
         long backoffMillis = calcBackoff(previousAttempts, totalElapsedTimeMillis, error);
-        if (backoffMillis < 0) {
-            return false;
-        }
-
-        logger.info("HttpError StatusCode={}: Retrying in {} milliseconds", response.getStatusCode(), backoffMillis);
-        try {
-            Thread.sleep(backoffMillis);
-        } catch (InterruptedException e) {
-            logger.warn("sleep interrupted", e);
-            return false;
-        }
-        return true;
+        return backoffMillis >= 0 && RetryBackoff.waitOut(logger, response, backoffMillis);
     }
 
     /**
@@ -506,16 +551,71 @@ public class DefaultHttpClient implements HttpClient {
      */
     @Override
     public void releaseConnection() {
-        if (apacheHttpResponse != null) {
+        closeResponse();
+        finishCall();
+    }
+
+    private void closeResponse() {
+        CloseableHttpResponse response = this.apacheHttpResponse.get();
+        if (response != null) {
             try {
-                apacheHttpResponse.close();
-                apacheHttpResponse = null;
+                this.apacheHttpResponse.remove();
+                response.close();
             } catch (IOException e) {
                 logger.error("error closing Apache HttpResponse", e);
             }
         }
     }
 
+    /**
+     * Set where to report the measurements of each API call, or null to stop measuring.
+     *
+     * @param metrics the metrics listener
+     */
+    public void setMetrics(SmartsheetMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Set the tracer for API calls whose requests don't already carry a span, or null to stop tracing them.
+     *
+     * @param tracer the tracer
+     */
+    public void setTracer(SmartsheetTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * @return the state of the connection pool, or null if this client was given an Apache client whose pool it
+     *     can't inspect
+     */
+    @Nullable
+    public ConnectionPoolStats getConnectionPoolStats() {
+        if (connectionManager == null) {
+            return null;
+        }
+        PoolStats stats = connectionManager.getTotalStats();
+        return new ConnectionPoolStats(stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax());
+    }
+
+    /** reports the measurement of the call made on this thread, if any */
+    private void finishCall() {
+        CallRecorder call = currentCall.get();
+        if (call != null) {
+            currentCall.remove();
+            call.finish(getConnectionPoolStats());
+        }
+    }
+
+    /** reports the call made on this thread as failed without a response */
+    private void failCall(Exception e) {
+        CallRecorder call = currentCall.get();
+        if (call != null) {
+            call.failed(e);
+            finishCall();
+        }
+    }
+
     /**
      * set the traces for this client
      * @param traces the fields to include in trace-logging
@@ -537,8 +637,76 @@ public class DefaultHttpClient implements HttpClient {
         tracePrettyPrint = pretty;
     }
 
-    /** only included for testing purposes */
+    /**
+     * set the fraction of calls to trace-log, so tracing can stay on under load; error responses are always traced
+     * @param sampleRate from 0 (only errors) to 1 (every call)
+     */
+    public void setTraceSampleRate(double sampleRate) {
+        if (!(sampleRate >= 0 && sampleRate <= 1)) {
+            throw new IllegalArgumentException("sampleRate must be between 0 and 1");
+        }
+        traceSampleRate = sampleRate;
+    }
+
+    /**
+     * set where this client sends its trace logs, instead of the default {@link AsyncTraceWriter} on System.out
+     * @param traceSink the sink, or null for the default
+     */
+    public void setTraceSink(TraceSink traceSink) {
+        this.traceSink = traceSink;
+    }
+
+    /**
+     * set the stream that clients without a trace sink write their trace logs to, formatted and flushed on the
+     * request thread
+     * @deprecated use {@link #setTraceSink(TraceSink)}, which is per client and can write asynchronously
+     */
+    @Deprecated
     public static void setTraceStream(OutputStream traceStream) {
-        traceWriter = new PrintWriter(traceStream, true);
+        defaultTraceSink = TraceSink.synchronous(traceStream);
+    }
+
+    private TraceSink getTraceSink() {
+        TraceSink sink = traceSink;
+        if (sink == null) {
+            sink = defaultTraceSink;
+        }
+        return sink != null ? sink : DefaultTraceSink.INSTANCE;
+    }
+
+    private boolean isTraceSampled(int statusCode) {
+        double rate = traceSampleRate;
+        return rate >= 1 || statusCode >= 400 || ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    /** holds the System.out writer, so its thread is only started once something is traced */
+    private static final class DefaultTraceSink {
+        static final AsyncTraceWriter INSTANCE = new AsyncTraceWriter(System.out, AsyncTraceWriter.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @return true for the bodies that implement {@link InputStream#transferTo} without copying through a buffer
+     */
+    static boolean isTransferable(InputStream content) {
+        return content instanceof RepeatableFileInputStream || content instanceof ByteBufferInputStream;
+    }
+
+    /**
+     * Sends a file or buffer body with {@link InputStream#transferTo}, which {@link RepeatableFileInputStream}
+     * implements with {@link java.nio.channels.FileChannel#transferTo} and {@link ByteBufferInputStream} by writing
+     * the buffer directly, instead of copying it through InputStreamEntity's buffer.
+     */
+    private static class TransferStreamEntity extends InputStreamEntity {
+        TransferStreamEntity(InputStream content, long length) {
+            super(content, length);
+        }
+
+        @Override
+        public void writeTo(OutputStream outstream) throws IOException {
+            Util.throwIfNull(outstream);
+            try (InputStream content = getContent()) {
+                content.transferTo(outstream);
+            }
+        }
     }
 }
@@ -0,0 +1,68 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.http;
+
+/**
+ * Intercepts the calls made through an {@link InterceptingHttpClient}, to observe, change, answer or repeat them
+ * without subclassing the transport. Interceptors run in the order they were added, each wrapping the ones after it;
+ * the innermost wraps the transport, whose retries happen within a single {@link Chain#proceed(HttpRequest)}.
+ * <pre>
+ * HttpInterceptor signing = chain -&gt; {
+ *     HttpRequest request = chain.request();
+ *     request.getHeaders().put("X-Signature", sign(request));
+ *     return chain.proceed(request);
+ * };
+ * Smartsheet smartsheet = new SmartsheetBuilder().addInterceptor(signing).build();
+ * </pre>
+ * An interceptor may return a response without calling proceed (a cached response or an injected fault), call proceed
+ * more than once, or catch the {@link HttpClientException} that proceed throws. A response it returns without calling
+ * proceed holds no connection.
+ * <p>
+ * Thread Safety: Implementations of this interface must be thread safe.
+ */
+@FunctionalInterface
+public interface HttpInterceptor {
+    /**
+     * Intercepts a call.
+     *
+     * @param chain the call, which {@link Chain#proceed(HttpRequest)} passes on to the next interceptor
+     * @return the response, never null
+     * @throws HttpClientException if the call fails
+     */
+    HttpResponse intercept(Chain chain) throws HttpClientException;
+
+    /**
+     * A call on its way through the interceptors.
+     * <p>
+     * Thread Safety: This interface is not thread safe; a chain belongs to the thread making the call.
+     */
+    interface Chain {
+        /**
+         * @return the request this interceptor was given
+         */
+        HttpRequest request();
+
+        /**
+         * Passes the request on to the next interceptor, or to the transport after the last one.
+         *
+         * @param request the request, the one this interceptor was given or a replacement
+         * @return the response
+         * @throws HttpClientException if the call fails
+         */
+        HttpResponse proceed(HttpRequest request) throws HttpClientException;
+    }
+}
@@ -16,6 +16,8 @@
 
 package com.smartsheet.api.internal.http;
 
+import com.smartsheet.api.tracing.Span;
+
 import java.net.URI;
 
 /**
@@ -38,6 +40,13 @@ public class HttpRequest extends HttpMessage {
      */
     private HttpMethod method;
 
+    /**
+     * Represents the span of the API call this request is made for, if it is being traced.
+     * <p>
+     * It has a pair of setter/getter (not shown on class diagram for brevity).
+     */
+    private Span span;
+
     /**
      * Gets the uri.
      *
@@ -73,4 +82,85 @@ public class HttpRequest extends HttpMessage {
     public void setMethod(HttpMethod method) {
         this.method = method;
     }
+
+    /**
+     * Gets the span of the API call, which the HttpClient ends when it releases the connection.
+     *
+     * @return the span, or null if the call isn't traced
+     */
+    public Span getSpan() {
+        return span;
+    }
+
+    /**
+     * Sets the span of the API call.
+     *
+     * @param span the span
+     */
+    public void setSpan(Span span) {
+        this.span = span;
+    }
+
+    /**
+     * Gets the endpoint the request is for: the path of the uri without the API version, with the ids replaced by
+     * {id}, so ".../2.0/sheets/123/rows" becomes "sheets/{id}/rows".
+     *
+     * @return the endpoint
+     */
+    public String getEndpointTemplate() {
+        return endpointTemplate(uri);
+    }
+
+    private static String endpointTemplate(URI uri) {
+        String path = uri == null ? null : uri.getRawPath();
+        if (path == null || path.isEmpty()) {
+            return "";
+        }
+        StringBuilder template = new StringBuilder(path.length());
+        int start = path.charAt(0) == '/' ? 1 : 0;
+        boolean first = true;
+        while (start < path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            if (end > start && !(first && isVersion(path, start, end))) {
+                if (template.length() > 0) {
+                    template.append('/');
+                }
+                if (isId(path, start, end)) {
+                    template.append("{id}");
+                } else {
+                    template.append(path, start, end);
+                }
+            }
+            first = false;
+            start = end + 1;
+        }
+        return template.toString();
+    }
+
+    /** a segment such as "2.0" */
+    private static boolean isVersion(String path, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            if ((c < '0' || c > '9') && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** a numeric id, or a long token containing digits such as a permalink or a file key */
+    private static boolean isId(String path, int start, int end) {
+        boolean digits = true;
+        boolean anyDigit = false;
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            boolean digit = c >= '0' && c <= '9';
+            digits &= digit;
+            anyDigit |= digit;
+        }
+        return digits || (anyDigit && end - start >= 20);
+    }
 }
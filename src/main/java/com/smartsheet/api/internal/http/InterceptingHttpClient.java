@@ -0,0 +1,181 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.http;
+
+import com.smartsheet.api.internal.util.Util;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@link HttpClient} that passes each call through an ordered list of {@link HttpInterceptor}s before handing it
+ * to another HttpClient, so behavior such as caching, rate limiting, request signing or fault injection can be added
+ * to any transport. {@link com.smartsheet.api.SmartsheetBuilder#addInterceptor(HttpInterceptor)} wraps the client's
+ * transport in one.
+ * <p>
+ * The interceptors are kept in an array that is replaced when one is added or removed, so a call reads it once and
+ * allocates only its chain.
+ * <p>
+ * Thread Safety: This class is thread safe.
+ */
+public class InterceptingHttpClient implements HttpClient {
+    private final HttpClient delegate;
+
+    private volatile HttpInterceptor[] interceptors;
+
+    /**
+     * Constructor.
+     * <p>
+     * Exceptions: - IllegalArgumentException : if any argument is null
+     *
+     * @param delegate the client that makes the calls
+     * @param interceptors the interceptors, outermost first
+     */
+    public InterceptingHttpClient(HttpClient delegate, HttpInterceptor... interceptors) {
+        this.delegate = Util.throwIfNull(delegate);
+        this.interceptors = interceptors.clone();
+        for (HttpInterceptor interceptor : this.interceptors) {
+            Util.throwIfNull(interceptor);
+        }
+    }
+
+    /**
+     * Adds an interceptor inside the existing ones, so it sees the requests they pass on.
+     *
+     * @param interceptor the interceptor
+     */
+    public synchronized void addInterceptor(HttpInterceptor interceptor) {
+        Util.throwIfNull(interceptor);
+        HttpInterceptor[] added = Arrays.copyOf(interceptors, interceptors.length + 1);
+        added[interceptors.length] = interceptor;
+        interceptors = added;
+    }
+
+    /**
+     * Removes an interceptor; calls in progress may still pass through it.
+     *
+     * @param interceptor the interceptor
+     * @return true if it was removed
+     */
+    public synchronized boolean removeInterceptor(HttpInterceptor interceptor) {
+        for (int i = 0; i < interceptors.length; i++) {
+            if (interceptors[i] == interceptor) {
+                HttpInterceptor[] removed = new HttpInterceptor[interceptors.length - 1];
+                System.arraycopy(interceptors, 0, removed, 0, i);
+                System.arraycopy(interceptors, i + 1, removed, i, removed.length - i);
+                interceptors = removed;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the interceptors, outermost first
+     */
+    public List<HttpInterceptor> getInterceptors() {
+        return Collections.unmodifiableList(Arrays.asList(interceptors));
+    }
+
+    /**
+     * @return the client that makes the calls
+     */
+    public HttpClient getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Make an HTTP request through the interceptors and return the response.
+     *
+     * @param request the request
+     * @return the http response
+     * @throws HttpClientException the http client exception
+     */
+    @Override
+    public HttpResponse request(HttpRequest request) throws HttpClientException {
+        Util.throwIfNull(request);
+        HttpInterceptor[] current = interceptors;
+        if (current.length == 0) {
+            return delegate.request(request);
+        }
+        return new RealChain(delegate, current, request).proceed(request);
+    }
+
+    /**
+     * Releases the delegate's connection.
+     */
+    @Override
+    public void releaseConnection() {
+        delegate.releaseConnection();
+    }
+
+    /**
+     * Closes the delegate.
+     *
+     * @throws IOException if the delegate fails to close
+     */
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    /**
+     * One call's position in the interceptors. A single chain serves every interceptor of the call: proceed moves it
+     * to the next one and back again when that returns, so an interceptor can proceed more than once.
+     */
+    private static final class RealChain implements HttpInterceptor.Chain {
+        private final HttpClient delegate;
+        private final HttpInterceptor[] interceptors;
+        private HttpRequest request;
+        private int index;
+
+        RealChain(HttpClient delegate, HttpInterceptor[] interceptors, HttpRequest request) {
+            this.delegate = delegate;
+            this.interceptors = interceptors;
+            this.request = request;
+        }
+
+        @Override
+        public HttpRequest request() {
+            return request;
+        }
+
+        @Override
+        public HttpResponse proceed(HttpRequest request) throws HttpClientException {
+            Util.throwIfNull(request);
+            int current = index;
+            HttpRequest previous = this.request;
+            try {
+                if (current == interceptors.length) {
+                    return delegate.request(request);
+                }
+                this.request = request;
+                this.index = current + 1;
+                HttpResponse response = interceptors[current].intercept(this);
+                if (response == null) {
+                    throw new IllegalStateException("interceptor " + interceptors[current] + " returned a null response");
+                }
+                return response;
+            } finally {
+                this.index = current;
+                this.request = previous;
+            }
+        }
+    }
+}
@@ -0,0 +1,661 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.http;
+
+import com.smartsheet.api.internal.json.JacksonJsonSerializer;
+import com.smartsheet.api.internal.json.JsonSerializer;
+import com.smartsheet.api.internal.util.StreamUtil;
+import com.smartsheet.api.internal.util.Util;
+import com.smartsheet.api.metrics.SmartsheetMetrics;
+import com.smartsheet.api.models.Error;
+import com.smartsheet.api.tracing.SmartsheetTracer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient.Redirect;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An {@link HttpClient} built on the JDK's {@link java.net.http.HttpClient}, which needs no other libraries. It
+ * negotiates HTTP/2 where the server supports it, so concurrent calls are multiplexed over a few connections instead
+ * of holding a connection each, and {@link #requestAsync(HttpRequest)} makes calls without blocking a thread.
+ * <p>
+ * Response bodies are streamed rather than read into memory; file and buffer request bodies are streamed from their
+ * file or buffer, and re-sent from it on retry.
+ * <p>
+ * Thread Safety: This class is thread safe.
+ */
+public class JdkHttpClient implements HttpClient {
+
+    /** logger for general errors, warnings, etc */
+    protected static final Logger logger = LoggerFactory.getLogger(JdkHttpClient.class);
+
+    private static final String ERROR_OCCURRED = "Error occurred.";
+
+    /** headers java.net.http sets itself and refuses to have set */
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    /** the most bytes of a buffer body handed to the client at once */
+    private static final int BUFFER_SLICE_SIZE = 64 * 1024;
+
+    /**
+     * Represents the underlying java.net.http client.
+     * <p>
+     * It will be initialized in constructor and will not change afterwards.
+     * </p>
+     */
+    private final java.net.http.HttpClient client;
+
+    /** The response body of the request in progress on the calling thread. */
+    private final ThreadLocal<InputStream> currentBody = new ThreadLocal<>();
+
+    protected JsonSerializer jsonSerializer;
+
+    protected long maxRetryTimeMillis = 15000;
+
+    /** how long to wait for a response's headers, null to wait indefinitely */
+    private volatile Duration requestTimeout;
+
+    /** where to report API calls, null if not measuring */
+    private volatile SmartsheetMetrics metrics;
+
+    /** traces API calls whose requests weren't given a span by their resource method, null if not tracing */
+    private volatile SmartsheetTracer tracer;
+
+    /** the measurement of the call in progress on the calling thread, reported when its connection is released */
+    private final ThreadLocal<CallRecorder> currentCall = new ThreadLocal<>();
+
+    /**
+     * Constructor.
+     */
+    public JdkHttpClient() {
+        this(java.net.http.HttpClient.newBuilder()
+                .version(Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(10))
+                .followRedirects(Redirect.NORMAL)
+                .build(), new JacksonJsonSerializer());
+    }
+
+    /**
+     * Constructor.
+     * <p>
+     * Exceptions: - IllegalArgumentException : if any argument is null
+     *
+     * @param client the java.net.http client to use, for example one with its own executor, proxy or SSL context
+     * @param jsonSerializer the serializer used to read error responses
+     */
+    public JdkHttpClient(java.net.http.HttpClient client, JsonSerializer jsonSerializer) {
+        this.client = Util.throwIfNull(client);
+        this.jsonSerializer = Util.throwIfNull(jsonSerializer);
+    }
+
+    /**
+     * Log to the SLF4J logger (level based upon response status code). Override this function to add logging
+     * or capture performance metrics.
+     *
+     * @param request request
+     * @param response response
+     * @param durationMillis response time in ms
+     */
+    public void logRequest(java.net.http.HttpRequest request, java.net.http.HttpResponse<?> response, long durationMillis) {
+        logger.info("{} {}, Response Code:{}, Request completed in {} ms", request.method(), request.uri(),
+                response.statusCode(), durationMillis);
+    }
+
+    /**
+     * Make an HTTP request and return the response.
+     *
+     * @param smartsheetRequest the smartsheet request
+     * @return the HTTP response
+     * @throws HttpClientException the HTTP client exception
+     */
+    @Override
+    public HttpResponse request(HttpRequest smartsheetRequest) throws HttpClientException {
+        Util.throwIfNull(smartsheetRequest);
+        if (smartsheetRequest.getUri() == null) {
+            throw new IllegalArgumentException("A Request URI is required.");
+        }
+
+        int attempt = 0;
+        long start = System.currentTimeMillis();
+
+        // a call that was never released is reported before this one replaces it
+        finishCall();
+        CallRecorder call = CallRecorder.start(metrics, tracer, smartsheetRequest);
+        if (call != null) {
+            currentCall.set(call);
+        }
+
+        BodyPublisher body;
+        try {
+            body = createBodyPublisher(smartsheetRequest);
+        } catch (IOException e) {
+            failCall(e);
+            throw new HttpClientException(ERROR_OCCURRED, e);
+        }
+
+        HttpResponse smartsheetResponse;
+        while (true) {
+            java.net.http.HttpRequest request = createRequest(smartsheetRequest, body, call);
+            try {
+                long startTime = System.currentTimeMillis();
+                java.net.http.HttpResponse<InputStream> response = client.send(request, BodyHandlers.ofInputStream());
+                currentBody.set(response.body());
+                long endTime = System.currentTimeMillis();
+
+                smartsheetResponse = toSmartsheetResponse(response, call);
+                logRequest(request, response, endTime - startTime);
+
+                if (smartsheetResponse.getStatusCode() == 200 || smartsheetResponse.getStatusCode() == 206) {
+                    // call successful (206 answers a range request), exit the retry loop
+                    break;
+                }
+                if (smartsheetResponse.getEntity() == null) {
+                    // nothing to tell whether the error can be retried
+                    break;
+                }
+
+                bufferErrorBody(smartsheetResponse, call);
+                InputStream contentStream = smartsheetResponse.getEntity().getContent();
+                try {
+                    contentStream.mark((int) smartsheetResponse.getEntity().getContentLength());
+                    long timeSpent = System.currentTimeMillis() - start;
+                    long backoffStart = System.nanoTime();
+                    if (!shouldRetry(++attempt, timeSpent, smartsheetResponse)) {
+                        // should not retry, or retry time exceeded, exit the retry loop
+                        break;
+                    }
+                    if (call != null) {
+                        call.backedOff(backoffStart, System.nanoTime());
+                    }
+                } finally {
+                    contentStream.reset();
+                }
+                closeCurrentBody();
+
+            } catch (IOException e) {
+                failCall(e);
+                throw new HttpClientException(ERROR_OCCURRED, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failCall(e);
+                throw new HttpClientException(ERROR_OCCURRED, e);
+            }
+        }
+        return smartsheetResponse;
+    }
+
+    /**
+     * Make an HTTP request without blocking the calling thread. Failed attempts are retried as by
+     * {@link #request(HttpRequest)}, asking {@link #getRetryBackoff(int, long, HttpResponse)} whether to retry and
+     * waiting out the backoff on a timer rather than on a thread.
+     * <p>
+     * The response's body is streamed: the caller must read or close its content, which releases the stream (and with
+     * it the call's measurement); {@link #releaseConnection()} only applies to {@link #request(HttpRequest)}.
+     *
+     * @param smartsheetRequest the smartsheet request
+     * @return the HTTP response, or a future failed with an {@link HttpClientException}
+     */
+    public CompletableFuture<HttpResponse> requestAsync(HttpRequest smartsheetRequest) {
+        Util.throwIfNull(smartsheetRequest);
+        if (smartsheetRequest.getUri() == null) {
+            throw new IllegalArgumentException("A Request URI is required.");
+        }
+
+        // the call ends on another thread, so its span mustn't become the current span of this one
+        SmartsheetTracer callTracer = tracer;
+        if (callTracer != null && smartsheetRequest.getSpan() == null) {
+            smartsheetRequest.setSpan(callTracer.startSpan(smartsheetRequest.getMethod() + " " + smartsheetRequest.getEndpointTemplate()));
+        }
+        CallRecorder call = CallRecorder.start(metrics, null, smartsheetRequest);
+
+        BodyPublisher body;
+        try {
+            body = createBodyPublisher(smartsheetRequest);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(failAsync(call, e));
+        }
+
+        return sendAsync(smartsheetRequest, body, call, 1, System.currentTimeMillis())
+                .handle((response, failure) -> {
+                    if (failure == null) {
+                        return response;
+                    }
+                    throw new CompletionException(failAsync(call, failure instanceof CompletionException ? failure.getCause() : failure));
+                });
+    }
+
+    private CompletableFuture<HttpResponse> sendAsync(HttpRequest smartsheetRequest, BodyPublisher body, CallRecorder call,
+                                                      int attempt, long start) {
+        java.net.http.HttpRequest request = createRequest(smartsheetRequest, body, call);
+        long startTime = System.currentTimeMillis();
+        return client.sendAsync(request, BodyHandlers.ofInputStream()).thenCompose(response -> {
+            HttpResponse smartsheetResponse = toSmartsheetResponse(response, call);
+            logRequest(request, response, System.currentTimeMillis() - startTime);
+
+            long backoffMillis = -1;
+            int status = smartsheetResponse.getStatusCode();
+            if (status != 200 && status != 206 && smartsheetResponse.getEntity() != null) {
+                try {
+                    bufferErrorBody(smartsheetResponse, call);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+                backoffMillis = getRetryBackoff(attempt, System.currentTimeMillis() - start, smartsheetResponse);
+            }
+            if (backoffMillis < 0) {
+                return CompletableFuture.completedFuture(finishOnClose(smartsheetResponse, call));
+            }
+
+            logger.info("HttpError StatusCode={}: Retrying in {} milliseconds", status, backoffMillis);
+            closeQuietly(smartsheetResponse.getEntity().getContent());
+            long backoffStart = System.nanoTime();
+            return CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(backoffMillis, TimeUnit.MILLISECONDS))
+                    .thenCompose(ignored -> {
+                        if (call != null) {
+                            call.backedOff(backoffStart, System.nanoTime());
+                        }
+                        return sendAsync(smartsheetRequest, body, call, attempt + 1, start);
+                    });
+        });
+    }
+
+    private java.net.http.HttpRequest createRequest(HttpRequest smartsheetRequest, BodyPublisher body, CallRecorder call) {
+        java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(smartsheetRequest.getUri());
+        Duration timeout = requestTimeout;
+        if (timeout != null) {
+            builder.timeout(timeout);
+        }
+
+        // Clone our headers to request
+        boolean hasContentType = false;
+        if (smartsheetRequest.getHeaders() != null) {
+            for (Map.Entry<String, String> header : smartsheetRequest.getHeaders().entrySet()) {
+                String name = header.getKey().toLowerCase();
+                if (!RESTRICTED_HEADERS.contains(name) && header.getValue() != null) {
+                    builder.header(header.getKey(), header.getValue());
+                    hasContentType |= "content-type".equals(name);
+                }
+            }
+        }
+        HttpEntity entity = smartsheetRequest.getEntity();
+        if (!hasContentType && entity != null && entity.getContent() != null && entity.getContentType() != null) {
+            builder.header("Content-Type", entity.getContentType());
+        }
+
+        switch (smartsheetRequest.getMethod()) {
+            case GET:
+                builder.GET();
+                break;
+            case POST:
+                builder.POST(body);
+                break;
+            case PUT:
+                builder.PUT(body);
+                break;
+            case DELETE:
+                builder.DELETE();
+                break;
+            default:
+                throw new UnsupportedOperationException("Request method " + smartsheetRequest.getMethod() + " is not supported!");
+        }
+
+        if (call != null) {
+            call.attemptStarted();
+            String traceParent = call.getTraceParent();
+            if (traceParent != null) {
+                builder.setHeader(SmartsheetTracer.TRACEPARENT_HEADER, traceParent);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a publisher that can send the request body once per attempt: buffers are published from the buffer,
+     * files streamed from the file, and other bodies, which are small JSON, read into memory once.
+     */
+    private static BodyPublisher createBodyPublisher(HttpRequest smartsheetRequest) throws IOException {
+        HttpEntity entity = smartsheetRequest.getEntity();
+        if (entity == null || entity.getContent() == null) {
+            return BodyPublishers.noBody();
+        }
+        InputStream content = entity.getContent();
+        if (content instanceof ByteBufferInputStream) {
+            ByteBuffer buffer = ((ByteBufferInputStream) content).remaining();
+            return BodyPublishers.fromPublisher(new ByteBufferPublisher(buffer), buffer.remaining());
+        }
+        if (content instanceof RepeatableFileInputStream) {
+            // java.net.http subscribes once per attempt (and per redirect), so every subscription starts from the mark
+            content.mark(0);
+            BodyPublisher file = BodyPublishers.ofInputStream(() -> {
+                try {
+                    content.reset();
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+                return content;
+            });
+            long length = entity.getContentLength();
+            return length > 0 ? BodyPublishers.fromPublisher(file, length) : file;
+        }
+        return BodyPublishers.ofByteArray(StreamUtil.readBytesFromStream(content));
+    }
+
+    /** converts a response, recording when its headers arrived */
+    private static HttpResponse toSmartsheetResponse(java.net.http.HttpResponse<InputStream> response, CallRecorder call) {
+        int status = response.statusCode();
+        if (call != null) {
+            call.responded(status, -1, -1, System.nanoTime() - call.getAttemptStartNanos());
+        }
+
+        HttpResponse smartsheetResponse = new HttpResponse();
+        smartsheetResponse.setStatusCode(status);
+        // HTTP/2 header names are lower case, so they are looked up regardless of case
+        Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            if (!header.getValue().isEmpty()) {
+                headers.put(header.getKey(), header.getValue().get(0));
+            }
+        }
+        smartsheetResponse.setHeaders(headers);
+
+        long contentLength = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+        if (contentLength == 0 || status == 204 || status == 304) {
+            closeQuietly(response.body());
+            return smartsheetResponse;
+        }
+        HttpEntity entity = new HttpEntity();
+        entity.setContentType(response.headers().firstValue("Content-Type").orElse(null));
+        entity.setContentLength(contentLength);
+        entity.setContent(call == null ? response.body() : call.meter(response.body()));
+        smartsheetResponse.setEntity(entity);
+        return smartsheetResponse;
+    }
+
+    /** reads an error response's body into memory so the retry logic can read it and leave it for the caller */
+    private void bufferErrorBody(HttpResponse smartsheetResponse, CallRecorder call) throws IOException {
+        HttpEntity entity = smartsheetResponse.getEntity();
+        InputStream content = entity.getContent();
+        if (!content.markSupported()) {
+            try {
+                entity.setContent(new ByteArrayInputStream(StreamUtil.readBytesFromStream(content)));
+            } finally {
+                content.close();
+            }
+        }
+        if (call != null) {
+            call.readErrorCode(jsonSerializer, entity);
+        }
+    }
+
+    /** reports an asynchronous call when its response body is closed, or now if it has none */
+    private static HttpResponse finishOnClose(HttpResponse smartsheetResponse, CallRecorder call) {
+        if (call == null) {
+            return smartsheetResponse;
+        }
+        HttpEntity entity = smartsheetResponse.getEntity();
+        if (entity == null) {
+            call.finish(null);
+            return smartsheetResponse;
+        }
+        entity.setContent(new FilterInputStream(entity.getContent()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    call.finish(null);
+                }
+            }
+        });
+        return smartsheetResponse;
+    }
+
+    private static HttpClientException failAsync(CallRecorder call, Throwable failure) {
+        if (call != null) {
+            call.failed(failure);
+            call.finish(null);
+        }
+        return failure instanceof HttpClientException ? (HttpClientException) failure : new HttpClientException(ERROR_OCCURRED, failure);
+    }
+
+    /**
+     * Set the max retry time for API calls which fail and are retry-able.
+     */
+    public void setMaxRetryTimeMillis(long maxRetryTimeMillis) {
+        this.maxRetryTimeMillis = maxRetryTimeMillis;
+    }
+
+    /**
+     * Set how long to wait for the response headers of each attempt. Uploads must be sent within it.
+     *
+     * @param requestTimeout the timeout, or null (the default) to wait indefinitely
+     */
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * The backoff calculation routine. Uses exponential backoff. If the maximum elapsed time
+     * has expired, this calculation returns -1 causing the caller to fall out of the retry loop.
+     * @return -1 to fall out of retry loop, positive number indicates backoff time
+     */
+    public long calcBackoff(int previousAttempts, long totalElapsedTimeMillis, Error error) {
+        return RetryBackoff.calcBackoff(logger, previousAttempts, totalElapsedTimeMillis, maxRetryTimeMillis);
+    }
+
+    /**
+     * Called when an API request fails to determine if it can retry the request, and how long to wait first.
+     * Calls calcBackoff to determine the time to wait in between retries.
+     *
+     * @param previousAttempts number of attempts (including this one) to execute request
+     * @param totalElapsedTimeMillis total time spent in millis for all previous (and this) attempt
+     * @param response the failed HttpResponse
+     * @return the time to wait before retrying, or -1 if the request can't be retried
+     */
+    public long getRetryBackoff(int previousAttempts, long totalElapsedTimeMillis, HttpResponse response) {
+        Error error = RetryBackoff.readRetryableError(jsonSerializer, response);
+        return error == null ? -1 : calcBackoff(previousAttempts, totalElapsedTimeMillis, error);
+    }
+
+    /**
+     * Called when an API request fails to determine if it can retry the request.
+     * Calls getRetryBackoff to determine the time to wait in between retries, and waits it out.
+     *
+     * @param previousAttempts number of attempts (including this one) to execute request
+     * @param totalElapsedTimeMillis total time spent in millis for all previous (and this) attempt
+     * @param response the failed HttpResponse
+     * @return true if this request can be retried
+     */
+    public boolean shouldRetry(int previousAttempts, long totalElapsedTimeMillis, HttpResponse response) {
+        long backoffMillis = getRetryBackoff(previousAttempts, totalElapsedTimeMillis, response);
+        return backoffMillis >= 0 && RetryBackoff.waitOut(logger, response, backoffMillis);
+    }
+
+    /**
+     * Close the HttpClient. The java.net.http client has nothing to close; its connections are closed once they are
+     * idle.
+     */
+    @Override
+    public void close() {
+        // nothing to release beyond the calling thread's response
+        releaseConnection();
+    }
+
+    /* (non-Javadoc)
+     * @see com.smartsheet.api.internal.http.HttpClient#releaseConnection()
+     */
+    @Override
+    public void releaseConnection() {
+        closeCurrentBody();
+        finishCall();
+    }
+
+    /**
+     * Set where to report the measurements of each API call, or null to stop measuring.
+     *
+     * @param metrics the metrics listener
+     */
+    public void setMetrics(SmartsheetMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Set the tracer for API calls whose requests don't already carry a span, or null to stop tracing them.
+     *
+     * @param tracer the tracer
+     */
+    public void setTracer(SmartsheetTracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /** reports the measurement of the call made on this thread, if any; java.net.http's pool can't be inspected */
+    private void finishCall() {
+        CallRecorder call = currentCall.get();
+        if (call != null) {
+            currentCall.remove();
+            call.finish(null);
+        }
+    }
+
+    /** reports the call made on this thread as failed without a response */
+    private void failCall(Exception e) {
+        CallRecorder call = currentCall.get();
+        if (call != null) {
+            call.failed(e);
+            finishCall();
+        }
+    }
+
+    private void closeCurrentBody() {
+        InputStream body = currentBody.get();
+        if (body != null) {
+            currentBody.remove();
+            closeQuietly(body);
+        }
+    }
+
+    private static void closeQuietly(InputStream content) {
+        try {
+            content.close();
+        } catch (IOException e) {
+            logger.debug("error closing response body", e);
+        }
+    }
+
+    /**
+     * Publishes a buffer as slices of itself, so heap, direct and memory-mapped buffers are sent without being copied
+     * into arrays first. Each subscription starts from the beginning, so a retry re-sends the whole buffer.
+     */
+    private static final class ByteBufferPublisher implements Flow.Publisher<ByteBuffer> {
+        private final ByteBuffer buffer;
+
+        ByteBufferPublisher(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new BufferSubscription(subscriber, buffer.duplicate()));
+        }
+    }
+
+    /**
+     * Sends a buffer's slices as they are requested. Requests made from within onNext only add to the demand, which
+     * the drain already in progress then meets, so the subscriber is never called re-entrantly however it requests.
+     */
+    private static final class BufferSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final ByteBuffer remaining;
+
+        /** slices requested and not yet sent */
+        private final AtomicLong demand = new AtomicLong();
+
+        /** drains asked for and not yet run; only the caller that raises it from zero drains */
+        private final AtomicInteger drains = new AtomicInteger();
+
+        private volatile IllegalArgumentException invalidRequest;
+        private volatile boolean done;
+
+        BufferSubscription(Flow.Subscriber<? super ByteBuffer> subscriber, ByteBuffer remaining) {
+            this.subscriber = subscriber;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("non-positive request: " + n);
+            } else {
+                // demand is capped rather than overflowing, as an unbounded request asks for everything
+                demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+        }
+
+        private void drain() {
+            if (drains.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                while (!done) {
+                    if (invalidRequest != null) {
+                        done = true;
+                        subscriber.onError(invalidRequest);
+                    } else if (!remaining.hasRemaining()) {
+                        done = true;
+                        subscriber.onComplete();
+                    } else if (demand.get() > 0) {
+                        demand.decrementAndGet();
+                        ByteBuffer slice = remaining.slice();
+                        slice.limit(Math.min(BUFFER_SLICE_SIZE, slice.remaining()));
+                        remaining.position(remaining.position() + slice.remaining());
+                        subscriber.onNext(slice);
+                    } else {
+                        break;
+                    }
+                }
+                missed = drains.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.internal.http;
+
+import com.smartsheet.api.internal.util.Util;
+import com.smartsheet.api.metrics.ApiCallMetrics;
+import com.smartsheet.api.metrics.SmartsheetMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reports each call passing through it to its own {@link SmartsheetMetrics}, so the calls of one tenant of a shared
+ * client can be measured apart from the others, see
+ * {@link com.smartsheet.api.TenantBuilder#setMetrics(SmartsheetMetrics)}.
+ * <p>
+ * Since it sits outside the transport, it sees a call as a whole: the total time runs from sending the request until
+ * the response headers of its last attempt, including any retries, and the attempts, phase timings and response size
+ * are not known. The transport's own listener, set with {@link com.smartsheet.api.Smartsheet#setMetrics(SmartsheetMetrics)},
+ * still gets the full measurements of every call.
+ * <p>
+ * Thread Safety: This class is thread safe if its listener is.
+ */
+public class MetricsInterceptor implements HttpInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsInterceptor.class);
+
+    private final SmartsheetMetrics metrics;
+
+    /**
+     * Constructor.
+     *
+     * @param metrics where to report each call
+     */
+    public MetricsInterceptor(SmartsheetMetrics metrics) {
+        this.metrics = Util.throwIfNull(metrics);
+    }
+
+    @Override
+    public HttpResponse intercept(Chain chain) throws HttpClientException {
+        HttpRequest request = chain.request();
+        ApiCallMetrics.Builder call = new ApiCallMetrics.Builder(request.getMethod(), request.getEndpointTemplate());
+        if (request.getEntity() != null) {
+            call.setRequestBytes(request.getEntity().getContentLength());
+        }
+        long start = System.nanoTime();
+        try {
+            HttpResponse response = chain.proceed(request);
+            call.setStatusCode(response.getStatusCode());
+            return response;
+        } catch (HttpClientException | RuntimeException e) {
+            call.setFailure(e);
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            call.setTotalNanos(elapsed).setTimeToFirstByteNanos(elapsed);
+            try {
+                metrics.onApiCall(call.build());
+            } catch (RuntimeException e) {
+                logger.warn("metrics listener failed", e);
+            }
+        }
+    }
+
+    public SmartsheetMetrics getMetrics() {
+        return metrics;
+    }
+}
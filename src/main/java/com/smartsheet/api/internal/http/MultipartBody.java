@@ -0,0 +1,244 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.http;
+
+import com.smartsheet.api.internal.util.Util;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds a multipart/form-data request body that is streamed part by part, so that file content is never copied into
+ * memory here. The resulting {@link HttpEntity} goes through the regular {@link HttpClient}, like any other request.
+ * <p>
+ * The body supports mark/reset (and so can be retried without being buffered) whenever the file streams do.
+ * <p>
+ * Thread Safety: This class is not thread safe.
+ */
+public class MultipartBody {
+    private static final String CRLF = "\r\n";
+
+    private final String boundary;
+
+    /**
+     * The body, as a sequence of streams: generated part headers/trailers alternate with the caller's content.
+     */
+    private final List<InputStream> segments = new ArrayList<>();
+
+    private long contentLength;
+
+    /**
+     * Constructor, with a random boundary.
+     */
+    public MultipartBody() {
+        this("----" + UUID.randomUUID().toString().replace("-", ""));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param boundary the boundary between parts, must not appear in any of the parts
+     */
+    public MultipartBody(String boundary) {
+        Util.throwIfNull(boundary);
+        Util.throwIfEmpty(boundary);
+        this.boundary = boundary;
+    }
+
+    /**
+     * Adds a JSON part, such as the object that an attachment is added with.
+     *
+     * @param name the part name
+     * @param json the JSON content
+     * @return this body
+     */
+    public MultipartBody addJsonPart(String name, String json) {
+        Util.throwIfNull(name, json);
+        addBytes(partHeader(name, null, "application/json; charset=UTF-8") + json);
+        return this;
+    }
+
+    /**
+     * Adds a file part. The content stream is read when the request is sent.
+     *
+     * @param name the part name
+     * @param fileName the file name sent to the server
+     * @param contentType the content type of the file
+     * @param content the file content
+     * @param length the number of bytes in content, or -1 if unknown
+     * @return this body
+     */
+    public MultipartBody addFilePart(String name, String fileName, String contentType, InputStream content, long length) {
+        Util.throwIfNull(name, contentType, content);
+        addBytes(partHeader(name, fileName, contentType));
+        segments.add(content);
+        contentLength = (length < 0 || contentLength < 0) ? -1 : contentLength + length;
+        return this;
+    }
+
+    /**
+     * @return the value of the Content-Type header for this body
+     */
+    public String getContentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    /**
+     * Creates the entity to send. The body can only be sent once (or retried through mark/reset), so this should be
+     * called once after all the parts have been added.
+     *
+     * @return the entity
+     */
+    public HttpEntity toEntity() {
+        List<InputStream> streams = new ArrayList<>(segments);
+        byte[] end = (CRLF + "--" + boundary + "--" + CRLF).getBytes(StandardCharsets.UTF_8);
+        streams.add(new ByteArrayInputStream(end));
+
+        HttpEntity entity = new HttpEntity();
+        entity.setContentType(getContentType());
+        entity.setContentLength(contentLength < 0 ? -1 : contentLength + end.length);
+        entity.setContent(new SequenceInputStream(streams));
+        return entity;
+    }
+
+    private String partHeader(String name, String fileName, String contentType) {
+        StringBuilder header = new StringBuilder();
+        if (!segments.isEmpty()) {
+            // terminates the previous part's content
+            header.append(CRLF);
+        }
+        header.append("--").append(boundary).append(CRLF);
+        header.append("Content-Disposition: form-data; name=\"").append(escape(name)).append('"');
+        if (fileName != null) {
+            header.append("; filename=\"").append(escape(fileName)).append('"');
+        }
+        header.append(CRLF);
+        header.append("Content-Type: ").append(contentType).append(CRLF);
+        header.append(CRLF);
+        return header.toString();
+    }
+
+    private void addBytes(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        segments.add(new ByteArrayInputStream(bytes));
+        if (contentLength >= 0) {
+            contentLength += bytes.length;
+        }
+    }
+
+    /**
+     * Quotes and line breaks would end the header value early, percent-encode them the way browsers do.
+     */
+    private static String escape(String value) {
+        return value.replace("\"", "%22").replace("\r", "%0D").replace("\n", "%0A");
+    }
+
+    /**
+     * Like java.io.SequenceInputStream, but supports mark/reset when all of its streams do.
+     */
+    private static class SequenceInputStream extends InputStream {
+        private final List<InputStream> streams;
+        private int current;
+        private int marked = -1;
+
+        SequenceInputStream(List<InputStream> streams) {
+            this.streams = streams;
+        }
+
+        @Override
+        public int read() throws IOException {
+            while (current < streams.size()) {
+                int b = streams.get(current).read();
+                if (b != -1) {
+                    return b;
+                }
+                current++;
+            }
+            return -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (current < streams.size()) {
+                int n = streams.get(current).read(b, off, len);
+                if (n > 0) {
+                    return n;
+                }
+                current++;
+            }
+            return -1;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return current < streams.size() ? streams.get(current).available() : 0;
+        }
+
+        @Override
+        public boolean markSupported() {
+            for (InputStream stream : streams) {
+                if (!stream.markSupported()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public synchronized void mark(int readlimit) {
+            // streams after the current one haven't been read yet, marking them records their start
+            for (int i = current; i < streams.size(); i++) {
+                streams.get(i).mark(readlimit);
+            }
+            marked = current;
+        }
+
+        @Override
+        public synchronized void reset() throws IOException {
+            if (marked < 0) {
+                throw new IOException("Resetting to invalid mark");
+            }
+            for (int i = marked; i < streams.size(); i++) {
+                streams.get(i).reset();
+            }
+            current = marked;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+            for (InputStream stream : streams) {
+                try {
+                    stream.close();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
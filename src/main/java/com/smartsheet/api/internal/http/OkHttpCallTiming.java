@@ -0,0 +1,124 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.http;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+
+/**
+ * Times the phases of the requests made by {@link AndroidHttpClient} for {@link CallRecorder}. The listener is
+ * shared; a request to be timed carries a {@link Timestamps} tag, which the listener fills in from
+ * {@link System#nanoTime()} as OkHttp reports its progress.
+ */
+final class OkHttpCallTiming extends EventListener {
+    static final OkHttpCallTiming INSTANCE = new OkHttpCallTiming();
+
+    private OkHttpCallTiming() {
+    }
+
+    /**
+     * The progress of one request.
+     * <p>
+     * Thread Safety: This class is not thread safe; OkHttp reports a synchronous call on the calling thread.
+     */
+    static final class Timestamps {
+        private long callStart;
+        private long connectStart;
+        private long connectEnd;
+        private long connectionAcquired;
+        private long requestHeadersStart;
+        private long responseHeadersStart;
+
+        /**
+         * Records the call's phases; connecting includes the DNS lookup and the TLS handshake.
+         */
+        void recordPhases(CallRecorder call, int statusCode, long executeReturned) {
+            if (callStart == 0 || connectionAcquired == 0 || requestHeadersStart == 0 || responseHeadersStart == 0) {
+                call.responded(statusCode, -1, -1, executeReturned - call.getAttemptStartNanos());
+                return;
+            }
+            long connectNanos = connectStart == 0 || connectEnd == 0 ? 0 : connectEnd - connectStart;
+            long queueNanos = Math.max(0, connectionAcquired - callStart - connectNanos);
+            call.responded(statusCode, queueNanos, connectNanos, responseHeadersStart - requestHeadersStart);
+        }
+    }
+
+    private static Timestamps timestamps(Call call) {
+        return call.request().tag(Timestamps.class);
+    }
+
+    @Override
+    public void callStart(Call call) {
+        Timestamps timestamps = timestamps(call);
+        if (timestamps != null) {
+            timestamps.callStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        Timestamps timestamps = timestamps(call);
+        if (timestamps != null && timestamps.connectStart == 0) {
+            timestamps.connectStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        Timestamps timestamps = timestamps(call);
+        if (timestamps != null && timestamps.connectStart == 0) {
+            timestamps.connectStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        Timestamps timestamps = timestamps(call);
+        if (timestamps != null) {
+            timestamps.connectEnd = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        Timestamps timestamps = timestamps(call);
+        if (timestamps != null) {
+            timestamps.connectionAcquired = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        Timestamps timestamps = timestamps(call);
+        if (timestamps != null) {
+            timestamps.requestHeadersStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        Timestamps timestamps = timestamps(call);
+        if (timestamps != null) {
+            timestamps.responseHeadersStart = System.nanoTime();
+        }
+    }
+}
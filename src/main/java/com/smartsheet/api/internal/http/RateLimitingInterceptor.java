@@ -0,0 +1,110 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.internal.http;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds calls back so no more than a given number per minute pass through it, spacing them evenly after an initial
+ * burst. Smartsheet limits each access token to 300 requests a minute; a limiter per token, such as one given to
+ * {@link com.smartsheet.api.TenantBuilder#setRateLimiter(RateLimitingInterceptor)}, keeps a busy tenant within its
+ * budget instead of having its calls rejected and retried, while one added to
+ * {@link com.smartsheet.api.SmartsheetBuilder#addInterceptor(HttpInterceptor)} limits every tenant of the client
+ * together.
+ * <p>
+ * A call waits for its turn before it is sent; retries of the call by the transport are not counted again.
+ * <p>
+ * Thread Safety: This class is thread safe.
+ */
+public class RateLimitingInterceptor implements HttpInterceptor {
+    private static final long ONE_MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final LongAdder throttledCalls = new LongAdder();
+    private final LongAdder throttledNanos = new LongAdder();
+
+    /** the earliest time the next call may be sent without using up the burst */
+    private long nextFreeNanos = Long.MIN_VALUE;
+
+    /**
+     * Constructor.
+     *
+     * @param callsPerMinute the calls let through per minute, on average
+     */
+    public RateLimitingInterceptor(int callsPerMinute) {
+        this(callsPerMinute, 1);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param callsPerMinute the calls let through per minute, on average
+     * @param burst the calls let through at once after a quiet period
+     */
+    public RateLimitingInterceptor(int callsPerMinute, int burst) {
+        if (callsPerMinute <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("callsPerMinute and burst must be positive");
+        }
+        this.intervalNanos = ONE_MINUTE_NANOS / callsPerMinute;
+        this.burstNanos = (burst - 1) * intervalNanos;
+    }
+
+    @Override
+    public HttpResponse intercept(Chain chain) throws HttpClientException {
+        long waitNanos = reserve(System.nanoTime());
+        if (waitNanos > 0) {
+            throttledCalls.increment();
+            throttledNanos.add(waitNanos);
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new HttpClientException("interrupted waiting for the rate limit", e);
+            }
+        }
+        return chain.proceed(chain.request());
+    }
+
+    /**
+     * @return how long a call starting now has to wait for its turn
+     */
+    synchronized long reserve(long now) {
+        if (nextFreeNanos == Long.MIN_VALUE || nextFreeNanos < now - burstNanos) {
+            nextFreeNanos = now - burstNanos;
+        }
+        long waitNanos = Math.max(0, nextFreeNanos - now);
+        nextFreeNanos += intervalNanos;
+        return waitNanos;
+    }
+
+    /**
+     * @return the calls that had to wait for their turn
+     */
+    public long getThrottledCount() {
+        return throttledCalls.sum();
+    }
+
+    /**
+     * @return the time calls spent waiting for their turn
+     */
+    public long getThrottledNanos() {
+        return throttledNanos.sum();
+    }
+}
@@ -0,0 +1,179 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.internal.http;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An InputStream over a file that supports mark/reset by repositioning a {@link FileChannel}, so that an upload can be
+ * retried without copying the file into memory.
+ * <p>
+ * Closing the stream releases the file handle; a later {@link #reset()} (or read) re-opens the file.
+ * This matters because HTTP client libraries close the request stream once it has been sent. The mark read limit is
+ * ignored, the whole file can always be re-read.
+ * <p>
+ * Thread Safety: This class is not thread safe.
+ */
+public class RepeatableFileInputStream extends InputStream {
+    private final Path path;
+
+    private FileChannel channel;
+
+    /**
+     * the position of the last read when the stream was closed, so that reading can continue after re-opening
+     */
+    private long position;
+
+    private long mark;
+
+    /**
+     * Constructor. The file is opened right away, so that a missing file is reported before a request is made.
+     *
+     * @param path the file to read
+     * @throws FileNotFoundException if the file does not exist or can't be opened for reading
+     */
+    public RepeatableFileInputStream(Path path) throws FileNotFoundException {
+        this.path = path;
+        this.channel = open(path);
+    }
+
+    /**
+     * @return the file this stream reads
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return whether the stream holds its file handle, which it gives up on close and takes back to read or reset
+     */
+    public boolean isOpen() {
+        return channel != null;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int n = read(b, 0, 1);
+        return n == -1 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        return openChannel().read(ByteBuffer.wrap(b, off, len));
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        FileChannel fileChannel = openChannel();
+        long current = fileChannel.position();
+        long skipped = Math.max(0, Math.min(n, fileChannel.size() - current));
+        fileChannel.position(current + skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        FileChannel fileChannel = openChannel();
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, fileChannel.size() - fileChannel.position()));
+    }
+
+    /**
+     * Writes the rest of the file to out with {@link FileChannel#transferTo}, which lets the platform move the bytes
+     * without going through a buffer in this class.
+     */
+    @Override
+    public long transferTo(OutputStream out) throws IOException {
+        FileChannel fileChannel = openChannel();
+        WritableByteChannel target = Channels.newChannel(out);
+        long start = fileChannel.position();
+        long current = start;
+        long size = fileChannel.size();
+        while (current < size) {
+            long n = fileChannel.transferTo(current, size - current, target);
+            if (n <= 0) {
+                break;
+            }
+            current += n;
+        }
+        fileChannel.position(current);
+        return current - start;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        try {
+            mark = channel == null ? position : channel.position();
+        } catch (IOException e) {
+            // a channel that can't report its position is broken, reset() will fail on the same channel
+            mark = position;
+        }
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        openChannel().position(mark);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            try {
+                position = channel.position();
+            } finally {
+                channel.close();
+                channel = null;
+            }
+        }
+    }
+
+    private FileChannel openChannel() throws IOException {
+        if (channel == null) {
+            channel = open(path);
+            channel.position(position);
+        }
+        return channel;
+    }
+
+    private static FileChannel open(Path path) throws FileNotFoundException {
+        try {
+            return FileChannel.open(path, StandardOpenOption.READ);
+        } catch (IOException e) {
+            FileNotFoundException notFound = new FileNotFoundException(path.toString());
+            notFound.initCause(e);
+            throw notFound;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.http;
+
+import com.smartsheet.api.internal.json.JsonSerializer;
+import com.smartsheet.api.models.Error;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The retry rules the HTTP clients share: which failed calls can be retried, and how long to back off before each
+ * retry. Messages go to the calling client's logger.
+ */
+final class RetryBackoff {
+
+    private RetryBackoff() {
+    }
+
+    /**
+     * Reads the error of a failed response, if it is one that can be retried.
+     *
+     * @param jsonSerializer the serializer to read the error with
+     * @param response the failed HttpResponse
+     * @return the error, or null if the request can't be retried
+     */
+    static Error readRetryableError(JsonSerializer jsonSerializer, HttpResponse response) {
+        String contentType = response.getEntity().getContentType();
+        if (contentType != null && !contentType.startsWith("application/json")) {
+            // it's not JSON; don't even try to parse it
+            return null;
+        }
+        Error error;
+        try {
+            error = jsonSerializer.deserialize(Error.class, response.getEntity().getContent());
+        } catch (IOException e) {
+            return null;
+        }
+        switch (error.getErrorCode()) {
+            // Smartsheet.com is currently offline for system maintenance. Please check back again shortly.
+            case 4001:
+            // Server timeout exceeded. Request has failed
+            case 4002:
+            // Rate limit exceeded.
+            case 4003:
+            // An unexpected error has occurred. Please retry your request.
+            // If you encounter this error repeatedly, please contact api@smartsheet.com for assistance.
+            case 4004:
+                return error;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Exponential backoff, with up to a second of jitter so clients that failed together don't retry together.
+     *
+     * @param logger the client's logger
+     * @param previousAttempts number of attempts (including this one) to execute request
+     * @param totalElapsedTimeMillis total time spent in millis for all previous (and this) attempt
+     * @param maxRetryTimeMillis the most time to spend on a request, retries included
+     * @return -1 to fall out of retry loop, positive number indicates backoff time
+     */
+    static long calcBackoff(Logger logger, int previousAttempts, long totalElapsedTimeMillis, long maxRetryTimeMillis) {
+        long backoffMillis = (long) (Math.pow(2, previousAttempts) * 1000) + ThreadLocalRandom.current().nextInt(1000);
+
+        if (totalElapsedTimeMillis + backoffMillis > maxRetryTimeMillis) {
+            logger.info("Elapsed time {} + backoff time {} exceeds max retry time {}, exiting retry loop",
+                    totalElapsedTimeMillis, backoffMillis, maxRetryTimeMillis);
+            return -1;
+        }
+        return backoffMillis;
+    }
+
+    /**
+     * Waits out a backoff on the calling thread.
+     *
+     * @param logger the client's logger
+     * @param response the failed HttpResponse
+     * @param backoffMillis the time to wait
+     * @return true once the backoff is over, false if the wait was interrupted
+     */
+    static boolean waitOut(Logger logger, HttpResponse response, long backoffMillis) {
+        logger.info("HttpError StatusCode={}: Retrying in {} milliseconds", response.getStatusCode(), backoffMillis);
+        try {
+            Thread.sleep(backoffMillis);
+        } catch (InterruptedException e) {
+            logger.warn("sleep interrupted", e);
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+}
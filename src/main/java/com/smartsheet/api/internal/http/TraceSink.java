@@ -0,0 +1,55 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.http;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Receives the request/response pairs selected by {@link DefaultHttpClient#setTraces}. The request thread calls
+ * {@link #write(RequestAndResponseData, boolean)} once the response headers are in, so an implementation should do as
+ * little as possible there; {@link AsyncTraceWriter} formats and writes on a background thread.
+ */
+@FunctionalInterface
+public interface TraceSink {
+
+    /**
+     * Trace one request and its response.
+     *
+     * @param data the request and response fields selected for tracing
+     * @param pretty whether to format bodies as indented, multi-line JSON
+     */
+    void write(RequestAndResponseData data, boolean pretty);
+
+    /**
+     * A sink that formats and writes each trace on the calling thread, flushing after every one.
+     *
+     * @param out the stream to write to (never closed)
+     * @return the sink
+     */
+    static TraceSink synchronous(OutputStream out) {
+        PrintWriter writer = new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), true);
+        return (data, pretty) -> {
+            String trace = data.toString(pretty);
+            synchronized (writer) {
+                writer.println(trace);
+            }
+        };
+    }
+}
@@ -0,0 +1,104 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.PropertyName;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.smartsheet.api.models.Cell;
+
+import java.io.IOException;
+
+/**
+ * Reads numeric and boolean cell values straight into the primitive slot of a {@link Cell} instead of boxing them into
+ * the untyped value. Anything else (strings, big numbers, nulls) goes through the regular value property.
+ */
+public class CellValueDeserializerModifier extends BeanDeserializerModifier {
+
+    @Override
+    public BeanDeserializerBuilder updateBuilder(DeserializationConfig config, BeanDescription beanDesc,
+                                                 BeanDeserializerBuilder builder) {
+        if (Cell.class.isAssignableFrom(beanDesc.getBeanClass())) {
+            SettableBeanProperty value = builder.findProperty(new PropertyName("value"));
+            if (value != null) {
+                builder.addOrReplaceProperty(new PrimitiveValueProperty(value), true);
+            }
+        }
+        return builder;
+    }
+
+    private static class PrimitiveValueProperty extends SettableBeanProperty.Delegating {
+        private static final long serialVersionUID = 1L;
+
+        PrimitiveValueProperty(SettableBeanProperty delegate) {
+            super(delegate);
+        }
+
+        @Override
+        protected SettableBeanProperty withDelegate(SettableBeanProperty delegate) {
+            return new PrimitiveValueProperty(delegate);
+        }
+
+        @Override
+        public void deserializeAndSet(JsonParser p, DeserializationContext ctxt, Object instance) throws IOException {
+            if (!setPrimitive(p, ctxt, (Cell) instance)) {
+                super.deserializeAndSet(p, ctxt, instance);
+            }
+        }
+
+        @Override
+        public Object deserializeSetAndReturn(JsonParser p, DeserializationContext ctxt, Object instance)
+                throws IOException {
+            if (setPrimitive(p, ctxt, (Cell) instance)) {
+                return instance;
+            }
+            return super.deserializeSetAndReturn(p, ctxt, instance);
+        }
+
+        private static boolean setPrimitive(JsonParser p, DeserializationContext ctxt, Cell cell) throws IOException {
+            switch (p.getCurrentToken()) {
+                case VALUE_NUMBER_INT:
+                    if (p.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+                            || ctxt.isEnabled(DeserializationFeature.USE_BIG_INTEGER_FOR_INTS)) {
+                        return false;
+                    }
+                    cell.setLong(p.getLongValue());
+                    return true;
+                case VALUE_NUMBER_FLOAT:
+                    if (ctxt.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)) {
+                        return false;
+                    }
+                    cell.setDouble(p.getDoubleValue());
+                    return true;
+                case VALUE_TRUE:
+                    cell.setBoolean(true);
+                    return true;
+                case VALUE_FALSE:
+                    cell.setBoolean(false);
+                    return true;
+                default:
+                    return false;
+            }
+        }
+    }
+}
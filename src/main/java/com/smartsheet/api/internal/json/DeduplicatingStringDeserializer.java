@@ -0,0 +1,52 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Deserializes a String and, if a {@link StringPool} has been attached to the current read, returns its canonical
+ * instance. When no pool is attached this behaves exactly like Jackson's default String deserializer.
+ */
+public class DeduplicatingStringDeserializer extends JsonDeserializer<String> {
+
+    /** stateless, so a single instance is shared by every property it is installed on */
+    public static final DeduplicatingStringDeserializer INSTANCE = new DeduplicatingStringDeserializer();
+
+    @Override
+    public String deserialize(JsonParser jp, DeserializationContext ctxt) throws IOException {
+        String value = StringDeserializer.instance.deserialize(jp, ctxt);
+        return canonicalize(ctxt, value);
+    }
+
+    /**
+     * Canonicalize a value using the {@link StringPool} attached to the given context (if any).
+     *
+     * @param ctxt the deserialization context
+     * @param value the value to canonicalize
+     * @return the canonical value
+     */
+    static String canonicalize(DeserializationContext ctxt, String value) {
+        StringPool pool = (StringPool) ctxt.getAttribute(StringPool.class);
+        return pool == null ? value : pool.canonicalize(value);
+    }
+}
@@ -17,13 +17,17 @@
 package com.smartsheet.api.internal.json;
 
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.Version;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.smartsheet.api.internal.util.Util;
@@ -40,103 +44,246 @@ import com.smartsheet.api.models.Recipient;
 import com.smartsheet.api.models.Result;
 import com.smartsheet.api.models.WidgetContent;
 import com.smartsheet.api.models.format.Format;
+import com.smartsheet.api.tracing.Span;
+import com.smartsheet.api.tracing.SmartsheetTracer;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.text.SimpleDateFormat;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.TimeZone;
 
 /**
  * This is the Jackson based JsonSerializer implementation.
  * <p>
- * Thread Safety: This class is thread safe because it is immutable and the underlying Jackson ObjectMapper is thread
- * safe as long as it is not re-configured.
+ * Thread Safety: This class is thread safe because the underlying Jackson ObjectMapper is thread safe as long as it is
+ * not re-configured, and its only mutable state (the optional {@link StringPool}) is itself thread safe and volatile.
+ * <p>
+ * Instances created with the default constructor share one ObjectMapper; give a client its own configuration with
+ * {@link #JacksonJsonSerializer(ObjectMapper)} and {@link #createObjectMapper()}.
  */
 public class JacksonJsonSerializer implements JsonSerializer {
     /**
-     * Represents the ObjectMapper used to serialize/de-serialize JSON.
-     * <p>
-     * It will be initialized in a static initializer and will not change afterwards.
+     * Represents the ObjectMapper shared by every instance created with the default constructor.
      * <p>
      * Because ObjectMapper is thread-safe as long as it's not reconfigured, a static final class-level ObjectMapper is
      * used to achieve best performance.
      */
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final ObjectMapper OBJECT_MAPPER = createObjectMapper();
+
+    /**
+     * Represents the ObjectMapper used by this instance to serialize/de-serialize JSON.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The pool used to deduplicate repeated strings during de-serialization, null (the default) to disable.
+     */
+    private volatile StringPool stringPool;
+
+    /**
+     * Sets if the shared OBJECT MAPPER should ignore unknown properties or fail when de-serializing the JSON data.
+     * This affects every instance created with the default constructor; use {@link #createObjectMapper()} to configure
+     * a single instance instead.
+     *
+     * @param value
+     *            true if it should fail, false otherwise.
+     */
+    public static void setFailOnUnknownProperties(boolean value) {
+        OBJECT_MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, value);
+    }
+
+    /**
+     * Creates a new ObjectMapper with the configuration and modules the SDK relies on. It is independent of the shared
+     * mapper, so it can be re-configured and passed to {@link #JacksonJsonSerializer(ObjectMapper)} to give one client
+     * its own settings without affecting any other client in the same JVM.
+     *
+     * @return a new ObjectMapper
+     */
+    public static ObjectMapper createObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
 
-    static {
         // Allow deserialization if there are properties that can't be deserialized
-        OBJECT_MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        OBJECT_MAPPER.configure(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL, true);
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.configure(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL, true);
 
         // Only include non-null properties in when serializing java beans
-        OBJECT_MAPPER.setSerializationInclusion(Include.NON_NULL);
+        objectMapper.setSerializationInclusion(Include.NON_NULL);
 
         // Use toString() method on enums to serialize and deserialize
-        OBJECT_MAPPER.enable(SerializationFeature.WRITE_ENUMS_USING_TO_STRING);
-        OBJECT_MAPPER.enable(DeserializationFeature.READ_ENUMS_USING_TO_STRING);
+        objectMapper.enable(SerializationFeature.WRITE_ENUMS_USING_TO_STRING);
+        objectMapper.enable(DeserializationFeature.READ_ENUMS_USING_TO_STRING);
+
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
-        OBJECT_MAPPER.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        SimpleDateFormat df = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
-        df.setTimeZone(TimeZone.getTimeZone("UTC"));
-        OBJECT_MAPPER.setDateFormat(df);
+        // Read and write dates with java.time rather than a SimpleDateFormat that has to be cloned for every use
+        SimpleModule module = new SimpleModule("TimestampModule", Version.unknownVersion());
+        module.addSerializer(Date.class, new TimestampSerializer());
+        module.addDeserializer(Date.class, new TimestampDeserializer());
+        objectMapper.registerModule(module);
 
         // Add a custom deserializer that will convert a string to a Format object.
-        SimpleModule module = new SimpleModule("FormatDeserializerModule", Version.unknownVersion());
+        module = new SimpleModule("FormatDeserializerModule", Version.unknownVersion());
         module.addDeserializer(Format.class, new FormatDeserializer());
 
         // Add custom mixin to ignore getId() for the IdentifiableModel class
         module.setMixInAnnotation(IdentifiableModel.class, IdentifiableModelMixin.class);
-        OBJECT_MAPPER.registerModule(module);
+        objectMapper.registerModule(module);
 
         module = new SimpleModule("ObjectValueDeserializerModule", Version.unknownVersion());
         module.addDeserializer(ObjectValue.class, new ObjectValueDeserializer());
-        OBJECT_MAPPER.registerModule(module);
+        objectMapper.registerModule(module);
 
         module = new SimpleModule("PrimitiveObjectValueSerializerModule", Version.unknownVersion());
         module.addSerializer(PrimitiveObjectValue.class, new PrimitiveObjectValueSerializer());
-        OBJECT_MAPPER.registerModule(module);
+        objectMapper.registerModule(module);
 
         module = new SimpleModule("RecipientDeserializerModule", Version.unknownVersion());
         module.addDeserializer(Recipient.class, new RecipientDeserializer());
-        OBJECT_MAPPER.registerModule(module);
+        objectMapper.registerModule(module);
 
         module = new SimpleModule("WidgetContentDeserializerModule", Version.unknownVersion());
         module.addDeserializer(WidgetContent.class, new WidgetContentDeserializer());
-        OBJECT_MAPPER.registerModule(module);
+        objectMapper.registerModule(module);
 
         module = new SimpleModule("HyperlinkSerializerModule", Version.unknownVersion());
         module.addSerializer(Hyperlink.class, new HyperlinkSerializer());
-        OBJECT_MAPPER.registerModule(module);
+        objectMapper.registerModule(module);
 
         module = new SimpleModule("CellSerializerModule", Version.unknownVersion());
         module.setSerializerModifier(new CellSerializerModifier());
-        OBJECT_MAPPER.registerModule(module);
+        objectMapper.registerModule(module);
 
         module = new SimpleModule("ErrorDetailDeserializerModule", Version.unknownVersion());
         module.addDeserializer(com.smartsheet.api.models.Error.class, new ErrorDeserializer());
-        OBJECT_MAPPER.registerModule(module);
-    }
+        objectMapper.registerModule(module);
 
-    /**
-     * Sets if the OBJECT MAPPER should ignore unknown properties or fail when de-serializing the JSON data.
-     *
-     * @param value
-     *            true if it should fail, false otherwise.
-     */
-    public static void setFailOnUnknownProperties(boolean value) {
-        OBJECT_MAPPER.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, value);
+        module = new SimpleModule("CellValueDeserializerModule", Version.unknownVersion());
+        module.setDeserializerModifier(new CellValueDeserializerModifier());
+        objectMapper.registerModule(module);
+
+        // Canonicalize frequently repeated strings, only active when a StringPool is attached to the read
+        module = new SimpleModule("StringDeduplicationModule", Version.unknownVersion());
+        module.setDeserializerModifier(new StringDeduplicationModifier());
+        objectMapper.registerModule(module);
+
+        return objectMapper;
     }
 
     /**
-     * Constructor.
+     * Constructor, the instance uses the ObjectMapper shared with every other default instance.
      * <p>
      * Parameters: None
      * <p>
      * Exceptions: None
      */
     public JacksonJsonSerializer() {
+        this.objectMapper = OBJECT_MAPPER;
+    }
+
+    /**
+     * Constructor, the instance uses its own ObjectMapper, typically one obtained from {@link #createObjectMapper()}.
+     * The mapper must not be re-configured once the serializer is in use.
+     *
+     * @param objectMapper the ObjectMapper to use
+     */
+    public JacksonJsonSerializer(ObjectMapper objectMapper) {
+        Util.throwIfNull(objectMapper);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Enable string deduplication for everything de-serialized by this serializer. Equal display values, column titles,
+     * contact and user names/emails will share a single String instance, which reduces the retained heap of large,
+     * long-lived objects such as cached sheets.
+     * <p>
+     * The pool may be shared between several serializers. Pass null to disable deduplication.
+     *
+     * @param stringPool the pool to canonicalize strings with, or null
+     */
+    public void setStringPool(StringPool stringPool) {
+        this.stringPool = stringPool;
+    }
+
+    /**
+     * @return the pool used to deduplicate strings, or null if deduplication is disabled
+     */
+    public StringPool getStringPool() {
+        return stringPool;
+    }
+
+    /**
+     * Create a reader for the given type, carrying the string pool (if any) as a de-serialization attribute.
+     * A new reader is created per call so that it picks up any change made via setFailOnUnknownProperties.
+     */
+    private ObjectReader readerFor(JavaType type) {
+        ObjectReader reader = objectMapper.readerFor(type);
+        StringPool pool = stringPool;
+        return pool == null ? reader : reader.withAttribute(StringPool.class, pool);
+    }
+
+    /**
+     * Read a value of the given type, in a "json.deserialize" span when the thread is traced.
+     */
+    private <T> T read(JavaType type, InputStream inputStream) throws IOException {
+        Span span = startSpan("json.deserialize", typeName(type));
+        if (span == null) {
+            return readerFor(type).readValue(inputStream);
+        }
+        ByteCountingInputStream countingStream = new ByteCountingInputStream(inputStream);
+        try {
+            return readerFor(type).readValue(countingStream);
+        } catch (IOException e) {
+            throw failed(span, e);
+        } catch (RuntimeException e) {
+            throw failed(span, e);
+        } finally {
+            endSpan(span, countingStream.count);
+        }
+    }
+
+    /**
+     * @return a span within the current one, or null if the thread isn't traced
+     */
+    private static Span startSpan(String name, String type) {
+        Span parent = SmartsheetTracer.currentSpan();
+        return parent == null ? null : parent.startChild(name).setAttribute("json.type", type);
+    }
+
+    private static void endSpan(Span span, long bytes) {
+        if (bytes >= 0) {
+            span.setAttribute("json.bytes", bytes);
+        }
+        span.end();
+    }
+
+    /**
+     * @return the exception, after setting it on the span if there is one
+     */
+    private static <E extends Exception> E failed(Span span, E e) {
+        if (span != null) {
+            span.setError(e);
+        }
+        return e;
+    }
+
+    /**
+     * @return a short name for a type, such as "PagedResult<Sheet>"
+     */
+    private static String typeName(JavaType type) {
+        StringBuilder name = new StringBuilder(type.getRawClass().getSimpleName());
+        if (type.containedTypeCount() > 0) {
+            name.append('<');
+            for (int i = 0; i < type.containedTypeCount(); i++) {
+                name.append(i == 0 ? "" : ",").append(typeName(type.containedType(i)));
+            }
+            name.append('>');
+        }
+        return name.toString();
     }
 
     /**
@@ -159,14 +306,20 @@ public class JacksonJsonSerializer implements JsonSerializer {
     public <T> void serialize(T object, java.io.OutputStream outputStream) throws JSONSerializerException {
         Util.throwIfNull(object, outputStream);
 
+        Span span = startSpan("json.serialize", object.getClass().getSimpleName());
+        ByteCountingOutputStream countingStream = span == null ? null : new ByteCountingOutputStream(outputStream);
         try {
-            OBJECT_MAPPER.writeValue(outputStream, object);
+            objectMapper.writeValue(span == null ? outputStream : countingStream, object);
         } catch (JsonGenerationException e) {
-            throw new JSONSerializerException(e);
+            throw new JSONSerializerException(failed(span, e));
         } catch (JsonMappingException e) {
-            throw new JSONSerializerException(e);
+            throw new JSONSerializerException(failed(span, e));
         } catch (IOException e) {
-            throw new JSONSerializerException(e);
+            throw new JSONSerializerException(failed(span, e));
+        } finally {
+            if (span != null) {
+                endSpan(span, countingStream.count);
+            }
         }
     }
 
@@ -188,20 +341,71 @@ public class JacksonJsonSerializer implements JsonSerializer {
      */
     public <T> String serialize(T object) throws JSONSerializerException {
         Util.throwIfNull(object);
-        String value;
+        String value = null;
 
+        Span span = startSpan("json.serialize", object.getClass().getSimpleName());
         try {
-            value = OBJECT_MAPPER.writeValueAsString(object);
+            value = objectMapper.writeValueAsString(object);
         } catch (JsonGenerationException e) {
-            throw new JSONSerializerException(e);
+            throw new JSONSerializerException(failed(span, e));
         } catch (JsonMappingException e) {
-            throw new JSONSerializerException(e);
+            throw new JSONSerializerException(failed(span, e));
         } catch (IOException e) {
-            throw new JSONSerializerException(e);
+            throw new JSONSerializerException(failed(span, e));
+        } finally {
+            if (span != null) {
+                endSpan(span, value == null ? -1 : value.getBytes(StandardCharsets.UTF_8).length);
+            }
         }
         return value;
     }
 
+    /**
+     * Serialize objects pulled from an iterator as a JSON array using a single JsonGenerator.
+     * <p>
+     * Exceptions: - IllegalArgumentException : if any argument is null or a limit is not positive
+     *   - JSONSerializerException : if there is any other error occurred during the operation
+     *
+     * @param objects the source of the objects to serialize
+     * @param maxObjects the maximum number of objects to write
+     * @param maxBytes the (approximate) maximum number of bytes to write
+     * @param outputStream the output stream to write to (not closed)
+     * @return the number of objects written
+     * @throws JSONSerializerException thrown for any serialization exception we catch
+     */
+    @Override
+    public <T> int serializeArray(Iterator<? extends T> objects, int maxObjects, long maxBytes, OutputStream outputStream)
+            throws JSONSerializerException {
+        Util.throwIfNull(objects, outputStream);
+        if (maxObjects <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException();
+        }
+
+        Span span = startSpan("json.serialize", "array");
+        ByteCountingOutputStream countingStream = new ByteCountingOutputStream(outputStream);
+        int written = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(countingStream, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            while (written < maxObjects && objects.hasNext()) {
+                // writeValue flushes the generator, so the count below is exact
+                objectMapper.writeValue(generator, objects.next());
+                written++;
+                if (countingStream.count >= maxBytes) {
+                    break;
+                }
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new JSONSerializerException(failed(span, e));
+        } finally {
+            if (span != null) {
+                endSpan(span.setAttribute("json.objects", written), countingStream.count);
+            }
+        }
+        return written;
+    }
+
     /**
      * De-serialize an object from JSON.
      * <p>
@@ -218,7 +422,7 @@ public class JacksonJsonSerializer implements JsonSerializer {
     public <T> T deserialize(Class<T> objectClass, java.io.InputStream inputStream) throws IOException {
         Util.throwIfNull(objectClass, inputStream);
 
-        return OBJECT_MAPPER.readValue(inputStream, objectClass);
+        return read(objectMapper.constructType(objectClass), inputStream);
     }
 
     /**
@@ -242,8 +446,7 @@ public class JacksonJsonSerializer implements JsonSerializer {
 
         try {
             // Read the json input stream into a List.
-            list = OBJECT_MAPPER.readValue(inputStream,
-                    OBJECT_MAPPER.getTypeFactory().constructCollectionType(List.class, objectClass));
+            list = read(objectMapper.getTypeFactory().constructCollectionType(List.class, objectClass), inputStream);
         } catch (JsonParseException e) {
             throw new JSONSerializerException(e);
         } catch (JsonMappingException e) {
@@ -269,12 +472,11 @@ public class JacksonJsonSerializer implements JsonSerializer {
 
         try {
             // Read the json input stream into a List.
-            rw = OBJECT_MAPPER.readValue(
-                    inputStream,
-                    OBJECT_MAPPER
+            rw = read(
+                    objectMapper
                             .getTypeFactory()
-                            .constructParametrizedType(PagedResult.class, PagedResult.class, objectClass)
-            );
+                            .constructParametrizedType(PagedResult.class, PagedResult.class, objectClass),
+                    inputStream);
         } catch (JsonParseException e) {
             throw new JSONSerializerException(e);
         } catch (JsonMappingException e) {
@@ -296,8 +498,8 @@ public class JacksonJsonSerializer implements JsonSerializer {
         Map<String, Object> map = null;
 
         try {
-            map = OBJECT_MAPPER.readValue(inputStream, new TypeReference<Map<String, Object>>() {
-            });
+            map = read(objectMapper.getTypeFactory().constructType(new TypeReference<Map<String, Object>>() {
+            }), inputStream);
         } catch (JsonParseException e) {
             throw new JSONSerializerException(e);
         } catch (JsonMappingException e) {
@@ -328,8 +530,7 @@ public class JacksonJsonSerializer implements JsonSerializer {
         Result<T> result = null;
 
         try {
-            result = OBJECT_MAPPER.readValue(inputStream,
-                    OBJECT_MAPPER.getTypeFactory().constructParametrizedType(Result.class, Result.class, objectClass));
+            result = read(objectMapper.getTypeFactory().constructParametrizedType(Result.class, Result.class, objectClass), inputStream);
         } catch (JsonParseException e) {
             throw new JSONSerializerException(e);
         } catch (JsonMappingException e) {
@@ -363,10 +564,10 @@ public class JacksonJsonSerializer implements JsonSerializer {
         Result<List<T>> result = null;
 
         try {
-            result = OBJECT_MAPPER.readValue(
-                    inputStream,
-                    OBJECT_MAPPER.getTypeFactory().constructParametrizedType(Result.class, Result.class,
-                            OBJECT_MAPPER.getTypeFactory().constructParametrizedType(List.class, List.class, objectClass)));
+            result = read(
+                    objectMapper.getTypeFactory().constructParametrizedType(Result.class, Result.class,
+                            objectMapper.getTypeFactory().constructParametrizedType(List.class, List.class, objectClass)),
+                    inputStream);
         } catch (JsonParseException e) {
             throw new JSONSerializerException(e);
         } catch (JsonMappingException e) {
@@ -382,8 +583,8 @@ public class JacksonJsonSerializer implements JsonSerializer {
             throws JSONSerializerException {
         BulkItemResult<T> result = null;
         try {
-            result = OBJECT_MAPPER.readValue(inputStream,
-                    OBJECT_MAPPER.getTypeFactory().constructParametrizedType(BulkItemResult.class, BulkItemResult.class, objectClass));
+            result = read(objectMapper.getTypeFactory()
+                    .constructParametrizedType(BulkItemResult.class, BulkItemResult.class, objectClass), inputStream);
         } catch (JsonParseException e) {
             throw new JSONSerializerException(e);
         } catch (JsonMappingException e) {
@@ -407,7 +608,7 @@ public class JacksonJsonSerializer implements JsonSerializer {
 
         try {
             // Read the json input stream into a List.
-            rw = OBJECT_MAPPER.readValue(inputStream, CopyOrMoveRowResult.class);
+            rw = read(objectMapper.constructType(CopyOrMoveRowResult.class), inputStream);
         } catch (JsonParseException e) {
             throw new JSONSerializerException(e);
         } catch (JsonMappingException e) {
@@ -430,7 +631,7 @@ public class JacksonJsonSerializer implements JsonSerializer {
 
         try {
             // Read the json input stream into a List.
-            rw = OBJECT_MAPPER.readValue(inputStream, EventResult.class);
+            rw = read(objectMapper.constructType(EventResult.class), inputStream);
         } catch (JsonParseException e) {
             throw new JSONSerializerException(e);
         } catch (JsonMappingException e) {
@@ -441,4 +642,74 @@ public class JacksonJsonSerializer implements JsonSerializer {
 
         return rw;
     }
+
+    /**
+     * Tracks the number of bytes written through to the underlying stream.
+     */
+    private static class ByteCountingOutputStream extends OutputStream {
+        private final OutputStream out;
+        private long count;
+
+        ByteCountingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+    }
+
+    /**
+     * Tracks the number of bytes read from the underlying stream.
+     */
+    private static class ByteCountingInputStream extends FilterInputStream {
+        private long count;
+
+        ByteCountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
 }
@@ -26,6 +26,9 @@ import com.smartsheet.api.models.Result;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -71,6 +74,47 @@ public interface JsonSerializer {
      */
     <T> String serialize(T object) throws JSONSerializerException;
 
+    /**
+     * Serialize objects pulled from an iterator as a single JSON array, one object at a time.
+     * <p>
+     * Writing stops once maxObjects objects have been written or the output has reached maxBytes bytes, whichever
+     * comes first, leaving the remaining objects in the iterator. At least one object is written if the iterator is
+     * not exhausted, so a single object larger than maxBytes still makes progress.
+     * <p>
+     * The output stream is not closed.
+     * <p>
+     * This default collects the objects, measuring each with {@link #serialize(Object)}, and writes them with
+     * {@link #serialize(Object, java.io.OutputStream)}; implementations that can write one object at a time should
+     * override it.
+     *
+     * @param <T> the generic type
+     * @param objects the source of the objects to serialize
+     * @param maxObjects the maximum number of objects to write
+     * @param maxBytes the (approximate) maximum number of bytes to write
+     * @param outputStream the output stream
+     * @return the number of objects written
+     * @throws IllegalArgumentException if any argument is null or a limit is not positive
+     * @throws JSONSerializerException the JSON serializer exception
+     */
+    default <T> int serializeArray(Iterator<? extends T> objects, int maxObjects, long maxBytes,
+                                   java.io.OutputStream outputStream) throws JSONSerializerException {
+        if (objects == null || outputStream == null || maxObjects <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException();
+        }
+        List<T> batch = new ArrayList<>();
+        long bytes = 2;
+        while (batch.size() < maxObjects && objects.hasNext()) {
+            T object = objects.next();
+            batch.add(object);
+            bytes += serialize(object).getBytes(StandardCharsets.UTF_8).length + 1;
+            if (bytes >= maxBytes) {
+                break;
+            }
+        }
+        serialize(batch, outputStream);
+        return batch.size();
+    }
+
     /**
      * De-serialize json to PagedResult.
      * @param objectClass the object class
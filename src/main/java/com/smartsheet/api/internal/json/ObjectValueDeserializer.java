@@ -83,8 +83,8 @@ public class ObjectValueDeserializer extends JsonDeserializer<ObjectValue> {
 
                 case CONTACT:
                     contactObjectValue = new ContactObjectValue();
-                    contactObjectValue.setName(superset.name);
-                    contactObjectValue.setEmail(superset.email);
+                    contactObjectValue.setName(DeduplicatingStringDeserializer.canonicalize(ctxt, superset.name));
+                    contactObjectValue.setEmail(DeduplicatingStringDeserializer.canonicalize(ctxt, superset.email));
                     contactObjectValue.setId(superset.id);
                     objectValue = contactObjectValue;
                     break;
@@ -101,13 +101,19 @@ public class ObjectValueDeserializer extends JsonDeserializer<ObjectValue> {
                     List<ContactObjectValue> contactObjectValues = new ArrayList<>();
                     for (Object contact: superset.values) {
                         contactObjectValue = mapper.convertValue(contact, ContactObjectValue.class);
+                        contactObjectValue.setName(DeduplicatingStringDeserializer.canonicalize(ctxt, contactObjectValue.getName()));
+                        contactObjectValue.setEmail(DeduplicatingStringDeserializer.canonicalize(ctxt, contactObjectValue.getEmail()));
                         contactObjectValues.add(contactObjectValue);
                     }
                     objectValue = new MultiContactObjectValue(contactObjectValues);
                     break;
 
                 case MULTI_PICKLIST:
-                    objectValue = new MultiPicklistObjectValue((List<String>) superset.values);
+                    List<String> picklistValues = (List<String>) superset.values;
+                    if (picklistValues != null) {
+                        picklistValues.replaceAll(value -> DeduplicatingStringDeserializer.canonicalize(ctxt, value));
+                    }
+                    objectValue = new MultiPicklistObjectValue(picklistValues);
                     break;
 
                 default:
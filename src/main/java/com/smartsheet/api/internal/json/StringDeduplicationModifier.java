@@ -0,0 +1,81 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.json;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.smartsheet.api.models.Cell;
+import com.smartsheet.api.models.Column;
+import com.smartsheet.api.models.Contact;
+import com.smartsheet.api.models.UserModel;
+import com.smartsheet.api.models.UserModelWithName;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Installs the {@link DeduplicatingStringDeserializer} on the String properties that repeat heavily across a sheet
+ * (cell display values, column titles, contact and user names/emails). Other properties are left untouched.
+ */
+public class StringDeduplicationModifier extends BeanDeserializerModifier {
+
+    private static final Map<Class<?>, Set<String>> DEDUPLICATED_PROPERTIES = Map.of(
+            Cell.class, Set.of("displayValue"),
+            Column.class, Set.of("title"),
+            Contact.class, Set.of("name", "email"),
+            UserModel.class, Set.of("email", "firstName", "lastName"),
+            UserModelWithName.class, Set.of("name")
+    );
+
+    @Override
+    public BeanDeserializerBuilder updateBuilder(DeserializationConfig config, BeanDescription beanDesc,
+                                                 BeanDeserializerBuilder builder) {
+        Class<?> beanClass = beanDesc.getBeanClass();
+        List<SettableBeanProperty> replacements = null;
+        Iterator<SettableBeanProperty> properties = builder.getProperties();
+        while (properties.hasNext()) {
+            SettableBeanProperty property = properties.next();
+            if (property.getType().getRawClass() == String.class && isDeduplicated(beanClass, property.getName())) {
+                if (replacements == null) {
+                    replacements = new ArrayList<>();
+                }
+                replacements.add(property.withValueDeserializer(DeduplicatingStringDeserializer.INSTANCE));
+            }
+        }
+        if (replacements != null) {
+            for (SettableBeanProperty replacement : replacements) {
+                builder.addOrReplaceProperty(replacement, true);
+            }
+        }
+        return builder;
+    }
+
+    private static boolean isDeduplicated(Class<?> beanClass, String propertyName) {
+        for (Map.Entry<Class<?>, Set<String>> entry : DEDUPLICATED_PROPERTIES.entrySet()) {
+            if (entry.getKey().isAssignableFrom(beanClass) && entry.getValue().contains(propertyName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
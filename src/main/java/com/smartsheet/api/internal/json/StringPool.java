@@ -0,0 +1,94 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.json;
+
+/**
+ * A bounded symbol table used to canonicalize strings that repeat many times across a response (picklist display
+ * values, column titles, contact names and emails, etc.) so that equal values share a single String instance.
+ * <p>
+ * The table is a fixed size, direct-mapped cache: each string hashes to exactly one slot and a colliding string simply
+ * replaces the previous occupant. Memory use is therefore bounded by the capacity regardless of how many distinct
+ * values are seen, and lookups never allocate.
+ * <p>
+ * Thread Safety: This class is thread safe. Slots are written without synchronization, which is benign because
+ * Strings are immutable; a lost update only means a value is not deduplicated.
+ */
+public final class StringPool {
+    /** the default number of slots in the table */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /** strings longer than this are returned as-is, so free-form text doesn't pin memory in the table */
+    public static final int DEFAULT_MAX_LENGTH = 256;
+
+    private final String[] table;
+    private final int mask;
+    private final int maxLength;
+
+    /**
+     * Constructor using {@link #DEFAULT_CAPACITY} and {@link #DEFAULT_MAX_LENGTH}.
+     */
+    public StringPool() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity the number of slots in the table (rounded up to the next power of two)
+     * @param maxLength the longest string that will be canonicalized
+     * @throws IllegalArgumentException if capacity is not positive or maxLength is negative
+     */
+    public StringPool(int capacity, int maxLength) {
+        if (capacity <= 0 || capacity > (1 << 30) || maxLength < 0) {
+            throw new IllegalArgumentException();
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.table = new String[size];
+        this.mask = size - 1;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Return the canonical instance of the given string.
+     *
+     * @param value the string to canonicalize (may be null)
+     * @return a previously seen String equal to value, or value itself
+     */
+    public String canonicalize(String value) {
+        if (value == null || value.length() > maxLength) {
+            return value;
+        }
+        int hash = value.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        String existing = table[slot];
+        if (existing != null && existing.equals(value)) {
+            return existing;
+        }
+        table[slot] = value;
+        return value;
+    }
+
+    /**
+     * @return the number of slots in the table
+     */
+    public int getCapacity() {
+        return table.length;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.smartsheet.api.internal.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.smartsheet.api.internal.util.DateUtil;
+
+import java.io.IOException;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+
+/**
+ * De-serializes API timestamps (createdAt, modifiedAt, ...) using java.time instead of a shared SimpleDateFormat.
+ * Epoch milliseconds, returned when numericDates is requested, are read directly.
+ */
+public class TimestampDeserializer extends JsonDeserializer<Date> {
+
+    @Override
+    public Date deserialize(JsonParser jsonParser, DeserializationContext ctx) throws IOException {
+        JsonToken token = jsonParser.getCurrentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return new Date(jsonParser.getLongValue());
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            String text = jsonParser.getText().trim();
+            if (text.isEmpty()) {
+                return null;
+            }
+            try {
+                return Date.from(DateUtil.parseTimestamp(text));
+            } catch (DateTimeParseException e) {
+                throw ctx.weirdStringException(text, Date.class, e.getMessage());
+            }
+        }
+        return (Date) ctx.handleUnexpectedToken(Date.class, jsonParser);
+    }
+}
@@ -408,6 +408,7 @@ public class OAuthFlowImpl implements OAuthFlow {
             expiresIn = 0L;
         }
         token.setExpiresInSeconds(expiresIn);
+        token.setExpiresAt(expiresIn > 0 ? System.currentTimeMillis() + expiresIn * 1000 : 0);
 
         return token;
     }
@@ -0,0 +1,115 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.util;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+/**
+ * Thread safe, pre-built formatters and parsers for the date formats used by the Smartsheet API.
+ */
+public class DateUtil {
+
+    /**
+     * Format of timestamps in request and response bodies, e.g. 2024-01-31T17:45:00Z
+     */
+    public static final DateTimeFormatter TIMESTAMP_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'").withZone(ZoneOffset.UTC);
+
+    /**
+     * Format of date query parameters such as modifiedSince, e.g. 2024-01-31T17:45:00+0000
+     */
+    public static final DateTimeFormatter QUERY_PARAMETER_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssZ").withZone(ZoneOffset.UTC);
+
+    private static final int SECONDS_PER_DAY = 86400;
+
+    private DateUtil() {}
+
+    /**
+     * Formats a date as an API timestamp.
+     *
+     * @param date the date
+     * @return the formatted timestamp
+     */
+    public static String formatTimestamp(Date date) {
+        return TIMESTAMP_FORMATTER.format(date.toInstant());
+    }
+
+    /**
+     * Formats a date for use as a query parameter.
+     *
+     * @param date the date
+     * @return the formatted date
+     */
+    public static String formatQueryParameter(Date date) {
+        return QUERY_PARAMETER_FORMATTER.format(date.toInstant());
+    }
+
+    /**
+     * Parses an API timestamp. The yyyy-MM-dd'T'HH:mm:ss'Z' form returned by the API is parsed without going through
+     * a {@link DateTimeFormatter}; any other ISO-8601 date-time with an offset is accepted as well.
+     *
+     * @param text the timestamp
+     * @return the instant
+     * @throws java.time.format.DateTimeParseException if the text is not a valid timestamp
+     */
+    public static Instant parseTimestamp(String text) {
+        if (text.length() == 20 && text.charAt(4) == '-' && text.charAt(7) == '-' && text.charAt(10) == 'T'
+                && text.charAt(13) == ':' && text.charAt(16) == ':' && text.charAt(19) == 'Z') {
+            int year = parseDigits(text, 0, 4);
+            int month = parseDigits(text, 5, 7);
+            int day = parseDigits(text, 8, 10);
+            int hour = parseDigits(text, 11, 13);
+            int minute = parseDigits(text, 14, 16);
+            int second = parseDigits(text, 17, 19);
+            if (year >= 0 && month >= 0 && day >= 0 && hour >= 0 && minute >= 0 && second >= 0) {
+                try {
+                    long epochDay = LocalDate.of(year, month, day).toEpochDay();
+                    return Instant.ofEpochSecond(epochDay * SECONDS_PER_DAY
+                            + LocalTime.of(hour, minute, second).toSecondOfDay());
+                } catch (DateTimeException e) {
+                    // Out of range field, let the formatter below report it
+                }
+            }
+        }
+        return OffsetDateTime.parse(text).toInstant();
+    }
+
+    /**
+     * Parses an ASCII number from text[start, end).
+     *
+     * @return the number, or -1 if any of the characters is not a digit
+     */
+    private static int parseDigits(String text, int start, int end) {
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+}
@@ -23,6 +23,11 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -36,6 +41,10 @@ public class StreamUtil {
     public static final int ONE_MB = 1 << 20;
     public static final int ONE_KB = 1 << 10;
     public static final int TEN_KB = 10 * ONE_KB;
+    public static final int TRANSFER_BUFFER_SIZE = 256 * ONE_KB;
+
+    /** reused by transferContent() so that large copies (such as exports) don't allocate a buffer per call */
+    private static final ThreadLocal<byte[]> TRANSFER_BUFFER = ThreadLocal.withInitial(() -> new byte[TRANSFER_BUFFER_SIZE]);
 
     /**
      * read all bytes from an InputStream; doesn't close input-stream
@@ -92,6 +101,64 @@ public class StreamUtil {
         return bytesWritten;
     }
 
+    /**
+     * copy all bytes from an InputStream into an OutputStream through a pooled, per-thread buffer of
+     * TRANSFER_BUFFER_SIZE; doesn't close either stream
+     * @param source the input stream to consume
+     * @param target the output stream to write to
+     * @return the number of bytes copied
+     * @throws IOException if anything goes wrong reading from source or writing to target
+     */
+    public static long transferContent(InputStream source, OutputStream target) throws IOException {
+        byte[] buffer = TRANSFER_BUFFER.get();
+        long bytesWritten = 0;
+        int bytesRead;
+        while ((bytesRead = source.read(buffer)) != -1) {
+            target.write(buffer, 0, bytesRead);
+            bytesWritten += bytesRead;
+        }
+        return bytesWritten;
+    }
+
+    /**
+     * copy all bytes from an InputStream into a channel; doesn't close either. A FileChannel is written with
+     * FileChannel.transferFrom (starting at, and then advancing, its position), any other channel through a pooled,
+     * per-thread buffer of TRANSFER_BUFFER_SIZE
+     * @param source the input stream to consume
+     * @param target the channel to write to
+     * @return the number of bytes copied
+     * @throws IOException if anything goes wrong reading from source or writing to target
+     */
+    public static long transferContent(InputStream source, WritableByteChannel target) throws IOException {
+        if (target instanceof FileChannel) {
+            FileChannel file = (FileChannel) target;
+            ReadableByteChannel channel = Channels.newChannel(source);
+            long start = file.position();
+            long position = start;
+            while (true) {
+                long n = file.transferFrom(channel, position, TRANSFER_BUFFER_SIZE);
+                position += n;
+                if (n < TRANSFER_BUFFER_SIZE) {
+                    break;
+                }
+            }
+            file.position(position);
+            return position - start;
+        }
+
+        byte[] buffer = TRANSFER_BUFFER.get();
+        long bytesWritten = 0;
+        int bytesRead;
+        while ((bytesRead = source.read(buffer)) != -1) {
+            ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, bytesRead);
+            while (bytes.hasRemaining()) {
+                target.write(bytes);
+            }
+            bytesWritten += bytesRead;
+        }
+        return bytesWritten;
+    }
+
     /**
      * used when you want to clone a InputStream's content and still have it appear "rewound" to the stream beginning
      * @param source       the stream around the contents we want to clone
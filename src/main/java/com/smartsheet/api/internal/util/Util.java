@@ -16,8 +16,16 @@
 
 package com.smartsheet.api.internal.util;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class Util {
 
+    /** the number of thread factories created so far for each thread name prefix */
+    private static final Map<String, AtomicInteger> THREAD_FACTORY_COUNTS = new ConcurrentHashMap<>();
+
     private Util() {}
 
     /** faster util method that avoids creation of array for single-arg cases */
@@ -64,4 +72,24 @@ public class Util {
             throwIfEmpty(string);
         }
     }
+
+    /**
+     * Creates the thread factory of a background executor. Its threads are daemons, so an executor that isn't shut
+     * down doesn't keep the JVM alive, and are named prefix-factory-thread, such as "smartsheet-upload-2-1" for the
+     * first thread of the second factory with the prefix "smartsheet-upload".
+     *
+     * @param prefix the start of the threads' names
+     * @return the thread factory
+     */
+    public static ThreadFactory daemonThreadFactory(String prefix) {
+        throwIfNull(prefix);
+        String factoryPrefix = prefix + "-"
+                + THREAD_FACTORY_COUNTS.computeIfAbsent(prefix, key -> new AtomicInteger()).incrementAndGet() + "-";
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, factoryPrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
 }
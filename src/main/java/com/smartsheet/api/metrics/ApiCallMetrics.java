@@ -0,0 +1,263 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.metrics;
+
+import com.smartsheet.api.internal.http.HttpMethod;
+
+/**
+ * The measurements of one API call, see {@link SmartsheetMetrics#onApiCall(ApiCallMetrics)}.
+ * <p>
+ * The phase timings describe the call's last attempt, the one whose response the caller got; {@link #getTotalNanos()}
+ * spans every attempt and the backoff between them. A phase the transport can't observe is -1, for example the
+ * queue and connect phases of an Apache HttpClient that was supplied to
+ * {@link com.smartsheet.api.internal.http.DefaultHttpClient} rather than created by it.
+ * <p>
+ * Thread Safety: This class is thread safe since it's immutable.
+ */
+public final class ApiCallMetrics {
+    private final String endpoint;
+    private final HttpMethod method;
+    private final int statusCode;
+    private final Integer errorCode;
+    private final Throwable failure;
+    private final long queueNanos;
+    private final long connectNanos;
+    private final long timeToFirstByteNanos;
+    private final long bodyReadNanos;
+    private final long totalNanos;
+    private final long requestBytes;
+    private final long responseBytes;
+    private final int attempts;
+    private final long backoffNanos;
+
+    private ApiCallMetrics(Builder builder) {
+        this.endpoint = builder.endpoint;
+        this.method = builder.method;
+        this.statusCode = builder.statusCode;
+        this.errorCode = builder.errorCode;
+        this.failure = builder.failure;
+        this.queueNanos = builder.queueNanos;
+        this.connectNanos = builder.connectNanos;
+        this.timeToFirstByteNanos = builder.timeToFirstByteNanos;
+        this.bodyReadNanos = builder.bodyReadNanos;
+        this.totalNanos = builder.totalNanos;
+        this.requestBytes = builder.requestBytes;
+        this.responseBytes = builder.responseBytes;
+        this.attempts = builder.attempts;
+        this.backoffNanos = builder.backoffNanos;
+    }
+
+    /**
+     * @return the path of the call with its ids replaced by {id}, for example "sheets/{id}/rows"
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public HttpMethod getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the HTTP status of the response, or 0 if there was no response
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * @return the Smartsheet error code of an error response, or null
+     */
+    public Integer getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * @return the exception that prevented a response, or null
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * @return true if the call got a 2xx response
+     */
+    public boolean isSuccessful() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    /**
+     * @return the time spent waiting for a pooled connection, or -1 if unknown
+     */
+    public long getQueueNanos() {
+        return queueNanos;
+    }
+
+    /**
+     * @return the time spent opening a connection (including the TLS handshake), 0 if a pooled one was reused, or -1
+     *     if unknown
+     */
+    public long getConnectNanos() {
+        return connectNanos;
+    }
+
+    /**
+     * @return the time from sending the request to receiving the response headers; if the queue and connect phases
+     *     are unknown this includes them
+     */
+    public long getTimeToFirstByteNanos() {
+        return timeToFirstByteNanos;
+    }
+
+    /**
+     * @return the time spent reading the response body
+     */
+    public long getBodyReadNanos() {
+        return bodyReadNanos;
+    }
+
+    /**
+     * @return the time from the start of the call until its connection was released
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return the size of the request body, or -1 if unknown
+     */
+    public long getRequestBytes() {
+        return requestBytes;
+    }
+
+    /**
+     * @return the bytes read from the response body
+     */
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    /**
+     * @return the number of requests made for the call, 1 unless it was retried
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @return the time spent backing off between retries
+     */
+    public long getBackoffNanos() {
+        return backoffNanos;
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + endpoint + " status=" + statusCode + (errorCode == null ? "" : " errorCode=" + errorCode)
+                + " attempts=" + attempts + " totalNanos=" + totalNanos;
+    }
+
+    /**
+     * Builds an {@link ApiCallMetrics}; used by the HTTP clients and by tests of {@link SmartsheetMetrics}
+     * implementations.
+     */
+    public static final class Builder {
+        private final HttpMethod method;
+        private final String endpoint;
+        private int statusCode;
+        private Integer errorCode;
+        private Throwable failure;
+        private long queueNanos = -1;
+        private long connectNanos = -1;
+        private long timeToFirstByteNanos = -1;
+        private long bodyReadNanos;
+        private long totalNanos;
+        private long requestBytes = -1;
+        private long responseBytes;
+        private int attempts = 1;
+        private long backoffNanos;
+
+        public Builder(HttpMethod method, String endpoint) {
+            this.method = method;
+            this.endpoint = endpoint;
+        }
+
+        public Builder setStatusCode(int statusCode) {
+            this.statusCode = statusCode;
+            return this;
+        }
+
+        public Builder setErrorCode(Integer errorCode) {
+            this.errorCode = errorCode;
+            return this;
+        }
+
+        public Builder setFailure(Throwable failure) {
+            this.failure = failure;
+            return this;
+        }
+
+        public Builder setQueueNanos(long queueNanos) {
+            this.queueNanos = queueNanos;
+            return this;
+        }
+
+        public Builder setConnectNanos(long connectNanos) {
+            this.connectNanos = connectNanos;
+            return this;
+        }
+
+        public Builder setTimeToFirstByteNanos(long timeToFirstByteNanos) {
+            this.timeToFirstByteNanos = timeToFirstByteNanos;
+            return this;
+        }
+
+        public Builder setBodyReadNanos(long bodyReadNanos) {
+            this.bodyReadNanos = bodyReadNanos;
+            return this;
+        }
+
+        public Builder setTotalNanos(long totalNanos) {
+            this.totalNanos = totalNanos;
+            return this;
+        }
+
+        public Builder setRequestBytes(long requestBytes) {
+            this.requestBytes = requestBytes;
+            return this;
+        }
+
+        public Builder setResponseBytes(long responseBytes) {
+            this.responseBytes = responseBytes;
+            return this;
+        }
+
+        public Builder setAttempts(int attempts) {
+            this.attempts = attempts;
+            return this;
+        }
+
+        public Builder setBackoffNanos(long backoffNanos) {
+            this.backoffNanos = backoffNanos;
+            return this;
+        }
+
+        public ApiCallMetrics build() {
+            return new ApiCallMetrics(this);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.metrics;
+
+/**
+ * A sample of a client's connection pool, see {@link SmartsheetMetrics#onConnectionPool(ConnectionPoolStats)}.
+ * Counts the transport doesn't track are -1.
+ * <p>
+ * Thread Safety: This class is thread safe since it's immutable.
+ */
+public final class ConnectionPoolStats {
+    private final int leased;
+    private final int available;
+    private final int pending;
+    private final int max;
+
+    /**
+     * Constructor.
+     *
+     * @param leased the connections in use by calls
+     * @param available the idle connections kept open for reuse
+     * @param pending the calls waiting for a connection
+     * @param max the most connections the pool will open
+     */
+    public ConnectionPoolStats(int leased, int available, int pending, int max) {
+        this.leased = leased;
+        this.available = available;
+        this.pending = pending;
+        this.max = max;
+    }
+
+    /**
+     * @return the connections in use by calls
+     */
+    public int getLeased() {
+        return leased;
+    }
+
+    /**
+     * @return the idle connections kept open for reuse
+     */
+    public int getAvailable() {
+        return available;
+    }
+
+    /**
+     * @return the calls waiting for a connection, or -1 if unknown
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    /**
+     * @return the most connections the pool will open, or -1 if it is unbounded
+     */
+    public int getMax() {
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return "leased=" + leased + " available=" + available + " pending=" + pending + " max=" + max;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.metrics;
+
+import com.smartsheet.api.internal.http.HttpMethod;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link SmartsheetMetrics} that keeps, in memory, a {@link LatencyHistogram} and counters for each endpoint, so
+ * an application can read or periodically publish per-endpoint percentiles such as the p99.
+ * <pre>
+ * HistogramMetrics metrics = new HistogramMetrics();
+ * Smartsheet smartsheet = new SmartsheetBuilder().setMetrics(metrics).build();
+ * ...
+ * long p99 = metrics.getEndpoint(HttpMethod.GET, "sheets/{id}").getLatency().getValueAtPercentile(99);
+ * </pre>
+ * <p>
+ * Thread Safety: This class is thread safe.
+ */
+public class HistogramMetrics implements SmartsheetMetrics {
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private volatile ConnectionPoolStats connectionPool;
+
+    @Override
+    public void onApiCall(ApiCallMetrics call) {
+        endpoints.computeIfAbsent(key(call.getMethod(), call.getEndpoint()), key -> new EndpointStats()).record(call);
+    }
+
+    @Override
+    public void onConnectionPool(ConnectionPoolStats stats) {
+        connectionPool = stats;
+    }
+
+    /**
+     * @return the stats of an endpoint, or null if it hasn't been called
+     */
+    public EndpointStats getEndpoint(HttpMethod method, String endpoint) {
+        return endpoints.get(key(method, endpoint));
+    }
+
+    /**
+     * @return the stats of every endpoint called so far, keyed by method and endpoint such as "GET sheets/{id}"
+     */
+    public Map<String, EndpointStats> getEndpoints() {
+        return Collections.unmodifiableMap(new TreeMap<>(endpoints));
+    }
+
+    /**
+     * @return the most recent connection pool sample, or null if the client's pool can't be inspected
+     */
+    public ConnectionPoolStats getConnectionPool() {
+        return connectionPool;
+    }
+
+    /**
+     * Forgets every endpoint's stats.
+     */
+    public void reset() {
+        endpoints.clear();
+    }
+
+    private static String key(HttpMethod method, String endpoint) {
+        return method + " " + endpoint;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, EndpointStats> entry : getEndpoints().entrySet()) {
+            builder.append(entry.getKey()).append(": ").append(entry.getValue()).append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The latency histogram and counters of one endpoint.
+     * <p>
+     * Thread Safety: This class is thread safe.
+     */
+    public static final class EndpointStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram timeToFirstByte = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder requestBytes = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+
+        void record(ApiCallMetrics call) {
+            latency.record(call.getTotalNanos());
+            timeToFirstByte.record(call.getTimeToFirstByteNanos());
+            if (!call.isSuccessful()) {
+                errors.increment();
+            }
+            retries.add(call.getAttempts() - 1L);
+            requestBytes.add(Math.max(call.getRequestBytes(), 0));
+            responseBytes.add(call.getResponseBytes());
+        }
+
+        /**
+         * @return the histogram of total call times, including retries
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        /**
+         * @return the histogram of times to the response headers of each call's last attempt
+         */
+        public LatencyHistogram getTimeToFirstByte() {
+            return timeToFirstByte;
+        }
+
+        public long getCallCount() {
+            return latency.getCount();
+        }
+
+        /**
+         * @return the calls that got an error response or no response
+         */
+        public long getErrorCount() {
+            return errors.sum();
+        }
+
+        /**
+         * @return the retried attempts across all calls
+         */
+        public long getRetryCount() {
+            return retries.sum();
+        }
+
+        public long getRequestBytes() {
+            return requestBytes.sum();
+        }
+
+        public long getResponseBytes() {
+            return responseBytes.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "calls=" + getCallCount() + " errors=" + getErrorCount() + " retries=" + getRetryCount()
+                    + " p50=" + latency.getValueAtPercentile(50) / 1000 + "us"
+                    + " p99=" + latency.getValueAtPercentile(99) / 1000 + "us"
+                    + " max=" + latency.getMax() / 1000 + "us";
+        }
+    }
+}
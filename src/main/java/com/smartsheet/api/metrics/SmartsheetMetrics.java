@@ -0,0 +1,49 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.metrics;
+
+/**
+ * Receives a measurement for every API call a client makes, so calls can be counted and timed per endpoint without
+ * wrapping every resource method. Register one with
+ * {@link com.smartsheet.api.SmartsheetBuilder#setMetrics(SmartsheetMetrics)}; {@link HistogramMetrics} is an
+ * in-memory implementation that keeps latency percentiles per endpoint.
+ * <p>
+ * A call is reported once, when its connection is released, after all its retries and after the response body has
+ * been read, so the measurement covers the whole call as the caller saw it.
+ * <p>
+ * Thread Safety: Implementations must be thread safe; they are called on the threads making the calls, and should
+ * return quickly since the call's thread waits for them.
+ */
+public interface SmartsheetMetrics {
+
+    /**
+     * Called when an API call completes, whether it succeeded, failed with an error response or failed to get a
+     * response at all.
+     *
+     * @param call the call's measurements
+     */
+    void onApiCall(ApiCallMetrics call);
+
+    /**
+     * Called after each API call with the state of the client's connection pool, for clients whose pool can be
+     * inspected.
+     *
+     * @param stats the connection pool's state
+     */
+    default void onConnectionPool(ConnectionPoolStats stats) {
+    }
+}
@@ -16,9 +16,13 @@
 
 package com.smartsheet.api.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.smartsheet.api.models.enums.CellPrimitiveType;
 import com.smartsheet.api.models.enums.ColumnType;
 import com.smartsheet.api.models.format.Format;
 
+import java.time.DateTimeException;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -27,6 +31,11 @@ import java.util.List;
  */
 public class Cell {
 
+    /**
+     * Marks a value that is not a yyyy-MM-dd date, no valid epoch day is this small.
+     */
+    private static final long NOT_A_DATE = Long.MIN_VALUE;
+
     /**
      * Represents the column columnType.
      */
@@ -42,6 +51,16 @@ public class Cell {
      */
     private Object value;
 
+    /**
+     * Represents the type of the primitive held in primitiveValue, null if the value is not a number, boolean or date.
+     */
+    private CellPrimitiveType primitiveType;
+
+    /**
+     * Represents a number, boolean or date value without boxing, interpreted according to primitiveType.
+     */
+    private long primitiveValue;
+
     /**
      * is an object representation of the cell's value and is currently used for adding or updating predecessor cell values
      */
@@ -168,6 +187,10 @@ public class Cell {
      * @return the value
      */
     public Object getValue() {
+        if (value == null && primitiveType != null) {
+            // Set through one of the primitive setters, only box when someone actually asks for the object
+            value = boxPrimitiveValue();
+        }
         return value;
     }
 
@@ -178,6 +201,135 @@ public class Cell {
      */
     public Cell setValue(Object value) {
         this.value = value;
+        this.primitiveType = null;
+        if (value instanceof Double || value instanceof Float) {
+            setPrimitive(CellPrimitiveType.DOUBLE, Double.doubleToRawLongBits(((Number) value).doubleValue()));
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            setPrimitive(CellPrimitiveType.LONG, ((Number) value).longValue());
+        } else if (value instanceof Boolean) {
+            setPrimitive(CellPrimitiveType.BOOLEAN, (Boolean) value ? 1 : 0);
+        } else if (value instanceof String) {
+            long epochDay = parseIsoDate((String) value);
+            if (epochDay != NOT_A_DATE) {
+                setPrimitive(CellPrimitiveType.DATE, epochDay);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Gets the type of primitive held by the value, which tells which of {@link #getLong()}, {@link #getDouble()},
+     * {@link #getBoolean()} or {@link #getEpochDay()} can be used to read it without boxing.
+     *
+     * @return the primitive type, or null if the value is empty or not a number, boolean or date
+     */
+    @JsonIgnore
+    public CellPrimitiveType getPrimitiveType() {
+        return primitiveType;
+    }
+
+    /**
+     * Gets a numeric value as a double.
+     *
+     * @return the value
+     * @throws IllegalStateException if the value is not a number
+     */
+    @JsonIgnore
+    public double getDouble() {
+        if (primitiveType == CellPrimitiveType.DOUBLE) {
+            return Double.longBitsToDouble(primitiveValue);
+        } else if (primitiveType == CellPrimitiveType.LONG) {
+            return primitiveValue;
+        }
+        throw new IllegalStateException("The cell value is not a number");
+    }
+
+    /**
+     * Sets the value to a floating point number without boxing it.
+     *
+     * @param value the new value
+     */
+    public Cell setDouble(double value) {
+        this.value = null;
+        setPrimitive(CellPrimitiveType.DOUBLE, Double.doubleToRawLongBits(value));
+        return this;
+    }
+
+    /**
+     * Gets a numeric value as a long, truncating any fractional part.
+     *
+     * @return the value
+     * @throws IllegalStateException if the value is not a number
+     */
+    @JsonIgnore
+    public long getLong() {
+        if (primitiveType == CellPrimitiveType.LONG) {
+            return primitiveValue;
+        } else if (primitiveType == CellPrimitiveType.DOUBLE) {
+            return (long) Double.longBitsToDouble(primitiveValue);
+        }
+        throw new IllegalStateException("The cell value is not a number");
+    }
+
+    /**
+     * Sets the value to a whole number without boxing it.
+     *
+     * @param value the new value
+     */
+    public Cell setLong(long value) {
+        this.value = null;
+        setPrimitive(CellPrimitiveType.LONG, value);
+        return this;
+    }
+
+    /**
+     * Gets a boolean value, such as the value of a CHECKBOX cell.
+     *
+     * @return the value
+     * @throws IllegalStateException if the value is not a boolean
+     */
+    @JsonIgnore
+    public boolean getBoolean() {
+        if (primitiveType == CellPrimitiveType.BOOLEAN) {
+            return primitiveValue != 0;
+        }
+        throw new IllegalStateException("The cell value is not a boolean");
+    }
+
+    /**
+     * Sets the value to a boolean without boxing it.
+     *
+     * @param value the new value
+     */
+    public Cell setBoolean(boolean value) {
+        this.value = null;
+        setPrimitive(CellPrimitiveType.BOOLEAN, value ? 1 : 0);
+        return this;
+    }
+
+    /**
+     * Gets a date value, such as the value of a {@link ColumnType#DATE} cell, as the number of days since 1970-01-01.
+     * The date is parsed once when the value is set, so repeated reads do not parse the string again.
+     *
+     * @return the epoch day, see {@link LocalDate#ofEpochDay(long)}
+     * @throws IllegalStateException if the value is not a date in the yyyy-MM-dd form
+     */
+    @JsonIgnore
+    public long getEpochDay() {
+        if (primitiveType == CellPrimitiveType.DATE) {
+            return primitiveValue;
+        }
+        throw new IllegalStateException("The cell value is not a date");
+    }
+
+    /**
+     * Sets the value to a date, given as the number of days since 1970-01-01.
+     *
+     * @param epochDay the new value, see {@link LocalDate#toEpochDay()}
+     */
+    public Cell setEpochDay(long epochDay) {
+        this.value = null;
+        setPrimitive(CellPrimitiveType.DATE, epochDay);
         return this;
     }
 
@@ -408,6 +560,64 @@ public class Cell {
         return this;
     }
 
+    private void setPrimitive(CellPrimitiveType primitiveType, long primitiveValue) {
+        this.primitiveType = primitiveType;
+        this.primitiveValue = primitiveValue;
+    }
+
+    private Object boxPrimitiveValue() {
+        switch (primitiveType) {
+            case LONG:
+                // Match what Jackson produces for whole numbers: Integer when it fits, Long otherwise
+                if (primitiveValue == (int) primitiveValue) {
+                    return (int) primitiveValue;
+                }
+                return primitiveValue;
+            case DOUBLE:
+                return Double.longBitsToDouble(primitiveValue);
+            case BOOLEAN:
+                return primitiveValue != 0;
+            case DATE:
+                return LocalDate.ofEpochDay(primitiveValue).toString();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Parses a yyyy-MM-dd date, the form used for DATE column values.
+     *
+     * @return the epoch day, or NOT_A_DATE if the value is not such a date
+     */
+    private static long parseIsoDate(String value) {
+        if (value.length() != 10 || value.charAt(4) != '-' || value.charAt(7) != '-') {
+            return NOT_A_DATE;
+        }
+        int year = parseDigits(value, 0, 4);
+        int month = parseDigits(value, 5, 7);
+        int day = parseDigits(value, 8, 10);
+        if (year < 0 || month < 0 || day < 0) {
+            return NOT_A_DATE;
+        }
+        try {
+            return LocalDate.of(year, month, day).toEpochDay();
+        } catch (DateTimeException e) {
+            return NOT_A_DATE;
+        }
+    }
+
+    private static int parseDigits(String value, int start, int end) {
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
     /**
      * A convenience class for quickly creating a List of cells to add.
      */
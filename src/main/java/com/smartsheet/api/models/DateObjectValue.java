@@ -16,30 +16,64 @@
 
 package com.smartsheet.api.models;
 
+import com.smartsheet.api.internal.util.DateUtil;
 import com.smartsheet.api.models.enums.ObjectValueType;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
 
 public class DateObjectValue implements ObjectValue {
     public static final String ABSTRACT_DATETIME_FORMAT = "yyyy-MM-dd'T'HH:mm:ss";
     public static final String DATETIME_FORMAT = "yyyy-MM-dd'T'HH:mm:ss'Z'";
     public static final String DATE_FORMAT = "yyyy-MM-dd";
+    private static final DateTimeFormatter ABSTRACT_DATETIME_FORMATTER = DateTimeFormatter.ofPattern(ABSTRACT_DATETIME_FORMAT);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_FORMAT);
     private ObjectValueType objectType;
     private String value;
     private Date date;
 
     /**
-     * Get DateObjectValue from date
+     * Get DateObjectValue from date. DATE and ABSTRACT_DATETIME values are taken in the default time zone, DATETIME
+     * values in UTC.
      */
     public static DateObjectValue fromDate(ObjectValueType objectValueType, Date date) {
-        SimpleDateFormat simpleDateFormat = new SimpleDateFormat(getFormatPattern(objectValueType));
-        String value = simpleDateFormat.format(date);
+        return fromInstant(objectValueType, date.toInstant());
+    }
 
+    /**
+     * Get DateObjectValue from an instant. DATE and ABSTRACT_DATETIME values are taken in the default time zone,
+     * DATETIME values in UTC.
+     */
+    public static DateObjectValue fromInstant(ObjectValueType objectValueType, Instant instant) {
+        String value;
+        switch (checkType(objectValueType)) {
+            case DATETIME:
+                value = DateUtil.TIMESTAMP_FORMATTER.format(instant);
+                break;
+            case ABSTRACT_DATETIME:
+                value = ABSTRACT_DATETIME_FORMATTER.format(LocalDateTime.ofInstant(instant, ZoneId.systemDefault()));
+                break;
+            default:
+                value = DATE_FORMATTER.format(LocalDateTime.ofInstant(instant, ZoneId.systemDefault()));
+                break;
+        }
         return new DateObjectValue(objectValueType, value);
     }
 
+    /**
+     * Get a DATE DateObjectValue from a local date.
+     */
+    public static DateObjectValue fromLocalDate(LocalDate localDate) {
+        return new DateObjectValue(ObjectValueType.DATE, DATE_FORMATTER.format(localDate));
+    }
+
     /**
      * Constructor
      */
@@ -58,6 +92,7 @@ public class DateObjectValue implements ObjectValue {
      */
     public DateObjectValue setObjectType(ObjectValueType objectType) {
         this.objectType = objectType;
+        this.date = null;
         return this;
     }
 
@@ -70,6 +105,7 @@ public class DateObjectValue implements ObjectValue {
      */
     public DateObjectValue setValue(String value) {
         this.value = value;
+        this.date = null;
         return this;
     }
 
@@ -78,21 +114,75 @@ public class DateObjectValue implements ObjectValue {
      */
     public Date toDate() throws ParseException {
         if (date == null && value != null) {
-            SimpleDateFormat simpleDateFormat = new SimpleDateFormat(getFormatPattern(objectType));
-            date = simpleDateFormat.parse(value);
+            try {
+                date = Date.from(toInstant());
+            } catch (DateTimeException e) {
+                throw new ParseException(e.getMessage(), 0);
+            }
         }
         return date;
     }
 
-    private static String getFormatPattern(ObjectValueType objectValueType) {
+    /**
+     * Convert to an Instant. DATE and ABSTRACT_DATETIME values are taken in the default time zone, DATETIME values
+     * in UTC.
+     *
+     * @return the instant, or null if there is no value
+     * @throws java.time.format.DateTimeParseException if the value can't be parsed
+     */
+    public Instant toInstant() {
+        if (value == null) {
+            return null;
+        }
+        if (checkType(objectType) == ObjectValueType.DATETIME) {
+            return DateUtil.parseTimestamp(value);
+        }
+        return toLocalDateTime().atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    /**
+     * Convert to a LocalDateTime, DATE values are at the start of the day and DATETIME values are in UTC.
+     *
+     * @return the local date-time, or null if there is no value
+     * @throws java.time.format.DateTimeParseException if the value can't be parsed
+     */
+    public LocalDateTime toLocalDateTime() {
+        if (value == null) {
+            return null;
+        }
+        switch (checkType(objectType)) {
+            case DATETIME:
+                return LocalDateTime.ofInstant(DateUtil.parseTimestamp(value), ZoneOffset.UTC);
+            case ABSTRACT_DATETIME:
+                return LocalDateTime.parse(value, ABSTRACT_DATETIME_FORMATTER);
+            default:
+                return LocalDate.parse(value, DATE_FORMATTER).atStartOfDay();
+        }
+    }
+
+    /**
+     * Convert to a LocalDate, the date part of DATETIME values is in UTC.
+     *
+     * @return the local date, or null if there is no value
+     * @throws java.time.format.DateTimeParseException if the value can't be parsed
+     */
+    public LocalDate toLocalDate() {
+        if (value == null) {
+            return null;
+        }
+        if (checkType(objectType) == ObjectValueType.DATE) {
+            return LocalDate.parse(value, DATE_FORMATTER);
+        }
+        return toLocalDateTime().toLocalDate();
+    }
+
+    private static ObjectValueType checkType(ObjectValueType objectValueType) {
         if (objectValueType != null) {
             switch (objectValueType) {
                 case ABSTRACT_DATETIME:
-                    return ABSTRACT_DATETIME_FORMAT;
                 case DATETIME:
-                    return DATETIME_FORMAT;
                 case DATE:
-                    return DATE_FORMAT;
+                    return objectValueType;
 
                 default:
                     // Throw IllegalArgumentException
@@ -16,13 +16,16 @@
 
 package com.smartsheet.api.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.smartsheet.api.internal.util.DateUtil;
 import com.smartsheet.api.models.enums.EventAction;
 import com.smartsheet.api.models.enums.EventObjectType;
 import com.smartsheet.api.models.enums.EventSource;
 
-import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Date;
 import java.util.Map;
-import java.util.TimeZone;
 
 public class Event {
 
@@ -166,11 +169,9 @@ public class Event {
      */
     public Event setEventTimestamp(Object eventTimestamp) {
         if (eventTimestamp instanceof String) {
-            SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss'Z'");
-            sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
             try {
-                this.eventTimestamp = sdf.parse(eventTimestamp.toString());
-            } catch (Exception e) {
+                this.eventTimestamp = Date.from(DateUtil.parseTimestamp(eventTimestamp.toString()));
+            } catch (DateTimeException e) {
                 // Empty Catch Block
             }
         } else {
@@ -179,6 +180,22 @@ public class Event {
         return this;
     }
 
+    /**
+     * Gets the event timestamp as an Instant, whether it was returned as a Date or, when the numericDates parameter is
+     * true on the API call, as epoch milliseconds.
+     *
+     * @return the event timestamp, or null if there is none
+     */
+    @JsonIgnore
+    public Instant getEventTimestampInstant() {
+        if (eventTimestamp instanceof Date) {
+            return ((Date) eventTimestamp).toInstant();
+        } else if (eventTimestamp instanceof Number) {
+            return Instant.ofEpochMilli(((Number) eventTimestamp).longValue());
+        }
+        return null;
+    }
+
     /**
      * Get the object ID of the object associated with the event
      *
@@ -0,0 +1,34 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.models.enums;
+
+/**
+ * Represents the kind of primitive held by a {@link com.smartsheet.api.models.Cell} value.
+ */
+public enum CellPrimitiveType {
+    /** The value is a whole number, see {@link com.smartsheet.api.models.Cell#getLong()}. */
+    LONG,
+
+    /** The value is a floating point number, see {@link com.smartsheet.api.models.Cell#getDouble()}. */
+    DOUBLE,
+
+    /** The value is a boolean (e.g. a CHECKBOX column), see {@link com.smartsheet.api.models.Cell#getBoolean()}. */
+    BOOLEAN,
+
+    /** The value is an ISO-8601 date (e.g. a DATE column), see {@link com.smartsheet.api.models.Cell#getEpochDay()}. */
+    DATE,
+}
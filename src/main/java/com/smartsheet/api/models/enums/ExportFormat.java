@@ -0,0 +1,50 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.models.enums;
+
+/**
+ * Represents the file formats a sheet or report can be exported to.
+ */
+public enum ExportFormat {
+    /**
+     * An Excel workbook.
+     */
+    EXCEL("application/vnd.ms-excel"),
+
+    /**
+     * Comma separated values.
+     */
+    CSV("text/csv"),
+
+    /**
+     * A PDF document; sheets only.
+     */
+    PDF("application/pdf");
+
+    private final String contentType;
+
+    ExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    /**
+     * @return the content type requested through the Accept header
+     */
+    public String getContentType() {
+        return contentType;
+    }
+}
@@ -216,6 +216,19 @@ public class Format {
         DATE_FORMAT
     }
 
+    /**
+     * Formats are equal when every attribute is the same, including which are unset.
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Format && Arrays.equals(formatArray, ((Format) other).formatArray);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(formatArray);
+    }
+
     /**
      * A utility class to help us parse the format string. Format strings are a comma separated list of integers.
      * Each position in the comma separated list maps to a specific format attribute. An attribute may not be set,
@@ -0,0 +1,243 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.oauth;
+
+import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.internal.util.Util;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URISyntaxException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>A {@link TokenProvider} that refreshes an OAuth token with {@link OAuthFlow#refreshToken(Token)} shortly before
+ * it expires, and again if a call is rejected because it has expired anyway.</p>
+ *
+ * <p>A refresh is shared: the first thread to need one makes it and threads needing one meanwhile wait for it. While a
+ * token that is about to expire is being refreshed, other threads keep using it until it actually expires. Each
+ * refreshed token is saved to the {@link TokenStore}, which is also checked for a newer token before refreshing after a
+ * rejection, in case another process sharing the store refreshed it first.</p>
+ *
+ * <pre>
+ * TokenProvider tokens = new RefreshingTokenProvider(oauthFlow, tokenStore);
+ * Smartsheet smartsheet = new SmartsheetBuilder().setTokenProvider(tokens).build();
+ * </pre>
+ *
+ * <p>Thread Safety: This class is thread safe.</p>
+ */
+public class RefreshingTokenProvider implements TokenProvider {
+    /** how long before a token expires it is refreshed, unless set otherwise */
+    public static final long DEFAULT_REFRESH_AHEAD_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshingTokenProvider.class);
+
+    private final OAuthFlow oauthFlow;
+    private final TokenStore tokenStore;
+    private volatile long refreshAheadMillis = DEFAULT_REFRESH_AHEAD_MILLIS;
+
+    /** guarded by this */
+    private Token current;
+
+    /** the access token that current replaced, so calls still in flight with it can be retried; guarded by this */
+    private String previousAccessToken;
+
+    /** the refresh in progress, or null; guarded by this */
+    private CompletableFuture<Token> refreshing;
+
+    /**
+     * Constructor, keeping the token in memory only.
+     *
+     * @param oauthFlow the flow to refresh the token with
+     * @param token the token, with its refresh token and, if known, its expiration time
+     */
+    public RefreshingTokenProvider(OAuthFlow oauthFlow, Token token) {
+        this(oauthFlow, new MemoryTokenStore(Util.throwIfNull(token)));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param oauthFlow the flow to refresh the token with
+     * @param tokenStore where the token is kept, which must have a token saved
+     */
+    public RefreshingTokenProvider(OAuthFlow oauthFlow, TokenStore tokenStore) {
+        this.oauthFlow = Util.throwIfNull(oauthFlow);
+        this.tokenStore = Util.throwIfNull(tokenStore);
+    }
+
+    /**
+     * @param refreshAheadMillis how long before a token expires it is refreshed
+     */
+    public void setRefreshAheadMillis(long refreshAheadMillis) {
+        this.refreshAheadMillis = refreshAheadMillis;
+    }
+
+    public long getRefreshAheadMillis() {
+        return refreshAheadMillis;
+    }
+
+    @Override
+    public String getAccessToken() {
+        Token token = current();
+        long expiresAt = token.getExpiresAt();
+        long now = System.currentTimeMillis();
+        if (expiresAt <= 0 || now < expiresAt - refreshAheadMillis) {
+            return token.getAccessToken();
+        }
+        boolean expired = now >= expiresAt;
+        if (!expired && isRefreshing()) {
+            // another thread is refreshing it, and it is good until then
+            return token.getAccessToken();
+        }
+        try {
+            return refresh(token).getAccessToken();
+        } catch (SmartsheetException e) {
+            // the call goes ahead; if the token has expired it is rejected and refreshAccessToken tries again
+            logger.warn("failed to refresh the access token before it expires", e);
+            return token.getAccessToken();
+        }
+    }
+
+    @Override
+    public String refreshAccessToken(String rejectedAccessToken) throws SmartsheetException {
+        Token token;
+        synchronized (this) {
+            token = current();
+            if (!token.getAccessToken().equals(rejectedAccessToken)) {
+                return rejectedAccessToken.equals(previousAccessToken) ? token.getAccessToken() : null;
+            }
+        }
+        Token stored = tokenStore.load();
+        if (stored != null && !rejectedAccessToken.equals(stored.getAccessToken())) {
+            replace(token, stored);
+            return stored.getAccessToken();
+        }
+        return refresh(token).getAccessToken();
+    }
+
+    /**
+     * Refreshes a token, or waits for the refresh already in progress.
+     *
+     * @param stale the token to refresh
+     * @return the refreshed token
+     * @throws SmartsheetException if the refresh fails
+     */
+    private Token refresh(Token stale) throws SmartsheetException {
+        CompletableFuture<Token> refresh;
+        boolean leader;
+        synchronized (this) {
+            if (current != stale) {
+                return current;
+            }
+            leader = refreshing == null;
+            if (leader) {
+                refreshing = new CompletableFuture<>();
+            }
+            refresh = refreshing;
+        }
+        if (!leader) {
+            return await(refresh);
+        }
+
+        try {
+            Token fresh = oauthFlow.refreshToken(stale);
+            if (fresh.getExpiresAt() <= 0 && fresh.getExpiresInSeconds() > 0) {
+                fresh.setExpiresAt(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(fresh.getExpiresInSeconds()));
+            }
+            tokenStore.save(fresh);
+            replace(stale, fresh);
+            finished(refresh);
+            refresh.complete(fresh);
+            return fresh;
+        } catch (SmartsheetException | RuntimeException e) {
+            finished(refresh);
+            refresh.completeExceptionally(e);
+            throw e;
+        } catch (URISyntaxException e) {
+            SmartsheetException failure = new SmartsheetException(e);
+            finished(refresh);
+            refresh.completeExceptionally(failure);
+            throw failure;
+        }
+    }
+
+    private synchronized Token current() {
+        if (current == null) {
+            current = tokenStore.load();
+            if (current == null) {
+                throw new IllegalStateException("the token store has no token");
+            }
+        }
+        return current;
+    }
+
+    private synchronized boolean isRefreshing() {
+        return refreshing != null;
+    }
+
+    private synchronized void replace(Token stale, Token fresh) {
+        if (current == stale) {
+            previousAccessToken = stale.getAccessToken();
+            current = fresh;
+        }
+    }
+
+    private synchronized void finished(CompletableFuture<Token> refresh) {
+        if (refreshing == refresh) {
+            refreshing = null;
+        }
+    }
+
+    private static Token await(CompletableFuture<Token> refresh) throws SmartsheetException {
+        try {
+            return refresh.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SmartsheetException("interrupted waiting for the access token to be refreshed", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SmartsheetException) {
+                throw (SmartsheetException) e.getCause();
+            }
+            throw new SmartsheetException("failed to refresh the access token", e.getCause());
+        }
+    }
+
+    /**
+     * Keeps a token in memory.
+     */
+    private static final class MemoryTokenStore implements TokenStore {
+        private volatile Token token;
+
+        MemoryTokenStore(Token token) {
+            this.token = token;
+        }
+
+        @Override
+        public Token load() {
+            return token;
+        }
+
+        @Override
+        public void save(Token token) {
+            this.token = token;
+        }
+    }
+}
@@ -40,6 +40,11 @@ public class Token {
      */
     private long expiresInSeconds;
 
+    /**
+     * Represents when the token expires, in milliseconds since the epoch, or 0 if unknown.
+     */
+    private long expiresAt;
+
     /**
      * Gets the access token.
      *
@@ -112,4 +117,21 @@ public class Token {
         this.expiresInSeconds = expiresInSeconds;
     }
 
+    /**
+     * Gets when the token expires.
+     *
+     * @return the expiration time in milliseconds since the epoch, or 0 if unknown
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Sets when the token expires.
+     *
+     * @param expiresAt the expiration time in milliseconds since the epoch, or 0 if unknown
+     */
+    public void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
 }
@@ -0,0 +1,49 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.oauth;
+
+import com.smartsheet.api.SmartsheetException;
+
+/**
+ * <p>Supplies the access token of a client's calls, in place of a fixed one, see
+ * {@link com.smartsheet.api.SmartsheetBuilder#setTokenProvider(TokenProvider)}. The client asks for the token as it
+ * makes each call, and when a call is rejected because its token has expired, asks for a new one and makes the call
+ * again once.</p>
+ *
+ * <p>Thread Safety: Implementations of this interface must be thread safe.</p>
+ */
+public interface TokenProvider {
+
+    /**
+     * <p>Returns the access token to make a call with. This is called for every call, so it should be cheap unless the
+     * token is about to expire.</p>
+     *
+     * @return the access token
+     */
+    String getAccessToken();
+
+    /**
+     * <p>Returns a new access token after a call with the given one was rejected as expired. When many calls are
+     * rejected together, each should be given the same new token rather than causing a refresh of its own.</p>
+     *
+     * @param rejectedAccessToken the access token that was rejected
+     * @return the access token to make the call again with, or null if the rejected token isn't this provider's
+     * @throws SmartsheetException if a new token can't be obtained
+     */
+    String refreshAccessToken(String rejectedAccessToken) throws SmartsheetException;
+}
@@ -0,0 +1,41 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.oauth;
+
+/**
+ * <p>Keeps the OAuth token of a {@link RefreshingTokenProvider}, so a refreshed token can outlive the process or be
+ * shared by several processes acting for the same user.</p>
+ *
+ * <p>Thread Safety: Implementations of this interface must be thread safe.</p>
+ */
+public interface TokenStore {
+
+    /**
+     * <p>Loads the most recently saved token.</p>
+     *
+     * @return the token, or null if none has been saved
+     */
+    Token load();
+
+    /**
+     * <p>Saves a newly refreshed token.</p>
+     *
+     * @param token the token, with its expiration time set
+     */
+    void save(Token token);
+}
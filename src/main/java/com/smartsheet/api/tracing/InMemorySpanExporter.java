@@ -0,0 +1,71 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the ended spans in memory, for tests and for inspecting a trace in-process.
+ * <p>
+ * Thread Safety: This class is thread safe.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+    private final List<Span> spans = new ArrayList<>();
+
+    @Override
+    public synchronized void export(Span span) {
+        spans.add(span);
+    }
+
+    /**
+     * @return the spans ended so far, in the order they ended
+     */
+    public synchronized List<Span> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    /**
+     * @return the ended spans with the given name
+     */
+    public synchronized List<Span> getSpans(String name) {
+        List<Span> named = new ArrayList<>();
+        for (Span span : spans) {
+            if (span.getName().equals(name)) {
+                named.add(span);
+            }
+        }
+        return named;
+    }
+
+    /**
+     * @return the ended spans whose parent is the given span
+     */
+    public synchronized List<Span> getChildren(Span parent) {
+        List<Span> children = new ArrayList<>();
+        for (Span span : spans) {
+            if (parent.getSpanId().equals(span.getParentSpanId())) {
+                children.add(span);
+            }
+        }
+        return children;
+    }
+
+    public synchronized void clear() {
+        spans.clear();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.tracing;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Appends each ended span to a file as a line of JSON, for example
+ * <pre>
+ * {"traceId":"...","spanId":"...","parentSpanId":"...","name":"GET sheets/{id}","startEpochNanos":...,
+ *  "durationNanos":...,"attributes":{"http.status_code":200},"error":null}
+ * </pre>
+ * so a test run or a local session can be examined, or loaded into a trace viewer, afterwards. Lines are buffered;
+ * {@link #flush()} or {@link #close()} writes them out.
+ * <p>
+ * Thread Safety: This class is thread safe.
+ */
+public class JsonFileSpanExporter implements SpanExporter, Closeable {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final Writer writer;
+
+    /**
+     * Constructor.
+     *
+     * @param file the file to append to; it is created if it doesn't exist
+     * @throws IOException if the file can't be opened
+     */
+    public JsonFileSpanExporter(Path file) throws IOException {
+        this(Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param writer where to write the lines; closed by {@link #close()}
+     */
+    public JsonFileSpanExporter(Writer writer) {
+        this.writer = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+    }
+
+    @Override
+    public synchronized void export(Span span) {
+        try {
+            JsonGenerator generator = JSON_FACTORY.createGenerator(writer);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeStringField("traceId", span.getTraceId());
+            generator.writeStringField("spanId", span.getSpanId());
+            generator.writeStringField("parentSpanId", span.getParentSpanId());
+            generator.writeStringField("name", span.getName());
+            generator.writeNumberField("startEpochNanos", span.getStartEpochNanos());
+            generator.writeNumberField("durationNanos", span.getDurationNanos());
+            generator.writeObjectFieldStart("attributes");
+            for (Map.Entry<String, Object> attribute : span.getAttributes().entrySet()) {
+                writeAttribute(generator, attribute.getKey(), attribute.getValue());
+            }
+            generator.writeEndObject();
+            generator.writeStringField("error", span.getError());
+            generator.writeEndObject();
+            generator.close();
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeAttribute(JsonGenerator generator, String key, Object value) throws IOException {
+        if (value instanceof Long || value instanceof Integer) {
+            generator.writeNumberField(key, ((Number) value).longValue());
+        } else if (value instanceof Number) {
+            generator.writeNumberField(key, ((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            generator.writeBooleanField(key, (Boolean) value);
+        } else {
+            generator.writeStringField(key, value == null ? null : value.toString());
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,27 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.tracing;
+
+/**
+ * Undoes {@link SmartsheetTracer#activate(Span)}, restoring the span that was current before. Use it in a
+ * try-with-resources block on the thread that activated the span.
+ */
+@FunctionalInterface
+public interface Scope extends AutoCloseable {
+    @Override
+    void close();
+}
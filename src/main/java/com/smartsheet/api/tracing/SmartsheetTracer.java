@@ -0,0 +1,248 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.tracing;
+
+import com.smartsheet.api.internal.util.Util;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Records where the time of SDK calls goes, as spans: one per API call, named by method and endpoint such as
+ * "GET sheets/{id}", with a child per HTTP attempt and per retry backoff, and children for the JSON
+ * (de)serialization of the request and response bodies with their sizes. Register one with
+ * {@link com.smartsheet.api.SmartsheetBuilder#setTracer(SmartsheetTracer)}; without one no spans are created.
+ * <p>
+ * The span current on a thread is the parent of the spans started on it, so an application can group several calls
+ * under a span of its own:
+ * <pre>
+ * Span sync = tracer.startSpan("nightly-sync");
+ * try (Scope scope = SmartsheetTracer.activate(sync)) {
+ *     smartsheet.sheetResources().getSheet(...);   // a child of sync
+ * } finally {
+ *     sync.end();
+ * }
+ * </pre>
+ * {@link #wrap(Runnable)} carries the current span to tasks run on other threads, and each HTTP attempt sends its
+ * span as a W3C traceparent header unless {@link #setPropagationEnabled(boolean)} turns that off.
+ * <p>
+ * Thread Safety: This class is thread safe.
+ */
+public final class SmartsheetTracer {
+    /** the W3C Trace Context request header */
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    private static final Logger logger = LoggerFactory.getLogger(SmartsheetTracer.class);
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    /** whether any tracer exists, so untraced code can skip even the thread local lookup */
+    private static volatile boolean anyTracer;
+
+    private final SpanExporter exporter;
+    private final long epochNanosOffset = System.currentTimeMillis() * 1_000_000 - System.nanoTime();
+    private volatile boolean propagationEnabled = true;
+
+    /**
+     * Constructor.
+     *
+     * @param exporter where to send the ended spans
+     */
+    public SmartsheetTracer(SpanExporter exporter) {
+        this.exporter = Util.throwIfNull(exporter);
+        anyTracer = true;
+    }
+
+    /**
+     * Starts a span within the current span, or the root of a new trace if there is none.
+     *
+     * @param name the span's name
+     * @return the span, which the caller must end
+     */
+    public Span startSpan(String name) {
+        Span parent = currentSpan();
+        if (parent != null) {
+            return new Span(this, parent.getTraceId(), parent.getSpanId(), name, System.nanoTime());
+        }
+        return new Span(this, newTraceId(), null, name, System.nanoTime());
+    }
+
+    /**
+     * Starts a span continuing a trace from another service, for example from an incoming request's traceparent
+     * header.
+     *
+     * @param name the span's name
+     * @param traceParent a W3C traceparent value; if null or malformed a new trace is started instead
+     * @return the span, which the caller must end
+     */
+    public Span startSpan(String name, String traceParent) {
+        if (isValidTraceParent(traceParent)) {
+            return new Span(this, traceParent.substring(3, 35), traceParent.substring(36, 52), name, System.nanoTime());
+        }
+        return new Span(this, newTraceId(), null, name, System.nanoTime());
+    }
+
+    /**
+     * Starts a span within the current span and makes it current on this thread until it is ended, for an operation
+     * whose start and end are in different places, such as an API call that ends when its connection is released.
+     *
+     * @param name the span's name
+     * @return the span, which the caller must end on this thread
+     */
+    public Span startActiveSpan(String name) {
+        Span previous = CURRENT.get();
+        Span span = startSpan(name);
+        span.activateUntilEnd(previous);
+        CURRENT.set(span);
+        return span;
+    }
+
+    /**
+     * @param enabled whether HTTP requests carry a traceparent header, so the receiving service can join the trace
+     */
+    public void setPropagationEnabled(boolean enabled) {
+        this.propagationEnabled = enabled;
+    }
+
+    public boolean isPropagationEnabled() {
+        return propagationEnabled;
+    }
+
+    /**
+     * Writes out any spans the exporter buffers.
+     */
+    public void flush() {
+        exporter.flush();
+    }
+
+    /**
+     * @return the span current on this thread, or null
+     */
+    public static Span currentSpan() {
+        return anyTracer ? CURRENT.get() : null;
+    }
+
+    /**
+     * Makes a span current on this thread, so spans started on it become its children, until the returned scope is
+     * closed.
+     *
+     * @param span the span, or null to have no current span
+     * @return the scope to close
+     */
+    public static Scope activate(Span span) {
+        Span previous = CURRENT.get();
+        CURRENT.set(span);
+        return () -> CURRENT.set(previous);
+    }
+
+    /**
+     * @return a task that runs the given one with this thread's current span current, for handing to an executor
+     */
+    public static Runnable wrap(Runnable task) {
+        Span span = currentSpan();
+        return () -> {
+            try (Scope scope = activate(span)) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * @return a task that calls the given one with this thread's current span current, for handing to an executor
+     */
+    public static <T> Callable<T> wrap(Callable<T> task) {
+        Span span = currentSpan();
+        return () -> {
+            try (Scope scope = activate(span)) {
+                return task.call();
+            }
+        };
+    }
+
+    /** ends a span started by startActiveSpan, making current the span that was current when it started */
+    static void restore(Span ended, Span previous) {
+        if (CURRENT.get() == ended) {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    void export(Span span) {
+        try {
+            exporter.export(span);
+        } catch (RuntimeException e) {
+            logger.warn("span exporter failed", e);
+        }
+    }
+
+    long toEpochNanos(long nanoTime) {
+        return epochNanosOffset + nanoTime;
+    }
+
+    static String newSpanId() {
+        return hex(ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE));
+    }
+
+    private static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return hex(random.nextLong()) + hex(random.nextLong(1, Long.MAX_VALUE));
+    }
+
+    private static String hex(long value) {
+        String digits = Long.toHexString(value);
+        return "0000000000000000".substring(digits.length()) + digits;
+    }
+
+    /** version 00: "00-" 32 hex trace id "-" 16 hex span id "-" 2 hex flags, with non-zero ids */
+    static boolean isValidTraceParent(String traceParent) {
+        if (traceParent == null || traceParent.length() != 55 || !traceParent.startsWith("00-")
+                || traceParent.charAt(35) != '-' || traceParent.charAt(52) != '-') {
+            return false;
+        }
+        return isNonZeroHex(traceParent, 3, 35) && isNonZeroHex(traceParent, 36, 52) && isHex(traceParent, 53, 55);
+    }
+
+    private static boolean isNonZeroHex(String value, int start, int end) {
+        boolean nonZero = false;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (!isHexDigit(c)) {
+                return false;
+            }
+            nonZero |= c != '0';
+        }
+        return nonZero;
+    }
+
+    private static boolean isHex(String value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isHexDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f');
+    }
+}
@@ -0,0 +1,216 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A timed operation within a trace: an API call, one HTTP attempt of it, a retry backoff, a JSON (de)serialization, or
+ * a span of the application's own started with {@link SmartsheetTracer#startSpan(String)}. Ids follow the W3C Trace
+ * Context format, so {@link #getTraceParent()} can be sent as a traceparent header.
+ * <p>
+ * Thread Safety: This class is not thread safe; a span is built up and ended by one thread at a time, and is not
+ * changed once it has been ended and exported.
+ */
+public final class Span {
+    private final SmartsheetTracer tracer;
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final String name;
+    private final long startNanoTime;
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+    private long durationNanos = -1;
+    private String error;
+
+    /** the span to make current again when this one ends, if it was started as the current span */
+    private Span restoreOnEnd;
+    private boolean activeUntilEnd;
+
+    Span(SmartsheetTracer tracer, String traceId, String parentSpanId, String name, long startNanoTime) {
+        this.tracer = tracer;
+        this.traceId = traceId;
+        this.spanId = SmartsheetTracer.newSpanId();
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.startNanoTime = startNanoTime;
+    }
+
+    /**
+     * Starts a span within this one.
+     *
+     * @param name the child's name
+     * @return the child span
+     */
+    public Span startChild(String name) {
+        return startChild(name, System.nanoTime());
+    }
+
+    /**
+     * Starts a span within this one that began earlier, such as a wait only known to have been one once it is over.
+     *
+     * @param name the child's name
+     * @param startNanoTime when the child began, from {@link System#nanoTime()}
+     * @return the child span
+     */
+    public Span startChild(String name, long startNanoTime) {
+        return new Span(tracer, traceId, spanId, name, startNanoTime);
+    }
+
+    /**
+     * Sets an attribute, replacing any previous value.
+     *
+     * @param key the attribute name, such as "http.status_code"
+     * @param value a String, Number or Boolean
+     * @return this span
+     */
+    public Span setAttribute(String key, Object value) {
+        attributes.put(key, value);
+        return this;
+    }
+
+    /**
+     * Marks the span as failed.
+     *
+     * @param error the failure
+     * @return this span
+     */
+    public Span setError(Throwable error) {
+        this.error = error.getClass().getName() + (error.getMessage() == null ? "" : ": " + error.getMessage());
+        return this;
+    }
+
+    /**
+     * Marks the span as failed.
+     *
+     * @param error a description of the failure
+     * @return this span
+     */
+    public Span setError(String error) {
+        this.error = error;
+        return this;
+    }
+
+    /**
+     * Ends the span now and exports it. Ending a span again has no effect.
+     */
+    public void end() {
+        end(System.nanoTime());
+    }
+
+    /**
+     * Ends the span at the given time and exports it. Ending a span again has no effect.
+     *
+     * @param endNanoTime when the span ended, from {@link System#nanoTime()}
+     */
+    public void end(long endNanoTime) {
+        if (durationNanos >= 0) {
+            return;
+        }
+        durationNanos = Math.max(0, endNanoTime - startNanoTime);
+        if (activeUntilEnd) {
+            SmartsheetTracer.restore(this, restoreOnEnd);
+        }
+        tracer.export(this);
+    }
+
+    /** makes the span current until it ends */
+    void activateUntilEnd(Span previous) {
+        this.activeUntilEnd = true;
+        this.restoreOnEnd = previous;
+    }
+
+    /**
+     * @return the tracer that started the span
+     */
+    public SmartsheetTracer getTracer() {
+        return tracer;
+    }
+
+    public boolean isEnded() {
+        return durationNanos >= 0;
+    }
+
+    /**
+     * @return the span's W3C traceparent header value, which lets a receiving service continue the trace
+     */
+    public String getTraceParent() {
+        return "00-" + traceId + "-" + spanId + "-01";
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the 32 hex digit id shared by every span of the trace
+     */
+    public String getTraceId() {
+        return traceId;
+    }
+
+    /**
+     * @return the 16 hex digit id of this span
+     */
+    public String getSpanId() {
+        return spanId;
+    }
+
+    /**
+     * @return the id of the span this one is within, or null for the root of a trace
+     */
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    /**
+     * @return when the span started, in nanoseconds since the epoch
+     */
+    public long getStartEpochNanos() {
+        return tracer.toEpochNanos(startNanoTime);
+    }
+
+    /**
+     * @return how long the span took, or -1 if it hasn't ended
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    public Object getAttribute(String key) {
+        return attributes.get(key);
+    }
+
+    /**
+     * @return a description of the failure, or null if the span succeeded
+     */
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return name + " " + traceId + "/" + spanId + (parentSpanId == null ? "" : " parent=" + parentSpanId)
+                + " durationNanos=" + durationNanos + " " + attributes + (error == null ? "" : " error=" + error);
+    }
+}
@@ -0,0 +1,40 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.tracing;
+
+/**
+ * Receives each {@link Span} as it ends, see {@link InMemorySpanExporter} and {@link JsonFileSpanExporter}. Bridging
+ * to a tracing system such as OpenTelemetry is a matter of implementing this interface.
+ * <p>
+ * Thread Safety: Implementations must be thread safe; spans end on the threads making the calls, so
+ * {@link #export(Span)} should return quickly.
+ */
+public interface SpanExporter {
+
+    /**
+     * Called when a span ends. The span won't change afterwards.
+     *
+     * @param span the ended span
+     */
+    void export(Span span);
+
+    /**
+     * Writes out any spans the exporter buffers.
+     */
+    default void flush() {
+    }
+}
@@ -0,0 +1,103 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.upload;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Counts the bytes read from a file as it's sent and reports them to an {@link UploadListener}. The count follows
+ * mark/reset, so a request that the HttpClient retries reports its progress again from the mark.
+ */
+class ProgressInputStream extends FilterInputStream {
+    /**
+     * report at most once per this many bytes, so that listeners aren't called for every buffer that is read
+     */
+    static final long REPORT_INTERVAL = 256 * 1024;
+
+    private final UploadJob job;
+    private final long totalBytes;
+    private final UploadListener listener;
+
+    private long bytesSent;
+    private long markedBytesSent;
+    private long lastReported;
+    private long startNanos = -1;
+
+    ProgressInputStream(InputStream in, UploadJob job, long totalBytes, UploadListener listener) {
+        super(in);
+        this.job = job;
+        this.totalBytes = totalBytes;
+        this.listener = listener;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b != -1) {
+            advance(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = in.read(b, off, len);
+        if (n > 0) {
+            advance(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = in.skip(n);
+        if (skipped > 0) {
+            advance(skipped);
+        }
+        return skipped;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        in.mark(readlimit);
+        markedBytesSent = bytesSent;
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        in.reset();
+        bytesSent = markedBytesSent;
+        lastReported = bytesSent;
+        startNanos = -1;
+    }
+
+    private void advance(long n) {
+        if (startNanos < 0) {
+            startNanos = System.nanoTime();
+        }
+        bytesSent += n;
+        if (bytesSent - lastReported >= REPORT_INTERVAL || bytesSent == totalBytes) {
+            lastReported = bytesSent;
+            long elapsedNanos = System.nanoTime() - startNanos;
+            double bytesPerSecond = elapsedNanos == 0 ? 0 : bytesSent * 1e9 / elapsedNanos;
+            listener.onProgress(job, bytesSent, totalBytes, bytesPerSecond);
+        }
+    }
+}
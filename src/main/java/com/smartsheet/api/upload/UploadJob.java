@@ -0,0 +1,146 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.upload;
+
+import com.smartsheet.api.internal.util.Util;
+
+import java.nio.file.Path;
+
+/**
+ * A file to upload with {@link UploadManager}, and where to attach it.
+ * <p>
+ * Thread Safety: This class is thread safe since it's immutable.
+ */
+public final class UploadJob {
+
+    /**
+     * What a file is attached to.
+     */
+    public enum Target {
+        /** a sheet, see {@link com.smartsheet.api.SheetAttachmentResources} */
+        SHEET,
+        /** a row, see {@link com.smartsheet.api.RowAttachmentResources} */
+        ROW,
+        /** a comment, see {@link com.smartsheet.api.CommentAttachmentResources} */
+        COMMENT,
+        /** a new version of an existing attachment, see {@link com.smartsheet.api.AttachmentVersioningResources} */
+        NEW_VERSION
+    }
+
+    private final Target target;
+    private final long sheetId;
+    private final long objectId;
+    private final Path file;
+    private final String contentType;
+    private final String attachmentName;
+
+    private UploadJob(Target target, long sheetId, long objectId, Path file, String contentType) {
+        Util.throwIfNull(file, contentType);
+        Util.throwIfEmpty(contentType);
+        this.target = target;
+        this.sheetId = sheetId;
+        this.objectId = objectId;
+        this.file = file;
+        this.contentType = contentType;
+        this.attachmentName = file.getFileName().toString();
+    }
+
+    /**
+     * Attach a file to a sheet.
+     *
+     * @param sheetId the sheet id
+     * @param file the file to upload
+     * @param contentType the content type of the file
+     * @return the job
+     */
+    public static UploadJob toSheet(long sheetId, Path file, String contentType) {
+        return new UploadJob(Target.SHEET, sheetId, sheetId, file, contentType);
+    }
+
+    /**
+     * Attach a file to a row.
+     *
+     * @param sheetId the sheet id
+     * @param rowId the row id
+     * @param file the file to upload
+     * @param contentType the content type of the file
+     * @return the job
+     */
+    public static UploadJob toRow(long sheetId, long rowId, Path file, String contentType) {
+        return new UploadJob(Target.ROW, sheetId, rowId, file, contentType);
+    }
+
+    /**
+     * Attach a file to a comment.
+     *
+     * @param sheetId the sheet id
+     * @param commentId the comment id
+     * @param file the file to upload
+     * @param contentType the content type of the file
+     * @return the job
+     */
+    public static UploadJob toComment(long sheetId, long commentId, Path file, String contentType) {
+        return new UploadJob(Target.COMMENT, sheetId, commentId, file, contentType);
+    }
+
+    /**
+     * Upload a file as a new version of an attachment.
+     *
+     * @param sheetId the sheet id
+     * @param attachmentId the id of the attachment to add a version to
+     * @param file the file to upload
+     * @param contentType the content type of the file
+     * @return the job
+     */
+    public static UploadJob newVersion(long sheetId, long attachmentId, Path file, String contentType) {
+        return new UploadJob(Target.NEW_VERSION, sheetId, attachmentId, file, contentType);
+    }
+
+    public Target getTarget() {
+        return target;
+    }
+
+    public long getSheetId() {
+        return sheetId;
+    }
+
+    /**
+     * @return the id of the object the file is attached to: the sheet, row, comment or attachment id depending on
+     *     the target
+     */
+    public long getObjectId() {
+        return objectId;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getAttachmentName() {
+        return attachmentName;
+    }
+
+    @Override
+    public String toString() {
+        return target + " " + objectId + ": " + file;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.upload;
+
+/**
+ * Receives progress from an {@link UploadManager}. Uploads run in parallel, so the methods are called from the
+ * manager's worker threads, possibly at the same time for different jobs.
+ */
+public interface UploadListener {
+
+    /**
+     * Called as a file's content is sent. When a file is retried, bytesSent starts again from 0.
+     *
+     * @param job the job
+     * @param bytesSent the number of bytes of the file sent so far in this attempt
+     * @param totalBytes the size of the file
+     * @param bytesPerSecond the throughput of this attempt so far
+     */
+    default void onProgress(UploadJob job, long bytesSent, long totalBytes, double bytesPerSecond) {
+    }
+
+    /**
+     * Called once per job, when it has succeeded or failed for the last time.
+     *
+     * @param result the result of the job
+     */
+    default void onComplete(UploadResult result) {
+    }
+}
@@ -0,0 +1,224 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.upload;
+
+import com.smartsheet.api.AuthorizationException;
+import com.smartsheet.api.InvalidRequestException;
+import com.smartsheet.api.ResourceNotFoundException;
+import com.smartsheet.api.Smartsheet;
+import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.internal.http.RepeatableFileInputStream;
+import com.smartsheet.api.internal.util.Util;
+import com.smartsheet.api.models.Attachment;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Uploads a batch of files as attachments, several at a time.
+ * <p>
+ * Each file is streamed from disk (it is never held in memory) and reports its progress to an {@link UploadListener}.
+ * The client's HttpClient already retries rate-limited and temporarily failing requests with back-off; on top of that
+ * a file whose upload still fails is retried on its own, up to {@link #setMaxAttempts(int)} times, without affecting
+ * the rest of the batch. Errors that a retry can't fix (a bad request, a missing sheet or file, ...) are not retried.
+ * <p>
+ * The uploads share the given client, so its HttpClient must allow as many connections as the parallelism, e.g.
+ * {@code new DefaultHttpClient(HttpClients.custom().setMaxConnPerRoute(8).setMaxConnTotal(8).build(), serializer)}
+ * set with {@link com.smartsheet.api.SmartsheetBuilder#setHttpClient}; the default Apache client allows 2 per host.
+ * <p>
+ * Thread Safety: This class is not thread safe since it's mutable; configure it before calling {@link #upload}.
+ */
+public class UploadManager {
+
+    private final Smartsheet smartsheet;
+    private final int parallelism;
+    private int maxAttempts = 3;
+    private long retryDelayMillis = 1000;
+    private UploadListener listener = new UploadListener() { };
+
+    /**
+     * Constructor.
+     *
+     * @param smartsheet the client to upload with
+     * @param parallelism the maximum number of files uploaded at the same time
+     */
+    public UploadManager(Smartsheet smartsheet, int parallelism) {
+        Util.throwIfNull(smartsheet);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1");
+        }
+        this.smartsheet = smartsheet;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sets how many times a file is sent before it's reported as failed, 3 by default.
+     *
+     * @param maxAttempts the maximum number of attempts per file
+     * @return this manager
+     */
+    public UploadManager setMaxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * Sets the delay before a failed file is retried, multiplied by the number of attempts so far. 1 second by default.
+     *
+     * @param retryDelayMillis the delay in milliseconds
+     * @return this manager
+     */
+    public UploadManager setRetryDelayMillis(long retryDelayMillis) {
+        this.retryDelayMillis = retryDelayMillis;
+        return this;
+    }
+
+    /**
+     * @param listener receives the progress and results of the uploads
+     * @return this manager
+     */
+    public UploadManager setListener(UploadListener listener) {
+        Util.throwIfNull(listener);
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * Uploads all the files and waits for them to finish. A failed file doesn't stop the others; check the report.
+     *
+     * @param jobs the files to upload
+     * @return the result of each job, in the order of jobs
+     * @throws InterruptedException if the calling thread is interrupted, uploads that haven't started are cancelled
+     */
+    public UploadReport upload(Collection<UploadJob> jobs) throws InterruptedException {
+        Util.throwIfNull(jobs);
+        long start = System.currentTimeMillis();
+
+        List<Callable<UploadResult>> tasks = new ArrayList<>(jobs.size());
+        for (UploadJob job : jobs) {
+            Util.throwIfNull(job);
+            tasks.add(() -> upload(job));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, tasks.size())),
+                Util.daemonThreadFactory("smartsheet-upload"));
+        try {
+            List<UploadResult> results = new ArrayList<>(tasks.size());
+            for (Future<UploadResult> future : executor.invokeAll(tasks)) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    // upload(UploadJob) reports failures in its result, so this is a bug in a listener
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            return new UploadReport(results, System.currentTimeMillis() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private UploadResult upload(UploadJob job) {
+        long start = System.currentTimeMillis();
+        long size = 0;
+        int attempts = 0;
+        UploadResult result;
+        while (true) {
+            attempts++;
+            try {
+                size = Files.size(job.getFile());
+                Attachment attachment;
+                try (InputStream content = new ProgressInputStream(new RepeatableFileInputStream(job.getFile()), job, size,
+                        listener)) {
+                    attachment = send(job, content, size);
+                }
+                result = new UploadResult(job, attachment, null, attempts, size, System.currentTimeMillis() - start);
+                break;
+            } catch (SmartsheetException | IOException | RuntimeException e) {
+                if (attempts >= maxAttempts || !isRetryable(e) || !sleep(retryDelayMillis * attempts)) {
+                    result = new UploadResult(job, null, e, attempts, size, System.currentTimeMillis() - start);
+                    break;
+                }
+            }
+        }
+        listener.onComplete(result);
+        return result;
+    }
+
+    private Attachment send(UploadJob job, InputStream content, long size) throws SmartsheetException {
+        long sheetId = job.getSheetId();
+        String contentType = job.getContentType();
+        String name = job.getAttachmentName();
+        switch (job.getTarget()) {
+            case SHEET:
+                return smartsheet.sheetResources().attachmentResources()
+                        .attachFile(sheetId, content, contentType, size, name);
+            case ROW:
+                return smartsheet.sheetResources().rowResources().attachmentResources()
+                        .attachFile(sheetId, job.getObjectId(), content, contentType, size, name);
+            case COMMENT:
+                return smartsheet.sheetResources().commentResources().attachmentResources()
+                        .attachFile(sheetId, job.getObjectId(), content, contentType, size, name);
+            case NEW_VERSION:
+                return smartsheet.sheetResources().attachmentResources().versioningResources()
+                        .attachNewVersion(sheetId, job.getObjectId(), content, contentType, size, name);
+            default:
+                // This switch is exhaustive, but the checkstyle doesn't know that
+                throw new UnsupportedOperationException("Unsupported target: " + job.getTarget());
+        }
+    }
+
+    /**
+     * Errors that will happen again however many times the file is sent.
+     */
+    private static boolean isRetryable(Exception e) {
+        return !(e instanceof InvalidRequestException
+                || e instanceof AuthorizationException
+                || e instanceof ResourceNotFoundException
+                || e instanceof FileNotFoundException
+                || e instanceof NoSuchFileException
+                || e instanceof RuntimeException);
+    }
+
+    /**
+     * @return false if interrupted, in which case the upload gives up
+     */
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.upload;
+
+import com.smartsheet.api.models.Attachment;
+
+/**
+ * The outcome of one {@link UploadJob}.
+ * <p>
+ * Thread Safety: This class is thread safe since it's immutable.
+ */
+public final class UploadResult {
+    private final UploadJob job;
+    private final Attachment attachment;
+    private final Exception error;
+    private final int attempts;
+    private final long bytes;
+    private final long elapsedMillis;
+
+    UploadResult(UploadJob job, Attachment attachment, Exception error, int attempts, long bytes, long elapsedMillis) {
+        this.job = job;
+        this.attachment = attachment;
+        this.error = error;
+        this.attempts = attempts;
+        this.bytes = bytes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public UploadJob getJob() {
+        return job;
+    }
+
+    /**
+     * @return the created attachment, or null if the upload failed
+     */
+    public Attachment getAttachment() {
+        return attachment;
+    }
+
+    /**
+     * @return the error of the last attempt, or null if the upload succeeded
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * @return the number of times the file was sent (each of which may include the HttpClient's own retries)
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * @return the size of the file
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the time taken by the job, including all attempts
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,626 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.writes;
+
+import com.smartsheet.api.SheetRowResources;
+import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.SmartsheetRestException;
+import com.smartsheet.api.internal.util.Util;
+import com.smartsheet.api.metrics.LatencyHistogram;
+import com.smartsheet.api.models.BulkRowFailedItem;
+import com.smartsheet.api.models.Cell;
+import com.smartsheet.api.models.PartialRowUpdateResult;
+import com.smartsheet.api.models.Row;
+import com.smartsheet.api.models.format.Format;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Buffers cell edits to one sheet and sends them as batched row updates, so a stream of single cell edits costs a few
+ * requests instead of one each.
+ * <pre>
+ * RowWriteBuffer buffer = new RowWriteBuffer(smartsheet.sheetResources().rowResources(), sheetId)
+ *         .setFlushIntervalMillis(2000);
+ * ...
+ * buffer.setCell(rowId, statusColumnId, "Done");   // returns at once
+ * ...
+ * buffer.close();   // sends what is left
+ * </pre>
+ * Edits to the same cell that haven't been sent yet are merged, the last one winning, so a row appears once per
+ * request with the latest value of each edited cell. Pending rows are sent through
+ * {@link SheetRowResources#updateRowsAllowPartialSuccess(long, List)} when {@link #setMaxBatchSize(int)} rows are
+ * pending, or {@link #setFlushIntervalMillis(long)} after the first edit since the last send, whichever comes first.
+ * <p>
+ * A row the update fails for, alone or with its whole request, is sent again with the next batch, behind any newer
+ * edits to the same cells, up to {@link #setMaxAttempts(int)} times; after that it is handed to the
+ * {@link FailureListener}, or logged if there is none. Edits live only in memory until sent: {@link #close()} sends
+ * them, and {@link #setFlushOnShutdown(boolean)} makes the JVM do so on a normal exit.
+ * <p>
+ * Requests are sent one at a time from a daemon thread owned by the buffer, in the order the rows were first edited.
+ * <p>
+ * Thread Safety: This class is thread safe; configure it before the first edit.
+ */
+public class RowWriteBuffer implements Closeable {
+    public static final int DEFAULT_MAX_BATCH_SIZE = 500;
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final long DEFAULT_CLOSE_TIMEOUT_MILLIS = 30_000;
+
+    private static final Logger logger = LoggerFactory.getLogger(RowWriteBuffer.class);
+
+    private final SheetRowResources rowResources;
+    private final long sheetId;
+    private final ScheduledExecutorService scheduler;
+
+    /** the rows waiting to be sent, in the order they were first edited; guarded by itself */
+    private final Map<Long, PendingRow> pending = new LinkedHashMap<>();
+    private boolean flushScheduled;
+    private boolean fullBatchScheduled;
+    private volatile boolean closed;
+
+    private volatile int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private volatile long flushIntervalMillis = DEFAULT_FLUSH_INTERVAL_MILLIS;
+    private volatile int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private volatile long closeTimeoutMillis = DEFAULT_CLOSE_TIMEOUT_MILLIS;
+    private volatile FailureListener failureListener;
+    private Thread shutdownHook;
+
+    private final LongAdder edits = new LongAdder();
+    private final LongAdder sentCells = new LongAdder();
+    private final LongAdder sentRows = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder retriedRows = new LongAdder();
+    private final LongAdder failedRows = new LongAdder();
+    private final LatencyHistogram requestLatency = new LatencyHistogram();
+    private final LatencyHistogram writeDelay = new LatencyHistogram();
+
+    /**
+     * Constructor.
+     *
+     * @param rowResources the resources to send with, {@code smartsheet.sheetResources().rowResources()}
+     * @param sheetId the sheet the edits are to
+     */
+    public RowWriteBuffer(SheetRowResources rowResources, long sheetId) {
+        this.rowResources = Util.throwIfNull(rowResources);
+        this.sheetId = sheetId;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Util.daemonThreadFactory("smartsheet-row-writes"));
+    }
+
+    /**
+     * @param maxBatchSize the most rows per request; a full batch is sent without waiting for the interval
+     * @return this buffer
+     */
+    public RowWriteBuffer setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1");
+        }
+        this.maxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    /**
+     * @param flushIntervalMillis how long an edit waits for others to share its request, one second by default
+     * @return this buffer
+     */
+    public RowWriteBuffer setFlushIntervalMillis(long flushIntervalMillis) {
+        if (flushIntervalMillis < 0) {
+            throw new IllegalArgumentException("flushIntervalMillis must not be negative");
+        }
+        this.flushIntervalMillis = flushIntervalMillis;
+        return this;
+    }
+
+    /**
+     * @param maxAttempts how many times a row is sent before it is given up on, 3 by default
+     * @return this buffer
+     */
+    public RowWriteBuffer setMaxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * @param closeTimeoutMillis how long {@link #close()} waits for the pending edits to be sent, 30 seconds by
+     *     default
+     * @return this buffer
+     */
+    public RowWriteBuffer setCloseTimeoutMillis(long closeTimeoutMillis) {
+        if (closeTimeoutMillis < 0) {
+            throw new IllegalArgumentException("closeTimeoutMillis must not be negative");
+        }
+        this.closeTimeoutMillis = closeTimeoutMillis;
+        return this;
+    }
+
+    /**
+     * @param failureListener told of each row given up on, or null to log them
+     * @return this buffer
+     */
+    public RowWriteBuffer setFailureListener(FailureListener failureListener) {
+        this.failureListener = failureListener;
+        return this;
+    }
+
+    /**
+     * @param flushOnShutdown whether a JVM shutdown hook closes the buffer, so edits made before a normal exit (but
+     *     not a crash or kill -9) are sent
+     * @return this buffer
+     */
+    public synchronized RowWriteBuffer setFlushOnShutdown(boolean flushOnShutdown) {
+        if (flushOnShutdown && shutdownHook == null) {
+            shutdownHook = new Thread(this::close, "smartsheet-row-writes-shutdown");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        } else if (!flushOnShutdown && shutdownHook != null) {
+            removeShutdownHook();
+        }
+        return this;
+    }
+
+    /**
+     * Sets a cell's value.
+     *
+     * @param rowId the row
+     * @param columnId the cell's column
+     * @param value the value, or "" to clear the cell
+     * @throws IllegalStateException if the buffer is closed
+     */
+    public void setCell(long rowId, long columnId, Object value) {
+        setCell(rowId, new Cell(columnId).setValue(value));
+    }
+
+    /**
+     * Sets a cell, replacing any edit of it that hasn't been sent; use this for a formula, hyperlink, format or
+     * object value.
+     *
+     * @param rowId the row
+     * @param cell the cell, with its column id
+     * @throws IllegalStateException if the buffer is closed
+     */
+    public void setCell(long rowId, Cell cell) {
+        Util.throwIfNull(cell, cell.getColumnId());
+        synchronized (pending) {
+            PendingRow row = pendingRow(rowId);
+            row.cells.put(cell.getColumnId(), cell);
+            edits.increment();
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Updates a row: its cells, and its format, lock and expansion if set, each replacing any edit of it that hasn't
+     * been sent. Its location is ignored; moves aren't buffered.
+     *
+     * @param row the row, with its id
+     * @throws IllegalStateException if the buffer is closed
+     */
+    public void updateRow(Row row) {
+        Util.throwIfNull(row, row.getId());
+        synchronized (pending) {
+            PendingRow pendingRow = pendingRow(row.getId());
+            if (row.getCells() != null) {
+                for (Cell cell : row.getCells()) {
+                    Util.throwIfNull(cell.getColumnId());
+                    pendingRow.cells.put(cell.getColumnId(), cell);
+                    edits.increment();
+                }
+            }
+            if (row.getFormat() != null) {
+                pendingRow.format = row.getFormat();
+                edits.increment();
+            }
+            if (row.isLocked() != null) {
+                pendingRow.locked = row.isLocked();
+                edits.increment();
+            }
+            if (row.isExpanded() != null) {
+                pendingRow.expanded = row.isExpanded();
+                edits.increment();
+            }
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Sends every pending edit now, including rows being retried until they succeed or run out of attempts, and
+     * waits for that to finish.
+     *
+     * @throws SmartsheetException if the calling thread is interrupted, or the buffer is closed and its thread stopped
+     */
+    public void flush() throws SmartsheetException {
+        Future<?> drained;
+        try {
+            drained = scheduler.submit(this::drain);
+        } catch (RejectedExecutionException e) {
+            throw new SmartsheetException("the row write buffer was closed");
+        }
+        try {
+            drained.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SmartsheetException(e);
+        } catch (ExecutionException e) {
+            throw new SmartsheetException(e);
+        }
+    }
+
+    /**
+     * Stops taking edits, sends the pending ones as {@link #flush()} does, waiting up to
+     * {@link #setCloseTimeoutMillis(long)}, and stops the buffer's thread. Rows still unsent after that are handed to
+     * the {@link FailureListener}. Closing again has no effect.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (shutdownHook != null && Thread.currentThread() != shutdownHook) {
+                removeShutdownHook();
+            }
+        }
+        try {
+            scheduler.submit(this::drain).get(closeTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException | RejectedExecutionException e) {
+            logger.warn("failed to send the pending edits to sheet {}", sheetId, e);
+        }
+        scheduler.shutdownNow();
+        List<PendingRow> unsent;
+        synchronized (pending) {
+            unsent = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+        for (PendingRow row : unsent) {
+            giveUp(row, new SmartsheetException("the row write buffer was closed before the row was sent"));
+        }
+    }
+
+    public long getSheetId() {
+        return sheetId;
+    }
+
+    /**
+     * @return the rows with edits waiting to be sent
+     */
+    public int getPendingRowCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * @return the edits made, counting each cell and row attribute of {@link #updateRow(Row)}
+     */
+    public long getEditCount() {
+        return edits.sum();
+    }
+
+    /**
+     * @return the cells and row attributes sent, each of which may carry several edits
+     */
+    public long getSentCellCount() {
+        return sentCells.sum();
+    }
+
+    /**
+     * @return the rows sent successfully
+     */
+    public long getSentRowCount() {
+        return sentRows.sum();
+    }
+
+    /**
+     * @return the update requests made
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * @return the times a failed row was put back to be sent again
+     */
+    public long getRetriedRowCount() {
+        return retriedRows.sum();
+    }
+
+    /**
+     * @return the rows given up on
+     */
+    public long getFailedRowCount() {
+        return failedRows.sum();
+    }
+
+    /**
+     * @return the edits per cell sent, how many edits merging saved; 1 until something is sent
+     */
+    public double getCoalescingRatio() {
+        long sent = sentCells.sum();
+        return sent == 0 ? 1 : (double) edits.sum() / sent;
+    }
+
+    /**
+     * @return the histogram of update request times
+     */
+    public LatencyHistogram getRequestLatency() {
+        return requestLatency;
+    }
+
+    /**
+     * @return the histogram of times from a row's first pending edit until the request that sent it returned
+     */
+    public LatencyHistogram getWriteDelay() {
+        return writeDelay;
+    }
+
+    @Override
+    public String toString() {
+        return "sheetId=" + sheetId + " pendingRows=" + getPendingRowCount() + " edits=" + getEditCount()
+                + " sentCells=" + getSentCellCount() + " requests=" + getRequestCount()
+                + " coalescingRatio=" + String.format("%.1f", getCoalescingRatio()) + " failedRows=" + getFailedRowCount()
+                + " requestP99=" + requestLatency.getValueAtPercentile(99) / 1000 + "us";
+    }
+
+    private void removeShutdownHook() {
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // the JVM is already shutting down
+        }
+        shutdownHook = null;
+    }
+
+    /** called holding the pending lock */
+    private PendingRow pendingRow(long rowId) {
+        if (closed) {
+            throw new IllegalStateException("the row write buffer is closed");
+        }
+        return pending.computeIfAbsent(rowId, id -> new PendingRow(id, System.nanoTime()));
+    }
+
+    /** called holding the pending lock */
+    private void scheduleFlush() {
+        try {
+            if (pending.size() >= maxBatchSize) {
+                if (!fullBatchScheduled) {
+                    fullBatchScheduled = true;
+                    scheduler.execute(this::sendBatches);
+                }
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                scheduler.schedule(this::sendBatches, flushIntervalMillis, TimeUnit.MILLISECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            // closing; close() sends or gives up on whatever is pending
+        }
+    }
+
+    /**
+     * Sends what is pending, once; rows that fail wait for the next flush. Runs on the scheduler thread only.
+     */
+    private void sendBatches() {
+        List<List<PendingRow>> batches = new ArrayList<>();
+        synchronized (pending) {
+            flushScheduled = false;
+            fullBatchScheduled = false;
+            while (!pending.isEmpty()) {
+                batches.add(takeBatch());
+            }
+        }
+        for (List<PendingRow> batch : batches) {
+            send(batch);
+        }
+        synchronized (pending) {
+            if (!pending.isEmpty() && !flushScheduled && !closed) {
+                scheduleFlush();
+            }
+        }
+    }
+
+    /**
+     * Sends until nothing is pending. Runs on the scheduler thread only.
+     */
+    private void drain() {
+        while (true) {
+            List<PendingRow> batch;
+            synchronized (pending) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = takeBatch();
+            }
+            send(batch);
+        }
+    }
+
+    /** called holding the pending lock */
+    private List<PendingRow> takeBatch() {
+        List<PendingRow> batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+        Iterator<PendingRow> rows = pending.values().iterator();
+        while (batch.size() < maxBatchSize && rows.hasNext()) {
+            batch.add(rows.next());
+            rows.remove();
+        }
+        return batch;
+    }
+
+    private void send(List<PendingRow> batch) {
+        List<Row> rows = new ArrayList<>(batch.size());
+        int cells = 0;
+        for (PendingRow pendingRow : batch) {
+            pendingRow.attempts++;
+            rows.add(pendingRow.toRow());
+            cells += pendingRow.size();
+        }
+
+        long start = System.nanoTime();
+        PartialRowUpdateResult result;
+        try {
+            result = rowResources.updateRowsAllowPartialSuccess(sheetId, rows);
+        } catch (SmartsheetException | RuntimeException e) {
+            requests.increment();
+            requestLatency.record(System.nanoTime() - start);
+            SmartsheetException error = e instanceof SmartsheetException ? (SmartsheetException) e : new SmartsheetException(e);
+            for (PendingRow pendingRow : batch) {
+                retryOrGiveUp(pendingRow, error);
+            }
+            return;
+        }
+        long end = System.nanoTime();
+        requests.increment();
+        requestLatency.record(end - start);
+
+        Map<Long, BulkRowFailedItem> failures = new HashMap<>();
+        if (result != null && result.getFailedItems() != null) {
+            for (BulkRowFailedItem failure : result.getFailedItems()) {
+                Long rowId = failure.getRowId();
+                if (rowId == null && failure.getIndex() >= 0 && failure.getIndex() < batch.size()) {
+                    rowId = batch.get(failure.getIndex()).rowId;
+                }
+                if (rowId != null) {
+                    failures.put(rowId, failure);
+                }
+            }
+        }
+        for (PendingRow pendingRow : batch) {
+            BulkRowFailedItem failure = failures.get(pendingRow.rowId);
+            if (failure == null) {
+                sentRows.increment();
+                sentCells.add(pendingRow.size());
+                writeDelay.record(end - pendingRow.firstEditNanoTime);
+            } else {
+                SmartsheetException error = failure.getError() == null
+                        ? new SmartsheetException("row " + pendingRow.rowId + " wasn't updated")
+                        : new SmartsheetRestException(failure.getError());
+                retryOrGiveUp(pendingRow, error);
+            }
+        }
+    }
+
+    private void retryOrGiveUp(PendingRow failed, SmartsheetException error) {
+        if (failed.attempts >= maxAttempts) {
+            giveUp(failed, error);
+            return;
+        }
+        retriedRows.increment();
+        synchronized (pending) {
+            PendingRow newer = pending.get(failed.rowId);
+            if (newer == null) {
+                pending.put(failed.rowId, failed);
+            } else {
+                // edits made while the row was in flight are newer than the failed ones
+                newer.mergeOlder(failed);
+            }
+            if (!closed) {
+                scheduleFlush();
+            }
+        }
+    }
+
+    private void giveUp(PendingRow row, SmartsheetException error) {
+        failedRows.increment();
+        FailureListener listener = failureListener;
+        if (listener == null) {
+            logger.warn("gave up updating row {} of sheet {} after {} attempts", row.rowId, sheetId, row.attempts, error);
+            return;
+        }
+        try {
+            listener.onFailure(sheetId, row.toRow(), error);
+        } catch (RuntimeException e) {
+            logger.warn("row write failure listener failed", e);
+        }
+    }
+
+    /**
+     * Told of the rows a {@link RowWriteBuffer} gave up on.
+     */
+    @FunctionalInterface
+    public interface FailureListener {
+        /**
+         * Called on the buffer's thread, or the one closing it.
+         *
+         * @param sheetId the sheet
+         * @param row the update that wasn't made, with every edit merged into it
+         * @param error the last failure
+         */
+        void onFailure(long sheetId, Row row, SmartsheetException error);
+    }
+
+    /**
+     * The merged edits of one row; only touched holding the pending lock, or by the scheduler thread once taken out of
+     * the pending map.
+     */
+    private static final class PendingRow {
+        private final long rowId;
+        private long firstEditNanoTime;
+        private final Map<Long, Cell> cells = new LinkedHashMap<>();
+        private Format format;
+        private Boolean locked;
+        private Boolean expanded;
+        private int attempts;
+
+        PendingRow(long rowId, long firstEditNanoTime) {
+            this.rowId = rowId;
+            this.firstEditNanoTime = firstEditNanoTime;
+        }
+
+        int size() {
+            return cells.size() + (format == null ? 0 : 1) + (locked == null ? 0 : 1) + (expanded == null ? 0 : 1);
+        }
+
+        void mergeOlder(PendingRow older) {
+            firstEditNanoTime = older.firstEditNanoTime;
+            attempts = Math.max(attempts, older.attempts);
+            for (Map.Entry<Long, Cell> cell : older.cells.entrySet()) {
+                cells.putIfAbsent(cell.getKey(), cell.getValue());
+            }
+            format = format == null ? older.format : format;
+            locked = locked == null ? older.locked : locked;
+            expanded = expanded == null ? older.expanded : expanded;
+        }
+
+        Row toRow() {
+            Row row = new Row(rowId);
+            row.setCells(new ArrayList<>(cells.values()));
+            row.setFormat(format);
+            row.setLocked(locked);
+            row.setExpanded(expanded);
+            return row;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.diff;
+
+import com.smartsheet.api.models.Cell;
+import com.smartsheet.api.models.Column;
+import com.smartsheet.api.models.Hyperlink;
+import com.smartsheet.api.models.Row;
+import com.smartsheet.api.models.Sheet;
+import com.smartsheet.api.models.enums.SystemColumnType;
+import com.smartsheet.api.models.format.Format;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SheetDifferTest {
+    private static final long KEY = 10L;
+    private static final long NAME = 11L;
+    private static final long AMOUNT = 12L;
+    private static final long TOTAL = 13L;
+    private static final long CREATED = 14L;
+
+    private final Sheet sheet = sheet(
+            row(1L, cell(KEY, "A-1"), cell(NAME, "Apple"), cell(AMOUNT, 5L)),
+            row(2L, cell(KEY, "A-2"), cell(NAME, "Pear"), cell(AMOUNT, 2.5)),
+            row(3L, cell(KEY, 3L), cell(NAME, "Plum"), cell(AMOUNT, null).setFormula("=1+1").setValue(2L)));
+
+    @Test
+    void diff_sameValues_isEmpty() {
+        // Arrange
+        List<Row> target = Arrays.asList(
+                row(1L, cell(NAME, "Apple"), cell(AMOUNT, 5.0)),
+                row(2L, cell(AMOUNT, 2.5)),
+                row(3L, cell(AMOUNT, null).setFormula("=1+1")));
+
+        // Act
+        SheetDiff diff = new SheetDiffer().diff(sheet, target);
+
+        // Assert
+        assertThat(diff.isEmpty()).isTrue();
+        assertThat(diff.getUnchangedRowCount()).isEqualTo(3);
+    }
+
+    @Test
+    void diff_changedCell_sendsOnlyThatCell() {
+        // Arrange
+        List<Row> target = Arrays.asList(
+                row(1L, cell(KEY, "A-1"), cell(NAME, "Apricot"), cell(AMOUNT, 5L)),
+                row(2L, cell(NAME, "Pear")));
+
+        // Act
+        SheetDiff diff = new SheetDiffer().diff(sheet, target);
+
+        // Assert
+        assertThat(diff.getRowsToUpdate()).hasSize(1);
+        Row update = diff.getRowsToUpdate().get(0);
+        assertThat(update.getId()).isEqualTo(1L);
+        assertThat(update.getCells()).hasSize(1);
+        assertThat(update.getCells().get(0).getColumnId()).isEqualTo(NAME);
+        assertThat(update.getCells().get(0).getValue()).isEqualTo("Apricot");
+        assertThat(diff.getChangedCellCount()).isEqualTo(1);
+        assertThat(diff.getUnchangedRowCount()).isEqualTo(1);
+    }
+
+    @Test
+    void diff_byKeyColumn_matchesRowsWithoutIds() {
+        // Arrange
+        List<Row> target = Arrays.asList(
+                row(null, cell(KEY, "A-2"), cell(NAME, "Pear")),
+                row(null, cell(KEY, 3.0), cell(NAME, "Prune")),
+                row(null, cell(KEY, "A-4"), cell(NAME, "Quince")));
+
+        // Act
+        SheetDiff diff = new SheetDiffer().setKeyColumnId(KEY).diff(sheet, target);
+
+        // Assert
+        assertThat(diff.getRowsToUpdate()).hasSize(1);
+        assertThat(diff.getRowsToUpdate().get(0).getId()).isEqualTo(3L);
+        assertThat(diff.getRowsToAdd()).hasSize(1);
+        Row added = diff.getRowsToAdd().get(0);
+        assertThat(added.getToBottom()).isTrue();
+        assertThat(added.getCells()).hasSize(2);
+        assertThat(diff.getRowIdsToDelete()).isEmpty();
+    }
+
+    @Test
+    void diff_deleteUnmatchedRows_deletesRowsNotInTarget() {
+        // Arrange
+        List<Row> target = Collections.singletonList(row(null, cell(KEY, "A-1")));
+
+        // Act
+        SheetDiff diff = new SheetDiffer().setKeyColumnId(KEY).setDeleteUnmatchedRows(true).diff(sheet, target);
+
+        // Assert
+        assertThat(diff.getRowIdsToDelete()).containsExactly(2L, 3L);
+        assertThat(diff.getRowsToUpdate()).isEmpty();
+    }
+
+    @Test
+    void diff_valueOverFormula_replacesFormula() {
+        // Arrange
+        List<Row> target = Collections.singletonList(row(3L, cell(AMOUNT, 2L)));
+
+        // Act
+        SheetDiff diff = new SheetDiffer().diff(sheet, target);
+
+        // Assert
+        assertThat(diff.getRowsToUpdate()).hasSize(1);
+        assertThat(diff.getRowsToUpdate().get(0).getCells().get(0).getValue()).isEqualTo(2L);
+    }
+
+    @Test
+    void diff_formatOnly_sendsExistingValueWithFormat() {
+        // Arrange
+        Format bold = new Format(",,1,,,,,,,,,,,,,,");
+        List<Row> target = Collections.singletonList(row(1L, cell(NAME, null).setFormat(bold)));
+
+        // Act
+        SheetDiff diff = new SheetDiffer().diff(sheet, target);
+
+        // Assert
+        Cell cell = diff.getRowsToUpdate().get(0).getCells().get(0);
+        assertThat(cell.getValue()).isEqualTo("Apple");
+        assertThat(cell.getFormat()).isEqualTo(new Format(",,1,,,,,,,,,,,,,,"));
+    }
+
+    @Test
+    void diff_sheetHyperlink_comparesById() {
+        // Arrange
+        sheet.getRows().get(0).getCells().get(1).setHyperlink(new Hyperlink().setSheetId(7L).setUrl("https://app/s/7"));
+        List<Row> target = Arrays.asList(
+                row(1L, cell(NAME, null).setHyperlink(new Hyperlink().setSheetId(7L))),
+                row(2L, cell(NAME, null).setHyperlink(new Hyperlink())));
+
+        // Act
+        SheetDiff diff = new SheetDiffer().diff(sheet, target);
+
+        // Assert
+        assertThat(diff.isEmpty()).isTrue();
+    }
+
+    @Test
+    void diff_readOnlyColumns_areNotSent() {
+        // Arrange
+        List<Row> target = Collections.singletonList(row(1L, cell(TOTAL, 9L), cell(CREATED, "2024-01-01")));
+
+        // Act
+        SheetDiff diff = new SheetDiffer().diff(sheet, target);
+
+        // Assert
+        assertThat(diff.isEmpty()).isTrue();
+    }
+
+    @Test
+    void diff_parallel_keepsTargetOrder() {
+        // Arrange
+        List<Row> rows = new ArrayList<>();
+        List<Row> target = new ArrayList<>();
+        for (long i = 1; i <= 100; i++) {
+            rows.add(row(i, cell(NAME, "row " + i)));
+            target.add(row(i, cell(NAME, i % 2 == 0 ? "changed " + i : "row " + i)));
+        }
+        Sheet large = sheet(rows.toArray(new Row[0]));
+
+        // Act
+        SheetDiff diff = new SheetDiffer().setParallelThreshold(10).diff(large, target);
+
+        // Assert
+        assertThat(diff.getRowsToUpdate()).hasSize(50);
+        for (int i = 0; i < 50; i++) {
+            assertThat(diff.getRowsToUpdate().get(i).getId()).isEqualTo(2L * (i + 1));
+        }
+        assertThat(diff.getUnchangedRowCount()).isEqualTo(50);
+    }
+
+    @Test
+    void diff_invalidTarget_throws() {
+        // Act & Assert
+        assertThatThrownBy(() -> new SheetDiffer().diff(sheet, Collections.singletonList(row(1L, cell(99L, "x")))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SheetDiffer().setKeyColumnId(KEY)
+                .diff(sheet, Arrays.asList(row(1L, cell(NAME, "x")), row(null, cell(KEY, "A-1")))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Sheet sheet(Row... rows) {
+        Sheet sheet = new Sheet();
+        sheet.setId(1L);
+        sheet.setColumns(Arrays.asList(
+                column(KEY),
+                column(NAME),
+                column(AMOUNT),
+                column(TOTAL).setFormula("=SUM([Amount]@row)"),
+                column(CREATED).setSystemColumnType(SystemColumnType.CREATED_DATE)));
+        sheet.setRows(new ArrayList<>(Arrays.asList(rows)));
+        return sheet;
+    }
+
+    private static Column column(long id) {
+        Column column = new Column();
+        column.setId(id);
+        return column;
+    }
+
+    private static Row row(Long id, Cell... cells) {
+        Row row = new Row(id);
+        row.setCells(new ArrayList<>(Arrays.asList(cells)));
+        return row;
+    }
+
+    private static Cell cell(long columnId, Object value) {
+        return new Cell(columnId).setValue(value);
+    }
+}
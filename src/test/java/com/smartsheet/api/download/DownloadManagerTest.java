@@ -0,0 +1,156 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.download;
+
+import com.smartsheet.api.HttpTestServer;
+import com.smartsheet.api.ResourceNotFoundException;
+import com.smartsheet.api.Smartsheet;
+import com.smartsheet.api.SmartsheetBuilder;
+import com.smartsheet.api.SmartsheetException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DownloadManagerTest {
+
+    private static final String ATTACHMENT = "{\"id\":2,\"name\":\"file.bin\",\"attachmentType\":\"FILE\","
+            + "\"url\":\"http://localhost:9091/file.bin?signature=1\",\"urlExpiresInMillis\":120000}";
+
+    @TempDir
+    Path tempDir;
+
+    private final byte[] file = new byte[5000];
+    private HttpTestServer api;
+    private HttpTestServer storage;
+    private Smartsheet smartsheet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        new Random(42).nextBytes(file);
+
+        api = new HttpTestServer(ATTACHMENT);
+        api.setPort(9090);
+        api.start();
+
+        // the attachment's signed URL points at a separate storage server
+        storage = new HttpTestServer();
+        storage.setPort(9091);
+        storage.setContentType("application/octet-stream");
+        storage.setResponseBody(file);
+        storage.start();
+
+        smartsheet = new SmartsheetBuilder()
+                .setBaseURI("http://localhost:9090/2.0/")
+                .setAccessToken("accessToken")
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        api.stop();
+        storage.stop();
+    }
+
+    @Test
+    void download_writesEachAttachmentToItsTarget() throws Exception {
+        // Arrange
+        Path a = tempDir.resolve("a.bin");
+        Path b = tempDir.resolve("b.bin");
+        List<DownloadResult> finished = new CopyOnWriteArrayList<>();
+        DownloadManager manager = new DownloadManager(smartsheet, 2).setListener(finished::add);
+
+        // Act
+        DownloadReport report = manager.download(List.of(new DownloadJob(1L, 2L, a), new DownloadJob(1L, 3L, b)));
+
+        // Assert
+        assertThat(report.isAllSucceeded()).isTrue();
+        assertThat(report.getResults()).extracting(result -> result.getJob().getTarget()).containsExactly(a, b);
+        assertThat(report.getResults()).extracting(result -> result.getAttachment().getName())
+                .containsExactly("file.bin", "file.bin");
+        assertThat(report.getBytesDownloaded()).isEqualTo(2L * file.length);
+        assertThat(Files.readAllBytes(a)).isEqualTo(file);
+        assertThat(Files.readAllBytes(b)).isEqualTo(file);
+        assertThat(finished).hasSize(2);
+    }
+
+    @Test
+    void download_skipExisting_leavesCompletedFilesAlone() throws Exception {
+        // Arrange
+        Path existing = tempDir.resolve("existing.bin");
+        Files.write(existing, "done".getBytes(StandardCharsets.UTF_8));
+        Path missing = tempDir.resolve("missing.bin");
+        DownloadManager manager = new DownloadManager(smartsheet, 1).setSkipExisting(true);
+
+        // Act
+        DownloadReport report = manager.download(List.of(new DownloadJob(1L, 2L, existing), new DownloadJob(1L, 3L, missing)));
+
+        // Assert
+        assertThat(report.getResults()).extracting(DownloadResult::isSkipped).containsExactly(true, false);
+        assertThat(report.getBytesDownloaded()).isEqualTo(file.length);
+        assertThat(Files.readAllBytes(existing)).isEqualTo("done".getBytes(StandardCharsets.UTF_8));
+        assertThat(Files.readAllBytes(missing)).isEqualTo(file);
+    }
+
+    @Test
+    void download_storageError_isReportedInTheResult() throws Exception {
+        // Arrange
+        storage.setStatus(404);
+        Path target = tempDir.resolve("file.bin");
+        DownloadManager manager = new DownloadManager(smartsheet, 1);
+
+        // Act
+        DownloadReport report = manager.download(List.of(new DownloadJob(1L, 2L, target)));
+
+        // Assert
+        assertThat(report.isAllSucceeded()).isFalse();
+        DownloadResult result = report.getFailed().get(0);
+        assertThat(result.getError()).isInstanceOf(SmartsheetException.class).hasMessageContaining("404");
+        assertThat(result.getAttachment()).isNull();
+        assertThat(report.getBytesDownloaded()).isZero();
+        assertThat(target).doesNotExist();
+    }
+
+    @Test
+    void download_missingAttachment_doesNotStopTheOthers() throws Exception {
+        // Arrange
+        Path present = tempDir.resolve("present.bin");
+        Files.write(present, "done".getBytes(StandardCharsets.UTF_8));
+        api.setStatus(404);
+        api.setResponseBody("{\"errorCode\":1006,\"message\":\"Not Found\"}");
+        DownloadManager manager = new DownloadManager(smartsheet, 2).setSkipExisting(true);
+
+        // Act
+        DownloadReport report = manager.download(List.of(
+                new DownloadJob(1L, 2L, tempDir.resolve("missing.bin")), new DownloadJob(1L, 3L, present)));
+
+        // Assert
+        assertThat(report.getFailed()).hasSize(1);
+        assertThat(report.getResults().get(0).getError()).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(report.getResults().get(1).isSuccess()).isTrue();
+        assertThat(report.getResults().get(1).isSkipped()).isTrue();
+    }
+}
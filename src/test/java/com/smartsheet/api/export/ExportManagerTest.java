@@ -0,0 +1,209 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.export;
+
+import com.smartsheet.api.ReportResources;
+import com.smartsheet.api.ResourceNotFoundException;
+import com.smartsheet.api.SheetResources;
+import com.smartsheet.api.Smartsheet;
+import com.smartsheet.api.models.Error;
+import com.smartsheet.api.models.enums.ExportFormat;
+import com.smartsheet.api.models.enums.PaperSize;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExportManagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Smartsheet smartsheet;
+    private SheetResources sheets;
+    private ReportResources reports;
+
+    @BeforeEach
+    void setUp() {
+        smartsheet = mock(Smartsheet.class);
+        sheets = mock(SheetResources.class);
+        reports = mock(ReportResources.class);
+        when(smartsheet.sheetResources()).thenReturn(sheets);
+        when(smartsheet.reportResources()).thenReturn(reports);
+    }
+
+    @Nested
+    class ExportTests {
+        @Test
+        void export_writesEachJobWithItsResource_inJobOrder() throws Exception {
+            // Arrange
+            Path a = tempDir.resolve("a.xls");
+            Path b = tempDir.resolve("b.csv");
+            Path c = tempDir.resolve("c.pdf");
+            when(sheets.exportSheet(anyLong(), any(), any(), any(Path.class))).thenAnswer(invocation -> {
+                long id = invocation.getArgument(0);
+                if (id == 1L) {
+                    // finishes last, after the jobs listed behind it
+                    Thread.sleep(200);
+                }
+                return id * 10;
+            });
+            when(reports.exportReport(anyLong(), any(), any(Path.class))).thenReturn(20L);
+            ExportManager manager = new ExportManager(smartsheet, 3).setExportsPerMinute(0);
+
+            // Act
+            ExportReport report = manager.export(List.of(
+                    ExportJob.sheet(1L, ExportFormat.EXCEL, a),
+                    ExportJob.report(2L, ExportFormat.CSV, b),
+                    ExportJob.sheetAsPdf(3L, PaperSize.LEGAL, c)));
+
+            // Assert
+            assertThat(report.isAllSucceeded()).isTrue();
+            assertThat(report.getResults()).extracting(result -> result.getJob().getId()).containsExactly(1L, 2L, 3L);
+            assertThat(report.getResults()).extracting(ExportResult::getBytes).containsExactly(10L, 20L, 30L);
+            assertThat(report.getBytesExported()).isEqualTo(60L);
+            verify(sheets).exportSheet(1L, ExportFormat.EXCEL, null, a);
+            verify(reports).exportReport(2L, ExportFormat.CSV, b);
+            verify(sheets).exportSheet(3L, ExportFormat.PDF, PaperSize.LEGAL, c);
+        }
+
+        @Test
+        void export_callsTheListenerForEachJob() throws Exception {
+            // Arrange
+            when(sheets.exportSheet(anyLong(), any(), any(), any(Path.class))).thenReturn(1L);
+            List<ExportResult> finished = new CopyOnWriteArrayList<>();
+            ExportManager manager = new ExportManager(smartsheet, 2).setExportsPerMinute(0).setListener(finished::add);
+
+            // Act
+            ExportReport report = manager.export(List.of(
+                    ExportJob.sheet(1L, ExportFormat.CSV, tempDir.resolve("a.csv")),
+                    ExportJob.sheet(2L, ExportFormat.CSV, tempDir.resolve("b.csv"))));
+
+            // Assert
+            assertThat(finished).containsExactlyInAnyOrderElementsOf(report.getResults());
+        }
+    }
+
+    @Nested
+    class SpacingTests {
+        @Test
+        void export_spacesStartsToTheExportsPerMinute() throws Exception {
+            // Arrange
+            when(sheets.exportSheet(anyLong(), any(), any(), any(Path.class))).thenReturn(1L);
+            // one start every 100 ms
+            ExportManager manager = new ExportManager(smartsheet, 3).setExportsPerMinute(600);
+
+            // Act
+            ExportReport report = manager.export(List.of(
+                    ExportJob.sheet(1L, ExportFormat.CSV, tempDir.resolve("a.csv")),
+                    ExportJob.sheet(2L, ExportFormat.CSV, tempDir.resolve("b.csv")),
+                    ExportJob.sheet(3L, ExportFormat.CSV, tempDir.resolve("c.csv"))));
+
+            // Assert
+            List<Long> waits = new ArrayList<>();
+            report.getResults().forEach(result -> waits.add(result.getWaitMillis()));
+            waits.sort(null);
+            assertThat(waits.get(0)).isLessThan(50L);
+            assertThat(waits.get(1)).isBetween(50L, 150L);
+            assertThat(waits.get(2)).isBetween(150L, 250L);
+            assertThat(report.getElapsedMillis()).isGreaterThanOrEqualTo(200L);
+        }
+
+        @Test
+        void export_withoutALimit_startsRightAway() throws Exception {
+            // Arrange
+            when(sheets.exportSheet(anyLong(), any(), any(), any(Path.class))).thenReturn(1L);
+            ExportManager manager = new ExportManager(smartsheet, 1).setExportsPerMinute(0);
+
+            // Act
+            ExportReport report = manager.export(List.of(
+                    ExportJob.sheet(1L, ExportFormat.CSV, tempDir.resolve("a.csv")),
+                    ExportJob.sheet(2L, ExportFormat.CSV, tempDir.resolve("b.csv"))));
+
+            // Assert
+            assertThat(report.getResults()).extracting(ExportResult::getWaitMillis).containsOnly(0L);
+        }
+
+        @Test
+        void setExportsPerMinute_negative_throws() {
+            // Arrange
+            ExportManager manager = new ExportManager(smartsheet, 1);
+
+            // Act & Assert
+            assertThatThrownBy(() -> manager.setExportsPerMinute(-1)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    class FailureTests {
+        @Test
+        void export_failedExport_isReportedAndTheOthersStillRun() throws Exception {
+            // Arrange
+            ResourceNotFoundException notFound = new ResourceNotFoundException(new Error().setErrorCode(1006).setMessage("Not Found"));
+            when(sheets.exportSheet(anyLong(), any(), any(), any(Path.class))).thenAnswer(invocation -> {
+                if ((long) invocation.getArgument(0) == 1L) {
+                    throw notFound;
+                }
+                return 5L;
+            });
+            when(reports.exportReport(anyLong(), any(), any(Path.class))).thenThrow(new IllegalStateException("bad response"));
+            ExportManager manager = new ExportManager(smartsheet, 1).setExportsPerMinute(0);
+
+            // Act
+            ExportReport report = manager.export(List.of(
+                    ExportJob.sheet(1L, ExportFormat.CSV, tempDir.resolve("a.csv")),
+                    ExportJob.sheet(2L, ExportFormat.CSV, tempDir.resolve("b.csv")),
+                    ExportJob.report(3L, ExportFormat.CSV, tempDir.resolve("c.csv"))));
+
+            // Assert
+            assertThat(report.isAllSucceeded()).isFalse();
+            assertThat(report.getFailed()).extracting(result -> result.getJob().getId()).containsExactly(1L, 3L);
+            assertThat(report.getResults().get(0).getError()).isSameAs(notFound);
+            assertThat(report.getResults().get(1).isSuccess()).isTrue();
+            assertThat(report.getResults().get(1).getBytes()).isEqualTo(5L);
+            assertThat(report.getResults().get(2).getError()).isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        void export_listenerFailure_isThrownToTheCaller() throws Exception {
+            // Arrange
+            when(sheets.exportSheet(anyLong(), any(), any(), any(Path.class))).thenReturn(1L);
+            IllegalArgumentException listenerFailure = new IllegalArgumentException("listener bug");
+            ExportManager manager = new ExportManager(smartsheet, 1).setExportsPerMinute(0).setListener(result -> {
+                throw listenerFailure;
+            });
+
+            // Act & Assert
+            assertThatThrownBy(() -> manager.export(List.of(ExportJob.sheet(1L, ExportFormat.CSV, tempDir.resolve("a.csv")))))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasCause(listenerFailure);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.images;
+
+import com.smartsheet.api.ImageUrlResources;
+import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.SmartsheetRestException;
+import com.smartsheet.api.models.Error;
+import com.smartsheet.api.models.ImageUrl;
+import com.smartsheet.api.models.ImageUrlMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ImageUrlResolverTest {
+    private final List<List<ImageUrl>> requests = new CopyOnWriteArrayList<>();
+    private ImageUrlResources imageUrlResources;
+    private ImageUrlResolver resolver;
+    private long expiresInMillis = 1_800_000;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        imageUrlResources = mock(ImageUrlResources.class);
+        when(imageUrlResources.getImageUrls(anyList())).thenAnswer(invocation -> respond(invocation.getArgument(0)));
+        resolver = new ImageUrlResolver(imageUrlResources).setBatchWindowMillis(50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        resolver.close();
+    }
+
+    @Test
+    void resolveAsync_batchesAndDeduplicatesConcurrentLookups() throws Exception {
+        // Act
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(resolver.resolveAsync("a", null, null));
+            futures.add(resolver.resolveAsync("b", 10L, 20L));
+        }
+        futures.add(resolver.resolveAsync("b", null, null));
+
+        // Assert
+        assertThat(futures.get(0).get()).isEqualTo("https://images/a/null/null");
+        assertThat(futures.get(1).get()).isEqualTo("https://images/b/10/20");
+        assertThat(futures.get(6).get()).isEqualTo("https://images/b/null/null");
+        assertThat(futures.get(2)).isSameAs(futures.get(0));
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0)).hasSize(3);
+    }
+
+    @Test
+    void resolve_servesCachedUrlsUntilTheyExpire() throws Exception {
+        // Arrange
+        expiresInMillis = 200;
+        resolver.setExpiryMarginMillis(100).setBatchWindowMillis(0);
+
+        // Act
+        String first = resolver.resolve("a", null, null);
+        String second = resolver.resolve("a", null, null);
+        Thread.sleep(150);
+        String third = resolver.resolve("a", null, null);
+
+        // Assert
+        assertThat(first).isEqualTo(second).isEqualTo(third);
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void resolveAll_splitsIntoBatchesOfMaxBatchSize() throws Exception {
+        // Arrange
+        resolver.setMaxBatchSize(2);
+
+        // Act
+        List<String> urls = resolver.resolveAll(Arrays.asList(new ImageUrl("a"), new ImageUrl("b"), new ImageUrl("c")));
+
+        // Assert
+        assertThat(urls).containsExactly("https://images/a/null/null", "https://images/b/null/null",
+                "https://images/c/null/null");
+        assertThat(requests).hasSize(2);
+    }
+
+    @Test
+    void resolve_reportsPerImageErrors() {
+        // Act & Assert
+        assertThatThrownBy(() -> resolver.resolve("missing", null, null))
+                .isInstanceOf(SmartsheetRestException.class)
+                .hasMessage("Not Found");
+    }
+
+    @Test
+    void resolve_failsAfterClose() {
+        // Arrange
+        resolver.close();
+
+        // Act & Assert
+        assertThatThrownBy(() -> resolver.resolve("a", null, null))
+                .isInstanceOf(SmartsheetException.class);
+    }
+
+    private ImageUrlMap respond(List<ImageUrl> request) {
+        requests.add(request);
+        List<ImageUrl> imageUrls = new ArrayList<>();
+        for (ImageUrl image : request) {
+            ImageUrl imageUrl = new ImageUrl(image.getImageId()).setWidth(image.getWidth()).setHeight(image.getHeight());
+            if ("missing".equals(image.getImageId())) {
+                imageUrl.setError(new Error().setErrorCode(1006).setMessage("Not Found"));
+            } else {
+                imageUrl.setUrl("https://images/" + image.getImageId() + "/" + image.getWidth() + "/" + image.getHeight());
+            }
+            imageUrls.add(imageUrl);
+        }
+        return new ImageUrlMap().setUrlExpiresInMillis(expiresInMillis).setImageUrls(imageUrls);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.imports;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void readRecord_plainFieldsAndLineEndings() throws IOException {
+        // Arrange
+        CsvReader reader = new CsvReader(new StringReader("a,b,c\r\n1,,3\n4,5,6\r7,8,9"));
+
+        // Act
+        List<String[]> records = readAll(reader);
+
+        // Assert
+        assertThat(records).hasSize(4);
+        assertThat(records.get(0)).containsExactly("a", "b", "c");
+        assertThat(records.get(1)).containsExactly("1", "", "3");
+        assertThat(records.get(2)).containsExactly("4", "5", "6");
+        assertThat(records.get(3)).containsExactly("7", "8", "9");
+        assertThat(reader.getRecordNumber()).isEqualTo(4);
+    }
+
+    @Test
+    void readRecord_quotedFields() throws IOException {
+        // Arrange
+        CsvReader reader = new CsvReader(new StringReader("\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\"\n\"\",x\n"));
+
+        // Act
+        List<String[]> records = readAll(reader);
+
+        // Assert
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0)).containsExactly("a,b", "say \"hi\"", "two\nlines");
+        assertThat(records.get(1)).containsExactly("", "x");
+    }
+
+    @Test
+    void readRecord_fieldsSpanningTheBuffer() throws IOException {
+        // Arrange
+        StringBuilder longField = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            longField.append((char) ('a' + i % 26));
+        }
+        String csv = longField + ",\"" + longField + "\"\"" + longField + "\"\nend";
+        CsvReader reader = new CsvReader(new StringReader(csv));
+
+        // Act
+        List<String[]> records = readAll(reader);
+
+        // Assert
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0)).containsExactly(longField.toString(), longField + "\"" + longField);
+        assertThat(records.get(1)).containsExactly("end");
+    }
+
+    @Test
+    void readRecord_otherDelimiter() throws IOException {
+        // Arrange
+        CsvReader reader = new CsvReader(new StringReader("a\tb,c\n"), '\t');
+
+        // Act
+        String[] record = reader.readRecord();
+
+        // Assert
+        assertThat(record).containsExactly("a", "b,c");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void readRecord_unterminatedQuote() {
+        // Arrange
+        CsvReader reader = new CsvReader(new StringReader("a,\"b\nc"));
+
+        // Act & Assert
+        assertThatThrownBy(reader::readRecord)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("record 1");
+    }
+
+    private static List<String[]> readAll(CsvReader reader) throws IOException {
+        List<String[]> records = new ArrayList<>();
+        String[] record;
+        while ((record = reader.readRecord()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+}
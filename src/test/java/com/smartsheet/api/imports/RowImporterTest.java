@@ -0,0 +1,240 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.imports;
+
+import com.smartsheet.api.ResourceNotFoundException;
+import com.smartsheet.api.SheetColumnResources;
+import com.smartsheet.api.SheetResources;
+import com.smartsheet.api.SheetRowResources;
+import com.smartsheet.api.Smartsheet;
+import com.smartsheet.api.models.Cell;
+import com.smartsheet.api.models.Column;
+import com.smartsheet.api.models.Error;
+import com.smartsheet.api.models.PagedResult;
+import com.smartsheet.api.models.PaginationParameters;
+import com.smartsheet.api.models.Row;
+import com.smartsheet.api.models.Sheet;
+import com.smartsheet.api.models.enums.ColumnType;
+import com.smartsheet.api.models.enums.SystemColumnType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RowImporterTest {
+    private static final long SHEET_ID = 1L;
+
+    private SheetResources sheets;
+    private SheetRowResources rows;
+    private RowImporter importer;
+    private final List<List<Row>> added = new ArrayList<>();
+    private final List<List<Row>> updated = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Smartsheet smartsheet = mock(Smartsheet.class);
+        sheets = mock(SheetResources.class);
+        SheetColumnResources columns = mock(SheetColumnResources.class);
+        rows = mock(SheetRowResources.class);
+        when(smartsheet.sheetResources()).thenReturn(sheets);
+        when(sheets.columnResources()).thenReturn(columns);
+        when(sheets.rowResources()).thenReturn(rows);
+
+        PagedResult<Column> sheetColumns = new PagedResult<>();
+        sheetColumns.setData(Arrays.asList(
+                column(10L, "Id", ColumnType.TEXT_NUMBER),
+                column(11L, "Name", ColumnType.TEXT_NUMBER),
+                column(12L, "Done", ColumnType.CHECKBOX),
+                column(13L, "Created", ColumnType.DATETIME).setSystemColumnType(SystemColumnType.CREATED_DATE)));
+        when(columns.listColumns(eq(SHEET_ID), isNull(), any(PaginationParameters.class))).thenReturn(sheetColumns);
+        when(rows.addRows(eq(SHEET_ID), anyList())).thenAnswer(invocation -> capture(added, invocation.getArgument(1)));
+        when(rows.updateRows(eq(SHEET_ID), anyList())).thenAnswer(invocation -> capture(updated, invocation.getArgument(1)));
+
+        importer = new RowImporter(smartsheet, SHEET_ID);
+    }
+
+    @Test
+    void importCsv_appendsConvertedRowsInBatches() throws Exception {
+        // Arrange
+        String csv = "Id,Name,Done,Created,Unknown\n1,one,yes,x,y\n\n2,0042,no,,\n3,three,,,\n";
+        importer.setBatchSize(2);
+
+        // Act
+        ImportReport report = importer.importCsv(new StringReader(csv));
+
+        // Assert
+        assertThat(report.getRecordsRead()).isEqualTo(3);
+        assertThat(report.getRowsAdded()).isEqualTo(3);
+        assertThat(report.getRowsUpdated()).isZero();
+        assertThat(report.getIgnoredHeaders()).containsExactly("Created", "Unknown");
+        assertThat(added).hasSize(2);
+        assertThat(added.get(0)).hasSize(2);
+        assertThat(added.get(1)).hasSize(1);
+
+        Row first = added.get(0).get(0);
+        assertThat(first.getToBottom()).isTrue();
+        assertThat(first.getCells()).extracting(Cell::getColumnId).containsExactly(10L, 11L, 12L);
+        assertThat(first.getCells().get(0).getLong()).isEqualTo(1L);
+        assertThat(first.getCells().get(1).getValue()).isEqualTo("one");
+        assertThat(first.getCells().get(2).getBoolean()).isTrue();
+        // leading zeros are kept as text
+        assertThat(added.get(0).get(1).getCells().get(1).getValue()).isEqualTo("0042");
+        // empty fields are left out
+        assertThat(added.get(1).get(0).getCells()).hasSize(2);
+        verify(rows, never()).updateRows(eq(SHEET_ID), anyList());
+    }
+
+    @Test
+    void importCsv_upsertsByKey() throws Exception {
+        // Arrange
+        Sheet existing = new Sheet();
+        existing.setRows(Arrays.asList(row(100L, 10L, 1L), row(200L, 10L, 2L)));
+        when(sheets.getSheet(SHEET_ID, null, null, null, null, Collections.singleton(10L), 5000, 1)).thenReturn(existing);
+        String csv = "Id,Name\n2,two\n3,three\n1,one\n3,again\n";
+        importer.setKeyColumn("Id");
+
+        // Act
+        ImportReport report = importer.importCsv(new StringReader(csv));
+
+        // Assert
+        assertThat(report.getRowsUpdated()).isEqualTo(2);
+        assertThat(report.getRowsAdded()).isEqualTo(1);
+        assertThat(report.getDuplicateKeys()).isEqualTo(1);
+        assertThat(updated).hasSize(1);
+        assertThat(updated.get(0)).extracting(Row::getId).containsExactly(200L, 100L);
+        assertThat(added).hasSize(1);
+        assertThat(added.get(0).get(0).getCells().get(1).getValue()).isEqualTo("again");
+    }
+
+    @Test
+    void importCsv_existingKeyTwiceInABatch_mergesIntoOneUpdate() throws Exception {
+        // Arrange
+        Sheet existing = new Sheet();
+        existing.setRows(Collections.singletonList(row(100L, 10L, 1L)));
+        when(sheets.getSheet(SHEET_ID, null, null, null, null, Collections.singleton(10L), 5000, 1)).thenReturn(existing);
+        String csv = "Id,Name,Done\n1,one,yes\n1,uno,\n";
+        importer.setKeyColumn("Id");
+
+        // Act
+        ImportReport report = importer.importCsv(new StringReader(csv));
+
+        // Assert
+        assertThat(report.getRowsUpdated()).isEqualTo(1);
+        assertThat(report.getDuplicateKeys()).isEqualTo(1);
+        assertThat(updated).hasSize(1);
+        assertThat(updated.get(0)).hasSize(1);
+        Row row = updated.get(0).get(0);
+        assertThat(row.getId()).isEqualTo(100L);
+        assertThat(row.getCells()).extracting(Cell::getColumnId).containsExactly(10L, 11L, 12L);
+        assertThat(row.getCells().get(1).getValue()).isEqualTo("uno");
+        assertThat(row.getCells().get(2).getBoolean()).isTrue();
+    }
+
+    @Test
+    void importCsv_newKeyTwice_addsOnceAndUpdatesTheAddedRow() throws Exception {
+        // Arrange
+        when(sheets.getSheet(SHEET_ID, null, null, null, null, Collections.singleton(10L), 5000, 1)).thenReturn(new Sheet());
+        when(rows.addRows(eq(SHEET_ID), anyList())).thenAnswer(invocation -> {
+            List<Row> batch = capture(added, invocation.getArgument(1));
+            List<Row> result = new ArrayList<>();
+            for (Row row : batch) {
+                result.add(new Row(1000L + result.size()));
+            }
+            return result;
+        });
+        String csv = "Id,Name,Done\n5,five,\n5,,yes\n6,six,\n5,cinq,\n";
+        importer.setKeyColumn("Id").setBatchSize(2);
+
+        // Act
+        ImportReport report = importer.importCsv(new StringReader(csv));
+
+        // Assert
+        assertThat(report.getRowsAdded()).isEqualTo(2);
+        assertThat(report.getRowsUpdated()).isEqualTo(1);
+        assertThat(report.getDuplicateKeys()).isEqualTo(2);
+        assertThat(added).hasSize(1);
+        assertThat(added.get(0)).hasSize(2);
+        assertThat(added.get(0).get(0).getCells()).extracting(Cell::getColumnId).containsExactly(10L, 11L, 12L);
+        assertThat(added.get(0).get(0).getCells().get(1).getValue()).isEqualTo("five");
+        assertThat(updated).hasSize(1);
+        assertThat(updated.get(0).get(0).getId()).isEqualTo(1000L);
+        assertThat(updated.get(0).get(0).getCells().get(1).getValue()).isEqualTo("cinq");
+    }
+
+    @Test
+    void importCsv_unknownKeyColumn() {
+        // Arrange
+        importer.setKeyColumn("Missing");
+
+        // Act & Assert
+        assertThatThrownBy(() -> importer.importCsv(new StringReader("Id,Name\n1,one\n")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void importCsv_stopsOnUploadFailure() throws Exception {
+        // Arrange
+        when(rows.addRows(eq(SHEET_ID), anyList()))
+                .thenThrow(new ResourceNotFoundException(new Error().setErrorCode(1006).setMessage("Not Found")));
+        StringBuilder csv = new StringBuilder("Id,Name\n");
+        for (int i = 0; i < 10_000; i++) {
+            csv.append(i).append(",name\n");
+        }
+        importer.setBatchSize(10);
+
+        // Act & Assert
+        assertThatThrownBy(() -> importer.importCsv(new StringReader(csv.toString())))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private static Column column(long id, String title, ColumnType type) {
+        Column column = new Column(id);
+        column.setTitle(title);
+        column.setType(type);
+        return column;
+    }
+
+    private static Row row(long rowId, long columnId, Object value) {
+        Row row = new Row(rowId);
+        Cell cell = new Cell();
+        cell.setColumnId(columnId);
+        cell.setValue(value);
+        row.setCells(Collections.singletonList(cell));
+        return row;
+    }
+
+    private static List<Row> capture(List<List<Row>> calls, List<Row> batch) {
+        List<Row> copy = new ArrayList<>(batch);
+        calls.add(copy);
+        return copy;
+    }
+}
@@ -31,6 +31,8 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -85,6 +87,13 @@ public class CellResourcesIT extends ITResourcesImpl {
         smartsheet.sheetResources().rowResources().cellResources().addImageToCell(sheet.getId(), row.getId(),
                 columns.getData().get(0).getId(), is, "image/png", file.length(), true, file.getName());
 
+        smartsheet.sheetResources().rowResources().cellResources().addImageToCell(sheet.getId(), row.getId(),
+                columns.getData().get(0).getId(), file.toPath(), "image/png", true, file.getName());
+
+        ByteBuffer image = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        smartsheet.sheetResources().rowResources().cellResources().addImageToCell(sheet.getId(), row.getId(),
+                columns.getData().get(0).getId(), image, file.getName(), "image/png", true, file.getName());
+
         //cleanup
         deleteSheet(sheet.getId());
     }
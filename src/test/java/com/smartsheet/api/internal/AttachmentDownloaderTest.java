@@ -0,0 +1,158 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.internal;
+
+import com.smartsheet.api.SheetAttachmentResources;
+import com.smartsheet.api.internal.http.HttpClient;
+import com.smartsheet.api.internal.http.HttpEntity;
+import com.smartsheet.api.internal.http.HttpRequest;
+import com.smartsheet.api.internal.http.HttpResponse;
+import com.smartsheet.api.internal.json.JacksonJsonSerializer;
+import com.smartsheet.api.models.Attachment;
+import com.smartsheet.api.models.enums.AttachmentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AttachmentDownloaderTest {
+
+    private static final int SEGMENT_SIZE = 1000;
+
+    @TempDir
+    Path tempDir;
+
+    private final byte[] file = new byte[3500];
+    private final List<HttpRequest> requests = new CopyOnWriteArrayList<>();
+    private HttpClient httpClient;
+    private SheetAttachmentResources attachments;
+    private AttachmentDownloader downloader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        new Random(42).nextBytes(file);
+        httpClient = mock(HttpClient.class);
+        attachments = mock(SheetAttachmentResources.class);
+        when(attachments.getAttachment(1L, 2L)).thenReturn(attachment("https://files.example.com/a?signature=1"));
+        SmartsheetImpl smartsheet = new SmartsheetImpl("http://localhost:9090/2.0/", "accessToken", httpClient,
+                new JacksonJsonSerializer());
+        downloader = new AttachmentDownloader(smartsheet, attachments, SEGMENT_SIZE, 2);
+    }
+
+    @Test
+    void download_largeFile_inSegments() throws Exception {
+        // Arrange
+        when(httpClient.request(any(HttpRequest.class))).thenAnswer(invocation -> serveRange(invocation.getArgument(0)));
+        Path target = tempDir.resolve("file.bin");
+
+        // Act
+        downloader.download(1L, 2L, target);
+
+        // Assert
+        assertThat(Files.readAllBytes(target)).isEqualTo(file);
+        assertThat(tempDir.resolve("file.bin.segments")).doesNotExist();
+        assertThat(requests).extracting(request -> request.getHeaders().get("Range"))
+                .containsExactlyInAnyOrder("bytes=0-999", "bytes=1000-1999", "bytes=2000-2999", "bytes=3000-3499");
+        assertThat(requests).allSatisfy(request -> assertThat(request.getHeaders()).doesNotContainKey("Authorization"));
+    }
+
+    @Test
+    void download_resumesPartFile() throws Exception {
+        // Arrange
+        when(httpClient.request(any(HttpRequest.class))).thenAnswer(invocation -> serveRange(invocation.getArgument(0)));
+        Path target = tempDir.resolve("file.bin");
+        Files.write(tempDir.resolve("file.bin.part"), Arrays.copyOf(file, 1234));
+
+        // Act
+        downloader.download(1L, 2L, target);
+
+        // Assert
+        assertThat(Files.readAllBytes(target)).isEqualTo(file);
+        assertThat(tempDir.resolve("file.bin.part")).doesNotExist();
+        assertThat(requests).extracting(request -> request.getHeaders().get("Range")).containsExactly("bytes=1234-");
+    }
+
+    @Test
+    void download_refreshesRefusedUrl() throws Exception {
+        // Arrange
+        when(attachments.getAttachment(1L, 2L))
+                .thenReturn(attachment("https://files.example.com/a?signature=expired"))
+                .thenReturn(attachment("https://files.example.com/a?signature=2"));
+        when(httpClient.request(any(HttpRequest.class))).thenAnswer(invocation -> {
+            HttpRequest request = invocation.getArgument(0);
+            if (request.getUri().getQuery().contains("expired")) {
+                return response(403, new HashMap<>(), new byte[0]);
+            }
+            return serveRange(request);
+        });
+        Path target = tempDir.resolve("file.bin");
+
+        // Act
+        downloader.download(1L, 2L, target);
+
+        // Assert
+        assertThat(Files.readAllBytes(target)).isEqualTo(file);
+        verify(attachments, times(2)).getAttachment(1L, 2L);
+    }
+
+    private HttpResponse serveRange(HttpRequest request) {
+        requests.add(request);
+        String[] range = request.getHeaders().get("Range").substring("bytes=".length()).split("-", -1);
+        int start = Integer.parseInt(range[0]);
+        int end = range[1].isEmpty() ? file.length - 1 : Math.min(Integer.parseInt(range[1]), file.length - 1);
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Content-Range", "bytes " + start + "-" + end + "/" + file.length);
+        return response(206, headers, Arrays.copyOfRange(file, start, end + 1));
+    }
+
+    private static HttpResponse response(int status, Map<String, String> headers, byte[] content) {
+        HttpResponse response = new HttpResponse();
+        response.setStatusCode(status);
+        response.setHeaders(headers);
+        HttpEntity entity = new HttpEntity();
+        entity.setContentType("application/octet-stream");
+        entity.setContentLength(content.length);
+        entity.setContent(new ByteArrayInputStream(content));
+        response.setEntity(entity);
+        return response;
+    }
+
+    private static Attachment attachment(String url) {
+        Attachment attachment = new Attachment();
+        attachment.setAttachmentType(AttachmentType.FILE);
+        attachment.setUrl(url);
+        attachment.setUrlExpiresInMillis(120000L);
+        return attachment;
+    }
+}
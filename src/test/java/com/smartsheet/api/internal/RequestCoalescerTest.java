@@ -0,0 +1,140 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.internal;
+
+import com.smartsheet.api.SmartsheetException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTest {
+
+    private static final URI SHEET = URI.create("https://api.smartsheet.com/2.0/sheets/1");
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_concurrentIdenticalCallsShareOneFetchAndResult() throws Exception {
+        // Arrange
+        Future<Object> leader = executor.submit(() -> coalescer.execute(SHEET, headers("a"), "Sheet", this::blockingFetch));
+        awaitInFlight();
+        Future<Object> follower = executor.submit(() -> coalescer.execute(SHEET, headers("a"), "Sheet", this::blockingFetch));
+        Thread.sleep(50);
+
+        // Act
+        release.countDown();
+
+        // Assert
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(leader.get(5, TimeUnit.SECONDS));
+        assertThat(fetches.get()).isEqualTo(1);
+        assertThat(coalescer.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void execute_callsWithDifferentHeadersAreNotShared() throws Exception {
+        // Arrange
+        Future<Object> first = executor.submit(() -> coalescer.execute(SHEET, headers("a"), "Sheet", this::blockingFetch));
+        awaitInFlight();
+
+        // Act
+        Object second = coalescer.execute(SHEET, headers("b"), "Sheet", () -> "other");
+        release.countDown();
+
+        // Assert
+        assertThat(second).isEqualTo("other");
+        assertThat(first.get(5, TimeUnit.SECONDS)).isNotEqualTo(second);
+    }
+
+    @Test
+    void execute_sequentialCallsEachFetch() throws Exception {
+        // Arrange
+        release.countDown();
+
+        // Act
+        Object first = coalescer.execute(SHEET, headers("a"), "Sheet", this::blockingFetch);
+        Object second = coalescer.execute(SHEET, headers("a"), "Sheet", this::blockingFetch);
+
+        // Assert
+        assertThat(second).isNotSameAs(first);
+        assertThat(fetches.get()).isEqualTo(2);
+    }
+
+    @Test
+    void execute_followersGetTheLeadersException() throws Exception {
+        // Arrange
+        SmartsheetException notFound = new SmartsheetException("not found");
+        Future<Object> leader = executor.submit(() -> coalescer.execute(SHEET, headers("a"), "Sheet", () -> {
+            blockingFetch();
+            throw notFound;
+        }));
+        awaitInFlight();
+        Future<Object> follower = executor.submit(() -> coalescer.execute(SHEET, headers("a"), "Sheet", this::blockingFetch));
+        Thread.sleep(50);
+
+        // Act
+        release.countDown();
+
+        // Assert
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCause(notFound);
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCause(notFound);
+        assertThat(fetches.get()).isEqualTo(1);
+    }
+
+    private Object blockingFetch() throws SmartsheetException {
+        fetches.incrementAndGet();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new SmartsheetException(e);
+        }
+        return new Object();
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        for (int i = 0; i < 500 && fetches.get() == 0; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static Map<String, String> headers(String token) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Authorization", "Bearer " + token);
+        return headers;
+    }
+}
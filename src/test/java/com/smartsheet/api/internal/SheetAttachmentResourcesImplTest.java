@@ -16,8 +16,13 @@
 
 package com.smartsheet.api.internal;
 
+import com.smartsheet.api.InvalidRequestException;
 import com.smartsheet.api.SmartsheetException;
 import com.smartsheet.api.internal.http.DefaultHttpClient;
+import com.smartsheet.api.internal.http.HttpClientException;
+import com.smartsheet.api.internal.http.HttpRequest;
+import com.smartsheet.api.internal.http.HttpResponse;
+import com.smartsheet.api.internal.http.RepeatableFileInputStream;
 import com.smartsheet.api.models.Attachment;
 import com.smartsheet.api.models.PagedResult;
 import com.smartsheet.api.models.PaginationParameters;
@@ -31,6 +36,8 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -125,4 +132,26 @@ class SheetAttachmentResourcesImplTest extends ResourcesImplBase {
         assertThat(attachment.getParentType()).isEqualTo(AttachmentParentType.SHEET);
 
     }
+
+    @Test
+    void testAttachFile_errorResponse_closesTheFile() throws Exception {
+        // Arrange
+        server.setStatus(400);
+        server.setResponseBody("{\"errorCode\":1008,\"message\":\"Unable to parse request.\"}");
+        List<InputStream> sent = new ArrayList<>();
+        SheetAttachmentResourcesImpl resources = new SheetAttachmentResourcesImpl(new SmartsheetImpl("http://localhost:9090/1.1/",
+                "accessToken", new DefaultHttpClient() {
+                    @Override
+                    public HttpResponse request(HttpRequest request) throws HttpClientException {
+                        sent.add(request.getEntity().getContent());
+                        return super.request(request);
+                    }
+                }, serializer));
+        File file = new File("src/test/resources/large_sheet.pdf");
+
+        // Act & Assert
+        assertThatThrownBy(() -> resources.attachFile(1234L, file, "application/pdf")).isInstanceOf(InvalidRequestException.class);
+        assertThat(sent).hasSize(1);
+        assertThat(((RepeatableFileInputStream) sent.get(0)).isOpen()).isFalse();
+    }
 }
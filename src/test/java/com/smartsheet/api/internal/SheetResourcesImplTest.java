@@ -18,6 +18,9 @@ package com.smartsheet.api.internal;
 
 import com.smartsheet.api.SmartsheetException;
 import com.smartsheet.api.internal.http.DefaultHttpClient;
+import com.smartsheet.api.internal.http.HttpClientException;
+import com.smartsheet.api.internal.http.HttpRequest;
+import com.smartsheet.api.internal.http.HttpResponse;
 import com.smartsheet.api.models.Column;
 import com.smartsheet.api.models.ContainerDestination;
 import com.smartsheet.api.models.FormatDetails;
@@ -37,6 +40,7 @@ import com.smartsheet.api.models.UpdateRequest;
 import com.smartsheet.api.models.enums.AccessLevel;
 import com.smartsheet.api.models.enums.ColumnType;
 import com.smartsheet.api.models.enums.DestinationType;
+import com.smartsheet.api.models.enums.ExportFormat;
 import com.smartsheet.api.models.enums.ObjectExclusion;
 import com.smartsheet.api.models.enums.PaperSize;
 import com.smartsheet.api.models.enums.SheetEmailFormat;
@@ -48,19 +52,26 @@ import com.smartsheet.api.models.format.VerticalAlignment;
 import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class SheetResourcesImplTest extends ResourcesImplBase {
     private SheetResourcesImpl sheetResource;
@@ -158,6 +169,79 @@ class SheetResourcesImplTest extends ResourcesImplBase {
         assertThat(output.toByteArray()).hasSameSizeAs(data);
     }
 
+    @Test
+    void testExportSheetToPath(@TempDir Path tempDir) throws SmartsheetException, IOException {
+        File file = new File("src/test/resources/getExcel.xls");
+        server.setResponseBody(file);
+        server.setContentType("application/vnd.ms-excel");
+        Path target = tempDir.resolve("sheet.xls");
+
+        long bytes = sheetResource.exportSheet(1234L, ExportFormat.EXCEL, null, target);
+
+        byte[] data = Files.readAllBytes(Paths.get(file.getPath()));
+        assertThat(bytes).isEqualTo(data.length);
+        assertThat(Files.readAllBytes(target)).containsExactly(data);
+    }
+
+    @Test
+    void testExportSheetToPath_replacesAnExistingFile(@TempDir Path tempDir) throws SmartsheetException, IOException {
+        File file = new File("src/test/resources/getCsv.csv");
+        server.setResponseBody(file);
+        server.setContentType("text/csv");
+        Path target = Files.write(tempDir.resolve("sheet.csv"), "an older export".getBytes(StandardCharsets.UTF_8));
+
+        sheetResource.exportSheet(1234L, ExportFormat.CSV, null, target);
+
+        assertThat(Files.readAllBytes(target)).containsExactly(Files.readAllBytes(file.toPath()));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).containsExactly(target);
+        }
+    }
+
+    @Test
+    void testExportSheetToPath_failedTransfer_keepsTheExistingFile(@TempDir Path tempDir) throws IOException {
+        server.setResponseBody(new File("src/test/resources/getCsv.csv"));
+        server.setContentType("text/csv");
+        byte[] older = "an older export".getBytes(StandardCharsets.UTF_8);
+        Path target = Files.write(tempDir.resolve("sheet.csv"), older);
+        SheetResourcesImpl failingResource = new SheetResourcesImpl(new SmartsheetImpl("http://localhost:9090/1.1/",
+                "accessToken", new DefaultHttpClient() {
+                    @Override
+                    public HttpResponse request(HttpRequest request) throws HttpClientException {
+                        HttpResponse response = super.request(request);
+                        response.getEntity().setContent(new InputStream() {
+                            @Override
+                            public int read() throws IOException {
+                                throw new IOException("connection reset");
+                            }
+                        });
+                        return response;
+                    }
+                }, serializer));
+
+        assertThatThrownBy(() -> failingResource.exportSheet(1234L, ExportFormat.CSV, null, target))
+                .isInstanceOf(SmartsheetException.class);
+
+        assertThat(Files.readAllBytes(target)).containsExactly(older);
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).containsExactly(target);
+        }
+    }
+
+    @Test
+    void testExportSheetToChannel() throws SmartsheetException, IOException {
+        File file = new File("src/test/resources/getCsv.csv");
+        server.setResponseBody(file);
+        server.setContentType("text/csv");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long bytes = sheetResource.exportSheet(1234L, ExportFormat.CSV, null, Channels.newChannel(output));
+
+        byte[] data = Files.readAllBytes(Paths.get(file.getPath()));
+        assertThat(bytes).isEqualTo(data.length);
+        assertThat(output.toByteArray()).containsExactly(data);
+    }
+
     @Test
     void testGetSheetAsPDF() throws SmartsheetException, IOException {
 
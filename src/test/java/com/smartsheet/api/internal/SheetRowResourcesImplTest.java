@@ -144,6 +144,41 @@ class SheetRowResourcesImplTest extends ResourcesImplBase {
         assertThat(cell.getColumnId().longValue()).isEqualTo(7670639323572100L);
     }
 
+    @Test
+    void testAddRows_FromIterator_SendsInBatches() throws SmartsheetException, IOException {
+        server.setResponseBody(new File("src/test/resources/insertRows.json"));
+
+        List<Row> rows = new ArrayList<>();
+        for (long i = 0; i < 5; i++) {
+            rows.add(new Row().setCells(List.of(new Cell(8764071660021636L).setValue("value" + i))));
+        }
+        List<List<Row>> batches = new ArrayList<>();
+
+        long sent = sheetRowResource.addRows(1234L, rows.iterator(), 2, batches::add);
+
+        assertThat(sent).isEqualTo(5L);
+        // 5 rows in batches of 2 means 3 requests, each answered with the 2 rows in insertRows.json
+        assertThat(batches).hasSize(3);
+        assertThat(batches.get(0)).hasSize(2);
+        // the last request only contained the fifth row
+        assertThat(server.getRequestBody()).startsWith("[").endsWith("]").contains("value4").doesNotContain("value3");
+    }
+
+    @Test
+    void testUpdateRows_FromIterator_NullResultHandler() throws SmartsheetException, IOException {
+        server.setResponseBody(new File("src/test/resources/updateRows.json"));
+
+        long sent = sheetRowResource.updateRows(1234L, List.of(new Row(), new Row()).iterator(), 10, null);
+
+        assertThat(sent).isEqualTo(2L);
+    }
+
+    @Test
+    void testUpdateRows_FromIterator_InvalidBatchSize() {
+        assertThatThrownBy(() -> sheetRowResource.updateRows(1234L, new ArrayList<Row>().iterator(), 0, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void testMoveRows() throws SmartsheetException, IOException {
         server.setResponseBody(new File("src/test/resources/moveRow.json"));
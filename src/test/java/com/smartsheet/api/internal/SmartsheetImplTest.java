@@ -18,10 +18,14 @@ package com.smartsheet.api.internal;
 
 import com.smartsheet.api.internal.http.DefaultHttpClient;
 import com.smartsheet.api.internal.http.HttpClient;
+import com.smartsheet.api.internal.http.InterceptingHttpClient;
+import com.smartsheet.api.internal.http.RateLimitingInterceptor;
+import com.smartsheet.api.metrics.HistogramMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class SmartsheetImplTest extends ResourcesImplBase {
 
@@ -121,4 +125,59 @@ class SmartsheetImplTest extends ResourcesImplBase {
         assertThat(smartsheet.sightResources()).isNotNull();
     }
 
+    @Test
+    void forTenant_sharesTheTransportAndSerializerWithItsOwnToken() {
+        // Arrange
+        smartsheet.setChangeAgent("agent");
+
+        // Act
+        SmartsheetImpl tenant = (SmartsheetImpl) smartsheet.forTenant("tenantToken").setAssumedUser("user@example.com").build();
+
+        // Assert
+        assertThat(tenant.getHttpClient()).isSameAs(httpClient);
+        assertThat(tenant.getJsonSerializer()).isSameAs(smartsheet.getJsonSerializer());
+        assertThat(tenant.getAccessToken()).isEqualTo("tenantToken");
+        assertThat(tenant.getAssumedUser()).isEqualTo("user@example.com");
+        assertThat(tenant.getChangeAgent()).isEqualTo("agent");
+        assertThat(smartsheet.getAccessToken()).isEqualTo(accessToken);
+        assertThat(smartsheet.getAssumedUser()).isNull();
+    }
+
+    @Test
+    void forTenant_wrapsTheSharedTransportInTheTenantsInterceptors() {
+        // Act
+        SmartsheetImpl tenant = (SmartsheetImpl) smartsheet.forTenant("tenantToken")
+                .setRateLimiter(new RateLimitingInterceptor(300))
+                .setMetrics(new HistogramMetrics())
+                .build();
+
+        // Assert
+        assertThat(tenant.getHttpClient()).isInstanceOf(InterceptingHttpClient.class);
+        assertThat(((InterceptingHttpClient) tenant.getHttpClient()).getDelegate()).isSameAs(httpClient);
+    }
+
+    @Test
+    void forTenant_viewCanNotBeChanged() {
+        // Arrange
+        SmartsheetImpl tenant = (SmartsheetImpl) smartsheet.forTenant("tenantToken").build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> tenant.setAccessToken("other")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> tenant.setAssumedUser("other")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> tenant.setMaxRetryTimeMillis(1)).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(tenant.getAccessToken()).isEqualTo("tenantToken");
+    }
+
+    @Test
+    void forTenant_ofAViewSharesTheOriginalClient() {
+        // Arrange
+        SmartsheetImpl tenant = (SmartsheetImpl) smartsheet.forTenant("tenantToken").setMetrics(new HistogramMetrics()).build();
+
+        // Act
+        SmartsheetImpl other = (SmartsheetImpl) tenant.forTenant("otherToken").build();
+
+        // Assert
+        assertThat(other.getHttpClient()).isSameAs(httpClient);
+    }
+
 }
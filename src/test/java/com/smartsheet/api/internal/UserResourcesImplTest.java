@@ -35,6 +35,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
@@ -322,7 +323,25 @@ class UserResourcesImplTest extends ResourcesImplBase {
     @Test
     void testAddProfileImage_ImageNull() {
         assertThatThrownBy(() -> {
-            userResources.addProfileImage(1234L, null, "application/octet-stream");
+            userResources.addProfileImage(1234L, (String) null, "application/octet-stream");
         }).isInstanceOf(IllegalArgumentException.class);
     }
+
+    @Test
+    void testAddProfileImage_FromBuffer() throws SmartsheetException, IOException {
+        server.setResponseBody(new File("src/test/resources/addUser.json"));
+        ByteBuffer image = ByteBuffer.allocateDirect(16);
+        image.put(new byte[16]).flip();
+
+        User user = userResources.addProfileImage(1234L, image, "avatar.png", "image/png");
+
+        assertThat(user.getId()).isEqualTo(3210982882338692L);
+        assertThat(image.position()).isZero();
+    }
+
+    @Test
+    void testAddProfileImage_BufferNull() {
+        assertThatThrownBy(() -> userResources.addProfileImage(1234L, (ByteBuffer) null, "avatar.png", "image/png"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
 }
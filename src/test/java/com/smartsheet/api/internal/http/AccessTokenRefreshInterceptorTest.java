@@ -0,0 +1,137 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.internal.http;
+
+import com.smartsheet.api.internal.json.JacksonJsonSerializer;
+import com.smartsheet.api.oauth.TokenProvider;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessTokenRefreshInterceptorTest {
+
+    private static final String EXPIRED = "{\"errorCode\": 1003, \"message\": \"Your Access Token has expired.\"}";
+
+    private final FakeHttpClient delegate = new FakeHttpClient();
+    private final List<String> rejected = new ArrayList<>();
+
+    private final TokenProvider tokenProvider = new TokenProvider() {
+        @Override
+        public String getAccessToken() {
+            return "old";
+        }
+
+        @Override
+        public String refreshAccessToken(String rejectedAccessToken) {
+            rejected.add(rejectedAccessToken);
+            return "old".equals(rejectedAccessToken) ? "new" : null;
+        }
+    };
+
+    private final InterceptingHttpClient client = new InterceptingHttpClient(delegate,
+            new AccessTokenRefreshInterceptor(tokenProvider, new JacksonJsonSerializer()));
+
+    @Test
+    void intercept_makesTheCallAgainWithANewTokenWhenItsTokenExpired() throws Exception {
+        // Arrange
+        delegate.responses.add(response(401, EXPIRED));
+        delegate.responses.add(response(200, "{}"));
+
+        // Act
+        HttpResponse response = client.request(request("old"));
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(delegate.authorizations).containsExactly("Bearer old", "Bearer new");
+        assertThat(rejected).containsExactly("old");
+    }
+
+    @Test
+    void intercept_returnsOtherAuthorizationErrorsWithTheirBody() throws Exception {
+        // Arrange
+        String invalid = "{\"errorCode\": 1002, \"message\": \"Your Access Token is invalid.\"}";
+        delegate.responses.add(response(401, invalid));
+
+        // Act
+        HttpResponse response = client.request(request("old"));
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(401);
+        assertThat(new String(response.getEntity().getContent().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(invalid);
+        assertThat(rejected).isEmpty();
+    }
+
+    @Test
+    void intercept_returnsTheRejectionOfATokenNotTheProviders() throws Exception {
+        // Arrange
+        delegate.responses.add(response(401, EXPIRED));
+
+        // Act
+        HttpResponse response = client.request(request("tenant"));
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(401);
+        assertThat(delegate.authorizations).containsExactly("Bearer tenant");
+        assertThat(new String(response.getEntity().getContent().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(EXPIRED);
+    }
+
+    private static HttpRequest request(String accessToken) {
+        HttpRequest request = new HttpRequest();
+        request.setMethod(HttpMethod.GET);
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Authorization", "Bearer " + accessToken);
+        request.setHeaders(headers);
+        return request;
+    }
+
+    private static HttpResponse response(int statusCode, String body) {
+        HttpResponse response = new HttpResponse();
+        response.setStatusCode(statusCode);
+        HttpEntity entity = new HttpEntity();
+        entity.setContentType("application/json");
+        entity.setContent(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        response.setEntity(entity);
+        return response;
+    }
+
+    private static class FakeHttpClient implements HttpClient {
+        private final List<HttpResponse> responses = new ArrayList<>();
+        private final List<String> authorizations = new ArrayList<>();
+
+        @Override
+        public HttpResponse request(HttpRequest request) {
+            authorizations.add(request.getHeaders().get("Authorization"));
+            return responses.remove(0);
+        }
+
+        @Override
+        public void releaseConnection() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.http;
+
+import com.smartsheet.api.HttpTestServer;
+import com.smartsheet.api.ResourceNotFoundException;
+import com.smartsheet.api.Smartsheet;
+import com.smartsheet.api.SmartsheetBuilder;
+import com.smartsheet.api.Trace;
+import org.apache.http.client.methods.HttpGet;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncTraceWriterTest {
+
+    @Test
+    void write_formatsOnTheWriterThreadAndFlushWaitsForIt() throws Exception {
+        // Arrange
+        StringWriter out = new StringWriter();
+        AsyncTraceWriter traceWriter = new AsyncTraceWriter(out, 16);
+
+        // Act
+        traceWriter.write(trace("sheets/1"), false);
+        traceWriter.write(trace("sheets/2"), true);
+        traceWriter.flush();
+
+        // Assert
+        assertThat(out.toString()).contains("command:'GET http://localhost/2.0/sheets/1'")
+                .contains("command:'GET http://localhost/2.0/sheets/2'");
+        assertThat(traceWriter.getWrittenCount()).isEqualTo(2);
+        assertThat(traceWriter.getDroppedCount()).isZero();
+        traceWriter.close();
+    }
+
+    @Test
+    void write_dropsInsteadOfBlockingWhenTheBufferIsFull() throws Exception {
+        // Arrange
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        StringWriter out = new StringWriter();
+        AsyncTraceWriter traceWriter = new AsyncTraceWriter(new BlockingWriter(out, writing, release), 1);
+
+        // Act
+        traceWriter.write(trace("sheets/1"), false);
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        traceWriter.write(trace("sheets/2"), false);
+        traceWriter.write(trace("sheets/3"), false);
+        release.countDown();
+        traceWriter.close();
+
+        // Assert
+        assertThat(traceWriter.getDroppedCount()).isEqualTo(1);
+        assertThat(traceWriter.getWrittenCount()).isEqualTo(2);
+        assertThat(out.toString()).contains("sheets/1").contains("sheets/2").doesNotContain("sheets/3");
+    }
+
+    @Test
+    void traceSampleRate_ofZeroStillTracesErrorResponses() throws Exception {
+        // Arrange
+        HttpTestServer server = new HttpTestServer();
+        server.setPort(9090);
+        server.start();
+        StringWriter out = new StringWriter();
+        AsyncTraceWriter traceWriter = new AsyncTraceWriter(out, 16);
+        Smartsheet smartsheet = new SmartsheetBuilder()
+                .setBaseURI("http://localhost:9090/2.0/")
+                .setAccessToken("accessToken")
+                .build();
+        smartsheet.setTraces(Trace.Request, Trace.Response);
+        smartsheet.setTraceSink(traceWriter);
+        smartsheet.setTraceSampleRate(0);
+
+        try {
+            // Act
+            server.setResponseBody(new File("src/test/resources/getSheet.json"));
+            smartsheet.sheetResources().getSheet(123L, null, null, null, null, null, null, null);
+            server.setStatus(404);
+            server.setResponseBody("{\"errorCode\":1006,\"message\":\"Not Found\"}");
+            assertThatThrownBy(() -> smartsheet.sheetResources().getSheet(456L, null, null, null, null, null, null, null))
+                    .isInstanceOf(ResourceNotFoundException.class);
+            traceWriter.flush();
+
+            // Assert
+            assertThat(out.toString()).doesNotContain("sheets/123").contains("sheets/456").contains("1006");
+        } finally {
+            traceWriter.close();
+            server.stop();
+        }
+    }
+
+    @Test
+    void setTraceSampleRate_rejectsRatesOutsideZeroToOne() {
+        DefaultHttpClient client = new DefaultHttpClient();
+
+        assertThatThrownBy(() -> client.setTraceSampleRate(1.5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> client.setTraceSampleRate(Double.NaN)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static RequestAndResponseData trace(String path) {
+        return RequestAndResponseData.of(new HttpGet("http://localhost/2.0/" + path), null, null, null, Set.of());
+    }
+
+    /** blocks the first write until released */
+    private static class BlockingWriter extends Writer {
+        private final Writer out;
+        private final CountDownLatch writing;
+        private final CountDownLatch release;
+
+        BlockingWriter(Writer out, CountDownLatch writing, CountDownLatch release) {
+            this.out = out;
+            this.writing = writing;
+            this.release = release;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            out.write(cbuf, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.http;
+
+import com.smartsheet.api.internal.util.StreamUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ByteBufferInputStreamTest {
+
+    private static final String CONTENT = "0123456789abcdef";
+
+    @Test
+    void read_returnsRemainingBytesWithoutMovingTheCallersBuffer() throws IOException {
+        // Arrange
+        ByteBuffer buffer = ByteBuffer.wrap(CONTENT.getBytes(StandardCharsets.UTF_8));
+        buffer.position(4);
+
+        // Act
+        byte[] content = StreamUtil.readBytesFromStream(new ByteBufferInputStream(buffer));
+
+        // Assert
+        assertThat(new String(content, StandardCharsets.UTF_8)).isEqualTo("456789abcdef");
+        assertThat(buffer.position()).isEqualTo(4);
+    }
+
+    @Test
+    void reset_afterClose_rereadsFromMark() throws IOException {
+        // Arrange
+        InputStream stream = new ByteBufferInputStream(direct(CONTENT));
+        stream.mark(0);
+        StreamUtil.readBytesFromStream(stream);
+        stream.close();
+
+        // Act
+        stream.reset();
+        byte[] content = StreamUtil.readBytesFromStream(stream);
+
+        // Assert
+        assertThat(new String(content, StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void transferTo_writesHeapAndDirectBuffers() throws IOException {
+        // Arrange
+        ByteArrayOutputStream heap = new ByteArrayOutputStream();
+        ByteArrayOutputStream direct = new ByteArrayOutputStream();
+
+        // Act
+        long heapBytes = new ByteBufferInputStream(ByteBuffer.wrap(CONTENT.getBytes(StandardCharsets.UTF_8))).transferTo(heap);
+        long directBytes = new ByteBufferInputStream(direct(CONTENT)).transferTo(direct);
+
+        // Assert
+        assertThat(heapBytes).isEqualTo(CONTENT.length());
+        assertThat(directBytes).isEqualTo(CONTENT.length());
+        assertThat(heap.toString(StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+        assertThat(direct.toString(StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void transferTo_writesMappedBuffer(@TempDir Path tempDir) throws IOException {
+        // Arrange
+        Path file = Files.write(tempDir.resolve("image.bin"), CONTENT.getBytes(StandardCharsets.UTF_8));
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBufferInputStream stream = new ByteBufferInputStream(mapped);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        stream.transferTo(output);
+
+        // Assert
+        assertThat(stream.getLength()).isEqualTo(CONTENT.length());
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+    }
+
+    private static ByteBuffer direct(String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer;
+    }
+}
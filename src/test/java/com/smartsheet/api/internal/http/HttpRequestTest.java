@@ -0,0 +1,44 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpRequestTest {
+
+    @Test
+    void getEndpointTemplate_replacesIdsAndDropsTheVersion() {
+        assertThat(template("https://api.smartsheet.com/2.0/sheets/123/rows/456?include=discussions"))
+                .isEqualTo("sheets/{id}/rows/{id}");
+        assertThat(template("https://api.smartsheet.com/2.0/sheets/123/rows")).isEqualTo("sheets/{id}/rows");
+        assertThat(template("https://api.smartsheet.com/2.0/users/me")).isEqualTo("users/me");
+        assertThat(template("https://api.smartsheet.com/2.0/search")).isEqualTo("search");
+        assertThat(template("https://files.example.com/attachments/8f3b2a91c4d5e6f7a8b9c0d1/report.pdf"))
+                .isEqualTo("attachments/{id}/report.pdf");
+        assertThat(template("https://api.smartsheet.com/")).isEmpty();
+    }
+
+    private static String template(String uri) {
+        HttpRequest request = new HttpRequest();
+        request.setUri(URI.create(uri));
+        return request.getEndpointTemplate();
+    }
+}
@@ -0,0 +1,166 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InterceptingHttpClientTest {
+
+    private final List<String> events = new ArrayList<>();
+
+    @Test
+    void request_passesThroughTheInterceptorsInOrderAroundTheDelegate() throws Exception {
+        // Arrange
+        InterceptingHttpClient client = new InterceptingHttpClient(new FakeHttpClient(), logging("first"), logging("second"));
+
+        // Act
+        HttpResponse response = client.request(request("sheets/1"));
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(events).containsExactly("first>sheets/1", "second>sheets/1", "delegate sheets/1", "second<200", "first<200");
+    }
+
+    @Test
+    void request_interceptorCanReplaceTheRequestForThoseAfterIt() throws Exception {
+        // Arrange
+        HttpInterceptor rewrite = chain -> chain.proceed(request("sheets/2"));
+        InterceptingHttpClient client = new InterceptingHttpClient(new FakeHttpClient(), logging("outer"), rewrite, logging("inner"));
+
+        // Act
+        client.request(request("sheets/1"));
+
+        // Assert
+        assertThat(events).containsExactly("outer>sheets/1", "inner>sheets/2", "delegate sheets/2", "inner<200", "outer<200");
+    }
+
+    @Test
+    void request_interceptorCanAnswerWithoutTheDelegate() throws Exception {
+        // Arrange
+        HttpResponse cached = new HttpResponse();
+        cached.setStatusCode(304);
+        InterceptingHttpClient client = new InterceptingHttpClient(new FakeHttpClient(), chain -> cached);
+
+        // Act
+        HttpResponse response = client.request(request("sheets/1"));
+
+        // Assert
+        assertThat(response).isSameAs(cached);
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void request_interceptorCanCatchAFailureAndProceedAgain() throws Exception {
+        // Arrange
+        FakeHttpClient delegate = new FakeHttpClient();
+        delegate.failures = 1;
+        HttpInterceptor retry = chain -> {
+            try {
+                return chain.proceed(chain.request());
+            } catch (HttpClientException e) {
+                return chain.proceed(chain.request());
+            }
+        };
+        InterceptingHttpClient client = new InterceptingHttpClient(delegate, retry, logging("inner"));
+
+        // Act
+        HttpResponse response = client.request(request("sheets/1"));
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(events).containsExactly("inner>sheets/1", "delegate failed", "inner>sheets/1", "delegate sheets/1", "inner<200");
+    }
+
+    @Test
+    void request_nullResponse_isRejected() {
+        // Arrange
+        InterceptingHttpClient client = new InterceptingHttpClient(new FakeHttpClient(), chain -> null);
+
+        // Act & Assert
+        assertThatThrownBy(() -> client.request(request("sheets/1"))).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void addAndRemoveInterceptor_changeTheChainOfLaterCalls() throws Exception {
+        // Arrange
+        HttpInterceptor first = logging("first");
+        HttpInterceptor second = logging("second");
+        InterceptingHttpClient client = new InterceptingHttpClient(new FakeHttpClient(), first);
+
+        // Act
+        client.addInterceptor(second);
+        boolean removed = client.removeInterceptor(first);
+        client.request(request("sheets/1"));
+
+        // Assert
+        assertThat(removed).isTrue();
+        assertThat(client.getInterceptors()).containsExactly(second);
+        assertThat(events).containsExactly("second>sheets/1", "delegate sheets/1", "second<200");
+    }
+
+    private HttpInterceptor logging(String name) {
+        return chain -> {
+            events.add(name + ">" + path(chain.request()));
+            HttpResponse response = chain.proceed(chain.request());
+            events.add(name + "<" + response.getStatusCode());
+            return response;
+        };
+    }
+
+    private static String path(HttpRequest request) {
+        return request.getUri().getPath().substring("/2.0/".length());
+    }
+
+    private static HttpRequest request(String path) {
+        HttpRequest request = new HttpRequest();
+        request.setUri(URI.create("https://api.smartsheet.com/2.0/" + path));
+        request.setMethod(HttpMethod.GET);
+        return request;
+    }
+
+    private class FakeHttpClient implements HttpClient {
+        private int failures;
+
+        @Override
+        public HttpResponse request(HttpRequest request) throws HttpClientException {
+            if (failures > 0) {
+                failures--;
+                events.add("delegate failed");
+                throw new HttpClientException("connection reset");
+            }
+            events.add("delegate " + path(request));
+            HttpResponse response = new HttpResponse();
+            response.setStatusCode(200);
+            return response;
+        }
+
+        @Override
+        public void releaseConnection() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
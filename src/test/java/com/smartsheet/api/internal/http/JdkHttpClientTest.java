@@ -0,0 +1,160 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.http;
+
+import com.smartsheet.api.HttpTestServer;
+import com.smartsheet.api.ResourceNotFoundException;
+import com.smartsheet.api.Smartsheet;
+import com.smartsheet.api.SmartsheetBuilder;
+import com.smartsheet.api.internal.util.StreamUtil;
+import com.smartsheet.api.metrics.HistogramMetrics;
+import com.smartsheet.api.models.Sheet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JdkHttpClientTest {
+
+    private HttpTestServer server;
+    private JdkHttpClient client;
+    private HistogramMetrics metrics;
+    private Smartsheet smartsheet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new HttpTestServer();
+        server.setPort(9090);
+        server.start();
+
+        client = new JdkHttpClient();
+        metrics = new HistogramMetrics();
+        smartsheet = new SmartsheetBuilder()
+                .setBaseURI("http://localhost:9090/2.0/")
+                .setAccessToken("accessToken")
+                .setHttpClient(client)
+                .setMetrics(metrics)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    void request_getsTheResourceAndReportsTheCall() throws Exception {
+        // Arrange
+        server.setResponseBody(new File("src/test/resources/getSheet.json"));
+
+        // Act
+        Sheet sheet = smartsheet.sheetResources().getSheet(123L, null, null, null, null, null, null, null);
+
+        // Assert
+        assertThat(sheet.getName()).isNotEmpty();
+        assertThat(metrics.getEndpoint(HttpMethod.GET, "sheets/{id}").getCallCount()).isEqualTo(1);
+    }
+
+    @Test
+    void request_errorResponse_isMappedToItsException() {
+        // Arrange
+        server.setStatus(404);
+        server.setResponseBody("{\"errorCode\":1006,\"message\":\"Not Found\"}");
+
+        // Act & Assert
+        assertThatThrownBy(() -> smartsheet.sheetResources().deleteSheet(123L)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void request_bufferBody_isSentFromTheBuffer() throws Exception {
+        // Arrange
+        server.setResponseBody("{}");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+        buffer.put("direct buffer!".getBytes(StandardCharsets.UTF_8)).flip();
+        HttpRequest request = request(HttpMethod.POST);
+        HttpEntity entity = new HttpEntity();
+        entity.setContent(new ByteBufferInputStream(buffer));
+        entity.setContentLength(buffer.remaining());
+        entity.setContentType("application/octet-stream");
+        request.setEntity(entity);
+
+        // Act
+        HttpResponse response = client.request(request);
+        client.releaseConnection();
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(server.getRequestBody()).isEqualTo("direct buffer!");
+    }
+
+    @Test
+    void request_bufferBodyOfManySlices_isSentWhole() throws Exception {
+        // Arrange
+        server.setResponseBody("{}");
+        String body = "0123456789abcdef".repeat(64 * 1024);
+        ByteBuffer buffer = ByteBuffer.wrap(body.getBytes(StandardCharsets.UTF_8));
+        HttpRequest request = request(HttpMethod.POST);
+        HttpEntity entity = new HttpEntity();
+        entity.setContent(new ByteBufferInputStream(buffer));
+        entity.setContentLength(buffer.remaining());
+        entity.setContentType("application/octet-stream");
+        request.setEntity(entity);
+
+        // Act
+        HttpResponse response = client.request(request);
+        client.releaseConnection();
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(server.getRequestBody()).isEqualTo(body);
+    }
+
+    @Test
+    void requestAsync_completesWithTheStreamedResponse() throws Exception {
+        // Arrange
+        server.setResponseBody("{\"id\":1}");
+
+        // Act
+        HttpResponse response = client.requestAsync(request(HttpMethod.GET)).get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.getHeaders().get("content-type")).startsWith("application/json");
+        try (InputStream content = response.getEntity().getContent()) {
+            assertThat(new String(StreamUtil.readBytesFromStream(content), StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}");
+        }
+        assertThat(metrics.getEndpoint(HttpMethod.GET, "sheets/{id}").getCallCount()).isEqualTo(1);
+    }
+
+    private static HttpRequest request(HttpMethod method) {
+        HttpRequest request = new HttpRequest();
+        request.setUri(URI.create("http://localhost:9090/2.0/sheets/123"));
+        request.setMethod(method);
+        request.setHeaders(new HashMap<>());
+        return request;
+    }
+}
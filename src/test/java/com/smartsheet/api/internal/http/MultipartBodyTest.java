@@ -0,0 +1,115 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.http;
+
+import com.smartsheet.api.internal.util.StreamUtil;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MultipartBodyTest {
+
+    private static final String EXPECTED = "--boundary\r\n"
+            + "Content-Disposition: form-data; name=\"comment\"\r\n"
+            + "Content-Type: application/json; charset=UTF-8\r\n"
+            + "\r\n"
+            + "{\"text\":\"hi\"}\r\n"
+            + "--boundary\r\n"
+            + "Content-Disposition: form-data; name=\"file\"; filename=\"a%22b.txt\"\r\n"
+            + "Content-Type: text/plain\r\n"
+            + "\r\n"
+            + "file content\r\n"
+            + "--boundary--\r\n";
+
+    @Test
+    void toEntity_streamsAllParts() throws IOException {
+        // Arrange
+        byte[] file = "file content".getBytes(StandardCharsets.UTF_8);
+        MultipartBody body = new MultipartBody("boundary")
+                .addJsonPart("comment", "{\"text\":\"hi\"}")
+                .addFilePart("file", "a\"b.txt", "text/plain", new ByteArrayInputStream(file), file.length);
+
+        // Act
+        HttpEntity entity = body.toEntity();
+        String content = new String(StreamUtil.readBytesFromStream(entity.getContent()), StandardCharsets.UTF_8);
+
+        // Assert
+        assertThat(entity.getContentType()).isEqualTo("multipart/form-data; boundary=boundary");
+        assertThat(content).isEqualTo(EXPECTED);
+        assertThat(entity.getContentLength()).isEqualTo(EXPECTED.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void toEntity_unknownFileLength() {
+        // Act
+        HttpEntity entity = new MultipartBody("boundary")
+                .addFilePart("file", "a.txt", "text/plain", new ByteArrayInputStream(new byte[3]), -1)
+                .toEntity();
+
+        // Assert
+        assertThat(entity.getContentLength()).isEqualTo(-1);
+    }
+
+    @Test
+    void content_markAndReset_replaysBody() throws IOException {
+        // Arrange
+        byte[] file = "file content".getBytes(StandardCharsets.UTF_8);
+        InputStream content = new MultipartBody("boundary")
+                .addJsonPart("comment", "{\"text\":\"hi\"}")
+                .addFilePart("file", "a\"b.txt", "text/plain", new ByteArrayInputStream(file), file.length)
+                .toEntity()
+                .getContent();
+
+        // Act
+        content.mark(Integer.MAX_VALUE);
+        StreamUtil.readBytesFromStream(content);
+        content.reset();
+        String replayed = new String(StreamUtil.readBytesFromStream(content), StandardCharsets.UTF_8);
+
+        // Assert
+        assertThat(content.markSupported()).isTrue();
+        assertThat(replayed).isEqualTo(EXPECTED);
+    }
+
+    @Test
+    void content_nonMarkableFile_markNotSupported() {
+        // Arrange
+        InputStream file = new InputStream() {
+            @Override
+            public int read() {
+                return -1;
+            }
+        };
+
+        // Act
+        InputStream content = new MultipartBody().addFilePart("file", "a.txt", "text/plain", file, -1).toEntity().getContent();
+
+        // Assert
+        assertThat(content.markSupported()).isFalse();
+    }
+
+    @Test
+    void constructor_emptyBoundary() {
+        assertThatThrownBy(() -> new MultipartBody("")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
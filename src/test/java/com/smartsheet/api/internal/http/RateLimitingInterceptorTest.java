@@ -0,0 +1,107 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.internal.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitingInterceptorTest {
+
+    private static final long INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void reserve_spacesCallsEvenly() {
+        // Arrange
+        RateLimitingInterceptor limiter = new RateLimitingInterceptor(60);
+
+        // Act
+        long first = limiter.reserve(0);
+        long second = limiter.reserve(0);
+        long third = limiter.reserve(0);
+
+        // Assert
+        assertThat(first).isZero();
+        assertThat(second).isEqualTo(INTERVAL);
+        assertThat(third).isEqualTo(2 * INTERVAL);
+    }
+
+    @Test
+    void reserve_letsABurstThroughAfterAQuietPeriod() {
+        // Arrange
+        RateLimitingInterceptor limiter = new RateLimitingInterceptor(60, 3);
+        limiter.reserve(0);
+
+        // Act
+        long now = 10 * INTERVAL;
+        long first = limiter.reserve(now);
+        long second = limiter.reserve(now);
+        long third = limiter.reserve(now);
+        long fourth = limiter.reserve(now);
+
+        // Assert
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isZero();
+        assertThat(fourth).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void intercept_waitsForItsTurnAndCountsTheWait() throws Exception {
+        // Arrange
+        RateLimitingInterceptor limiter = new RateLimitingInterceptor(600);
+        InterceptingHttpClient client = new InterceptingHttpClient(new FakeHttpClient(), limiter);
+
+        // Act
+        long start = System.nanoTime();
+        client.request(new HttpRequest());
+        client.request(new HttpRequest());
+        long elapsed = System.nanoTime() - start;
+
+        // Assert
+        assertThat(elapsed).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(90));
+        assertThat(limiter.getThrottledCount()).isEqualTo(1);
+        assertThat(limiter.getThrottledNanos()).isGreaterThan(0L);
+    }
+
+    @Test
+    void constructor_rejectsANonPositiveRate() {
+        // Act & Assert
+        assertThatThrownBy(() -> new RateLimitingInterceptor(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static class FakeHttpClient implements HttpClient {
+        @Override
+        public HttpResponse request(HttpRequest request) {
+            HttpResponse response = new HttpResponse();
+            response.setStatusCode(200);
+            return response;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void releaseConnection() {
+        }
+    }
+}
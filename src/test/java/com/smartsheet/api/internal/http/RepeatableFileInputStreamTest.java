@@ -0,0 +1,110 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.internal.http;
+
+import com.smartsheet.api.internal.util.StreamUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RepeatableFileInputStreamTest {
+
+    private static final String CONTENT = "0123456789abcdef";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read_returnsFileContent() throws IOException {
+        // Arrange
+        Path file = write(CONTENT);
+
+        // Act
+        byte[] content;
+        try (InputStream stream = new RepeatableFileInputStream(file)) {
+            content = StreamUtil.readBytesFromStream(stream);
+        }
+
+        // Assert
+        assertThat(new String(content, StandardCharsets.UTF_8)).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void reset_afterClose_reopensAtMark() throws IOException {
+        // Arrange
+        Path file = write(CONTENT);
+        InputStream stream = new RepeatableFileInputStream(file);
+        assertThat(stream.skip(4)).isEqualTo(4);
+        stream.mark(0);
+        StreamUtil.readBytesFromStream(stream);
+        stream.close();
+
+        // Act
+        stream.reset();
+        byte[] content = StreamUtil.readBytesFromStream(stream);
+        stream.close();
+
+        // Assert
+        assertThat(stream.markSupported()).isTrue();
+        assertThat(new String(content, StandardCharsets.UTF_8)).isEqualTo(CONTENT.substring(4));
+    }
+
+    @Test
+    void transferTo_writesRestOfFile() throws IOException {
+        // Arrange
+        Path file = write(CONTENT);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long transferred;
+        try (InputStream stream = new RepeatableFileInputStream(file)) {
+            assertThat(stream.read()).isEqualTo('0');
+            transferred = stream.transferTo(out);
+            assertThat(stream.read()).isEqualTo(-1);
+        }
+
+        // Assert
+        assertThat(transferred).isEqualTo(CONTENT.length() - 1);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(CONTENT.substring(1));
+    }
+
+    @Test
+    void constructor_missingFile() {
+        // Arrange
+        Path missing = tempDir.resolve("missing.txt");
+
+        // Act & Assert
+        assertThatThrownBy(() -> new RepeatableFileInputStream(missing))
+                .isInstanceOf(FileNotFoundException.class)
+                .hasMessageContaining("missing.txt");
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.write(tempDir.resolve("upload.txt"), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
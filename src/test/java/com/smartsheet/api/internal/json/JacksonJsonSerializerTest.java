@@ -17,6 +17,7 @@
 package com.smartsheet.api.internal.json;
 
 import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.smartsheet.api.models.Folder;
 import com.smartsheet.api.models.Result;
@@ -31,6 +32,7 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -272,4 +274,44 @@ class JacksonJsonSerializerTest {
                 .isInstanceOf(JSONSerializerException.class);
     }
 
+    @Test
+    void testSerializeArray() throws JSONSerializerException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertThatThrownBy(() -> jjs.serializeArray(null, 1, 1, outputStream))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> jjs.serializeArray(new ArrayList<User>().iterator(), 0, 1, outputStream))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User user = new User();
+            user.setEmail("user" + i + "@test.com");
+            users.add(user);
+        }
+        Iterator<User> iterator = users.iterator();
+
+        // Stops at maxObjects and leaves the rest of the iterator untouched
+        assertThat(jjs.serializeArray(iterator, 2, Long.MAX_VALUE, outputStream)).isEqualTo(2);
+        assertThat(outputStream.toString()).isEqualTo("[{\"email\":\"user0@test.com\"},{\"email\":\"user1@test.com\"}]");
+        assertThat(iterator.next().getEmail()).isEqualTo("user2@test.com");
+
+        // Always writes at least one object, even when it exceeds maxBytes
+        outputStream.reset();
+        assertThat(jjs.serializeArray(users.iterator(), 10, 1, outputStream)).isEqualTo(1);
+        assertThat(outputStream.toString()).isEqualTo("[{\"email\":\"user0@test.com\"}]");
+    }
+
+    @Test
+    void testIsolatedObjectMapper() throws IOException {
+        JacksonJsonSerializer strict = new JacksonJsonSerializer(
+                JacksonJsonSerializer.createObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, true));
+        JacksonJsonSerializer lenient = new JacksonJsonSerializer(JacksonJsonSerializer.createObjectMapper());
+        byte[] json = "{\"email\": \"test@test.com\", \"unknownProperty\": 1}".getBytes();
+
+        assertThatThrownBy(() -> strict.deserialize(User.class, new ByteArrayInputStream(json)))
+                .isInstanceOf(JsonMappingException.class);
+        assertThat(lenient.deserialize(User.class, new ByteArrayInputStream(json)).getEmail()).isEqualTo("test@test.com");
+        assertThatThrownBy(() -> new JacksonJsonSerializer(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
 }
@@ -0,0 +1,171 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartsheet.api.models.CellHistory;
+import com.smartsheet.api.models.Column;
+import com.smartsheet.api.models.Report;
+import com.smartsheet.api.models.Row;
+import com.smartsheet.api.models.ServerInfo;
+import com.smartsheet.api.models.Sheet;
+import com.smartsheet.api.models.Sight;
+import com.smartsheet.api.models.User;
+import com.smartsheet.api.models.UserProfile;
+import com.smartsheet.api.models.Webhook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Conformance kit for {@link JsonSerializer} implementations. Extend it and implement {@link #createSerializer()}: every
+ * fixture under src/test/resources listed in {@link #fixtures()} is read the way the SDK reads it, by the serializer
+ * under test and by a reference {@link JacksonJsonSerializer}, and the results are compared through their JSON form.
+ */
+abstract class JsonSerializerConformanceTest {
+
+    private static final JacksonJsonSerializer REFERENCE = new JacksonJsonSerializer(JacksonJsonSerializer.createObjectMapper());
+
+    private static final ObjectMapper TREE_MAPPER = new ObjectMapper();
+
+    /**
+     * @return the implementation under test
+     */
+    protected abstract JsonSerializer createSerializer();
+
+    /**
+     * Reads a fixture with one of the JsonSerializer methods.
+     */
+    interface FixtureReader {
+        Object read(JsonSerializer serializer, InputStream inputStream) throws IOException, JSONSerializerException;
+    }
+
+    /**
+     * A response fixture and the way the SDK de-serializes it.
+     */
+    static class Fixture {
+        private final String file;
+        private final FixtureReader reader;
+
+        Fixture(String file, FixtureReader reader) {
+            this.file = file;
+            this.reader = reader;
+        }
+
+        Object read(JsonSerializer serializer) throws IOException, JSONSerializerException {
+            try (InputStream inputStream = new FileInputStream("src/test/resources/" + file)) {
+                return reader.read(serializer, inputStream);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return file;
+        }
+    }
+
+    static Stream<Fixture> fixtures() {
+        return Stream.of(
+                new Fixture("getSheet.json", (serializer, in) -> serializer.deserialize(Sheet.class, in)),
+                new Fixture("getSheetWithFormat.json", (serializer, in) -> serializer.deserialize(Sheet.class, in)),
+                new Fixture("getReport.json", (serializer, in) -> serializer.deserialize(Report.class, in)),
+                new Fixture("getRow.json", (serializer, in) -> serializer.deserialize(Row.class, in)),
+                new Fixture("getSight.json", (serializer, in) -> serializer.deserialize(Sight.class, in)),
+                new Fixture("getWebhook.json", (serializer, in) -> serializer.deserialize(Webhook.class, in)),
+                new Fixture("getCurrentUser.json", (serializer, in) -> serializer.deserialize(UserProfile.class, in)),
+                new Fixture("getServerInfo.json", (serializer, in) -> serializer.deserialize(ServerInfo.class, in)),
+                new Fixture("listSheets.json", (serializer, in) -> serializer.deserializeDataWrapper(Sheet.class, in)),
+                new Fixture("listColumns.json", (serializer, in) -> serializer.deserializeDataWrapper(Column.class, in)),
+                new Fixture("listUsers.json", (serializer, in) -> serializer.deserializeDataWrapper(User.class, in)),
+                new Fixture("getCellHistory.json", (serializer, in) -> serializer.deserializeDataWrapper(CellHistory.class, in)),
+                new Fixture("insertRows.json", (serializer, in) -> serializer.deserializeListResult(Row.class, in)),
+                new Fixture("partialRowUpdateRowResult.json", (serializer, in) -> serializer.deserializeBulkItemResult(Row.class, in)),
+                new Fixture("moveRow.json", (serializer, in) -> serializer.deserializeCopyOrMoveRow(in)),
+                new Fixture("listEvents.json", (serializer, in) -> serializer.deserializeEventResult(in)),
+                new Fixture("getServerInfo.json", (serializer, in) -> serializer.deserializeMap(in))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("fixtures")
+    void deserialize_matchesReference(Fixture fixture) throws IOException, JSONSerializerException {
+        // Act
+        Object expected = fixture.read(REFERENCE);
+        Object actual = fixture.read(createSerializer());
+
+        // Assert
+        assertThat(actual).isNotNull();
+        assertThat(toTree(actual)).isEqualTo(toTree(expected));
+    }
+
+    @ParameterizedTest
+    @MethodSource("fixtures")
+    void serialize_matchesReference(Fixture fixture) throws IOException, JSONSerializerException {
+        // Arrange
+        Object object = fixture.read(REFERENCE);
+        JsonSerializer serializer = createSerializer();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // Act
+        String serialized = serializer.serialize(object);
+        serializer.serialize(object, outputStream);
+
+        // Assert
+        JsonNode expected = toTree(object);
+        assertThat(TREE_MAPPER.readTree(serialized)).isEqualTo(expected);
+        assertThat(TREE_MAPPER.readTree(outputStream.toByteArray())).isEqualTo(expected);
+    }
+
+    @Test
+    void nullArguments_throwIllegalArgumentException() {
+        JsonSerializer serializer = createSerializer();
+
+        assertThatThrownBy(() -> serializer.serialize(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> serializer.serialize(new Sheet(), null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> serializer.deserializeMap(null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> serializer.deserializeDataWrapper(Sheet.class, null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void invalidJson_throwsJSONSerializerException() {
+        JsonSerializer serializer = createSerializer();
+
+        assertThatThrownBy(() -> serializer.deserializeMap(badJson())).isInstanceOf(JSONSerializerException.class);
+        assertThatThrownBy(() -> serializer.deserializeListResult(Row.class, badJson())).isInstanceOf(JSONSerializerException.class);
+        assertThatThrownBy(() -> serializer.deserializeEventResult(badJson())).isInstanceOf(JSONSerializerException.class);
+    }
+
+    private static InputStream badJson() {
+        return new ByteArrayInputStream("{bad json".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static JsonNode toTree(Object object) throws IOException, JSONSerializerException {
+        return TREE_MAPPER.readTree(REFERENCE.serialize(object));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.json;
+
+import com.smartsheet.api.models.Cell;
+import com.smartsheet.api.models.ContactObjectValue;
+import com.smartsheet.api.models.Sheet;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StringPoolTest {
+
+    @Nested
+    class CanonicalizeTests {
+        @Test
+        void canonicalize_equalStrings_returnsSameInstance() {
+            // Arrange
+            StringPool pool = new StringPool();
+            String first = new String("In Progress".toCharArray());
+            String second = new String("In Progress".toCharArray());
+
+            // Act
+            String result1 = pool.canonicalize(first);
+            String result2 = pool.canonicalize(second);
+
+            // Assert
+            assertThat(result1).isSameAs(first);
+            assertThat(result2).isSameAs(first);
+        }
+
+        @Test
+        void canonicalize_null() {
+            // Arrange
+            StringPool pool = new StringPool();
+
+            // Act
+            String result = pool.canonicalize(null);
+
+            // Assert
+            assertThat(result).isNull();
+        }
+
+        @Test
+        void canonicalize_longerThanMaxLength_notPooled() {
+            // Arrange
+            StringPool pool = new StringPool(16, 3);
+            String first = new String("abcd".toCharArray());
+            String second = new String("abcd".toCharArray());
+
+            // Act
+            pool.canonicalize(first);
+            String result = pool.canonicalize(second);
+
+            // Assert
+            assertThat(result).isSameAs(second);
+        }
+
+        @Test
+        void constructor_roundsCapacityToPowerOfTwo() {
+            assertThat(new StringPool(1000, 10).getCapacity()).isEqualTo(1024);
+            assertThat(new StringPool(1, 10).getCapacity()).isEqualTo(1);
+        }
+
+        @Test
+        void constructor_invalidArguments() {
+            assertThatThrownBy(() -> new StringPool(0, 10)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new StringPool(16, -1)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    class DeserializationTests {
+        private static final String SHEET_JSON = "{'columns':[{'title':'Status'},{'title':'Status'}],'rows':[" +
+                "{'cells':[{'displayValue':'Yes','objectValue':{'objectType':'CONTACT','email':'a@b.com','name':'A'}}]}," +
+                "{'cells':[{'displayValue':'Yes','objectValue':{'objectType':'CONTACT','email':'a@b.com','name':'A'}}]}]}";
+
+        @Test
+        void deserialize_withStringPool_sharesRepeatedStrings() throws IOException {
+            // Arrange
+            JacksonJsonSerializer serializer = new JacksonJsonSerializer();
+            serializer.setStringPool(new StringPool());
+
+            // Act
+            Sheet sheet = serializer.deserialize(Sheet.class, toStream(SHEET_JSON));
+
+            // Assert
+            Cell cell1 = sheet.getRows().get(0).getCells().get(0);
+            Cell cell2 = sheet.getRows().get(1).getCells().get(0);
+            assertThat(cell1.getDisplayValue()).isSameAs(cell2.getDisplayValue());
+            assertThat(sheet.getColumns().get(0).getTitle()).isSameAs(sheet.getColumns().get(1).getTitle());
+            assertThat(((ContactObjectValue) cell1.getObjectValue()).getEmail())
+                    .isSameAs(((ContactObjectValue) cell2.getObjectValue()).getEmail());
+        }
+
+        @Test
+        void deserialize_withoutStringPool_valuesUnchanged() throws IOException {
+            // Arrange
+            JacksonJsonSerializer serializer = new JacksonJsonSerializer();
+
+            // Act
+            Sheet sheet = serializer.deserialize(Sheet.class, toStream(SHEET_JSON));
+
+            // Assert
+            Cell cell1 = sheet.getRows().get(0).getCells().get(0);
+            Cell cell2 = sheet.getRows().get(1).getCells().get(0);
+            assertThat(cell1.getDisplayValue()).isEqualTo("Yes").isNotSameAs(cell2.getDisplayValue());
+            assertThat(sheet.getColumns().get(0).getTitle()).isEqualTo("Status");
+        }
+
+        private ByteArrayInputStream toStream(String json) {
+            return new ByteArrayInputStream(json.replace("'", "\"").getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.internal.util;
+
+import com.smartsheet.api.internal.json.JSONSerializerException;
+import com.smartsheet.api.internal.json.JacksonJsonSerializer;
+import com.smartsheet.api.models.Comment;
+import com.smartsheet.api.models.DateObjectValue;
+import com.smartsheet.api.models.enums.ObjectValueType;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DateUtilTest {
+    @Nested
+    class ParseTimestamp {
+        @Test
+        void parseTimestamp_apiFormat() {
+            // Act
+            Instant result = DateUtil.parseTimestamp("2013-02-28T22:58:30Z");
+
+            // Assert
+            assertThat(result).isEqualTo(Instant.parse("2013-02-28T22:58:30Z"));
+        }
+
+        @Test
+        void parseTimestamp_otherIsoFormats() {
+            assertThat(DateUtil.parseTimestamp("2013-02-28T22:58:30.123Z")).isEqualTo(Instant.parse("2013-02-28T22:58:30.123Z"));
+            assertThat(DateUtil.parseTimestamp("2013-02-28T23:58:30+01:00")).isEqualTo(Instant.parse("2013-02-28T22:58:30Z"));
+        }
+
+        @Test
+        void parseTimestamp_invalid() {
+            assertThatThrownBy(() -> DateUtil.parseTimestamp("2013-02-30T22:58:30Z")).isInstanceOf(DateTimeParseException.class);
+            assertThatThrownBy(() -> DateUtil.parseTimestamp("not a date")).isInstanceOf(DateTimeParseException.class);
+        }
+    }
+
+    @Nested
+    class Format {
+        @Test
+        void formatTimestamp() {
+            assertThat(DateUtil.formatTimestamp(new Date(0))).isEqualTo("1970-01-01T00:00:00Z");
+        }
+
+        @Test
+        void formatQueryParameter() {
+            assertThat(DateUtil.formatQueryParameter(new Date(0))).isEqualTo("1970-01-01T00:00:00+0000");
+        }
+    }
+
+    @Nested
+    class Deserialization {
+        @Test
+        void deserialize_isoAndNumericDates() throws JSONSerializerException, IOException {
+            // Arrange
+            JacksonJsonSerializer serializer = new JacksonJsonSerializer();
+            String json = "{\"createdAt\": \"2013-02-28T22:58:30Z\", \"modifiedAt\": 1362092310000}";
+
+            // Act
+            Comment comment = serializer.deserialize(Comment.class, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+            // Assert
+            assertThat(comment.getCreatedAt()).isEqualTo(Date.from(Instant.parse("2013-02-28T22:58:30Z")));
+            assertThat(comment.getModifiedAt()).isEqualTo(Date.from(Instant.parse("2013-02-28T22:58:30Z")));
+            assertThat(serializer.serialize(comment)).contains("\"createdAt\":\"2013-02-28T22:58:30Z\"");
+        }
+
+        @Test
+        void dateObjectValue_conversions() {
+            assertThat(new DateObjectValue(ObjectValueType.DATETIME, "2013-02-28T22:58:30Z").toInstant())
+                    .isEqualTo(Instant.parse("2013-02-28T22:58:30Z"));
+            assertThat(new DateObjectValue(ObjectValueType.DATE, "2013-02-28").toLocalDate())
+                    .isEqualTo(LocalDate.of(2013, 2, 28));
+            assertThat(new DateObjectValue(ObjectValueType.ABSTRACT_DATETIME, "2013-02-28T22:58:30").toLocalDateTime())
+                    .isEqualTo(LocalDateTime.of(2013, 2, 28, 22, 58, 30));
+            assertThat(DateObjectValue.fromLocalDate(LocalDate.of(2013, 2, 28)).getValue()).isEqualTo("2013-02-28");
+        }
+    }
+}
@@ -19,12 +19,21 @@ package com.smartsheet.api.internal.util;
 import org.apache.commons.io.input.CharSequenceInputStream;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -179,4 +188,59 @@ class StreamUtilTest {
         }
     }
 
+    @Nested
+    class TransferContentTests {
+        @Test
+        void transferContent_toOutputStream() throws IOException {
+            // Arrange
+            byte[] data = new byte[StreamUtil.TRANSFER_BUFFER_SIZE * 2 + 17];
+            new Random(7).nextBytes(data);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+            // Act
+            long result = StreamUtil.transferContent(new ByteArrayInputStream(data), output);
+
+            // Assert
+            assertThat(result).isEqualTo(data.length);
+            assertThat(output.toByteArray()).containsExactly(data);
+        }
+
+        @Test
+        void transferContent_toFileChannel_appendsAtPosition(@TempDir Path tempDir) throws IOException {
+            // Arrange
+            byte[] data = new byte[StreamUtil.TRANSFER_BUFFER_SIZE + 3];
+            new Random(11).nextBytes(data);
+            Path file = tempDir.resolve("out.bin");
+            Files.write(file, new byte[] {1, 2});
+
+            // Act
+            long result;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.position(2);
+                result = StreamUtil.transferContent(new ByteArrayInputStream(data), channel);
+
+                // Assert
+                assertThat(channel.position()).isEqualTo(2L + data.length);
+            }
+            assertThat(result).isEqualTo(data.length);
+            byte[] written = Files.readAllBytes(file);
+            assertThat(written).hasSize(data.length + 2);
+            assertThat(Arrays.copyOfRange(written, 2, written.length)).containsExactly(data);
+        }
+
+        @Test
+        void transferContent_toOtherChannel() throws IOException {
+            // Arrange
+            byte[] data = "fuzzy wuzzy was a bear".getBytes(StandardCharsets.UTF_8);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+            // Act
+            long result = StreamUtil.transferContent(new ByteArrayInputStream(data), Channels.newChannel(output));
+
+            // Assert
+            assertThat(result).isEqualTo(data.length);
+            assertThat(output.toByteArray()).containsExactly(data);
+        }
+    }
+
 }
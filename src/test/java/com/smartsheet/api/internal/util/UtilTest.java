@@ -19,6 +19,9 @@ package com.smartsheet.api.internal.util;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.ThreadFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatNoException;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -204,4 +207,25 @@ class UtilTest {
             }
         }
     }
+
+    @Nested
+    class DaemonThreadFactoryTests {
+        @Test
+        void daemonThreadFactory_namesDaemonThreadsByFactoryAndThread() {
+            // Arrange
+            ThreadFactory first = Util.daemonThreadFactory("util-test");
+            ThreadFactory second = Util.daemonThreadFactory("util-test");
+
+            // Act
+            Thread firstOfFirst = first.newThread(() -> { });
+            Thread secondOfFirst = first.newThread(() -> { });
+            Thread firstOfSecond = second.newThread(() -> { });
+
+            // Assert
+            assertThat(firstOfFirst.isDaemon()).isTrue();
+            assertThat(firstOfFirst.getName()).isEqualTo("util-test-1-1");
+            assertThat(secondOfFirst.getName()).isEqualTo("util-test-1-2");
+            assertThat(firstOfSecond.getName()).isEqualTo("util-test-2-1");
+        }
+    }
 }
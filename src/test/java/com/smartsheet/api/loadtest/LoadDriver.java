@@ -0,0 +1,297 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.loadtest;
+
+import com.smartsheet.api.Smartsheet;
+import com.smartsheet.api.SmartsheetBuilder;
+import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.internal.http.DefaultHttpClient;
+import com.smartsheet.api.internal.json.JacksonJsonSerializer;
+import com.smartsheet.api.metrics.HistogramMetrics;
+import com.smartsheet.api.metrics.LatencyHistogram;
+import com.smartsheet.api.models.Cell;
+import com.smartsheet.api.models.Error;
+import com.smartsheet.api.models.Row;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs a concurrent mix of SDK calls against a {@link MockSmartsheetServer} (or any base URI) through one shared
+ * {@link Smartsheet} client, the way a multi-threaded application would, and reports what happened.
+ * <pre>
+ * LoadReport report = new LoadDriver(server.getBaseUri())
+ *         .setThreads(32)
+ *         .setMaxConnections(16)
+ *         .setDuration(10, TimeUnit.SECONDS)
+ *         .setWeight(LoadDriver.Operation.ADD_ROWS, 2)
+ *         .run();
+ * </pre>
+ * <p>
+ * Thread Safety: This class is not thread safe; configure and run a driver from one thread.
+ */
+public class LoadDriver {
+
+    /** an SDK call the driver can make */
+    public enum Operation {
+        GET_SHEET,
+        ADD_ROWS,
+        LIST_EVENTS
+    }
+
+    private static final long SHEET_ID = 1060338138408836L;
+    private static final long COLUMN_ID = 4583173393803140L;
+
+    private final String baseUri;
+    private final Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    private int threads = 8;
+    private int maxConnections = 2;
+    private long durationMillis = 5000;
+    private long operations = -1;
+    private long maxRetryTimeMillis = 15000;
+    private double backoffScale = 1.0;
+    private int rowsPerAdd = 10;
+
+    /**
+     * Constructor.
+     *
+     * @param baseUri the API to call, such as {@link MockSmartsheetServer#getBaseUri()}
+     */
+    public LoadDriver(String baseUri) {
+        this.baseUri = baseUri;
+        for (Operation operation : Operation.values()) {
+            weights.put(operation, 1);
+        }
+    }
+
+    /**
+     * Sets the number of threads calling the API at once, 8 by default.
+     */
+    public LoadDriver setThreads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Sets the size of the client's connection pool, both per route and in total. The default is 2, the default of
+     * Apache HttpClient's pool.
+     */
+    public LoadDriver setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+        return this;
+    }
+
+    /**
+     * Runs for the given time, 5 seconds by default.
+     */
+    public LoadDriver setDuration(long duration, TimeUnit unit) {
+        this.durationMillis = unit.toMillis(duration);
+        this.operations = -1;
+        return this;
+    }
+
+    /**
+     * Runs the given number of calls across all threads instead of for a duration.
+     */
+    public LoadDriver setOperations(long operations) {
+        this.operations = operations;
+        return this;
+    }
+
+    /**
+     * Sets how long a call may spend retrying, see {@link SmartsheetBuilder#setMaxRetryTimeMillis(long)}.
+     */
+    public LoadDriver setMaxRetryTimeMillis(long maxRetryTimeMillis) {
+        this.maxRetryTimeMillis = maxRetryTimeMillis;
+        return this;
+    }
+
+    /**
+     * Scales the client's retry backoffs, so a test can try out shorter or longer backoffs than
+     * {@link DefaultHttpClient#calcBackoff(int, long, Error)} computes without waiting seconds per retry.
+     */
+    public LoadDriver setBackoffScale(double backoffScale) {
+        this.backoffScale = backoffScale;
+        return this;
+    }
+
+    /**
+     * Sets how often an operation is picked relative to the others; each has weight 1 by default, and 0 leaves it out.
+     */
+    public LoadDriver setWeight(Operation operation, int weight) {
+        weights.put(operation, weight);
+        return this;
+    }
+
+    /**
+     * Sets the number of rows each addRows call sends, 10 by default.
+     */
+    public LoadDriver setRowsPerAdd(int rowsPerAdd) {
+        this.rowsPerAdd = rowsPerAdd;
+        return this;
+    }
+
+    /**
+     * Runs the workload and waits for it to finish.
+     *
+     * @return what happened
+     */
+    public LoadReport run() throws Exception {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+        HistogramMetrics metrics = new HistogramMetrics();
+        ScaledBackoffHttpClient httpClient = new ScaledBackoffHttpClient(connectionManager, backoffScale);
+
+        Map<Operation, LatencyHistogram> latencies = new EnumMap<>(Operation.class);
+        Map<Operation, LongAdder> failures = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new LatencyHistogram());
+            failures.put(operation, new LongAdder());
+        }
+        List<Throwable> unexpected = new ArrayList<>();
+        Operation[] mix = mix();
+
+        Smartsheet smartsheet = new SmartsheetBuilder()
+                .setBaseURI(baseUri)
+                .setAccessToken("load-test")
+                .setHttpClient(httpClient)
+                .setMaxRetryTimeMillis(maxRetryTimeMillis)
+                .setMetrics(metrics)
+                .build();
+        try {
+            AtomicLong remaining = new AtomicLong(operations < 0 ? Long.MAX_VALUE : operations);
+            long deadline = operations < 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMillis) : Long.MAX_VALUE;
+            LongAdder allocatedBytes = new LongAdder();
+            CountDownLatch start = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(threads);
+
+            for (int t = 0; t < threads; t++) {
+                Thread thread = new Thread(() -> {
+                    long allocatedBefore = allocatedBytes();
+                    try {
+                        start.await();
+                        while (System.nanoTime() < deadline && remaining.getAndDecrement() > 0) {
+                            Operation operation = mix[ThreadLocalRandom.current().nextInt(mix.length)];
+                            long callStart = System.nanoTime();
+                            try {
+                                call(smartsheet, operation);
+                            } catch (SmartsheetException e) {
+                                failures.get(operation).increment();
+                            }
+                            latencies.get(operation).record(System.nanoTime() - callStart);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (Throwable e) {
+                        synchronized (unexpected) {
+                            unexpected.add(e);
+                        }
+                    } finally {
+                        allocatedBytes.add(allocatedBytes() - allocatedBefore);
+                        done.countDown();
+                    }
+                }, "load-driver-" + t);
+                thread.setDaemon(true);
+                thread.start();
+            }
+
+            long startNanos = System.nanoTime();
+            start.countDown();
+            done.await();
+            long elapsedNanos = System.nanoTime() - startNanos;
+            return new LoadReport(latencies, failures, metrics, elapsedNanos, allocatedBytes.sum(), unexpected);
+        } finally {
+            httpClient.close();
+        }
+    }
+
+    private Operation[] mix() {
+        List<Operation> mix = new ArrayList<>();
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                mix.add(entry.getKey());
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalStateException("every operation has weight 0");
+        }
+        return mix.toArray(new Operation[0]);
+    }
+
+    private void call(Smartsheet smartsheet, Operation operation) throws SmartsheetException {
+        switch (operation) {
+            case GET_SHEET:
+                smartsheet.sheetResources().getSheet(SHEET_ID, null, null, null, null, null, null, null);
+                break;
+            case ADD_ROWS:
+                List<Row> rows = new ArrayList<>(rowsPerAdd);
+                for (int i = 0; i < rowsPerAdd; i++) {
+                    Cell cell = new Cell();
+                    cell.setColumnId(COLUMN_ID);
+                    cell.setValue(Thread.currentThread().getName() + " row " + i);
+                    rows.add(new Row.AddRowBuilder().setToBottom(true).setCells(List.of(cell)).build());
+                }
+                List<Row> added = smartsheet.sheetResources().rowResources().addRows(SHEET_ID, rows);
+                if (added.size() != rowsPerAdd) {
+                    throw new IllegalStateException("sent " + rowsPerAdd + " rows but " + added.size() + " were added");
+                }
+                break;
+            case LIST_EVENTS:
+                smartsheet.eventResources().listEvents(null, "XyzAbc", 100, false);
+                break;
+            default:
+                throw new IllegalArgumentException(operation.toString());
+        }
+    }
+
+    /** @return the bytes this thread has allocated, or 0 if the JVM can't tell */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            long allocated = ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+            return Math.max(allocated, 0);
+        }
+        return 0;
+    }
+
+    /** a client with its own connection pool whose retry backoffs are scaled */
+    private static class ScaledBackoffHttpClient extends DefaultHttpClient {
+        private final double backoffScale;
+
+        ScaledBackoffHttpClient(PoolingHttpClientConnectionManager connectionManager, double backoffScale) {
+            super(HttpClients.custom().setConnectionManager(connectionManager).build(), new JacksonJsonSerializer());
+            this.backoffScale = backoffScale;
+        }
+
+        @Override
+        public long calcBackoff(int previousAttempts, long totalElapsedTimeMillis, Error error) {
+            long backoffMillis = super.calcBackoff(previousAttempts, totalElapsedTimeMillis, error);
+            return backoffMillis < 0 ? backoffMillis : (long) (backoffMillis * backoffScale);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.loadtest;
+
+import com.smartsheet.api.loadtest.LoadDriver.Operation;
+import com.smartsheet.api.metrics.HistogramMetrics;
+import com.smartsheet.api.metrics.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What a {@link LoadDriver} run did: per operation throughput, latency percentiles and failures, the SDK's own
+ * per-endpoint measurements including retries, and the bytes the calling threads allocated.
+ */
+public class LoadReport {
+    private final Map<Operation, LatencyHistogram> latencies;
+    private final Map<Operation, LongAdder> failures;
+    private final HistogramMetrics metrics;
+    private final long elapsedNanos;
+    private final long allocatedBytes;
+    private final List<Throwable> unexpectedErrors;
+
+    LoadReport(Map<Operation, LatencyHistogram> latencies, Map<Operation, LongAdder> failures, HistogramMetrics metrics,
+               long elapsedNanos, long allocatedBytes, List<Throwable> unexpectedErrors) {
+        this.latencies = latencies;
+        this.failures = failures;
+        this.metrics = metrics;
+        this.elapsedNanos = elapsedNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.unexpectedErrors = unexpectedErrors;
+    }
+
+    /**
+     * @return the histogram of call times of an operation, including retries, as the caller saw them
+     */
+    public LatencyHistogram getLatency(Operation operation) {
+        return latencies.get(operation);
+    }
+
+    public long getCallCount(Operation operation) {
+        return latencies.get(operation).getCount();
+    }
+
+    public long getCallCount() {
+        long calls = 0;
+        for (LatencyHistogram latency : latencies.values()) {
+            calls += latency.getCount();
+        }
+        return calls;
+    }
+
+    /**
+     * @return the calls of an operation that threw a SmartsheetException, after any retries
+     */
+    public long getFailureCount(Operation operation) {
+        return failures.get(operation).sum();
+    }
+
+    public long getFailureCount() {
+        long failed = 0;
+        for (LongAdder count : failures.values()) {
+            failed += count.sum();
+        }
+        return failed;
+    }
+
+    /**
+     * @return the retried attempts across all calls, as the SDK counted them
+     */
+    public long getRetryCount() {
+        long retries = 0;
+        for (HistogramMetrics.EndpointStats stats : metrics.getEndpoints().values()) {
+            retries += stats.getRetryCount();
+        }
+        return retries;
+    }
+
+    /**
+     * @return the SDK's per-endpoint measurements of the run
+     */
+    public HistogramMetrics getMetrics() {
+        return metrics;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return completed calls per second
+     */
+    public double getThroughput() {
+        return getCallCount() * (double) TimeUnit.SECONDS.toNanos(1) / Math.max(elapsedNanos, 1);
+    }
+
+    /**
+     * @return the bytes allocated by the calling threads, or 0 if the JVM can't measure it
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return megabytes allocated per second by the calling threads
+     */
+    public double getAllocationRate() {
+        return allocatedBytes / 1e6 * TimeUnit.SECONDS.toNanos(1) / Math.max(elapsedNanos, 1);
+    }
+
+    /**
+     * @return anything other than a SmartsheetException thrown by a call, such as a wrong response, which points to
+     *     a thread safety bug
+     */
+    public List<Throwable> getUnexpectedErrors() {
+        return Collections.unmodifiableList(unexpectedErrors);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(String.format(
+                "%d calls in %d ms, %.1f calls/s, %d failures, %d retries, %.1f MB/s allocated%n", getCallCount(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), getThroughput(), getFailureCount(), getRetryCount(), getAllocationRate()));
+        for (Map.Entry<Operation, LatencyHistogram> entry : latencies.entrySet()) {
+            LatencyHistogram latency = entry.getValue();
+            if (latency.getCount() > 0) {
+                builder.append(String.format("  %-11s calls=%d failures=%d p50=%dus p90=%dus p99=%dus max=%dus%n", entry.getKey(),
+                        latency.getCount(), getFailureCount(entry.getKey()), latency.getValueAtPercentile(50) / 1000,
+                        latency.getValueAtPercentile(90) / 1000, latency.getValueAtPercentile(99) / 1000, latency.getMax() / 1000));
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,326 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A local stand-in for the Smartsheet API for load tests. It answers getSheet, addRows and listEvents with generated
+ * bodies, and can add latency, slow or large bodies, and rate limit and server error responses, so the SDK's
+ * connection pooling, retries and thread safety can be exercised without touching the real service.
+ * <p>
+ * Unlike {@link com.smartsheet.api.HttpTestServer}, which serves one canned body, it listens on a free port and
+ * serves many concurrent requests.
+ */
+public class MockSmartsheetServer {
+
+    /** an error response the server can inject */
+    public enum Fault {
+        /** 429 with error code 4003, which the SDK retries */
+        RATE_LIMIT(429, 4003, "Rate limit exceeded."),
+        /** 503 with error code 4001, which the SDK retries */
+        UNAVAILABLE(503, 4001, "Smartsheet.com is currently offline for system maintenance. Please check back again shortly."),
+        /** 500 with error code 4000, which the SDK doesn't retry */
+        SERVER_ERROR(500, 4000, "An unexpected error has occurred. Please contact the Support team at https://help.smartsheet.com/contact"
+                + " for assistance.");
+
+        private final int status;
+        private final int errorCode;
+        private final String message;
+
+        Fault(int status, int errorCode, String message) {
+            this.status = status;
+            this.errorCode = errorCode;
+            this.message = message;
+        }
+    }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final long SHEET_ID = 1060338138408836L;
+    private static final long COLUMN_ID = 4583173393803140L;
+
+    private final Map<Fault, Double> faultRates = new EnumMap<>(Fault.class);
+    private final Map<Fault, LongAdder> faultCounts = new EnumMap<>(Fault.class);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder malformedRequests = new LongAdder();
+    private final LongAdder rowsAdded = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final AtomicLong nextRowId = new AtomicLong(1732835527681924L);
+
+    private Server server;
+    private volatile long latencyMillis;
+    private volatile long latencyJitterMillis;
+    private volatile long bodyBytesPerSecond;
+    private volatile byte[] sheetBody;
+    private volatile byte[] eventsBody;
+
+    public MockSmartsheetServer() {
+        for (Fault fault : Fault.values()) {
+            faultRates.put(fault, 0.0);
+            faultCounts.put(fault, new LongAdder());
+        }
+        setSheetRows(50);
+        eventsBody = events(100);
+    }
+
+    /**
+     * Starts the server on a free port.
+     *
+     * @param maxThreads the most requests the server handles at once
+     */
+    public void start(int maxThreads) throws Exception {
+        server = new Server(new QueuedThreadPool(maxThreads, Math.min(8, maxThreads)));
+        ServerConnector connector = new ServerConnector(server);
+        connector.setPort(0);
+        server.addConnector(connector);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response)
+                    throws IOException {
+                serve(target, request, response);
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+    }
+
+    public void stop() throws Exception {
+        server.stop();
+    }
+
+    /**
+     * @return the base URI to give {@link com.smartsheet.api.SmartsheetBuilder#setBaseURI(String)}
+     */
+    public String getBaseUri() {
+        return "http://localhost:" + ((ServerConnector) server.getConnectors()[0]).getLocalPort() + "/2.0/";
+    }
+
+    /**
+     * Delays every response by the given time plus up to the given jitter.
+     */
+    public MockSmartsheetServer setLatency(long latencyMillis, long jitterMillis) {
+        this.latencyMillis = latencyMillis;
+        this.latencyJitterMillis = jitterMillis;
+        return this;
+    }
+
+    /**
+     * Answers the given fraction of requests with the fault instead of their normal response.
+     */
+    public MockSmartsheetServer setFaultRate(Fault fault, double rate) {
+        faultRates.put(fault, rate);
+        return this;
+    }
+
+    /**
+     * Writes response bodies no faster than the given rate, or at full speed if 0.
+     */
+    public MockSmartsheetServer setBodyBytesPerSecond(long bodyBytesPerSecond) {
+        this.bodyBytesPerSecond = bodyBytesPerSecond;
+        return this;
+    }
+
+    /**
+     * Sets the number of rows in the sheet getSheet returns, 50 by default; use thousands for large bodies.
+     */
+    public MockSmartsheetServer setSheetRows(int rows) {
+        this.sheetBody = sheet(rows);
+        return this;
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getFaultCount(Fault fault) {
+        return faultCounts.get(fault).sum();
+    }
+
+    /**
+     * @return the requests whose body wasn't the JSON the endpoint expects, which suggests a client mixed up requests
+     */
+    public long getMalformedRequestCount() {
+        return malformedRequests.sum();
+    }
+
+    public long getRowsAdded() {
+        return rowsAdded.sum();
+    }
+
+    /**
+     * @return the most requests that were being handled at once, which the client's connection pool caps
+     */
+    public int getPeakInFlight() {
+        return peakInFlight.get();
+    }
+
+    private void serve(String target, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        requests.increment();
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            byte[] requestBody = request.getInputStream().readAllBytes();
+            delay();
+
+            Fault fault = pickFault();
+            if (fault != null) {
+                faultCounts.get(fault).increment();
+                write(response, fault.status, error(fault.errorCode, fault.message));
+                return;
+            }
+
+            String path = target.startsWith("/2.0/") ? target.substring(5) : target;
+            String method = request.getMethod();
+            if ("GET".equals(method) && path.matches("sheets/\\d+")) {
+                write(response, 200, sheetBody);
+            } else if ("POST".equals(method) && path.matches("sheets/\\d+/rows")) {
+                write(response, 200, addRows(requestBody));
+            } else if ("GET".equals(method) && "events".equals(path)) {
+                write(response, 200, eventsBody);
+            } else {
+                write(response, 404, error(1006, "Not Found"));
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void delay() {
+        long delay = latencyMillis + (latencyJitterMillis > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMillis + 1) : 0);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Fault pickFault() {
+        double draw = ThreadLocalRandom.current().nextDouble();
+        for (Map.Entry<Fault, Double> entry : faultRates.entrySet()) {
+            draw -= entry.getValue();
+            if (draw < 0) {
+                return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    private void write(HttpServletResponse response, int status, byte[] body) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json;charset=UTF-8");
+        response.setContentLength(body.length);
+        OutputStream out = response.getOutputStream();
+        long rate = bodyBytesPerSecond;
+        if (rate <= 0) {
+            out.write(body);
+            return;
+        }
+        // trickle the body out in chunks of a tenth of a second's worth
+        int chunk = (int) Math.max(1, rate / 10);
+        for (int offset = 0; offset < body.length; offset += chunk) {
+            out.write(body, offset, Math.min(chunk, body.length - offset));
+            out.flush();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /** answers an addRows call with the rows given ids, counting bodies that aren't an array of rows with cells */
+    private byte[] addRows(byte[] requestBody) throws IOException {
+        JsonNode rows;
+        try {
+            rows = OBJECT_MAPPER.readTree(requestBody);
+        } catch (IOException e) {
+            rows = null;
+        }
+        if (rows == null || !rows.isArray() || rows.size() == 0) {
+            malformedRequests.increment();
+            return error(1008, "Unable to parse request.");
+        }
+        StringBuilder body = new StringBuilder("{\"message\":\"SUCCESS\",\"resultCode\":0,\"version\":1,\"result\":[");
+        for (int i = 0; i < rows.size(); i++) {
+            JsonNode cells = rows.get(i).get("cells");
+            if (cells == null || !cells.isArray()) {
+                malformedRequests.increment();
+            }
+            body.append(i == 0 ? "" : ",").append("{\"id\":").append(nextRowId.incrementAndGet())
+                    .append(",\"sheetId\":").append(SHEET_ID).append(",\"rowNumber\":").append(i + 1)
+                    .append(",\"cells\":").append(cells == null ? "[]" : OBJECT_MAPPER.writeValueAsString(cells)).append('}');
+        }
+        rowsAdded.add(rows.size());
+        return body.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] error(int errorCode, String message) {
+        return ("{\"errorCode\":" + errorCode + ",\"message\":\"" + message + "\",\"refId\":\"loadtest\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] sheet(int rows) {
+        StringBuilder body = new StringBuilder("{\"id\":").append(SHEET_ID)
+                .append(",\"name\":\"Load Test\",\"version\":1,\"totalRowCount\":").append(rows)
+                .append(",\"accessLevel\":\"OWNER\",\"columns\":[")
+                .append("{\"id\":").append(COLUMN_ID).append(",\"index\":0,\"title\":\"Task\",\"type\":\"TEXT_NUMBER\",\"primary\":true},")
+                .append("{\"id\":").append(COLUMN_ID + 1).append(",\"index\":1,\"title\":\"Owner\",\"type\":\"CONTACT_LIST\"},")
+                .append("{\"id\":").append(COLUMN_ID + 2).append(",\"index\":2,\"title\":\"Estimate\",\"type\":\"TEXT_NUMBER\"}],")
+                .append("\"rows\":[");
+        for (int n = 1; n <= rows; n++) {
+            body.append(n == 1 ? "" : ",").append("{\"id\":").append(1732835527681924L + n).append(",\"rowNumber\":").append(n)
+                    .append(",\"cells\":[{\"columnId\":").append(COLUMN_ID).append(",\"value\":\"Task ").append(n)
+                    .append("\",\"displayValue\":\"Task ").append(n).append("\"},{\"columnId\":").append(COLUMN_ID + 1)
+                    .append(",\"value\":\"member").append(n % 25).append("@example.com\",\"displayValue\":\"Team Member ")
+                    .append(n % 25).append("\"},{\"columnId\":").append(COLUMN_ID + 2).append(",\"value\":").append(n * 1.5)
+                    .append("}]}");
+        }
+        return body.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] events(int count) {
+        StringBuilder body = new StringBuilder("{\"data\":[");
+        for (int n = 0; n < count; n++) {
+            body.append(n == 0 ? "" : ",").append("{\"eventId\":\"4b12345-").append(n)
+                    .append("\",\"objectType\":\"SHEET\",\"action\":\"UPDATE\",\"objectId\":").append(SHEET_ID)
+                    .append(",\"eventTimestamp\":\"2023-01-30T11:42:30Z\",\"userId\":548798,\"requestUserId\":548798,")
+                    .append("\"source\":\"WEB_APP\"}");
+        }
+        return body.append("],\"moreAvailable\":false,\"nextStreamPosition\":\"XyzAbc\"}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
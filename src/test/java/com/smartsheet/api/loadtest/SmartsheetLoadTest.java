@@ -0,0 +1,176 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.loadtest;
+
+import com.smartsheet.api.loadtest.LoadDriver.Operation;
+import com.smartsheet.api.loadtest.MockSmartsheetServer.Fault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load scenarios run by the loadTest task against a local {@link MockSmartsheetServer}. Their size can be changed with
+ * -Ploadtest.threads=N, -Ploadtest.seconds=N and -Ploadtest.connections=N; each scenario prints its report.
+ */
+class SmartsheetLoadTest {
+    private static final int THREADS = Integer.getInteger("loadtest.threads", 16);
+    private static final int SECONDS = Integer.getInteger("loadtest.seconds", 5);
+    private static final int CONNECTIONS = Integer.getInteger("loadtest.connections", 8);
+
+    private MockSmartsheetServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new MockSmartsheetServer();
+        server.start(THREADS * 2 + 8);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    void steadyState_allCallsSucceed() throws Exception {
+        // Arrange
+        server.setLatency(5, 10);
+
+        // Act
+        LoadReport report = new LoadDriver(server.getBaseUri())
+                .setThreads(THREADS)
+                .setMaxConnections(CONNECTIONS)
+                .setDuration(SECONDS, TimeUnit.SECONDS)
+                .run();
+        System.out.println("steady state: " + report);
+
+        // Assert
+        assertThat(report.getUnexpectedErrors()).isEmpty();
+        assertThat(report.getFailureCount()).isZero();
+        assertThat(report.getCallCount()).isPositive();
+        assertThat(report.getCallCount(Operation.GET_SHEET)).isPositive();
+        assertThat(report.getCallCount(Operation.ADD_ROWS)).isPositive();
+        assertThat(report.getCallCount(Operation.LIST_EVENTS)).isPositive();
+        assertThat(report.getLatency(Operation.GET_SHEET).getValueAtPercentile(50))
+                .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(5));
+    }
+
+    @Test
+    void rateLimited_callsAreRetriedUntilTheySucceed() throws Exception {
+        // Arrange
+        server.setFaultRate(Fault.RATE_LIMIT, 0.2);
+
+        // Act
+        LoadReport report = new LoadDriver(server.getBaseUri())
+                .setThreads(THREADS)
+                .setMaxConnections(CONNECTIONS)
+                .setOperations(500)
+                .setBackoffScale(0.01)
+                .run();
+        System.out.println("rate limited: " + report);
+
+        // Assert
+        assertThat(report.getUnexpectedErrors()).isEmpty();
+        assertThat(server.getFaultCount(Fault.RATE_LIMIT)).isPositive();
+        assertThat(report.getRetryCount()).isEqualTo(server.getFaultCount(Fault.RATE_LIMIT) - report.getFailureCount());
+        assertThat(report.getFailureCount()).isLessThan(report.getCallCount() / 10);
+    }
+
+    @Test
+    void serverErrors_areNotRetried() throws Exception {
+        // Arrange
+        server.setFaultRate(Fault.SERVER_ERROR, 0.1);
+
+        // Act
+        LoadReport report = new LoadDriver(server.getBaseUri())
+                .setThreads(THREADS)
+                .setMaxConnections(CONNECTIONS)
+                .setOperations(500)
+                .run();
+
+        // Assert
+        assertThat(report.getUnexpectedErrors()).isEmpty();
+        assertThat(report.getRetryCount()).isZero();
+        assertThat(report.getFailureCount()).isEqualTo(server.getFaultCount(Fault.SERVER_ERROR));
+    }
+
+    @Test
+    void concurrentAddRows_sendAndReceiveTheirOwnRows() throws Exception {
+        // Arrange
+        server.setLatency(0, 3);
+
+        // Act
+        LoadReport report = new LoadDriver(server.getBaseUri())
+                .setThreads(THREADS)
+                .setMaxConnections(CONNECTIONS)
+                .setOperations(2000)
+                .setWeight(Operation.GET_SHEET, 0)
+                .setWeight(Operation.LIST_EVENTS, 0)
+                .setRowsPerAdd(25)
+                .run();
+
+        // Assert
+        assertThat(report.getUnexpectedErrors()).isEmpty();
+        assertThat(report.getFailureCount()).isZero();
+        assertThat(server.getMalformedRequestCount()).isZero();
+        assertThat(server.getRowsAdded()).isEqualTo(2000L * 25);
+    }
+
+    @Test
+    void connectionPool_capsConcurrentRequests() throws Exception {
+        // Arrange
+        server.setLatency(20, 0);
+
+        // Act
+        LoadReport report = new LoadDriver(server.getBaseUri())
+                .setThreads(THREADS)
+                .setMaxConnections(4)
+                .setOperations(THREADS * 10L)
+                .setWeight(Operation.ADD_ROWS, 0)
+                .run();
+        System.out.println("pool of 4: " + report);
+
+        // Assert
+        assertThat(report.getUnexpectedErrors()).isEmpty();
+        assertThat(server.getPeakInFlight()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void slowLargeBodies_areReadCompletely() throws Exception {
+        // Arrange
+        server.setSheetRows(5000).setBodyBytesPerSecond(5_000_000);
+
+        // Act
+        LoadReport report = new LoadDriver(server.getBaseUri())
+                .setThreads(4)
+                .setMaxConnections(4)
+                .setOperations(40)
+                .setWeight(Operation.ADD_ROWS, 0)
+                .setWeight(Operation.LIST_EVENTS, 0)
+                .run();
+        System.out.println("slow large bodies: " + report);
+
+        // Assert
+        assertThat(report.getUnexpectedErrors()).isEmpty();
+        assertThat(report.getFailureCount()).isZero();
+        assertThat(report.getCallCount(Operation.GET_SHEET)).isEqualTo(40);
+        assertThat(report.getAllocatedBytes()).isNotNegative();
+    }
+}
@@ -20,6 +20,7 @@ import com.smartsheet.api.Smartsheet;
 import com.smartsheet.api.SmartsheetBuilder;
 import com.smartsheet.api.SmartsheetException;
 import com.smartsheet.api.Trace;
+import com.smartsheet.api.internal.http.AsyncTraceWriter;
 import com.smartsheet.api.internal.http.DefaultHttpClient;
 import org.junit.jupiter.api.Test;
 
@@ -76,4 +77,47 @@ class LoggingIT {
                 .contains("body:'{\n  \"errorCode\" : 1002,\n  \"message\" : \"Your Access Token is invalid.\",\n  \"refId\" :")
                 .contains("status:'HTTP/1.1 401 Unauthorized'");
     }
+
+    @Test
+    void testTraceSinkLogging() throws Exception {
+        ByteArrayOutputStream traceStream = new ByteArrayOutputStream();
+        AsyncTraceWriter traceWriter = new AsyncTraceWriter(traceStream, AsyncTraceWriter.DEFAULT_CAPACITY);
+        Smartsheet client = new SmartsheetBuilder().setAccessToken("just_a_random_dummy_token").build();
+        // should log entire request and response
+        client.setTraces(Trace.Request, Trace.Response);
+        client.setTraceSink(traceWriter);
+
+        // Note this requires an internet connection
+        assertThatThrownBy(() -> client.sheetResources().getSheet(42, null, null, null, null, null, 1, 1))
+                .isInstanceOf(SmartsheetException.class);
+
+        // the trace is written on the writer's thread
+        traceWriter.flush();
+        String output = traceStream.toString();
+        assertThat(output)
+                .contains("request:{")
+                .contains("'Authorization':'Bearer ****oken")
+                .contains("response:{")
+                .contains("body:'{\n  \"errorCode\" : 1002,\n  \"message\" : \"Your Access Token is invalid.\",\n  \"refId\" :")
+                .contains("status:'HTTP/1.1 401 Unauthorized'");
+    }
+
+    @Test
+    void testTraceSinkTakesPrecedenceOverTraceStream() throws Exception {
+        ByteArrayOutputStream defaultStream = new ByteArrayOutputStream();
+        DefaultHttpClient.setTraceStream(defaultStream);
+        ByteArrayOutputStream traceStream = new ByteArrayOutputStream();
+        AsyncTraceWriter traceWriter = new AsyncTraceWriter(traceStream, AsyncTraceWriter.DEFAULT_CAPACITY);
+        Smartsheet client = new SmartsheetBuilder().setAccessToken("just_a_random_dummy_token").build();
+        client.setTraces(Trace.Request, Trace.Response);
+        client.setTraceSink(traceWriter);
+
+        // Note this requires an internet connection
+        assertThatThrownBy(() -> client.sheetResources().getSheet(42, null, null, null, null, null, 1, 1))
+                .isInstanceOf(SmartsheetException.class);
+
+        traceWriter.flush();
+        assertThat(traceStream.toString()).contains("status:'HTTP/1.1 401 Unauthorized'");
+        assertThat(defaultStream.toString()).isEmpty();
+    }
 }
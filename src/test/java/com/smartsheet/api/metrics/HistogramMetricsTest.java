@@ -0,0 +1,121 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.metrics;
+
+import com.smartsheet.api.HttpTestServer;
+import com.smartsheet.api.ResourceNotFoundException;
+import com.smartsheet.api.Smartsheet;
+import com.smartsheet.api.SmartsheetBuilder;
+import com.smartsheet.api.internal.http.HttpMethod;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HistogramMetricsTest {
+
+    private HttpTestServer server;
+    private HistogramMetrics metrics;
+    private List<ApiCallMetrics> calls;
+    private Smartsheet smartsheet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new HttpTestServer();
+        server.setPort(9090);
+        server.start();
+
+        metrics = new HistogramMetrics();
+        calls = new ArrayList<>();
+        smartsheet = new SmartsheetBuilder()
+                .setBaseURI("http://localhost:9090/2.0/")
+                .setAccessToken("accessToken")
+                .setMetrics(new SmartsheetMetrics() {
+                    @Override
+                    public void onApiCall(ApiCallMetrics call) {
+                        calls.add(call);
+                        metrics.onApiCall(call);
+                    }
+
+                    @Override
+                    public void onConnectionPool(ConnectionPoolStats stats) {
+                        metrics.onConnectionPool(stats);
+                    }
+                })
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    void successfulCall_isRecordedWithItsPhasesUnderTheEndpointTemplate() throws Exception {
+        // Arrange
+        server.setResponseBody(new File("src/test/resources/getSheet.json"));
+
+        // Act
+        smartsheet.sheetResources().getSheet(123L, null, null, null, null, null, null, null);
+        smartsheet.sheetResources().getSheet(456L, null, null, null, null, null, null, null);
+
+        // Assert
+        assertThat(calls).hasSize(2);
+        ApiCallMetrics call = calls.get(0);
+        assertThat(call.getMethod()).isEqualTo(HttpMethod.GET);
+        assertThat(call.getEndpoint()).isEqualTo("sheets/{id}");
+        assertThat(call.getStatusCode()).isEqualTo(200);
+        assertThat(call.getAttempts()).isEqualTo(1);
+        assertThat(call.getQueueNanos()).isNotNegative();
+        assertThat(call.getConnectNanos()).isPositive();
+        assertThat(call.getTimeToFirstByteNanos()).isPositive();
+        assertThat(call.getResponseBytes()).isEqualTo(server.getResponseBody().length);
+        assertThat(call.getTotalNanos()).isGreaterThanOrEqualTo(call.getTimeToFirstByteNanos() + call.getBodyReadNanos());
+        assertThat(calls.get(1).getConnectNanos()).isZero();
+
+        HistogramMetrics.EndpointStats stats = metrics.getEndpoint(HttpMethod.GET, "sheets/{id}");
+        assertThat(stats.getCallCount()).isEqualTo(2);
+        assertThat(stats.getErrorCount()).isZero();
+        assertThat(stats.getLatency().getValueAtPercentile(99)).isPositive();
+        assertThat(metrics.getConnectionPool().getLeased()).isZero();
+        assertThat(metrics.getConnectionPool().getAvailable()).isEqualTo(1);
+    }
+
+    @Test
+    void errorResponse_isRecordedWithItsErrorCode() {
+        // Arrange
+        server.setStatus(404);
+        server.setResponseBody("{\"errorCode\":1006,\"message\":\"Not Found\"}");
+
+        // Act
+        assertThatThrownBy(() -> smartsheet.sheetResources().deleteSheet(123L)).isInstanceOf(ResourceNotFoundException.class);
+
+        // Assert
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0).getMethod()).isEqualTo(HttpMethod.DELETE);
+        assertThat(calls.get(0).getStatusCode()).isEqualTo(404);
+        assertThat(calls.get(0).getErrorCode()).isEqualTo(1006);
+        assertThat(calls.get(0).isSuccessful()).isFalse();
+        assertThat(metrics.getEndpoint(HttpMethod.DELETE, "sheets/{id}").getErrorCount()).isEqualTo(1);
+    }
+}
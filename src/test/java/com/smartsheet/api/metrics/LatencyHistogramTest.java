@@ -0,0 +1,88 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.data.Percentage.withPercentage;
+
+class LatencyHistogramTest {
+
+    @Test
+    void getValueAtPercentile_isWithinBucketPrecision() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1_000);
+        }
+
+        // Act
+        long p50 = histogram.getValueAtPercentile(50);
+        long p99 = histogram.getValueAtPercentile(99);
+        long p100 = histogram.getValueAtPercentile(100);
+
+        // Assert
+        assertThat(histogram.getCount()).isEqualTo(10_000);
+        assertThat(p50).isCloseTo(5_000_000L, withPercentage(1.6));
+        assertThat(p99).isCloseTo(9_900_000L, withPercentage(1.6));
+        assertThat(p100).isEqualTo(10_000_000L);
+        assertThat(histogram.getMean()).isEqualTo(5_000_500.0);
+    }
+
+    @Test
+    void record_keepsExactMaxForValuesBeyondTheTrackableRange() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // Act
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        // Assert
+        assertThat(histogram.getCount()).isEqualTo(2);
+        assertThat(histogram.getValueAtPercentile(0)).isZero();
+        assertThat(histogram.getMax()).isEqualTo(Long.MAX_VALUE);
+        assertThat(histogram.getValueAtPercentile(100)).isGreaterThan(1L << 39);
+    }
+
+    @Test
+    void bucketIndex_coversEachValueWithItsHighestEquivalent() {
+        for (long value : new long[] {0, 1, 127, 128, 129, 255, 256, 1_000_000, (1L << 40) - 1}) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertThat(LatencyHistogram.highestEquivalentValue(index)).isGreaterThanOrEqualTo(value);
+            assertThat(index == 0 || LatencyHistogram.highestEquivalentValue(index - 1) < value).isTrue();
+        }
+    }
+
+    @Test
+    void reset_clearsRecordedValues() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+
+        // Act
+        histogram.reset();
+
+        // Assert
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getMax()).isZero();
+        assertThat(histogram.getValueAtPercentile(99)).isZero();
+        assertThatThrownBy(() -> histogram.getValueAtPercentile(101)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
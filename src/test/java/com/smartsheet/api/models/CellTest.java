@@ -0,0 +1,96 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.models;
+
+import com.smartsheet.api.internal.json.JSONSerializerException;
+import com.smartsheet.api.internal.json.JacksonJsonSerializer;
+import com.smartsheet.api.models.enums.CellPrimitiveType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CellTest {
+
+    @Test
+    void testSetValue_FillsPrimitiveSlot() {
+        assertThat(new Cell().setValue(5).getLong()).isEqualTo(5L);
+        assertThat(new Cell().setValue(5).getDouble()).isEqualTo(5.0);
+        assertThat(new Cell().setValue(2.5).getDouble()).isEqualTo(2.5);
+        assertThat(new Cell().setValue(2.5).getLong()).isEqualTo(2L);
+        assertThat(new Cell().setValue(true).getBoolean()).isTrue();
+        assertThat(new Cell().setValue("2024-02-29").getEpochDay()).isEqualTo(LocalDate.of(2024, 2, 29).toEpochDay());
+
+        assertThat(new Cell().setValue("text").getPrimitiveType()).isNull();
+        assertThat(new Cell().setValue("2023-02-29").getPrimitiveType()).isNull();
+        assertThat(new Cell().setValue("2024-2-29x").getPrimitiveType()).isNull();
+        assertThat(new Cell().setValue(5).setValue(null).getPrimitiveType()).isNull();
+    }
+
+    @Test
+    void testPrimitiveSetters_BoxOnlyOnDemand() {
+        assertThat(new Cell().setLong(7).getValue()).isEqualTo(7);
+        assertThat(new Cell().setLong(12345678901234L).getValue()).isEqualTo(12345678901234L);
+        assertThat(new Cell().setDouble(1.5).getValue()).isEqualTo(1.5);
+        assertThat(new Cell().setBoolean(false).getValue()).isEqualTo(false);
+        assertThat(new Cell().setEpochDay(0).getValue()).isEqualTo("1970-01-01");
+        assertThat(new Cell().setValue("abc").setLong(1).getValue()).isEqualTo(1);
+    }
+
+    @Test
+    void testAccessors_WrongType() {
+        assertThatThrownBy(() -> new Cell().getDouble()).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new Cell().setBoolean(true).getLong()).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new Cell().setLong(1).getBoolean()).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new Cell().setValue("abc").getEpochDay()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testDeserialize_PrimitiveValues() throws JSONSerializerException, IOException {
+        String json = "{\"cells\":[{\"value\":5},{\"value\":2.5},{\"value\":true},{\"value\":\"2024-02-29\"},"
+                + "{\"value\":\"abc\"},{\"value\":12345678901234},{}]}";
+        Row row = new JacksonJsonSerializer().deserialize(Row.class,
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        List<Cell> cells = row.getCells();
+
+        assertThat(cells.get(0).getPrimitiveType()).isEqualTo(CellPrimitiveType.LONG);
+        assertThat(cells.get(0).getValue()).isEqualTo(5);
+        assertThat(cells.get(1).getPrimitiveType()).isEqualTo(CellPrimitiveType.DOUBLE);
+        assertThat(cells.get(1).getDouble()).isEqualTo(2.5);
+        assertThat(cells.get(2).getPrimitiveType()).isEqualTo(CellPrimitiveType.BOOLEAN);
+        assertThat(cells.get(2).getValue()).isEqualTo(true);
+        assertThat(cells.get(3).getPrimitiveType()).isEqualTo(CellPrimitiveType.DATE);
+        assertThat(cells.get(3).getValue()).isEqualTo("2024-02-29");
+        assertThat(cells.get(4).getPrimitiveType()).isNull();
+        assertThat(cells.get(5).getValue()).isEqualTo(12345678901234L);
+        assertThat(cells.get(6).getValue()).isNull();
+    }
+
+    @Test
+    void testSerialize_PrimitiveValues() throws JSONSerializerException {
+        JacksonJsonSerializer serializer = new JacksonJsonSerializer();
+
+        assertThat(serializer.serialize(new Cell(1L).setDouble(3.0))).isEqualTo("{\"value\":3.0,\"columnId\":1}");
+        assertThat(serializer.serialize(new Cell(1L).setEpochDay(0))).isEqualTo("{\"value\":\"1970-01-01\",\"columnId\":1}");
+    }
+}
@@ -0,0 +1,214 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.oauth;
+
+import com.smartsheet.api.SmartsheetException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RefreshingTokenProviderTest {
+
+    private final FakeOAuthFlow oauthFlow = new FakeOAuthFlow();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        oauthFlow.release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getAccessToken_returnsATokenThatIsNotAboutToExpire() {
+        // Arrange
+        RefreshingTokenProvider provider = new RefreshingTokenProvider(oauthFlow, token("first", TimeUnit.HOURS.toMillis(1)));
+
+        // Act
+        String accessToken = provider.getAccessToken();
+
+        // Assert
+        assertThat(accessToken).isEqualTo("first");
+        assertThat(oauthFlow.refreshes.get()).isZero();
+    }
+
+    @Test
+    void getAccessToken_refreshesATokenAboutToExpireAndSavesIt() {
+        // Arrange
+        SavingTokenStore store = new SavingTokenStore(token("first", TimeUnit.MINUTES.toMillis(1)));
+        RefreshingTokenProvider provider = new RefreshingTokenProvider(oauthFlow, store);
+        oauthFlow.release.countDown();
+
+        // Act
+        String accessToken = provider.getAccessToken();
+
+        // Assert
+        assertThat(accessToken).isEqualTo("refreshed1");
+        assertThat(store.saved).hasSize(1);
+        assertThat(store.saved.get(0).getExpiresAt()).isGreaterThan(System.currentTimeMillis());
+    }
+
+    @Test
+    void refreshAccessToken_concurrentRejectionsShareOneRefresh() throws Exception {
+        // Arrange
+        RefreshingTokenProvider provider = new RefreshingTokenProvider(oauthFlow, token("first", TimeUnit.HOURS.toMillis(1)));
+        List<Future<String>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> provider.refreshAccessToken("first")));
+        }
+        Thread.sleep(100);
+        oauthFlow.release.countDown();
+
+        // Assert
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("refreshed1");
+        }
+        assertThat(oauthFlow.refreshes.get()).isEqualTo(1);
+    }
+
+    @Test
+    void refreshAccessToken_ofTheReplacedTokenReturnsTheCurrentOne() throws Exception {
+        // Arrange
+        RefreshingTokenProvider provider = new RefreshingTokenProvider(oauthFlow, token("first", TimeUnit.HOURS.toMillis(1)));
+        oauthFlow.release.countDown();
+        provider.refreshAccessToken("first");
+
+        // Act
+        String again = provider.refreshAccessToken("first");
+        String unknown = provider.refreshAccessToken("someone else's");
+
+        // Assert
+        assertThat(again).isEqualTo("refreshed1");
+        assertThat(unknown).isNull();
+        assertThat(oauthFlow.refreshes.get()).isEqualTo(1);
+    }
+
+    @Test
+    void refreshAccessToken_usesANewerTokenFromTheStore() throws Exception {
+        // Arrange
+        SavingTokenStore store = new SavingTokenStore(token("first", TimeUnit.HOURS.toMillis(1)));
+        RefreshingTokenProvider provider = new RefreshingTokenProvider(oauthFlow, store);
+        provider.getAccessToken();
+        store.token = token("from another process", TimeUnit.HOURS.toMillis(1));
+
+        // Act
+        String accessToken = provider.refreshAccessToken("first");
+
+        // Assert
+        assertThat(accessToken).isEqualTo("from another process");
+        assertThat(oauthFlow.refreshes.get()).isZero();
+    }
+
+    @Test
+    void refreshAccessToken_failureIsThrownAndTheNextCallTriesAgain() throws Exception {
+        // Arrange
+        RefreshingTokenProvider provider = new RefreshingTokenProvider(oauthFlow, token("first", TimeUnit.HOURS.toMillis(1)));
+        oauthFlow.release.countDown();
+        oauthFlow.failures = 1;
+
+        // Act & Assert
+        assertThatThrownBy(() -> provider.refreshAccessToken("first")).isInstanceOf(OAuthTokenException.class);
+        assertThat(provider.refreshAccessToken("first")).isEqualTo("refreshed2");
+    }
+
+    private static Token token(String accessToken, long expiresInMillis) {
+        Token token = new Token();
+        token.setAccessToken(accessToken);
+        token.setRefreshToken("refresh");
+        token.setExpiresAt(System.currentTimeMillis() + expiresInMillis);
+        return token;
+    }
+
+    private static class SavingTokenStore implements TokenStore {
+        private final List<Token> saved = new ArrayList<>();
+        private volatile Token token;
+
+        SavingTokenStore(Token token) {
+            this.token = token;
+        }
+
+        @Override
+        public Token load() {
+            return token;
+        }
+
+        @Override
+        public synchronized void save(Token token) {
+            saved.add(token);
+            this.token = token;
+        }
+    }
+
+    private static class FakeOAuthFlow implements OAuthFlow {
+        private final AtomicInteger refreshes = new AtomicInteger();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile int failures;
+
+        @Override
+        public Token refreshToken(Token token) throws OAuthTokenException {
+            int refresh = refreshes.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new OAuthTokenException("interrupted");
+            }
+            if (failures > 0) {
+                failures--;
+                throw new OAuthTokenException("invalid_grant");
+            }
+            Token fresh = new Token();
+            fresh.setAccessToken("refreshed" + refresh);
+            fresh.setRefreshToken("refresh");
+            fresh.setExpiresInSeconds(TimeUnit.DAYS.toSeconds(7));
+            return fresh;
+        }
+
+        @Override
+        public String newAuthorizationURL(EnumSet<AccessScope> scopes, String state) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public AuthorizationResult extractAuthorizationResult(String authorizationResponseURL) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Token obtainNewToken(AuthorizationResult authorizationResult) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void revokeAccessToken(Token token) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.smartsheet.api.tracing;
+
+import com.smartsheet.api.HttpTestServer;
+import com.smartsheet.api.ResourceNotFoundException;
+import com.smartsheet.api.Smartsheet;
+import com.smartsheet.api.SmartsheetBuilder;
+import com.smartsheet.api.internal.json.JacksonJsonSerializer;
+import com.smartsheet.api.models.Sheet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SmartsheetTracerTest {
+
+    private HttpTestServer server;
+    private InMemorySpanExporter exporter;
+    private SmartsheetTracer tracer;
+    private Smartsheet smartsheet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new HttpTestServer();
+        server.setPort(9090);
+        server.start();
+
+        exporter = new InMemorySpanExporter();
+        tracer = new SmartsheetTracer(exporter);
+        smartsheet = new SmartsheetBuilder()
+                .setBaseURI("http://localhost:9090/2.0/")
+                .setAccessToken("accessToken")
+                .setTracer(tracer)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    void apiCall_isASpanWithAnAttemptAndADeserializationChild() throws Exception {
+        // Arrange
+        server.setResponseBody(new File("src/test/resources/getSheet.json"));
+
+        // Act
+        smartsheet.sheetResources().getSheet(123L, null, null, null, null, null, null, null);
+
+        // Assert
+        List<Span> calls = exporter.getSpans("GET sheets/{id}");
+        assertThat(calls).hasSize(1);
+        Span call = calls.get(0);
+        assertThat(call.getParentSpanId()).isNull();
+        assertThat(call.getAttribute("http.status_code")).isEqualTo(200);
+        assertThat(call.getAttribute("attempts")).isEqualTo(1);
+        assertThat(call.getError()).isNull();
+        assertThat(exporter.getChildren(call)).extracting(Span::getName)
+                .containsExactlyInAnyOrder("attempt", "json.deserialize");
+        assertThat(exporter.getSpans("json.deserialize").get(0).getAttribute("json.type")).isEqualTo("Sheet");
+        assertThat(SmartsheetTracer.currentSpan()).isNull();
+    }
+
+    @Test
+    void errorResponse_marksTheCallSpanAsFailed() throws Exception {
+        // Arrange
+        server.setStatus(404);
+        server.setResponseBody("{\"errorCode\":1006,\"message\":\"Not Found\"}");
+
+        // Act
+        assertThatThrownBy(() -> smartsheet.sheetResources().deleteSheet(123L))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        // Assert
+        Span call = exporter.getSpans("DELETE sheets/{id}").get(0);
+        assertThat(call.getAttribute("http.status_code")).isEqualTo(404);
+        assertThat(call.getError()).isNotNull();
+        assertThat(exporter.getSpans("attempt").get(0).getAttribute("smartsheet.error_code")).isEqualTo(1006);
+        assertThat(SmartsheetTracer.currentSpan()).isNull();
+    }
+
+    @Test
+    void jsonSerialize_recordsTheEncodedByteCount() throws Exception {
+        // Arrange
+        Sheet sheet = new Sheet();
+        sheet.setName("\u00dcbersicht \u65e5\u672c");
+        Span job = tracer.startSpan("job");
+
+        // Act
+        String json;
+        try (Scope scope = SmartsheetTracer.activate(job)) {
+            json = new JacksonJsonSerializer().serialize(sheet);
+        } finally {
+            job.end();
+        }
+
+        // Assert
+        assertThat(exporter.getSpans("json.serialize").get(0).getAttribute("json.bytes"))
+                .isEqualTo((long) json.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void callsWithinAnApplicationSpan_areItsChildren() throws Exception {
+        // Arrange
+        server.setResponseBody(new File("src/test/resources/getSheet.json"));
+        Span job = tracer.startSpan("job");
+
+        // Act
+        try (Scope scope = SmartsheetTracer.activate(job)) {
+            smartsheet.sheetResources().getSheet(123L, null, null, null, null, null, null, null);
+            smartsheet.sheetResources().getSheet(456L, null, null, null, null, null, null, null);
+        } finally {
+            job.end();
+        }
+
+        // Assert
+        assertThat(exporter.getChildren(job)).extracting(Span::getName)
+                .containsExactly("GET sheets/{id}", "GET sheets/{id}");
+        assertThat(exporter.getSpans()).extracting(Span::getTraceId).containsOnly(job.getTraceId());
+        assertThat(SmartsheetTracer.currentSpan()).isNull();
+    }
+
+    @Test
+    void startSpan_continuesAValidTraceParentAndIgnoresAMalformedOne() {
+        // Arrange
+        String traceParent = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+        // Act
+        Span continued = tracer.startSpan("continued", traceParent);
+        Span fresh = tracer.startSpan("fresh", "00-00000000000000000000000000000000-00f067aa0ba902b7-01");
+
+        // Assert
+        assertThat(continued.getTraceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(continued.getParentSpanId()).isEqualTo("00f067aa0ba902b7");
+        assertThat(SmartsheetTracer.isValidTraceParent(continued.getTraceParent())).isTrue();
+        assertThat(fresh.getParentSpanId()).isNull();
+        assertThat(fresh.getTraceId()).hasSize(32).isNotEqualTo("00000000000000000000000000000000");
+    }
+
+    @Test
+    void wrap_carriesTheCurrentSpanToAnotherThread() throws Exception {
+        // Arrange
+        Span parent = tracer.startSpan("parent");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // Act
+        Span child;
+        try (Scope scope = SmartsheetTracer.activate(parent)) {
+            child = executor.submit(SmartsheetTracer.wrap(() -> tracer.startSpan("child"))).get();
+        } finally {
+            executor.shutdown();
+        }
+
+        // Assert
+        assertThat(child.getParentSpanId()).isEqualTo(parent.getSpanId());
+        assertThat(SmartsheetTracer.currentSpan()).isNull();
+    }
+
+    @Test
+    void jsonFileSpanExporter_writesOneLinePerSpan(@TempDir Path dir) throws Exception {
+        // Arrange
+        Path file = dir.resolve("spans.jsonl");
+        SmartsheetTracer fileTracer = new SmartsheetTracer(new JsonFileSpanExporter(file));
+
+        // Act
+        fileTracer.startSpan("one").setAttribute("rows", 3).end();
+        fileTracer.startSpan("two").setError("failed").end();
+        fileTracer.flush();
+
+        // Assert
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains("\"name\":\"one\"", "\"rows\":3");
+        assertThat(lines.get(1)).contains("\"name\":\"two\"", "\"error\":\"failed\"");
+    }
+}
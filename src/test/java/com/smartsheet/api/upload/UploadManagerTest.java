@@ -0,0 +1,167 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.upload;
+
+import com.smartsheet.api.AttachmentVersioningResources;
+import com.smartsheet.api.ResourceNotFoundException;
+import com.smartsheet.api.RowAttachmentResources;
+import com.smartsheet.api.SheetAttachmentResources;
+import com.smartsheet.api.SheetResources;
+import com.smartsheet.api.SheetRowResources;
+import com.smartsheet.api.Smartsheet;
+import com.smartsheet.api.internal.http.HttpClientException;
+import com.smartsheet.api.models.Attachment;
+import com.smartsheet.api.models.Error;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UploadManagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Smartsheet smartsheet;
+    private SheetAttachmentResources sheetAttachments;
+    private RowAttachmentResources rowAttachments;
+    private AttachmentVersioningResources versions;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        smartsheet = mock(Smartsheet.class);
+        SheetResources sheets = mock(SheetResources.class);
+        SheetRowResources rows = mock(SheetRowResources.class);
+        sheetAttachments = mock(SheetAttachmentResources.class);
+        rowAttachments = mock(RowAttachmentResources.class);
+        versions = mock(AttachmentVersioningResources.class);
+        when(smartsheet.sheetResources()).thenReturn(sheets);
+        when(sheets.attachmentResources()).thenReturn(sheetAttachments);
+        when(sheets.rowResources()).thenReturn(rows);
+        when(rows.attachmentResources()).thenReturn(rowAttachments);
+        when(sheetAttachments.versioningResources()).thenReturn(versions);
+    }
+
+    @Test
+    void upload_sendsEachFileToItsTarget() throws Exception {
+        // Arrange
+        Path a = write("a.txt", 10);
+        Path b = write("b.txt", 20);
+        Path c = write("c.txt", 30);
+        when(sheetAttachments.attachFile(eq(1L), any(InputStream.class), anyString(), anyLong(), anyString()))
+                .thenAnswer(invocation -> readAndReturn(invocation.getArgument(1), 101L));
+        when(rowAttachments.attachFile(eq(1L), eq(2L), any(InputStream.class), anyString(), anyLong(), anyString()))
+                .thenAnswer(invocation -> readAndReturn(invocation.getArgument(2), 102L));
+        when(versions.attachNewVersion(eq(1L), eq(3L), any(InputStream.class), anyString(), anyLong(), anyString()))
+                .thenAnswer(invocation -> readAndReturn(invocation.getArgument(2), 103L));
+        List<Long> progress = new CopyOnWriteArrayList<>();
+        List<UploadResult> completed = new CopyOnWriteArrayList<>();
+        UploadManager manager = new UploadManager(smartsheet, 2).setListener(new UploadListener() {
+            @Override
+            public void onProgress(UploadJob job, long bytesSent, long totalBytes, double bytesPerSecond) {
+                progress.add(bytesSent);
+            }
+
+            @Override
+            public void onComplete(UploadResult result) {
+                completed.add(result);
+            }
+        });
+
+        // Act
+        UploadReport report = manager.upload(List.of(
+                UploadJob.toSheet(1L, a, "text/plain"),
+                UploadJob.toRow(1L, 2L, b, "text/plain"),
+                UploadJob.newVersion(1L, 3L, c, "text/plain")));
+
+        // Assert
+        assertThat(report.isAllSucceeded()).isTrue();
+        assertThat(report.getResults()).extracting(result -> result.getAttachment().getId()).containsExactly(101L, 102L, 103L);
+        assertThat(report.getBytesUploaded()).isEqualTo(60);
+        assertThat(progress).containsExactlyInAnyOrder(10L, 20L, 30L);
+        assertThat(completed).hasSize(3);
+        verify(sheetAttachments).attachFile(eq(1L), any(InputStream.class), eq("text/plain"), eq(10L), eq("a.txt"));
+    }
+
+    @Test
+    void upload_retriesFailedFile() throws Exception {
+        // Arrange
+        Path a = write("a.txt", 10);
+        when(sheetAttachments.attachFile(eq(1L), any(InputStream.class), anyString(), anyLong(), anyString()))
+                .thenThrow(new HttpClientException("connection reset"))
+                .thenAnswer(invocation -> readAndReturn(invocation.getArgument(1), 101L));
+        UploadManager manager = new UploadManager(smartsheet, 1).setRetryDelayMillis(0);
+
+        // Act
+        UploadReport report = manager.upload(List.of(UploadJob.toSheet(1L, a, "text/plain")));
+
+        // Assert
+        UploadResult result = report.getResults().get(0);
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void upload_doesNotRetryPermanentErrors() throws Exception {
+        // Arrange
+        Path a = write("a.txt", 10);
+        when(sheetAttachments.attachFile(eq(1L), any(InputStream.class), anyString(), anyLong(), anyString()))
+                .thenThrow(new ResourceNotFoundException(new Error().setErrorCode(1006).setMessage("Not Found")));
+        UploadManager manager = new UploadManager(smartsheet, 2).setRetryDelayMillis(0);
+
+        // Act
+        UploadReport report = manager.upload(List.of(
+                UploadJob.toSheet(1L, a, "text/plain"),
+                UploadJob.toSheet(1L, tempDir.resolve("missing.txt"), "text/plain")));
+
+        // Assert
+        assertThat(report.getFailed()).hasSize(2);
+        assertThat(report.getResults()).extracting(UploadResult::getAttempts).containsExactly(1, 1);
+        assertThat(report.getResults().get(0).getError()).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(report.getResults().get(1).getError()).isInstanceOf(NoSuchFileException.class);
+        verify(sheetAttachments, times(1)).attachFile(eq(1L), any(InputStream.class), anyString(), anyLong(), anyString());
+    }
+
+    private Path write(String name, int size) throws IOException {
+        return Files.write(tempDir.resolve(name), new byte[size]);
+    }
+
+    private static Attachment readAndReturn(InputStream content, long id) throws IOException {
+        content.readAllBytes();
+        Attachment attachment = new Attachment();
+        attachment.setId(id);
+        return attachment;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+* Copyright (C) 2024 Smartsheet
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.smartsheet.api.writes;
+
+import com.smartsheet.api.ServiceUnavailableException;
+import com.smartsheet.api.SheetRowResources;
+import com.smartsheet.api.SmartsheetException;
+import com.smartsheet.api.models.BulkRowFailedItem;
+import com.smartsheet.api.models.Cell;
+import com.smartsheet.api.models.Error;
+import com.smartsheet.api.models.PartialRowUpdateResult;
+import com.smartsheet.api.models.Row;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RowWriteBufferTest {
+    private static final long SHEET_ID = 1L;
+
+    private final List<List<Row>> requests = new CopyOnWriteArrayList<>();
+    private final Set<Long> failingRows = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger unavailableRequests = new AtomicInteger();
+    private final List<Row> givenUp = new CopyOnWriteArrayList<>();
+    private RowWriteBuffer buffer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SheetRowResources rowResources = mock(SheetRowResources.class);
+        when(rowResources.updateRowsAllowPartialSuccess(eq(SHEET_ID), anyList()))
+                .thenAnswer(invocation -> respond(invocation.getArgument(1)));
+        buffer = new RowWriteBuffer(rowResources, SHEET_ID)
+                .setFlushIntervalMillis(60_000)
+                .setFailureListener((sheetId, row, error) -> givenUp.add(row));
+    }
+
+    @AfterEach
+    void tearDown() {
+        buffer.close();
+    }
+
+    @Test
+    void flush_coalescesEditsToTheSameCell() throws Exception {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            buffer.setCell(100L, 10L, "status " + i);
+            buffer.setCell(100L, 11L, i);
+            buffer.setCell(200L, 10L, "other " + i);
+        }
+
+        // Act
+        buffer.flush();
+
+        // Assert
+        assertThat(requests).hasSize(1);
+        List<Row> rows = requests.get(0);
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).getId()).isEqualTo(100L);
+        assertThat(rows.get(0).getCells()).hasSize(2);
+        assertThat(rows.get(0).getCells().get(0).getValue()).isEqualTo("status 9");
+        assertThat(rows.get(0).getCells().get(1).getValue()).isEqualTo(9);
+        assertThat(rows.get(1).getCells().get(0).getValue()).isEqualTo("other 9");
+        assertThat(buffer.getEditCount()).isEqualTo(30);
+        assertThat(buffer.getSentCellCount()).isEqualTo(3);
+        assertThat(buffer.getCoalescingRatio()).isEqualTo(10.0);
+        assertThat(buffer.getRequestLatency().getCount()).isEqualTo(1);
+        assertThat(buffer.getWriteDelay().getCount()).isEqualTo(2);
+        assertThat(buffer.getPendingRowCount()).isZero();
+    }
+
+    @Test
+    void setCell_fullBatch_sendsWithoutWaitingForTheInterval() throws Exception {
+        // Arrange
+        buffer.setMaxBatchSize(5);
+
+        // Act
+        for (long row = 1; row <= 5; row++) {
+            buffer.setCell(row, 10L, "x");
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (requests.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Assert
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0)).hasSize(5);
+    }
+
+    @Test
+    void flush_failedRow_isRetriedAloneBehindNewerEdits() throws Exception {
+        // Arrange
+        failingRows.add(200L);
+        buffer.setMaxAttempts(2);
+        buffer.setCell(100L, 10L, "a");
+        buffer.setCell(200L, 10L, "b");
+        buffer.setCell(200L, 11L, "c");
+
+        // Act
+        buffer.flush();
+
+        // Assert
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1)).hasSize(1);
+        assertThat(requests.get(1).get(0).getId()).isEqualTo(200L);
+        assertThat(buffer.getSentRowCount()).isEqualTo(1);
+        assertThat(buffer.getRetriedRowCount()).isEqualTo(1);
+        assertThat(buffer.getFailedRowCount()).isEqualTo(1);
+        assertThat(givenUp).hasSize(1);
+        assertThat(givenUp.get(0).getCells()).hasSize(2);
+    }
+
+    @Test
+    void flush_failedRequest_retriesEveryRow() throws Exception {
+        // Arrange
+        unavailableRequests.set(1);
+        buffer.setCell(100L, 10L, "a");
+        buffer.setCell(200L, 10L, "b");
+
+        // Act
+        buffer.flush();
+
+        // Assert
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1)).hasSize(2);
+        assertThat(buffer.getSentRowCount()).isEqualTo(2);
+        assertThat(givenUp).isEmpty();
+    }
+
+    @Test
+    void close_sendsPendingEditsAndRejectsNewOnes() {
+        // Arrange
+        Row row = new Row(300L);
+        row.setCells(new ArrayList<>(Collections.singletonList(new Cell(10L).setValue("done"))));
+        row.setLocked(true);
+        buffer.updateRow(row);
+
+        // Act
+        buffer.close();
+
+        // Assert
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0).get(0).isLocked()).isTrue();
+        assertThat(buffer.getSentCellCount()).isEqualTo(2);
+        assertThatThrownBy(() -> buffer.setCell(300L, 10L, "late")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> buffer.flush()).isInstanceOf(SmartsheetException.class);
+    }
+
+    private PartialRowUpdateResult respond(List<Row> rows) throws SmartsheetException {
+        requests.add(new ArrayList<>(rows));
+        if (unavailableRequests.getAndDecrement() > 0) {
+            throw new ServiceUnavailableException(new Error().setErrorCode(4001).setMessage("unavailable"));
+        }
+        List<Row> updated = new ArrayList<>();
+        List<BulkRowFailedItem> failed = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (failingRows.contains(rows.get(i).getId())) {
+                failed.add(new BulkRowFailedItem().setIndex(i).setError(new Error().setErrorCode(1036).setMessage("bad row")));
+            } else {
+                updated.add(rows.get(i));
+            }
+        }
+        PartialRowUpdateResult result = new PartialRowUpdateResult();
+        result.setResult(updated);
+        result.setFailedItems(failed);
+        return result;
+    }
+}